@@ -96,7 +96,8 @@ public class MetaFunctionToMetaVariableRule implements IAlgebraicRewriteRule {
                     && dataSource.getDatasourceType() != DataSource.Type.INTERNAL_DATASET
                     && dataSource.getDatasourceType() != DataSource.Type.LOADABLE
                     && dataSource.getDatasourceType() != DataSource.Type.FUNCTION
-                    && dataSource.getDatasourceType() != DataSource.Type.SAMPLE) {
+                    && dataSource.getDatasourceType() != DataSource.Type.SAMPLE
+                    && dataSource.getDatasourceType() != DataSource.Type.COLUMN_AGGREGATE) {
                 IMutationDataSource mds = (IMutationDataSource) dataSource;
                 if (mds.isChange()) {
                     transformers = new ArrayList<>();
@@ -0,0 +1,439 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.optimizer.rules.am;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.asterix.column.operation.aggregate.ColumnAggregateFunction;
+import org.apache.asterix.common.config.DatasetConfig.DatasetFormat;
+import org.apache.asterix.common.config.DatasetConfig.DatasetType;
+import org.apache.asterix.metadata.declared.ColumnAggregateDataSource;
+import org.apache.asterix.metadata.declared.DataSource;
+import org.apache.asterix.metadata.declared.DatasetDataSource;
+import org.apache.asterix.metadata.declared.MetadataProvider;
+import org.apache.asterix.metadata.entities.Dataset;
+import org.apache.asterix.om.base.IAObject;
+import org.apache.asterix.om.constants.AsterixConstantValue;
+import org.apache.asterix.om.functions.BuiltinFunctions;
+import org.apache.asterix.om.typecomputer.impl.TypeComputeUtils;
+import org.apache.asterix.om.types.ARecordType;
+import org.apache.asterix.om.types.AUnionType;
+import org.apache.asterix.om.types.BuiltinType;
+import org.apache.asterix.om.types.IAType;
+import org.apache.asterix.om.utils.ConstantExpressionUtil;
+import org.apache.commons.lang3.mutable.Mutable;
+import org.apache.commons.lang3.mutable.MutableObject;
+import org.apache.hyracks.algebricks.common.exceptions.AlgebricksException;
+import org.apache.hyracks.algebricks.core.algebra.base.ILogicalExpression;
+import org.apache.hyracks.algebricks.core.algebra.base.ILogicalOperator;
+import org.apache.hyracks.algebricks.core.algebra.base.IOptimizationContext;
+import org.apache.hyracks.algebricks.core.algebra.base.LogicalExpressionTag;
+import org.apache.hyracks.algebricks.core.algebra.base.LogicalOperatorTag;
+import org.apache.hyracks.algebricks.core.algebra.base.LogicalVariable;
+import org.apache.hyracks.algebricks.core.algebra.expressions.AbstractFunctionCallExpression;
+import org.apache.hyracks.algebricks.core.algebra.expressions.AggregateFunctionCallExpression;
+import org.apache.hyracks.algebricks.core.algebra.expressions.ConstantExpression;
+import org.apache.hyracks.algebricks.core.algebra.expressions.IAlgebricksConstantValue;
+import org.apache.hyracks.algebricks.core.algebra.expressions.IVariableTypeEnvironment;
+import org.apache.hyracks.algebricks.core.algebra.expressions.VariableReferenceExpression;
+import org.apache.hyracks.algebricks.core.algebra.functions.FunctionIdentifier;
+import org.apache.hyracks.algebricks.core.algebra.operators.logical.AbstractScanOperator;
+import org.apache.hyracks.algebricks.core.algebra.operators.logical.AggregateOperator;
+import org.apache.hyracks.algebricks.core.algebra.operators.logical.AssignOperator;
+import org.apache.hyracks.algebricks.core.algebra.operators.logical.DataSourceScanOperator;
+import org.apache.hyracks.algebricks.core.algebra.operators.logical.UnnestMapOperator;
+import org.apache.hyracks.algebricks.core.algebra.operators.logical.visitors.VariableUtilities;
+import org.apache.hyracks.algebricks.core.algebra.util.OperatorManipulationUtil;
+import org.apache.hyracks.algebricks.core.algebra.util.OperatorPropertiesUtil;
+import org.apache.hyracks.algebricks.core.rewriter.base.IAlgebraicRewriteRule;
+
+/**
+ * Pattern to match in the plan:
+ * ...
+ * ^
+ * |
+ * aggregate operator (local) with COUNT(constant), MIN(field), or MAX(field) aggregates only
+ * ^
+ * |
+ * (assign operator)*
+ * ^
+ * |
+ * datasource scan operator OR unnest map operator with a constant range over the primary index of a column dataset
+ * ^
+ * |
+ * (assign operator of the range's constants)*
+ * ^
+ * |
+ * empty tuple source
+ *
+ *
+ * The plan is transformed into:
+ * ...
+ * ^
+ * |
+ * aggregate operator (local) that combines the partial aggregates
+ * ^
+ * |
+ * datasource scan operator over {@link ColumnAggregateDataSource}
+ * ^
+ * |
+ * empty tuple source
+ *
+ * The new data source computes the partial aggregates of each leaf of a column component from the leaf's metadata
+ * (e.g., a leaf's count and primary key bounds) or from the leaf's column filters whenever possible, and only decodes
+ * the values of the leaves that partially overlap the range. The records are read one by one (as the replaced
+ * operator would do) if the index has more than one component or has deleted records.
+ */
+public class IntroduceColumnAggregatePushdownRule implements IAlgebraicRewriteRule {
+    private final List<Mutable<ILogicalOperator>> parents;
+
+    public IntroduceColumnAggregatePushdownRule() {
+        parents = new ArrayList<>();
+    }
+
+    @Override
+    public boolean rewritePre(Mutable<ILogicalOperator> opRef, IOptimizationContext context)
+            throws AlgebricksException {
+        parents.add(opRef);
+        return false;
+    }
+
+    @Override
+    public boolean rewritePost(Mutable<ILogicalOperator> opRef, IOptimizationContext context)
+            throws AlgebricksException {
+        // remove yourself
+        parents.remove(parents.size() - 1);
+        if (context.checkIfInDontApplySet(this, opRef.getValue())) {
+            return false;
+        }
+        /* only interested in local aggregate operator */
+        if (opRef.getValue().getOperatorTag() != LogicalOperatorTag.AGGREGATE) {
+            return false;
+        }
+        AggregateOperator localAggregateOperator = (AggregateOperator) opRef.getValue();
+        if (localAggregateOperator.isGlobal()) {
+            return false;
+        }
+        context.addToDontApplySet(this, opRef.getValue());
+
+        // inline the assigned expressions the aggregate functions' arguments are computed with
+        Map<LogicalVariable, ILogicalExpression> assignedExpressions = new HashMap<>();
+        ILogicalOperator inputOp = localAggregateOperator.getInputs().get(0).getValue();
+        while (inputOp.getOperatorTag() == LogicalOperatorTag.ASSIGN) {
+            collectAssignedExpressions((AssignOperator) inputOp, assignedExpressions);
+            inputOp = inputOp.getInputs().get(0).getValue();
+        }
+        ScanInfo scanInfo = getScanInfo(inputOp, context);
+        if (scanInfo == null || scanOperatorVariablesAreUsed(scanInfo, assignedExpressions.keySet())) {
+            return false;
+        }
+
+        List<Mutable<ILogicalExpression>> aggregates = localAggregateOperator.getExpressions();
+        List<ColumnAggregateFunction> functions = new ArrayList<>();
+        int[] keyIndexes = new int[aggregates.size()];
+        List<List<String>> paths = new ArrayList<>();
+        List<ILogicalExpression> arguments = new ArrayList<>();
+        IAType[] outputTypes = new IAType[aggregates.size()];
+        IVariableTypeEnvironment scanTypeEnv = context.getOutputTypeEnvironment(scanInfo.scanOperator);
+        for (int i = 0; i < aggregates.size(); i++) {
+            ILogicalExpression aggregate = aggregates.get(i).getValue();
+            if (aggregate.getExpressionTag() != LogicalExpressionTag.FUNCTION_CALL) {
+                return false;
+            }
+            AbstractFunctionCallExpression aggregateCall = (AbstractFunctionCallExpression) aggregate;
+            if (aggregateCall.getArguments().size() != 1) {
+                return false;
+            }
+            ILogicalExpression argument =
+                    inline(aggregateCall.getArguments().get(0).getValue().cloneExpression(), assignedExpressions);
+            ColumnAggregateFunction function = getFunction(aggregateCall.getFunctionIdentifier(), argument);
+            if (function == null) {
+                return false;
+            }
+            functions.add(function);
+            keyIndexes[i] = -1;
+            if (function == ColumnAggregateFunction.COUNT) {
+                paths.add(null);
+                arguments.add(null);
+                outputTypes[i] = BuiltinType.AINT64;
+                continue;
+            }
+            if (argument.getExpressionTag() == LogicalExpressionTag.VARIABLE) {
+                keyIndexes[i] = scanInfo.primaryKeyVariables
+                        .indexOf(((VariableReferenceExpression) argument).getVariableReference());
+                if (keyIndexes[i] < 0) {
+                    return false;
+                }
+                paths.add(null);
+            } else {
+                List<String> path = new ArrayList<>();
+                if (!getPath(argument, scanInfo.recordVariable, scanTypeEnv, path)) {
+                    return false;
+                }
+                paths.add(path);
+            }
+            arguments.add(argument);
+            // The partial aggregate of a range without values is MISSING
+            outputTypes[i] = AUnionType.createUnknownableType((IAType) scanTypeEnv.getType(argument));
+        }
+
+        List<LogicalVariable> argumentVariables = new ArrayList<>(scanInfo.primaryKeyVariables);
+        argumentVariables.add(scanInfo.recordVariable);
+        MetadataProvider mp = (MetadataProvider) context.getMetadataProvider();
+        Dataset dataset = scanInfo.dataset;
+        ColumnAggregateDataSource dataSource = new ColumnAggregateDataSource(dataset, mp.findType(dataset),
+                mp.findNodeDomain(dataset.getNodeGroupName()), scanInfo.lowKey, scanInfo.highKey,
+                scanInfo.lowKeyInclusive, scanInfo.highKeyInclusive, functions, keyIndexes, paths, arguments,
+                argumentVariables, scanTypeEnv, outputTypes);
+
+        // Combine the partial aggregates: the counts are summed and the minimums (maximums) are minimized (maximized)
+        List<LogicalVariable> partialVariables = new ArrayList<>();
+        for (int i = 0; i < aggregates.size(); i++) {
+            LogicalVariable partialVariable = context.newVar();
+            partialVariables.add(partialVariable);
+            AbstractFunctionCallExpression aggregateCall =
+                    (AbstractFunctionCallExpression) aggregates.get(i).getValue();
+            VariableReferenceExpression partialRef = new VariableReferenceExpression(partialVariable);
+            partialRef.setSourceLocation(aggregateCall.getSourceLocation());
+            if (functions.get(i) == ColumnAggregateFunction.COUNT) {
+                List<Mutable<ILogicalExpression>> sumArgs = new ArrayList<>(1);
+                sumArgs.add(new MutableObject<>(partialRef));
+                AggregateFunctionCallExpression sum = new AggregateFunctionCallExpression(
+                        BuiltinFunctions.getBuiltinFunctionInfo(BuiltinFunctions.SQL_SUM), false, sumArgs);
+                sum.setSourceLocation(aggregateCall.getSourceLocation());
+                aggregates.get(i).setValue(sum);
+            } else {
+                aggregateCall.getArguments().get(0).setValue(partialRef);
+            }
+        }
+
+        DataSourceScanOperator aggregateScan = new DataSourceScanOperator(partialVariables, dataSource);
+        aggregateScan.setSourceLocation(scanInfo.scanOperator.getSourceLocation());
+        aggregateScan.setExecutionMode(scanInfo.scanOperator.getExecutionMode());
+        OperatorManipulationUtil.copyCardCostAnnotations(scanInfo.scanOperator, aggregateScan);
+        aggregateScan.getInputs().add(new MutableObject<>(scanInfo.emptyTupleSource));
+        localAggregateOperator.getInputs().get(0).setValue(aggregateScan);
+        OperatorPropertiesUtil.typeOpRec(opRef, context);
+        return true;
+    }
+
+    private static void collectAssignedExpressions(AssignOperator assignOperator,
+            Map<LogicalVariable, ILogicalExpression> assignedExpressions) {
+        List<LogicalVariable> variables = assignOperator.getVariables();
+        List<Mutable<ILogicalExpression>> expressions = assignOperator.getExpressions();
+        for (int i = 0; i < variables.size(); i++) {
+            assignedExpressions.put(variables.get(i), expressions.get(i).getValue());
+        }
+    }
+
+    private static ILogicalExpression inline(ILogicalExpression expression,
+            Map<LogicalVariable, ILogicalExpression> assignedExpressions) {
+        if (expression.getExpressionTag() == LogicalExpressionTag.VARIABLE) {
+            LogicalVariable variable = ((VariableReferenceExpression) expression).getVariableReference();
+            ILogicalExpression assigned = assignedExpressions.get(variable);
+            return assigned == null ? expression : inline(assigned.cloneExpression(), assignedExpressions);
+        } else if (expression.getExpressionTag() == LogicalExpressionTag.FUNCTION_CALL) {
+            for (Mutable<ILogicalExpression> argRef : ((AbstractFunctionCallExpression) expression).getArguments()) {
+                argRef.setValue(inline(argRef.getValue(), assignedExpressions));
+            }
+        }
+        return expression;
+    }
+
+    private static ColumnAggregateFunction getFunction(FunctionIdentifier fid, ILogicalExpression argument) {
+        if (BuiltinFunctions.SQL_COUNT.equals(fid)) {
+            // COUNT(*) is translated into COUNT(1)
+            if (argument.getExpressionTag() != LogicalExpressionTag.CONSTANT) {
+                return null;
+            }
+            IAlgebricksConstantValue value = ((ConstantExpression) argument).getValue();
+            return value.isNull() || value.isMissing() ? null : ColumnAggregateFunction.COUNT;
+        } else if (BuiltinFunctions.LOCAL_SQL_MIN.equals(fid)) {
+            return ColumnAggregateFunction.MIN;
+        } else if (BuiltinFunctions.LOCAL_SQL_MAX.equals(fid)) {
+            return ColumnAggregateFunction.MAX;
+        }
+        return null;
+    }
+
+    /**
+     * Collects the path of a chain of field accesses over the record variable
+     *
+     * @return true if the expression is a chain of field accesses over the record variable, false otherwise
+     */
+    private static boolean getPath(ILogicalExpression expression, LogicalVariable recordVariable,
+            IVariableTypeEnvironment typeEnv, List<String> path) throws AlgebricksException {
+        if (expression.getExpressionTag() == LogicalExpressionTag.VARIABLE) {
+            return recordVariable.equals(((VariableReferenceExpression) expression).getVariableReference());
+        } else if (expression.getExpressionTag() != LogicalExpressionTag.FUNCTION_CALL) {
+            return false;
+        }
+        AbstractFunctionCallExpression funcExpr = (AbstractFunctionCallExpression) expression;
+        FunctionIdentifier fid = funcExpr.getFunctionIdentifier();
+        ILogicalExpression recordExpr = funcExpr.getArguments().get(0).getValue();
+        String fieldName;
+        if (BuiltinFunctions.FIELD_ACCESS_BY_NAME.equals(fid)) {
+            fieldName = ConstantExpressionUtil.getStringArgument(funcExpr, 1);
+        } else if (BuiltinFunctions.FIELD_ACCESS_BY_INDEX.equals(fid)) {
+            IAType recordType = TypeComputeUtils.getActualType((IAType) typeEnv.getType(recordExpr));
+            Integer fieldIndex = ConstantExpressionUtil.getIntArgument(funcExpr, 1);
+            if (recordType instanceof ARecordType && fieldIndex != null) {
+                fieldName = ((ARecordType) recordType).getFieldNames()[fieldIndex];
+            } else {
+                fieldName = null;
+            }
+        } else {
+            return false;
+        }
+        if (fieldName == null || !getPath(recordExpr, recordVariable, typeEnv, path)) {
+            return false;
+        }
+        path.add(fieldName);
+        return true;
+    }
+
+    private ScanInfo getScanInfo(ILogicalOperator op, IOptimizationContext context) throws AlgebricksException {
+        MetadataProvider mp = (MetadataProvider) context.getMetadataProvider();
+        ScanInfo scanInfo = new ScanInfo();
+        Dataset dataset;
+        ILogicalOperator inputOp = op.getInputs().isEmpty() ? null : op.getInputs().get(0).getValue();
+        if (op.getOperatorTag() == LogicalOperatorTag.DATASOURCESCAN) {
+            // case 1: dataset scan
+            DataSourceScanOperator scan = (DataSourceScanOperator) op;
+            DataSource ds = (DataSource) scan.getDataSource();
+            if (ds.getDatasourceType() != DataSource.Type.INTERNAL_DATASET || scan.getOutputLimit() >= 0
+                    || scan.getSelectCondition() != null || hasFilter(scan.getMinFilterVars(), scan.getMaxFilterVars(),
+                            scan.getAdditionalFilteringExpressions())) {
+                return null;
+            }
+            dataset = ((DatasetDataSource) ds).getDataset();
+        } else if (op.getOperatorTag() == LogicalOperatorTag.UNNEST_MAP) {
+            // case 2: dataset range search over constant keys
+            UnnestMapOperator unnestMap = (UnnestMapOperator) op;
+            ILogicalExpression unnestExpr = unnestMap.getExpressionRef().getValue();
+            if (unnestExpr.getExpressionTag() != LogicalExpressionTag.FUNCTION_CALL
+                    || !BuiltinFunctions.INDEX_SEARCH
+                            .equals(((AbstractFunctionCallExpression) unnestExpr).getFunctionIdentifier())
+                    || unnestMap.getOutputLimit() >= 0 || unnestMap.getSelectCondition() != null
+                    || hasFilter(unnestMap.getMinFilterVars(), unnestMap.getMaxFilterVars(),
+                            unnestMap.getAdditionalFilteringExpressions())) {
+                return null;
+            }
+            BTreeJobGenParams jobGenParams = new BTreeJobGenParams();
+            jobGenParams.readFromFuncArgs(((AbstractFunctionCallExpression) unnestExpr).getArguments());
+            if (!jobGenParams.isPrimaryIndex()) {
+                return null;
+            }
+            // the keys must be constants that are assigned right above the empty tuple source
+            Map<LogicalVariable, ILogicalExpression> keyExpressions = new HashMap<>();
+            while (inputOp != null && inputOp.getOperatorTag() == LogicalOperatorTag.ASSIGN) {
+                collectAssignedExpressions((AssignOperator) inputOp, keyExpressions);
+                scanInfo.keyVariables.addAll(((AssignOperator) inputOp).getVariables());
+                inputOp = inputOp.getInputs().get(0).getValue();
+            }
+            scanInfo.lowKey = getConstantKey(jobGenParams.getLowKeyVarList(), keyExpressions);
+            scanInfo.highKey = getConstantKey(jobGenParams.getHighKeyVarList(), keyExpressions);
+            if (scanInfo.lowKey == null && !jobGenParams.getLowKeyVarList().isEmpty()
+                    || scanInfo.highKey == null && !jobGenParams.getHighKeyVarList().isEmpty()) {
+                return null;
+            }
+            scanInfo.lowKeyInclusive = jobGenParams.isLowKeyInclusive();
+            scanInfo.highKeyInclusive = jobGenParams.isHighKeyInclusive();
+            dataset = mp.findDataset(jobGenParams.getDataverseName(), jobGenParams.getDatasetName());
+        } else {
+            return null;
+        }
+        if (inputOp == null || inputOp.getOperatorTag() != LogicalOperatorTag.EMPTYTUPLESOURCE || dataset == null
+                || dataset.getDatasetType() != DatasetType.INTERNAL
+                || dataset.getDatasetFormatInfo().getFormat() != DatasetFormat.COLUMN || dataset.hasMetaPart()) {
+            return null;
+        }
+        AbstractScanOperator scanOperator = (AbstractScanOperator) op;
+        int numberOfPrimaryKeys = dataset.getPrimaryKeys().size();
+        List<LogicalVariable> variables = scanOperator.getVariables();
+        scanInfo.dataset = dataset;
+        scanInfo.scanOperator = scanOperator;
+        scanInfo.emptyTupleSource = inputOp;
+        scanInfo.primaryKeyVariables = new ArrayList<>(variables.subList(0, numberOfPrimaryKeys));
+        scanInfo.recordVariable = variables.get(numberOfPrimaryKeys);
+        return scanInfo;
+    }
+
+    private static boolean hasFilter(List<LogicalVariable> minFilterVars, List<LogicalVariable> maxFilterVars,
+            List<Mutable<ILogicalExpression>> additionalFilteringExpressions) {
+        return minFilterVars != null && !minFilterVars.isEmpty() || maxFilterVars != null && !maxFilterVars.isEmpty()
+                || additionalFilteringExpressions != null && !additionalFilteringExpressions.isEmpty();
+    }
+
+    private static IAObject[] getConstantKey(List<LogicalVariable> keyVariables,
+            Map<LogicalVariable, ILogicalExpression> keyExpressions) {
+        if (keyVariables.isEmpty()) {
+            return null;
+        }
+        IAObject[] key = new IAObject[keyVariables.size()];
+        for (int i = 0; i < key.length; i++) {
+            ILogicalExpression keyExpression = keyExpressions.get(keyVariables.get(i));
+            if (keyExpression == null || keyExpression.getExpressionTag() != LogicalExpressionTag.CONSTANT) {
+                return null;
+            }
+            IAlgebricksConstantValue value = ((ConstantExpression) keyExpression).getValue();
+            if (!(value instanceof AsterixConstantValue) || value.isNull() || value.isMissing()) {
+                return null;
+            }
+            key[i] = ((AsterixConstantValue) value).getObject();
+        }
+        return key;
+    }
+
+    private boolean scanOperatorVariablesAreUsed(ScanInfo scanInfo, Set<LogicalVariable> assignedVariables)
+            throws AlgebricksException {
+        // the aggregate operator is rewritten. Only its parents must not use the replaced operators' variables
+        Set<LogicalVariable> variablesUsedByParents = new HashSet<>();
+        for (Mutable<ILogicalOperator> parent : parents) {
+            VariableUtilities.getUsedVariables(parent.getValue(), variablesUsedByParents);
+        }
+        Set<LogicalVariable> replacedVariables = new HashSet<>(scanInfo.scanOperator.getVariables());
+        replacedVariables.addAll(assignedVariables);
+        replacedVariables.addAll(scanInfo.keyVariables);
+        for (LogicalVariable replacedVariable : replacedVariables) {
+            if (variablesUsedByParents.contains(replacedVariable)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static class ScanInfo {
+        private final List<LogicalVariable> keyVariables = new ArrayList<>();
+        private Dataset dataset;
+        private AbstractScanOperator scanOperator;
+        private ILogicalOperator emptyTupleSource;
+        private List<LogicalVariable> primaryKeyVariables;
+        private LogicalVariable recordVariable;
+        private IAObject[] lowKey;
+        private IAObject[] highKey;
+        private boolean lowKeyInclusive = true;
+        private boolean highKeyInclusive = true;
+    }
+}
@@ -184,7 +184,8 @@ public class IntroduceLSMComponentFilterRule implements IAlgebraicRewriteRule {
             if (descendantOp.getOperatorTag() == LogicalOperatorTag.DATASOURCESCAN) {
                 DataSourceScanOperator dataSourceScanOp = (DataSourceScanOperator) descendantOp;
                 DataSource ds = (DataSource) dataSourceScanOp.getDataSource();
-                if (dataset.getDatasetName().compareTo(((DatasetDataSource) ds).getDataset().getDatasetName()) == 0) {
+                if (ds.getDatasourceType() == DataSource.Type.INTERNAL_DATASET && dataset.getDatasetName()
+                        .compareTo(((DatasetDataSource) ds).getDataset().getDatasetName()) == 0) {
                     List<LogicalVariable> minFilterVars = new ArrayList<>();
                     List<LogicalVariable> maxFilterVars = new ArrayList<>();
 
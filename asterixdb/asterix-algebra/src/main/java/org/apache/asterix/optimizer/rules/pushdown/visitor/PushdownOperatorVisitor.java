@@ -194,7 +194,8 @@ public class PushdownOperatorVisitor implements ILogicalOperatorVisitor<Void, Vo
      * 2- return the actual DatasetDataSource
      */
     private DatasetDataSource getDatasetDataSourceIfApplicable(DataSource dataSource) throws AlgebricksException {
-        if (dataSource == null || dataSource.getDatasourceType() == DataSource.Type.SAMPLE) {
+        if (dataSource == null || dataSource.getDatasourceType() == DataSource.Type.SAMPLE
+                || dataSource.getDatasourceType() == DataSource.Type.COLUMN_AGGREGATE) {
             return null;
         }
 
@@ -68,6 +68,7 @@ import org.apache.asterix.lang.common.struct.VarIdentifier;
 import org.apache.asterix.metadata.declared.MetadataProvider;
 import org.apache.asterix.om.base.IAObject;
 import org.apache.asterix.optimizer.base.AsterixOptimizationContext;
+import org.apache.asterix.runtime.compression.CompressionManager;
 import org.apache.asterix.runtime.job.listener.JobEventListenerFactory;
 import org.apache.asterix.translator.CompiledStatements.ICompiledDmlStatement;
 import org.apache.asterix.translator.ExecutionPlans;
@@ -309,6 +310,12 @@ public class APIFramework {
         JobEventListenerFactory jobEventListenerFactory =
                 new JobEventListenerFactory(txnId, metadataProvider.isWriteTransaction());
         JobSpecification spec = compiler.createJob(ccAppContext, jobEventListenerFactory);
+        String spillCompressionScheme =
+                OptimizationConfUtil.getSpillCompressionScheme(compilerProperties, querySpecificConfig);
+        if (!CompressionManager.NONE.equals(spillCompressionScheme)) {
+            spec.setSpillCompressorDecompressorFactory(
+                    ccAppContext.getCompressionManager().getFactory(spillCompressionScheme));
+        }
 
         if (isQuery) {
             if (requestParameters == null || !requestParameters.isSkipAdmissionPolicy()) {
@@ -30,6 +30,7 @@ import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import org.apache.asterix.common.api.INcApplicationContext;
+import org.apache.asterix.common.context.IndexInfo;
 import org.apache.asterix.common.replication.IPartitionReplica;
 import org.apache.asterix.common.storage.IReplicaManager;
 import org.apache.asterix.common.storage.ReplicaIdentifier;
@@ -40,6 +41,8 @@ import org.apache.hyracks.http.api.IServletRequest;
 import org.apache.hyracks.http.api.IServletResponse;
 import org.apache.hyracks.http.server.AbstractServlet;
 import org.apache.hyracks.http.server.utils.HttpUtil;
+import org.apache.hyracks.storage.am.lsm.common.impls.LSMWriteStatistics;
+import org.apache.hyracks.storage.common.compression.CompressionStatistics;
 import org.apache.hyracks.util.JSONUtil;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
@@ -75,6 +78,10 @@ public class StorageApiServlet extends AbstractServlet {
                 json = getPartitionStatus(path);
             } else if (path.startsWith("/stats")) {
                 json = getStats();
+            } else if (path.startsWith("/compression")) {
+                json = getCompressionStats();
+            } else if (path.startsWith("/writeamplification")) {
+                json = getWriteAmplificationStats();
             } else {
                 throw new IllegalArgumentException();
             }
@@ -204,4 +211,31 @@ public class StorageApiServlet extends AbstractServlet {
         storageStats.stream().map(ResourceStorageStats::asJson).forEach(result::add);
         return result;
     }
+
+    private JsonNode getCompressionStats() {
+        final ArrayNode stats = OBJECT_MAPPER.createArrayNode();
+        for (CompressionStatistics schemeStats : CompressionStatistics.getAll()) {
+            final ObjectNode schemeJson = OBJECT_MAPPER.createObjectNode();
+            schemeStats.toJson(schemeJson);
+            stats.add(schemeJson);
+        }
+        return stats;
+    }
+
+    private JsonNode getWriteAmplificationStats() {
+        final ArrayNode stats = OBJECT_MAPPER.createArrayNode();
+        for (IndexInfo indexInfo : appCtx.getDatasetLifecycleManager().getOpenIndexesInfo()) {
+            final LSMWriteStatistics writeStats = indexInfo.getIndex().getWriteStatistics();
+            final ObjectNode indexJson = OBJECT_MAPPER.createObjectNode();
+            indexJson.put("path", indexInfo.getLocalResource().getPath());
+            indexJson.put("partition", indexInfo.getPartition());
+            indexJson.put("flushCount", writeStats.getFlushCount());
+            indexJson.put("flushedBytes", writeStats.getFlushedBytes());
+            indexJson.put("mergeCount", writeStats.getMergeCount());
+            indexJson.put("mergedBytes", writeStats.getMergedBytes());
+            indexJson.put("writeAmplification", writeStats.getWriteAmplification());
+            stats.add(indexJson);
+        }
+        return stats;
+    }
 }
@@ -22,6 +22,7 @@ import org.apache.asterix.common.api.IConfigValidator;
 import org.apache.asterix.common.config.StorageProperties;
 import org.apache.asterix.runtime.compression.CompressionManager;
 import org.apache.hyracks.api.config.IOption;
+import org.apache.hyracks.storage.common.compression.ZstdCompressorDecompressorFactory;
 
 public class ConfigValidator implements IConfigValidator {
 
@@ -30,6 +31,8 @@ public class ConfigValidator implements IConfigValidator {
         boolean valid = true;
         if (option == StorageProperties.Option.STORAGE_COMPRESSION_BLOCK) {
             valid = CompressionManager.isRegisteredScheme((String) value);
+        } else if (option == StorageProperties.Option.STORAGE_COMPRESSION_ZSTD_LEVEL) {
+            valid = ZstdCompressorDecompressorFactory.isValidLevel((Integer) value);
         }
         if (!valid) {
             throw new IllegalArgumentException("Invalid value " + value + " for option " + option.name());
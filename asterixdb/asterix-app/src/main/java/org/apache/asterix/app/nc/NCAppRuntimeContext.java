@@ -102,6 +102,7 @@ import org.apache.hyracks.storage.am.lsm.common.api.ILSMIOOperationScheduler;
 import org.apache.hyracks.storage.am.lsm.common.api.ILSMMergePolicyFactory;
 import org.apache.hyracks.storage.am.lsm.common.api.IVirtualBufferCache;
 import org.apache.hyracks.storage.am.lsm.common.impls.AsynchronousScheduler;
+import org.apache.hyracks.storage.am.lsm.common.impls.BandwidthAwareScheduler;
 import org.apache.hyracks.storage.am.lsm.common.impls.ConcurrentMergePolicyFactory;
 import org.apache.hyracks.storage.am.lsm.common.impls.GreedyScheduler;
 import org.apache.hyracks.storage.common.ILocalResourceRepository;
@@ -113,6 +114,7 @@ import org.apache.hyracks.storage.common.buffercache.IBufferCache;
 import org.apache.hyracks.storage.common.buffercache.ICacheMemoryAllocator;
 import org.apache.hyracks.storage.common.buffercache.IPageCleanerPolicy;
 import org.apache.hyracks.storage.common.buffercache.IPageReplacementStrategy;
+import org.apache.hyracks.storage.common.buffercache.TwoQueueClockPageReplacementStrategy;
 import org.apache.hyracks.storage.common.file.FileMapManager;
 import org.apache.hyracks.storage.common.file.ILocalResourceRepositoryFactory;
 import org.apache.hyracks.storage.common.file.IResourceIdFactory;
@@ -207,8 +209,7 @@ public class NCAppRuntimeContext implements INcApplicationContext {
                 MaintainedThreadNameExecutorService.newCachedThreadPool(getServiceContext().getThreadFactory());
         ICacheMemoryAllocator allocator = new HeapBufferAllocator();
         IPageCleanerPolicy pcp = new DelayPageCleanerPolicy(600000);
-        IPageReplacementStrategy prs = new ClockPageReplacementStrategy(allocator,
-                storageProperties.getBufferCachePageSize(), storageProperties.getBufferCacheNumPages());
+        IPageReplacementStrategy prs = createPageReplacementStrategy(allocator);
         lsmIOScheduler = createIoScheduler(storageProperties);
         metadataMergePolicyFactory = new ConcurrentMergePolicyFactory();
         indexCheckpointManagerProvider = new IndexCheckpointManagerProvider(persistenceIOManager);
@@ -277,6 +278,15 @@ public class NCAppRuntimeContext implements INcApplicationContext {
             bufferCache = new BufferCache(persistenceIOManager, prs, pcp, new FileMapManager(),
                     storageProperties.getBufferCacheMaxOpenFiles(), ioQueueLen, getServiceContext().getThreadFactory());
         }
+        if (lsmIOScheduler instanceof BandwidthAwareScheduler) {
+            BufferCache diskBufferCache = (BufferCache) bufferCache;
+            ((BandwidthAwareScheduler) lsmIOScheduler).setReadLatencySource(diskBufferCache::getQueryReadCount,
+                    diskBufferCache::getQueryReadNanos);
+        }
+        if (storageProperties.getBufferCachePrefetchPages() > 0) {
+            ((BufferCache) bufferCache).enablePrefetching(storageProperties.getBufferCachePrefetchPages(),
+                    storageProperties.getBufferCacheMaxPrefetchedPages());
+        }
 
         NodeControllerService ncs = (NodeControllerService) getServiceContext().getControllerService();
         FileReference appDir =
@@ -625,6 +635,19 @@ public class NCAppRuntimeContext implements INcApplicationContext {
         return configValidator;
     }
 
+    private IPageReplacementStrategy createPageReplacementStrategy(ICacheMemoryAllocator allocator) {
+        String policy = storageProperties.getBufferCacheReplacementPolicy();
+        int pageSize = storageProperties.getBufferCachePageSize();
+        int numPages = storageProperties.getBufferCacheNumPages();
+        if ("2q".equalsIgnoreCase(policy)) {
+            return new TwoQueueClockPageReplacementStrategy(allocator, pageSize, numPages);
+        } else if (!"clock".equalsIgnoreCase(policy) && LOGGER.isWarnEnabled()) {
+            LOGGER.log(Level.WARN,
+                    "Unknown buffer cache replacement policy: " + policy + "; defaulting to clock replacement policy.");
+        }
+        return new ClockPageReplacementStrategy(allocator, pageSize, numPages);
+    }
+
     private ILSMIOOperationScheduler createIoScheduler(StorageProperties properties) {
         String schedulerName = storageProperties.getIoScheduler();
         int numPartitions = ioManager.getIODevices().size();
@@ -637,6 +660,10 @@ public class NCAppRuntimeContext implements INcApplicationContext {
         if (AsynchronousScheduler.FACTORY.getName().equalsIgnoreCase(schedulerName)) {
             ioScheduler = AsynchronousScheduler.FACTORY.createIoScheduler(getServiceContext().getThreadFactory(),
                     HaltCallback.INSTANCE, maxConcurrentFlushes, maxScheduledMerges, maxConcurrentMerges);
+        } else if (BandwidthAwareScheduler.NAME.equalsIgnoreCase(schedulerName)) {
+            ioScheduler = new BandwidthAwareScheduler(getServiceContext().getThreadFactory(), HaltCallback.INSTANCE,
+                    maxConcurrentFlushes, maxConcurrentMerges, storageProperties.getBufferCachePageSize(),
+                    storageProperties.getIoDeviceBandwidth(), storageProperties.getIoMergeReadLatencyTarget());
         } else if (GreedyScheduler.FACTORY.getName().equalsIgnoreCase(schedulerName)) {
             ioScheduler = GreedyScheduler.FACTORY.createIoScheduler(getServiceContext().getThreadFactory(),
                     HaltCallback.INSTANCE, maxConcurrentFlushes, maxScheduledMerges, maxConcurrentMerges);
@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.app.nc;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Applies the work of the recovery redo phase on a fixed set of worker threads. Work is assigned to a worker by
+ * resource partition and every worker applies its work in submission order, so the redo of each index still
+ * follows the log order. With a single worker, work is applied directly on the submitting thread.
+ */
+public class PartitionedRedoExecutor implements AutoCloseable {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final int WORKER_QUEUE_SIZE = 1024;
+    private static final IRedoTask STOP = () -> {
+    };
+
+    @FunctionalInterface
+    public interface IRedoTask {
+        void run() throws HyracksDataException;
+    }
+
+    private final Worker[] workers;
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private volatile boolean aborted;
+    private boolean stopped;
+
+    public PartitionedRedoExecutor(int numWorkers, ThreadFactory threadFactory) {
+        if (numWorkers > 1) {
+            workers = new Worker[numWorkers];
+            for (int i = 0; i < numWorkers; i++) {
+                workers[i] = new Worker();
+                Thread thread = threadFactory.newThread(workers[i]);
+                thread.setName("Recovery Redo Worker " + i);
+                workers[i].thread = thread;
+                thread.start();
+            }
+        } else {
+            workers = new Worker[0];
+        }
+    }
+
+    /**
+     * @return true if submitted work is applied by worker threads, in which case the task must not refer to
+     *         state that the submitting thread reuses (e.g. the log record being read)
+     */
+    public boolean isParallel() {
+        return workers.length > 0;
+    }
+
+    public void execute(int partition, IRedoTask task) throws HyracksDataException {
+        if (!isParallel()) {
+            task.run();
+            return;
+        }
+        throwIfFailed();
+        try {
+            workers[partition % workers.length].queue.put(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw HyracksDataException.create(e);
+        }
+    }
+
+    /**
+     * Waits until all submitted work has been applied and stops the workers.
+     *
+     * @throws HyracksDataException
+     *             if any of the submitted tasks failed
+     */
+    public void await() throws HyracksDataException {
+        stop();
+        throwIfFailed();
+    }
+
+    /**
+     * Stops the workers. Work that has not been applied yet is discarded unless {@link #await()} was called first.
+     */
+    @Override
+    public void close() throws HyracksDataException {
+        aborted = true;
+        stop();
+    }
+
+    private void stop() throws HyracksDataException {
+        if (stopped) {
+            return;
+        }
+        stopped = true;
+        try {
+            for (Worker worker : workers) {
+                worker.queue.put(STOP);
+            }
+            for (Worker worker : workers) {
+                worker.thread.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw HyracksDataException.create(e);
+        }
+    }
+
+    private void throwIfFailed() throws HyracksDataException {
+        Throwable th = failure.get();
+        if (th != null) {
+            throw HyracksDataException.create(th);
+        }
+    }
+
+    private class Worker implements Runnable {
+        private final BlockingQueue<IRedoTask> queue = new ArrayBlockingQueue<>(WORKER_QUEUE_SIZE);
+        private Thread thread;
+
+        @Override
+        public void run() {
+            try {
+                IRedoTask task = queue.take();
+                while (task != STOP) {
+                    // once a task failed, keep draining the queue so that the submitting thread is never blocked
+                    if (!aborted && failure.get() == null) {
+                        try {
+                            task.run();
+                        } catch (Throwable th) {
+                            LOGGER.error("Failed to apply redo", th);
+                            failure.compareAndSet(null, th);
+                        }
+                    }
+                    task = queue.take();
+                }
+            } catch (InterruptedException e) {
+                failure.compareAndSet(null, e);
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
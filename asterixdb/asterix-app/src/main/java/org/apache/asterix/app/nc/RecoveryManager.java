@@ -39,6 +39,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import org.apache.asterix.common.api.IDatasetLifecycleManager;
@@ -72,7 +74,12 @@ import org.apache.hyracks.api.application.INCServiceContext;
 import org.apache.hyracks.api.exceptions.ErrorCode;
 import org.apache.hyracks.api.exceptions.HyracksDataException;
 import org.apache.hyracks.api.lifecycle.ILifeCycleComponent;
+import org.apache.hyracks.dataflow.common.data.accessors.ITupleReference;
+import org.apache.hyracks.dataflow.common.data.accessors.PermutingTupleReference;
 import org.apache.hyracks.storage.am.common.impls.NoOpIndexAccessParameters;
+import org.apache.hyracks.storage.am.common.tuples.SimpleTupleReference;
+import org.apache.hyracks.storage.am.common.tuples.SimpleTupleWriter;
+import org.apache.hyracks.storage.am.lsm.btree.impls.LSMBTree;
 import org.apache.hyracks.storage.am.lsm.common.api.ILSMComponentId;
 import org.apache.hyracks.storage.am.lsm.common.api.ILSMComponentId.IdCompareResult;
 import org.apache.hyracks.storage.am.lsm.common.api.ILSMDiskComponent;
@@ -103,6 +110,7 @@ public class RecoveryManager implements IRecoveryManager, ILifeCycleComponent {
     private static final String RECOVERY_FILES_DIR_NAME = "recovery_temp";
     private Map<Long, JobEntityCommits> jobId2WinnerEntitiesMap = null;
     private final long cachedEntityCommitsPerJobSize;
+    private final int redoParallelism;
     protected final PersistentLocalResourceRepository localResourceRepository;
     private final ICheckpointManager checkpointManager;
     private SystemState state;
@@ -119,6 +127,7 @@ public class RecoveryManager implements IRecoveryManager, ILifeCycleComponent {
         replicationEnabled = repProperties.isReplicationEnabled();
         localResourceRepository = (PersistentLocalResourceRepository) appCtx.getLocalResourceRepository();
         cachedEntityCommitsPerJobSize = txnSubsystem.getTransactionProperties().getJobRecoveryMemorySize();
+        redoParallelism = txnSubsystem.getTransactionProperties().getRecoveryRedoParallelism();
         checkpointManager = txnSubsystem.getCheckpointManager();
     }
 
@@ -223,6 +232,7 @@ public class RecoveryManager implements IRecoveryManager, ILifeCycleComponent {
                 case LogType.WAIT_FOR_FLUSHES:
                 case LogType.MARKER:
                 case LogType.FILTER:
+                case LogType.RANGE_DELETE:
                     break;
                 default:
                     throw new ACIDException("Unsupported LogType: " + logRecord.getLogType());
@@ -272,7 +282,7 @@ public class RecoveryManager implements IRecoveryManager, ILifeCycleComponent {
 
     private synchronized void startRecoveryRedoPhase(Set<Integer> partitions, ILogReader logReader,
             long lowWaterMarkLSN, Set<Long> winnerTxnSet, boolean closeOnFlushRedo) throws IOException, ACIDException {
-        int redoCount = 0;
+        final AtomicInteger redoCount = new AtomicInteger();
         long txnId = 0;
 
         long resourceId;
@@ -293,7 +303,9 @@ public class RecoveryManager implements IRecoveryManager, ILifeCycleComponent {
         TxnEntityId tempKeyTxnEntityId = new TxnEntityId(-1, -1, -1, null, -1, false);
 
         ILogRecord logRecord = null;
-        Set<Integer> flushRedoDatasets = new HashSet<>();
+        final Set<Integer> flushRedoDatasets = ConcurrentHashMap.newKeySet();
+        final PartitionedRedoExecutor redoExecutor =
+                new PartitionedRedoExecutor(redoParallelism, serviceCtx.getThreadFactory());
         try {
             logReader.setPosition(lowWaterMarkLSN);
             logRecord = logReader.next();
@@ -322,6 +334,12 @@ public class RecoveryManager implements IRecoveryManager, ILifeCycleComponent {
                             }
                         }
                         //fall through as FILTER is a subset of UPDATE
+                    case LogType.RANGE_DELETE:
+                        // a range delete has no entity commit, it is redone only if its job committed
+                        if (logRecord.getLogType() == LogType.RANGE_DELETE && !winnerTxnSet.contains(txnId)) {
+                            break;
+                        }
+                        //fall through as RANGE_DELETE is redone as FILTER
                     case LogType.FILTER:
                         if (partitions.contains(logRecord.getResourcePartition())) {
                             resourceId = logRecord.getResourceId();
@@ -376,8 +394,13 @@ public class RecoveryManager implements IRecoveryManager, ILifeCycleComponent {
                             }
                             // lsn @ maxDiskLastLsn is either a flush log or a master replica log
                             if (lsn >= maxDiskLastLsn) {
-                                redo(logRecord, datasetLifecycleManager);
-                                redoCount++;
+                                final ILSMIndex redoIndex = index;
+                                final byte newOp = logRecord.getNewOp();
+                                final ITupleReference newValue = redoExecutor.isParallel()
+                                        ? copyTuple(logRecord.getNewValue()) : logRecord.getNewValue();
+                                redoExecutor.execute(logRecord.getResourcePartition(),
+                                        () -> redo(redoIndex, newOp, newValue));
+                                redoCount.incrementAndGet();
                             }
                         }
                         break;
@@ -394,6 +417,8 @@ public class RecoveryManager implements IRecoveryManager, ILifeCycleComponent {
                             // we only need to flush open indexes here (opened by previous update records)
                             // if an index has no ongoing updates, then it's memory component must be empty
                             // and there is nothing to flush
+                            final long flushLsn = logRecord.getLSN();
+                            final List<ILSMIndex> flushIndexes = new ArrayList<>();
                             for (final IndexInfo iInfo : dsInfo.getIndexes().values()) {
                                 if (iInfo.isOpen() && iInfo.getPartition() == partition) {
                                     Long maxLsnBeforeFlush = resourceId2MaxLSNMap.get(iInfo.getResourceId());
@@ -402,13 +427,8 @@ public class RecoveryManager implements IRecoveryManager, ILifeCycleComponent {
                                         // IMPORTANT: Don't remove the check above
                                         // This check is to support indexes without transaction logs
                                         maxDiskLastLsn = maxLsnBeforeFlush;
-                                        index = iInfo.getIndex();
-                                        if (logRecord.getLSN() > maxDiskLastLsn
-                                                && !index.isCurrentMutableComponentEmpty()) {
-                                            // schedule flush
-                                            redoFlush(index, logRecord);
-                                            flushRedoDatasets.add(datasetId);
-                                            redoCount++;
+                                        if (flushLsn > maxDiskLastLsn) {
+                                            flushIndexes.add(iInfo.getIndex());
                                         } else {
                                             // TODO: update checkpoint file?
                                         }
@@ -417,6 +437,22 @@ public class RecoveryManager implements IRecoveryManager, ILifeCycleComponent {
                                     }
                                 }
                             }
+                            if (!flushIndexes.isEmpty()) {
+                                // the memory component state is only known once the preceding redos of the
+                                // partition were applied, so the flush runs after them on the partition's worker
+                                final ILSMComponentId flushComponentId = new LSMComponentId(
+                                        logRecord.getFlushingComponentMinId(), logRecord.getFlushingComponentMaxId());
+                                redoExecutor.execute(partition, () -> {
+                                    for (ILSMIndex flushIndex : flushIndexes) {
+                                        if (!flushIndex.isCurrentMutableComponentEmpty()) {
+                                            // schedule flush
+                                            redoFlush(flushIndex, flushLsn, flushComponentId);
+                                            flushRedoDatasets.add(datasetId);
+                                            redoCount.incrementAndGet();
+                                        }
+                                    }
+                                });
+                            }
                         }
                         break;
                     case LogType.JOB_COMMIT:
@@ -432,8 +468,11 @@ public class RecoveryManager implements IRecoveryManager, ILifeCycleComponent {
                 }
                 logRecord = logReader.next();
             }
-            LOGGER.info("Logs REDO phase completed. Redo logs count: " + redoCount);
+            redoExecutor.await();
+            LOGGER.info("Logs REDO phase completed. Redo logs count: " + redoCount.get());
         } finally {
+            // no redo may still be running on the indexes when they get closed
+            redoExecutor.close();
             txnSubsystem.getTransactionManager().ensureMaxTxnId(txnId);
             //close all indexes
             Set<Long> resourceIdList = resourceId2MaxLSNMap.keySet();
@@ -687,6 +726,7 @@ public class RecoveryManager implements IRecoveryManager, ILifeCycleComponent {
                     case LogType.ABORT:
                     case LogType.FLUSH:
                     case LogType.FILTER:
+                    case LogType.RANGE_DELETE:
                     case LogType.WAIT:
                     case LogType.WAIT_FOR_FLUSHES:
                     case LogType.MARKER:
@@ -803,42 +843,64 @@ public class RecoveryManager implements IRecoveryManager, ILifeCycleComponent {
         }
     }
 
-    private static void redo(ILogRecord logRecord, IDatasetLifecycleManager datasetLifecycleManager) {
+    private static void redo(ILSMIndex index, byte newOp, ITupleReference newValue) {
         try {
-            int datasetId = logRecord.getDatasetId();
-            long resourceId = logRecord.getResourceId();
-            ILSMIndex index = (ILSMIndex) datasetLifecycleManager.getIndex(datasetId, resourceId);
             ILSMIndexAccessor indexAccessor = index.createAccessor(NoOpIndexAccessParameters.INSTANCE);
             ILSMIndexOperationContext opCtx = indexAccessor.getOpContext();
             opCtx.setFilterSkip(true);
             opCtx.setRecovery(true);
-            if (logRecord.getNewOp() == AbstractIndexModificationOperationCallback.INSERT_BYTE) {
-                indexAccessor.forceInsert(logRecord.getNewValue());
-            } else if (logRecord.getNewOp() == AbstractIndexModificationOperationCallback.DELETE_BYTE) {
-                indexAccessor.forceDelete(logRecord.getNewValue());
-            } else if (logRecord.getNewOp() == AbstractIndexModificationOperationCallback.UPSERT_BYTE) {
+            if (newOp == AbstractIndexModificationOperationCallback.INSERT_BYTE) {
+                indexAccessor.forceInsert(newValue);
+            } else if (newOp == AbstractIndexModificationOperationCallback.DELETE_BYTE) {
+                indexAccessor.forceDelete(newValue);
+            } else if (newOp == AbstractIndexModificationOperationCallback.UPSERT_BYTE) {
                 // redo, upsert the new value
-                indexAccessor.forceUpsert(logRecord.getNewValue());
-            } else if (logRecord.getNewOp() == AbstractIndexModificationOperationCallback.FILTER_BYTE) {
+                indexAccessor.forceUpsert(newValue);
+            } else if (newOp == AbstractIndexModificationOperationCallback.FILTER_BYTE) {
                 opCtx.setFilterSkip(false);
-                indexAccessor.updateFilter(logRecord.getNewValue());
+                indexAccessor.updateFilter(newValue);
+            } else if (newOp == AbstractIndexModificationOperationCallback.RANGE_DELETE_BYTE) {
+                redoRangeDelete(index, indexAccessor, newValue);
             } else {
-                throw new IllegalStateException("Unsupported OperationType: " + logRecord.getNewOp());
+                throw new IllegalStateException("Unsupported OperationType: " + newOp);
             }
         } catch (Exception e) {
             throw new IllegalStateException("Failed to redo", e);
         }
     }
 
-    private static void redoFlush(ILSMIndex index, ILogRecord logRecord) throws HyracksDataException {
-        long flushLsn = logRecord.getLSN();
+    private static void redoRangeDelete(ILSMIndex index, ILSMIndexAccessor indexAccessor, ITupleReference keys)
+            throws HyracksDataException {
+        // the logged value holds the low key fields followed by the high key fields
+        int keyFieldCount = keys.getFieldCount() / 2;
+        int[] lowKeyFields = new int[keyFieldCount];
+        int[] highKeyFields = new int[keyFieldCount];
+        for (int i = 0; i < keyFieldCount; i++) {
+            lowKeyFields[i] = i;
+            highKeyFields[i] = keyFieldCount + i;
+        }
+        PermutingTupleReference lowKey = new PermutingTupleReference(lowKeyFields);
+        PermutingTupleReference highKey = new PermutingTupleReference(highKeyFields);
+        lowKey.reset(keys);
+        highKey.reset(keys);
+        ((LSMBTree) index).deleteRange(indexAccessor, lowKey, highKey);
+    }
+
+    private static ITupleReference copyTuple(ITupleReference tuple) {
+        // log records are reused by the log reader, so values handed to other threads must be copied
+        byte[] bytes = new byte[SimpleTupleWriter.INSTANCE.bytesRequired(tuple)];
+        SimpleTupleWriter.INSTANCE.writeTuple(tuple, bytes, 0);
+        SimpleTupleReference copy = SimpleTupleWriter.INSTANCE.createTupleReference();
+        copy.setFieldCount(tuple.getFieldCount());
+        copy.resetByTupleOffset(bytes, 0);
+        return copy;
+    }
+
+    private static void redoFlush(ILSMIndex index, long flushLsn, ILSMComponentId id) throws HyracksDataException {
         Map<String, Object> flushMap = new HashMap<>();
         flushMap.put(LSMIOOperationCallback.KEY_FLUSH_LOG_LSN, flushLsn);
         ILSMIndexAccessor accessor = index.createAccessor(NoOpIndexAccessParameters.INSTANCE);
         accessor.getOpContext().setParameters(flushMap);
-        long minId = logRecord.getFlushingComponentMinId();
-        long maxId = logRecord.getFlushingComponentMaxId();
-        ILSMComponentId id = new LSMComponentId(minId, maxId);
         flushMap.put(LSMIOOperationCallback.KEY_NEXT_COMPONENT_ID, index.getCurrentMemoryComponent().getId());
         if (!index.getDiskComponents().isEmpty()) {
             ILSMDiskComponent diskComponent = index.getDiskComponents().get(0);
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.app.nc;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PartitionedRedoExecutorTest {
+
+    private static final int NUM_WORKERS = 4;
+    private static final int NUM_PARTITIONS = 10;
+    private static final int NUM_TASKS_PER_PARTITION = 5000;
+
+    @Test
+    public void testPartitionOrder() throws Exception {
+        List<List<Integer>> applied = new ArrayList<>();
+        List<List<Thread>> threads = new ArrayList<>();
+        for (int i = 0; i < NUM_PARTITIONS; i++) {
+            applied.add(Collections.synchronizedList(new ArrayList<>()));
+            threads.add(Collections.synchronizedList(new ArrayList<>()));
+        }
+        int[] submitted = new int[NUM_PARTITIONS];
+        try (PartitionedRedoExecutor executor = new PartitionedRedoExecutor(NUM_WORKERS, Thread::new)) {
+            Assert.assertTrue(executor.isParallel());
+            // interleave the partitions the way log records of different partitions are interleaved in the log
+            for (int i = 0; i < NUM_PARTITIONS * NUM_TASKS_PER_PARTITION; i++) {
+                int partition = ThreadLocalRandom.current().nextInt(NUM_PARTITIONS);
+                int seq = submitted[partition]++;
+                executor.execute(partition, () -> {
+                    applied.get(partition).add(seq);
+                    threads.get(partition).add(Thread.currentThread());
+                });
+            }
+            executor.await();
+        }
+        for (int partition = 0; partition < NUM_PARTITIONS; partition++) {
+            List<Integer> partitionApplied = applied.get(partition);
+            Assert.assertEquals(submitted[partition], partitionApplied.size());
+            for (int seq = 0; seq < partitionApplied.size(); seq++) {
+                Assert.assertEquals(seq, partitionApplied.get(seq).intValue());
+            }
+            // all the work of a partition is applied by the same worker
+            Assert.assertEquals(1, threads.get(partition).stream().distinct().count());
+            Assert.assertNotEquals(Thread.currentThread(), threads.get(partition).get(0));
+        }
+    }
+
+    @Test
+    public void testSingleWorkerAppliesInline() throws Exception {
+        List<Thread> threads = new ArrayList<>();
+        try (PartitionedRedoExecutor executor = new PartitionedRedoExecutor(1, Thread::new)) {
+            Assert.assertFalse(executor.isParallel());
+            for (int partition = 0; partition < NUM_PARTITIONS; partition++) {
+                executor.execute(partition, () -> threads.add(Thread.currentThread()));
+                // the work is applied before execute returns
+                Assert.assertEquals(partition + 1, threads.size());
+            }
+            executor.await();
+        }
+        Assert.assertTrue(threads.stream().allMatch(thread -> thread == Thread.currentThread()));
+    }
+
+    @Test
+    public void testFailure() throws Exception {
+        AtomicInteger appliedAfterFailure = new AtomicInteger();
+        try (PartitionedRedoExecutor executor = new PartitionedRedoExecutor(NUM_WORKERS, Thread::new)) {
+            executor.execute(0, () -> {
+                throw HyracksDataException.create(new IllegalStateException("redo failed"));
+            });
+            for (int i = 0; i < NUM_TASKS_PER_PARTITION; i++) {
+                try {
+                    executor.execute(0, appliedAfterFailure::incrementAndGet);
+                } catch (HyracksDataException e) {
+                    // the failure is reported to the submitting thread once it is noticed
+                    break;
+                }
+            }
+            try {
+                executor.await();
+                Assert.fail("the failure of the redo was not reported");
+            } catch (HyracksDataException e) {
+                Assert.assertTrue(e.getMessage().contains("redo failed"));
+            }
+        }
+        // the work that follows a failed redo on the same partition is not applied
+        Assert.assertEquals(0, appliedAfterFailure.get());
+    }
+}
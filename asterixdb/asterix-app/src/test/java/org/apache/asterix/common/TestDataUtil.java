@@ -143,6 +143,20 @@ public class TestDataUtil {
         }
     }
 
+    /**
+     * Deletes the ids lower than {@code count} from {@code dataset}
+     *
+     * @param dataset
+     * @param count
+     * @throws Exception
+     */
+    public static void deleteData(String dataset, long count) throws Exception {
+        for (int i = 0; i < count; i++) {
+            TEST_EXECUTOR.executeSqlppUpdateOrDdl("DELETE FROM " + dataset + " WHERE id = " + i + ";",
+                    TestCaseContext.OutputFormat.CLEAN_JSON);
+        }
+    }
+
     /**
      * Creates a single insert statement with multiple records containing name field
      * @param dataset The name of the dataset
@@ -28,11 +28,14 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.asterix.app.bootstrap.TestNodeController;
+import org.apache.asterix.app.bootstrap.TestNodeController.PrimaryIndexInfo;
 import org.apache.asterix.app.data.gen.RecordTupleGenerator;
 import org.apache.asterix.app.data.gen.RecordTupleGenerator.GenerationFunction;
 import org.apache.asterix.app.nc.RecoveryManager;
+import org.apache.asterix.common.context.DatasetLifecycleManager;
 import org.apache.asterix.common.exceptions.ACIDException;
 import org.apache.asterix.common.transactions.Checkpoint;
 import org.apache.asterix.common.transactions.ICheckpointManager;
@@ -61,6 +64,10 @@ import org.apache.hyracks.api.exceptions.HyracksDataException;
 import org.apache.hyracks.api.job.JobId;
 import org.apache.hyracks.dataflow.common.comm.io.FrameTupleAppender;
 import org.apache.hyracks.dataflow.common.data.accessors.ITupleReference;
+import org.apache.hyracks.storage.am.common.api.IIndexDataflowHelper;
+import org.apache.hyracks.storage.am.common.dataflow.IndexDataflowHelperFactory;
+import org.apache.hyracks.storage.am.lsm.common.api.ILSMDiskComponent;
+import org.apache.hyracks.storage.am.lsm.common.api.ILSMIndex;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
@@ -69,6 +76,7 @@ import org.junit.Test;
 public class CheckpointingTest {
 
     private static final String TEST_CONFIG_FILE_NAME = "cc-small-txn-log-partition.conf";
+    private static final String FUZZY_CHECKPOINT_CONFIG_FILE_NAME = "cc-fuzzy-checkpoint.conf";
     private static final String TEST_CONFIG_PATH = System.getProperty("user.dir") + File.separator + "src"
             + File.separator + "test" + File.separator + "resources";
     private static final String TEST_CONFIG_FILE_PATH = TEST_CONFIG_PATH + File.separator + TEST_CONFIG_FILE_NAME;
@@ -84,6 +92,7 @@ public class CheckpointingTest {
     private static final int[] KEY_INDEXES = { 0 };
     private static final int[] KEY_INDICATOR = { Index.RECORD_INDICATOR };
     private static final List<Integer> KEY_INDICATOR_LIST = Arrays.asList(new Integer[] { Index.RECORD_INDICATOR });
+    private static final int NUM_FUZZY_CHECKPOINT_RECORDS = 1000;
     private static final int DATASET_ID = 101;
     private static final String DATAVERSE_NAME = "TestDV";
     private static final String DATASET_NAME = "TestDS";
@@ -254,6 +263,78 @@ public class CheckpointingTest {
         }
     }
 
+    @Test
+    public void testFuzzyCheckpointFlushedBytes() {
+        try {
+            String configPath = TEST_CONFIG_PATH + File.separator + FUZZY_CHECKPOINT_CONFIG_FILE_NAME;
+            TestNodeController nc = new TestNodeController(new File(configPath).getAbsolutePath(), false);
+            StorageComponentProvider storageManager = new StorageComponentProvider();
+            nc.init();
+            try {
+                PrimaryIndexInfo primaryIndexInfo = nc.createPrimaryIndex(StorageTestUtils.DATASET, KEY_TYPES,
+                        RECORD_TYPE, META_TYPE, null, storageManager, KEY_INDEXES, KEY_INDICATOR_LIST, 0);
+                JobId jobId = nc.newJobId();
+                IHyracksTaskContext ctx = nc.createTestContext(jobId, 0, false);
+                IIndexDataflowHelper indexDataflowHelper =
+                        new IndexDataflowHelperFactory(nc.getStorageManager(), primaryIndexInfo.getFileSplitProvider())
+                                .create(ctx.getJobletContext().getServiceContext(), 0);
+                indexDataflowHelper.open();
+                ILSMIndex primaryIndex = (ILSMIndex) indexDataflowHelper.getIndexInstance();
+                indexDataflowHelper.close();
+                nc.getTransactionManager().beginTransaction(nc.getTxnJobId(ctx),
+                        new TransactionOptions(ITransactionManager.AtomicityLevel.ENTITY_LEVEL));
+                LSMPrimaryInsertOperatorNodePushable insertOp =
+                        nc.getInsertPipeline(ctx, StorageTestUtils.DATASET, KEY_TYPES, RECORD_TYPE, META_TYPE, null,
+                                KEY_INDEXES, KEY_INDICATOR_LIST, storageManager, null, null).getLeft();
+                insertOp.open();
+                RecordTupleGenerator tupleGenerator =
+                        new RecordTupleGenerator(RECORD_TYPE, META_TYPE, KEY_INDEXES, KEY_INDICATOR,
+                                RECORD_GEN_FUNCTION, UNIQUE_RECORD_FIELDS, META_GEN_FUNCTION, UNIQUE_META_FIELDS);
+                VSizeFrame frame = new VSizeFrame(ctx);
+                FrameTupleAppender tupleAppender = new FrameTupleAppender(frame);
+
+                RecoveryManager recoveryManager = (RecoveryManager) nc.getTransactionSubsystem().getRecoveryManager();
+                ICheckpointManager checkpointManager = nc.getTransactionSubsystem().getCheckpointManager();
+                LogManager logManager = (LogManager) nc.getTransactionSubsystem().getLogManager();
+                DatasetLifecycleManager dlcm = nc.getDatasetLifecycleManager();
+
+                for (int i = 0; i < NUM_FUZZY_CHECKPOINT_RECORDS; i++) {
+                    DataflowUtils.addTupleToFrame(tupleAppender, tupleGenerator.next(), insertOp);
+                }
+                tupleAppender.write(insertOp, true);
+                // flushes that were not requested by a checkpoint are not counted
+                dlcm.flushAllDatasets();
+                Assert.assertEquals(0, checkpointManager.getCheckpointFlushedBytes());
+                Assert.assertEquals(1, primaryIndex.getDiskComponents().size());
+
+                for (int i = 0; i < NUM_FUZZY_CHECKPOINT_RECORDS; i++) {
+                    DataflowUtils.addTupleToFrame(tupleAppender, tupleGenerator.next(), insertOp);
+                }
+                tupleAppender.write(insertOp, true);
+                long minFirstLSN = recoveryManager.getMinFirstLSN();
+                checkpointManager.tryCheckpoint(logManager.getAppendLSN());
+                Assert.assertTrue(checkpointManager.getCheckpointLag() > 0);
+
+                // the flush requested by the checkpoint completes asynchronously
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+                while (checkpointManager.getCheckpointFlushedBytes() == 0) {
+                    Assert.assertTrue("checkpoint flush did not complete", System.nanoTime() < deadline);
+                    Thread.sleep(10);
+                }
+                List<ILSMDiskComponent> diskComponents = primaryIndex.getDiskComponents();
+                Assert.assertEquals(2, diskComponents.size());
+                Assert.assertEquals(diskComponents.get(0).getComponentSize(),
+                        checkpointManager.getCheckpointFlushedBytes());
+                Assert.assertTrue(recoveryManager.getMinFirstLSN() > minFirstLSN);
+            } finally {
+                nc.deInit();
+            }
+        } catch (Throwable e) {
+            e.printStackTrace();
+            Assert.fail(e.getMessage());
+        }
+    }
+
     private void stallAbortTxn(Thread t, ITransactionContext txnCtx, ITransactionSubsystem txnSubsystem, TxnId txnId)
             throws InterruptedException, HyracksDataException {
 
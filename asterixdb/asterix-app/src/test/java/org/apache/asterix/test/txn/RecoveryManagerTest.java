@@ -23,6 +23,7 @@ import java.io.File;
 import org.apache.asterix.api.common.AsterixHyracksIntegrationUtil;
 import org.apache.asterix.common.TestDataUtil;
 import org.apache.asterix.common.api.INcApplicationContext;
+import org.apache.asterix.common.config.TransactionProperties;
 import org.apache.asterix.metadata.bootstrap.MetadataBuiltinEntities;
 import org.apache.asterix.transaction.management.service.logging.LogManager;
 import org.junit.After;
@@ -105,6 +106,31 @@ public class RecoveryManagerTest {
         Assert.assertEquals(countBeforeRecovery, countAfterRecovery);
     }
 
+    @Test
+    public void parallelRedoRecovery() throws Exception {
+        int numDatasets = 4;
+        String datasetNamePrefix = "ds_";
+        for (int i = 1; i <= numDatasets; i++) {
+            String datasetName = datasetNamePrefix + i;
+            TestDataUtil.createIdOnlyDataset(datasetName);
+            // the deletes only leave the expected records if the redo of each partition follows the log order
+            TestDataUtil.upsertData(datasetName, 20);
+            TestDataUtil.deleteData(datasetName, 10);
+            TestDataUtil.upsertData(datasetName, 5);
+        }
+        // do ungraceful shutdown to enforce recovery with several redo workers
+        integrationUtil.deinit(false);
+        integrationUtil.addOption(TransactionProperties.Option.TXN_RECOVERY_REDO_PARALLELISM, 4);
+        try {
+            integrationUtil.init(false, TEST_CONFIG_FILE_PATH);
+        } finally {
+            integrationUtil.clearOptions();
+        }
+        for (int i = 1; i <= numDatasets; i++) {
+            Assert.assertEquals(15, TestDataUtil.getDatasetCount(datasetNamePrefix + i));
+        }
+    }
+
     @Test
     public void recoveryWithEmptyLogFile() throws Exception {
         String datasetName = "ds";
@@ -107,6 +107,29 @@ public class ParquetDeltaBinaryPackingValuesReader extends AbstractParquetValues
     public void skip() {
         checkRead();
         valuesRead++;
+        valuesBufferedRead++;
+    }
+
+    /**
+     * Read multiple values at once
+     *
+     * @param values destination array
+     * @param offset start offset in the destination array
+     * @param count  number of values to read
+     */
+    public void readLongs(long[] values, int offset, int count) {
+        int index = offset;
+        int remaining = count;
+        while (remaining > 0) {
+            checkRead();
+            int buffered = Math.min(valuesBuffered - valuesBufferedRead, totalValueCount - valuesRead);
+            int length = Math.min(remaining, buffered);
+            System.arraycopy(valuesBuffer, valuesBufferedRead, values, index, length);
+            valuesBufferedRead += length;
+            valuesRead += length;
+            index += length;
+            remaining -= length;
+        }
     }
 
     @Override
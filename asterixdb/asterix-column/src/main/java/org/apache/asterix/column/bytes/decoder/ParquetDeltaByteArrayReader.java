@@ -50,7 +50,17 @@ public class ParquetDeltaByteArrayReader extends AbstractParquetValuesReader {
 
     @Override
     public void initFromPage(AbstractBytesInputStream stream) throws IOException {
-        AbstractBytesInputStream prefixStream = stream.sliceStream(BytesUtils.readUnsignedVarInt(stream));
+        initFromPage(stream, BytesUtils.readUnsignedVarInt(stream));
+    }
+
+    /**
+     * Initialize the reader from a page where the size of the prefix lengths has already been read
+     *
+     * @param stream            page stream positioned after the size of the prefix lengths
+     * @param prefixLengthsSize size of the prefix lengths
+     */
+    public void initFromPage(AbstractBytesInputStream stream, int prefixLengthsSize) throws IOException {
+        AbstractBytesInputStream prefixStream = stream.sliceStream(prefixLengthsSize);
         prefixLengthReader.initFromPage(prefixStream);
         suffixReader.initFromPage(stream);
         previous.reset();
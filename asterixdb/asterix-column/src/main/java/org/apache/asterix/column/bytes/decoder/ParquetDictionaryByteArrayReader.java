@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.column.bytes.decoder;
+
+import java.io.EOFException;
+import java.io.IOException;
+
+import org.apache.asterix.column.bytes.encoder.ParquetDictionaryByteArrayWriter;
+import org.apache.asterix.column.bytes.stream.in.AbstractBytesInputStream;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.data.std.api.IValueReference;
+import org.apache.hyracks.data.std.primitive.VoidPointable;
+import org.apache.hyracks.data.std.util.ArrayBackedValueStorage;
+import org.apache.hyracks.util.string.UTF8StringUtil;
+import org.apache.parquet.bytes.BytesUtils;
+import org.apache.parquet.io.ParquetDecodingException;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+
+/**
+ * Reads pages written by {@link ParquetDictionaryByteArrayWriter}, which are either dictionary-encoded or
+ * delta-encoded (see {@link ParquetDeltaByteArrayReader})
+ */
+public class ParquetDictionaryByteArrayReader extends AbstractParquetValuesReader {
+    private final ParquetDeltaByteArrayReader deltaReader;
+    private final ArrayBackedValueStorage entries;
+    private final IntArrayList entryEnds;
+    private final VoidPointable entry;
+    private final byte[] lengthBytes;
+    private final boolean containsLength;
+    private byte[] copyBuffer;
+    private ParquetRunLengthBitPackingHybridDecoder codeDecoder;
+    private int codeDecoderBitWidth;
+    private boolean dictionaryEncoded;
+    private int dictionaryId;
+    private int code;
+
+    public ParquetDictionaryByteArrayReader(boolean containsLength) {
+        deltaReader = new ParquetDeltaByteArrayReader(containsLength);
+        entries = new ArrayBackedValueStorage();
+        entryEnds = new IntArrayList();
+        entry = new VoidPointable();
+        lengthBytes = new byte[4];
+        this.containsLength = containsLength;
+        copyBuffer = new byte[0];
+        codeDecoderBitWidth = -1;
+        code = -1;
+    }
+
+    @Override
+    public void initFromPage(AbstractBytesInputStream stream) throws IOException {
+        code = -1;
+        int marker = BytesUtils.readUnsignedVarInt(stream);
+        if (marker != ParquetDictionaryByteArrayWriter.DICTIONARY_PAGE) {
+            dictionaryEncoded = false;
+            deltaReader.initFromPage(stream, marker);
+            return;
+        }
+
+        dictionaryEncoded = true;
+        dictionaryId++;
+        entries.reset();
+        entryEnds.clear();
+        int numberOfEntries = BytesUtils.readUnsignedVarInt(stream);
+        for (int i = 0; i < numberOfEntries; i++) {
+            readEntry(stream, BytesUtils.readUnsignedVarInt(stream));
+            entryEnds.add(entries.getLength());
+        }
+
+        int bitWidth = BytesUtils.readUnsignedVarInt(stream);
+        if (bitWidth != codeDecoderBitWidth) {
+            codeDecoder = new ParquetRunLengthBitPackingHybridDecoder(bitWidth);
+            codeDecoderBitWidth = bitWidth;
+        }
+        codeDecoder.reset(stream);
+    }
+
+    @Override
+    public void skip() {
+        if (dictionaryEncoded) {
+            code = readCode();
+        } else {
+            deltaReader.skip();
+        }
+    }
+
+    @Override
+    public IValueReference readBytes() {
+        if (!dictionaryEncoded) {
+            return deltaReader.readBytes();
+        }
+        code = readCode();
+        int start = code == 0 ? 0 : entryEnds.getInt(code - 1);
+        entry.set(entries.getByteArray(), start, entryEnds.getInt(code) - start);
+        return entry;
+    }
+
+    /**
+     * @return the dictionary code of the last read value or -1 if the current page is not dictionary-encoded
+     */
+    public int getDictionaryCode() {
+        return dictionaryEncoded ? code : -1;
+    }
+
+    /**
+     * @return an identifier of the current dictionary, which changes whenever a new dictionary is read
+     */
+    public int getDictionaryId() {
+        return dictionaryId;
+    }
+
+    private void readEntry(AbstractBytesInputStream stream, int length) throws IOException {
+        if (containsLength) {
+            int numOfBytes = UTF8StringUtil.encodeUTF8Length(length, lengthBytes, 0);
+            entries.append(lengthBytes, 0, numOfBytes);
+        }
+        if (copyBuffer.length < length) {
+            copyBuffer = new byte[length];
+        }
+        int offset = 0;
+        while (offset < length) {
+            int read = stream.read(copyBuffer, offset, length - offset);
+            if (read < 0) {
+                throw new EOFException();
+            }
+            offset += read;
+        }
+        entries.append(copyBuffer, 0, length);
+    }
+
+    private int readCode() {
+        try {
+            return codeDecoder.readInt();
+        } catch (HyracksDataException e) {
+            throw new ParquetDecodingException(e);
+        }
+    }
+}
@@ -51,10 +51,19 @@ public class ParquetPlainFixedLengthValuesReader extends AbstractParquetValuesRe
 
     @Override
     public void skip() {
+        skip(1);
+    }
+
+    /**
+     * Skip multiple values at once
+     *
+     * @param count number of values to skip
+     */
+    public void skip(int count) {
         try {
-            in.skipBytes(valueLength);
+            in.skipBytes(count * valueLength);
         } catch (IOException e) {
-            throw new ParquetDecodingException("could not skip double", e);
+            throw new ParquetDecodingException("could not skip " + count + " values", e);
         }
     }
 
@@ -76,6 +85,23 @@ public class ParquetPlainFixedLengthValuesReader extends AbstractParquetValuesRe
         }
     }
 
+    /**
+     * Read multiple double values at once
+     *
+     * @param values destination array
+     * @param offset start offset in the destination array
+     * @param count  number of values to read
+     */
+    public void readDoubles(double[] values, int offset, int count) {
+        try {
+            for (int i = offset; i < offset + count; i++) {
+                values[i] = in.readDouble();
+            }
+        } catch (IOException e) {
+            throw new ParquetDecodingException("could not read " + count + " doubles", e);
+        }
+    }
+
     @Override
     public IValueReference readBytes() {
         try {
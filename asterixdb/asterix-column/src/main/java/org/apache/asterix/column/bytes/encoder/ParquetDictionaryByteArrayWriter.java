@@ -0,0 +1,267 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.column.bytes.encoder;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.apache.asterix.column.bytes.stream.out.GrowableBytesOutputStream;
+import org.apache.commons.lang3.mutable.Mutable;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.data.std.accessors.MurmurHash3BinaryHash;
+import org.apache.hyracks.data.std.api.IValueReference;
+import org.apache.hyracks.data.std.primitive.VoidPointable;
+import org.apache.hyracks.data.std.util.ArrayBackedValueStorage;
+import org.apache.hyracks.storage.am.lsm.btree.column.api.IColumnWriteMultiPageOp;
+import org.apache.hyracks.util.string.UTF8StringUtil;
+import org.apache.parquet.bytes.BytesInput;
+import org.apache.parquet.bytes.BytesUtils;
+import org.apache.parquet.io.ParquetEncodingException;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+
+/**
+ * Dictionary encoding for strings, which is chosen per mega leaf node: the distinct values are written once and each
+ * value is written as its dictionary code (RLE/bit-packed). Once the dictionary exceeds {@link #MAX_DICTIONARY_SIZE}
+ * bytes, or most of the values turn out to be distinct, the values written so far are replayed into a
+ * {@link ParquetDeltaByteArrayWriter}, which is used for the rest of the mega leaf node.
+ * <p>
+ * A dictionary-encoded page starts with {@link #DICTIONARY_PAGE}, where a delta-encoded page starts with the
+ * (non-zero) size of its prefix lengths. Thus, the layout of delta-encoded pages is unchanged. The layout of
+ * dictionary-encoded pages is:
+ * <pre>
+ * DICTIONARY_PAGE | numberOfEntries | (entryLength | entry)* | codesBitWidth | codes
+ * </pre>
+ */
+public class ParquetDictionaryByteArrayWriter extends AbstractParquetValuesWriter {
+    public static final int DICTIONARY_PAGE = 0;
+    private static final int MAX_DICTIONARY_SIZE = 64 * 1024;
+    // the number of values to see before checking whether the values are mostly distinct
+    private static final int MIN_VALUES_TO_CHECK_CARDINALITY = 1024;
+    private static final int INITIAL_TABLE_SIZE = 64;
+    private static final int SEED = 0;
+    private final ParquetDeltaByteArrayWriter fallbackWriter;
+    private final ArrayBackedValueStorage entries;
+    private final IntArrayList entryEnds;
+    private final IntArrayList codes;
+    private final GrowableBytesOutputStream header;
+    private final ParquetRunLengthBitPackingHybridEncoder[] codeEncoders;
+    private final VoidPointable entry;
+    private int[] table;
+    private boolean dictionaryEncoded;
+
+    public ParquetDictionaryByteArrayWriter(Mutable<IColumnWriteMultiPageOp> multiPageOpRef) {
+        fallbackWriter = new ParquetDeltaByteArrayWriter(multiPageOpRef);
+        entries = new ArrayBackedValueStorage();
+        entryEnds = new IntArrayList();
+        codes = new IntArrayList();
+        header = new GrowableBytesOutputStream();
+        codeEncoders = new ParquetRunLengthBitPackingHybridEncoder[Integer.SIZE + 1];
+        entry = new VoidPointable();
+        table = new int[INITIAL_TABLE_SIZE];
+        dictionaryEncoded = true;
+    }
+
+    @Override
+    public void writeBytes(IValueReference value, boolean skipLengthBytes) {
+        if (!dictionaryEncoded) {
+            fallbackWriter.writeBytes(value, skipLengthBytes);
+            return;
+        }
+        byte[] bytes = value.getByteArray();
+        int start = value.getStartOffset();
+        int length = value.getLength();
+        if (skipLengthBytes) {
+            int lengthBytes = UTF8StringUtil.getNumBytesToStoreLength(bytes, start);
+            start += lengthBytes;
+            length -= lengthBytes;
+        }
+        int code = findOrAddEntry(bytes, start, length);
+        if (code < 0) {
+            fallBack();
+            fallbackWriter.writeBytes(value, skipLengthBytes);
+            return;
+        }
+        codes.add(code);
+    }
+
+    @Override
+    public BytesInput getBytes() {
+        if (!dictionaryEncoded) {
+            return fallbackWriter.getBytes();
+        }
+        int numberOfEntries = entryEnds.size();
+        int bitWidth = getBitWidth(numberOfEntries);
+        try {
+            header.reset();
+            BytesUtils.writeUnsignedVarInt(DICTIONARY_PAGE, header);
+            BytesUtils.writeUnsignedVarInt(numberOfEntries, header);
+            for (int i = 0; i < numberOfEntries; i++) {
+                setEntry(i);
+                BytesUtils.writeUnsignedVarInt(entry.getLength(), header);
+                header.write(entry.getByteArray(), entry.getStartOffset(), entry.getLength());
+            }
+            BytesUtils.writeUnsignedVarInt(bitWidth, header);
+            header.flush();
+
+            ParquetRunLengthBitPackingHybridEncoder encoder = getCodeEncoder(bitWidth);
+            for (int i = 0; i < codes.size(); i++) {
+                encoder.writeInt(codes.getInt(i));
+            }
+            return BytesInput.concat(header.asBytesInput(), encoder.toBytes());
+        } catch (IOException e) {
+            throw new ParquetEncodingException("could not write page", e);
+        }
+    }
+
+    @Override
+    public void reset() throws HyracksDataException {
+        fallbackWriter.reset();
+        header.reset();
+        clearDictionary();
+        dictionaryEncoded = true;
+    }
+
+    @Override
+    public void close() {
+        fallbackWriter.close();
+        header.finish();
+        for (ParquetRunLengthBitPackingHybridEncoder encoder : codeEncoders) {
+            if (encoder != null) {
+                encoder.close();
+            }
+        }
+        clearDictionary();
+    }
+
+    @Override
+    public int getEstimatedSize() {
+        if (!dictionaryEncoded) {
+            return fallbackWriter.getEstimatedSize();
+        }
+        int numberOfCodes = codes.size();
+        int codesSize = (numberOfCodes * getBitWidth(entryEnds.size()) + Byte.SIZE - 1) / Byte.SIZE;
+        // entries' lengths + bit-packed runs headers + the page header
+        int overhead = entryEnds.size() * Integer.BYTES + numberOfCodes / Byte.SIZE + 3 * Integer.BYTES;
+        return entries.getLength() + codesSize + overhead;
+    }
+
+    @Override
+    public int calculateEstimatedSize(int length) {
+        // a new entry and its length + 4 bytes for its code (worst case)
+        return dictionaryEncoded ? length + 2 * Integer.BYTES : fallbackWriter.calculateEstimatedSize(length);
+    }
+
+    @Override
+    public int getAllocatedSize() {
+        int allocated = fallbackWriter.getAllocatedSize() + header.capacity();
+        if (dictionaryEncoded) {
+            allocated += entries.getByteArray().length + (table.length + codes.elements().length) * Integer.BYTES;
+        }
+        return allocated;
+    }
+
+    /**
+     * @return the code of the value or -1 if the value cannot be added to the dictionary
+     */
+    private int findOrAddEntry(byte[] bytes, int offset, int length) {
+        int mask = table.length - 1;
+        int slot = MurmurHash3BinaryHash.hash(bytes, offset, length, SEED) & mask;
+        while (table[slot] != 0) {
+            int code = table[slot] - 1;
+            setEntry(code);
+            if (Arrays.equals(bytes, offset, offset + length, entry.getByteArray(), entry.getStartOffset(),
+                    entry.getStartOffset() + entry.getLength())) {
+                return code;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        int code = entryEnds.size();
+        if (entries.getLength() + length > MAX_DICTIONARY_SIZE
+                || codes.size() >= MIN_VALUES_TO_CHECK_CARDINALITY && code > codes.size() / 2) {
+            return -1;
+        }
+        try {
+            entries.append(bytes, offset, length);
+        } catch (IOException e) {
+            throw new ParquetEncodingException("could not add dictionary entry", e);
+        }
+        entryEnds.add(entries.getLength());
+        table[slot] = code + 1;
+        if (entryEnds.size() * 2 > table.length) {
+            rehash();
+        }
+        return code;
+    }
+
+    private void rehash() {
+        table = new int[table.length * 2];
+        int mask = table.length - 1;
+        for (int code = 0; code < entryEnds.size(); code++) {
+            setEntry(code);
+            int slot = MurmurHash3BinaryHash.hash(entry.getByteArray(), entry.getStartOffset(), entry.getLength(), SEED)
+                    & mask;
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = code + 1;
+        }
+    }
+
+    private void fallBack() {
+        for (int i = 0; i < codes.size(); i++) {
+            setEntry(codes.getInt(i));
+            fallbackWriter.writeBytes(entry, false);
+        }
+        clearDictionary();
+        dictionaryEncoded = false;
+    }
+
+    private void clearDictionary() {
+        entries.reset();
+        entryEnds.clear();
+        codes.clear();
+        if (table.length > INITIAL_TABLE_SIZE) {
+            table = new int[INITIAL_TABLE_SIZE];
+        } else {
+            Arrays.fill(table, 0);
+        }
+    }
+
+    private void setEntry(int code) {
+        int start = code == 0 ? 0 : entryEnds.getInt(code - 1);
+        entry.set(entries.getByteArray(), start, entryEnds.getInt(code) - start);
+    }
+
+    private ParquetRunLengthBitPackingHybridEncoder getCodeEncoder(int bitWidth) {
+        ParquetRunLengthBitPackingHybridEncoder encoder = codeEncoders[bitWidth];
+        if (encoder == null) {
+            encoder = new ParquetRunLengthBitPackingHybridEncoder(bitWidth);
+            codeEncoders[bitWidth] = encoder;
+        } else {
+            encoder.reset();
+        }
+        return encoder;
+    }
+
+    private static int getBitWidth(int numberOfEntries) {
+        return Math.max(1, Integer.SIZE - Integer.numberOfLeadingZeros(numberOfEntries - 1));
+    }
+}
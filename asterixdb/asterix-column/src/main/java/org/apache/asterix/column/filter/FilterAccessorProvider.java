@@ -31,6 +31,7 @@ import org.apache.asterix.column.filter.iterable.accessor.ColumnFilterValueAcces
 import org.apache.asterix.column.filter.iterable.accessor.MissingEvaluator;
 import org.apache.asterix.column.filter.iterable.accessor.UnionColumnFilterValueAccessorEvaluator;
 import org.apache.asterix.column.filter.range.IColumnRangeFilterValueAccessor;
+import org.apache.asterix.column.filter.range.accessor.ColumnBloomFilterAccessor;
 import org.apache.asterix.column.filter.range.accessor.ColumnRangeFilterValueAccessor;
 import org.apache.asterix.column.filter.range.accessor.NoOpColumnRangeFilterValueAccessor;
 import org.apache.asterix.column.metadata.schema.AbstractSchemaNode;
@@ -56,6 +57,7 @@ public class FilterAccessorProvider {
     private final Map<ARecordType, PrimitiveSchemaNode> cachedNodes;
     private final List<IColumnRangeFilterValueAccessor> filterAccessors;
     private final List<IColumnValuesReader> filterColumnReaders;
+    private final List<ColumnBloomFilterAccessor> bloomFilterAccessors;
     private final IValueGetterFactory valueGetterFactory;
 
     public FilterAccessorProvider(ObjectSchemaNode root, SchemaClipperVisitor clipperVisitor,
@@ -73,6 +75,7 @@ public class FilterAccessorProvider {
         cachedNodes = new HashMap<>();
         filterAccessors = new ArrayList<>();
         filterColumnReaders = new ArrayList<>();
+        bloomFilterAccessors = new ArrayList<>();
     }
 
     public void reset() {
@@ -98,6 +101,35 @@ public class FilterAccessorProvider {
         return accessor;
     }
 
+    /**
+     * Create an accessor for the Bloom filter of a column. The column is added to the filtered columns as its Bloom
+     * filter is read with its values.
+     *
+     * @param path    the column's path
+     * @param typeTag the type of the compared value
+     * @return Bloom filter accessor or null if the path is missing or does not have a column of the given type
+     */
+    public ColumnBloomFilterAccessor createBloomFilterAccessor(ARecordType path, ATypeTag typeTag)
+            throws HyracksDataException {
+        ObjectSchemaNode dataPath = (ObjectSchemaNode) path.accept(clipperVisitor, root);
+        List<IColumnValuesReader> readers = pathExtractorVisitor.getOrCreateReaders(dataPath, filterColumnReaders);
+        if (readers.isEmpty() && metaRoot != null) {
+            //Try meta
+            ObjectSchemaNode metaPath = (ObjectSchemaNode) path.accept(clipperVisitor, metaRoot);
+            readers = pathExtractorVisitor.getOrCreateReaders(metaPath, filterColumnReaders);
+        }
+
+        for (int i = 0; i < readers.size(); i++) {
+            IColumnValuesReader reader = readers.get(i);
+            if (!reader.isRepeated() && reader.getTypeTag() == typeTag) {
+                ColumnBloomFilterAccessor accessor = new ColumnBloomFilterAccessor(reader);
+                bloomFilterAccessors.add(accessor);
+                return accessor;
+            }
+        }
+        return null;
+    }
+
     public IScalarEvaluator createColumnAccessEvaluator(ARecordType path) throws HyracksDataException {
         List<IColumnValuesReader> readers = createReaders(path);
         if (readers.isEmpty()) {
@@ -126,6 +158,10 @@ public class FilterAccessorProvider {
         return filterColumnReaders;
     }
 
+    public List<ColumnBloomFilterAccessor> getBloomFilterAccessors() {
+        return bloomFilterAccessors;
+    }
+
     public static void setFilterValues(List<IColumnRangeFilterValueAccessor> filterValueAccessors, ByteBuffer pageZero,
             int numberOfColumns) {
         for (int i = 0; i < filterValueAccessors.size(); i++) {
@@ -144,6 +180,13 @@ public class FilterAccessorProvider {
         }
     }
 
+    public static void setBloomFiltersAvailable(List<ColumnBloomFilterAccessor> bloomFilterAccessors,
+            boolean available) {
+        for (int i = 0; i < bloomFilterAccessors.size(); i++) {
+            bloomFilterAccessors.get(i).setAvailable(available);
+        }
+    }
+
     private AbstractSchemaNode getNode(ARecordType path) throws HyracksDataException {
         ObjectSchemaNode dataPath = (ObjectSchemaNode) path.accept(clipperVisitor, root);
         AbstractSchemaNode node = dataPath.accept(pathExtractorVisitor, null);
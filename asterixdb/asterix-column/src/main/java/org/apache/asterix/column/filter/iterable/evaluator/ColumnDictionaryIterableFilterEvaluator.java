@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.column.filter.iterable.evaluator;
+
+import java.util.Arrays;
+
+import org.apache.asterix.column.values.IColumnValuesReader;
+import org.apache.hyracks.algebricks.runtime.base.IScalarEvaluator;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+
+/**
+ * Evaluates a filter that accesses a single (non-repeated) column. For dictionary-encoded values, the filter is
+ * evaluated once per dictionary entry and the result is reused for all values that have the same dictionary code.
+ */
+public class ColumnDictionaryIterableFilterEvaluator extends AbstractIterableFilterEvaluator {
+    private static final byte UNKNOWN = 0;
+    private static final byte TRUE = 1;
+    private static final byte FALSE = 2;
+    private static final int INITIAL_RESULTS_SIZE = 64;
+    private final IColumnValuesReader reader;
+    private byte[] results;
+    private int dictionaryId;
+
+    public ColumnDictionaryIterableFilterEvaluator(IScalarEvaluator evaluator, IColumnValuesReader reader) {
+        super(evaluator);
+        this.reader = reader;
+        results = new byte[INITIAL_RESULTS_SIZE];
+        dictionaryId = -1;
+    }
+
+    @Override
+    public boolean evaluate() throws HyracksDataException {
+        boolean result = false;
+        while (!result && reader.next()) {
+            result = inspectValue();
+            index++;
+        }
+        if (!result) {
+            // Last tuple does not satisfy the condition
+            index++;
+        }
+        return result;
+    }
+
+    @Override
+    public void skip(int count) throws HyracksDataException {
+        if (count > 0) {
+            reader.skip(count);
+        }
+    }
+
+    private boolean inspectValue() throws HyracksDataException {
+        int code = reader.isValue() ? reader.getDictionaryCode() : -1;
+        if (code < 0) {
+            return inspect();
+        }
+
+        if (dictionaryId != reader.getDictionaryId()) {
+            dictionaryId = reader.getDictionaryId();
+            Arrays.fill(results, UNKNOWN);
+        }
+        if (code >= results.length) {
+            results = Arrays.copyOf(results, Math.max(code + 1, results.length * 2));
+        }
+
+        byte result = results[code];
+        if (result == UNKNOWN) {
+            result = inspect() ? TRUE : FALSE;
+            results[code] = result;
+        }
+        return result == TRUE;
+    }
+}
@@ -45,6 +45,9 @@ public class ColumnIterableFilterEvaluatorFactory implements IColumnIterableFilt
         if (readers.stream().anyMatch(IColumnValuesReader::isRepeated)) {
             return new ColumnarRepeatedIterableFilterEvaluator(evaluator, readers);
         }
+        if (readers.size() == 1) {
+            return new ColumnDictionaryIterableFilterEvaluator(evaluator, readers.get(0));
+        }
         return new ColumnIterableFilterEvaluator(evaluator, readers);
     }
 }
@@ -0,0 +1,44 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.column.filter.range.accessor;
+
+import org.apache.asterix.column.values.IColumnValuesReader;
+
+/**
+ * Accesses the Bloom filter of a column. The Bloom filter is written with the column's values, and hence, it is only
+ * available after the filtered columns of a mega leaf node are read. Until then, the accessor assumes that the
+ * column might contain any value.
+ */
+public class ColumnBloomFilterAccessor {
+    private final IColumnValuesReader reader;
+    private boolean available;
+
+    public ColumnBloomFilterAccessor(IColumnValuesReader reader) {
+        this.reader = reader;
+        reader.requestBloomFilter();
+    }
+
+    public void setAvailable(boolean available) {
+        this.available = available;
+    }
+
+    public boolean mightContain(long hash) {
+        return !available || reader.mightContain(hash);
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.column.filter.range.evaluator;
+
+import org.apache.asterix.column.filter.FilterAccessorProvider;
+import org.apache.asterix.column.filter.IColumnFilterEvaluator;
+import org.apache.asterix.column.filter.TrueColumnFilterEvaluator;
+import org.apache.asterix.column.filter.range.IColumnRangeFilterEvaluatorFactory;
+import org.apache.asterix.column.filter.range.accessor.ColumnBloomFilterAccessor;
+import org.apache.asterix.column.values.writer.filters.ColumnBloomFilterWriter;
+import org.apache.asterix.om.base.AInt64;
+import org.apache.asterix.om.base.AString;
+import org.apache.asterix.om.base.IAObject;
+import org.apache.asterix.om.types.ARecordType;
+import org.apache.asterix.om.types.ATypeTag;
+import org.apache.asterix.om.types.visitor.PathStringBuilderForIATypeVisitor;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+
+/**
+ * Evaluates an equality predicate against the Bloom filter of a column
+ *
+ * @see ColumnBloomFilterWriter
+ */
+public class BloomColumnFilterEvaluatorFactory implements IColumnRangeFilterEvaluatorFactory {
+    private static final long serialVersionUID = -2265398271659349087L;
+    private final ARecordType path;
+    private final ATypeTag typeTag;
+    private final long hash;
+    private final String stringValue;
+
+    private BloomColumnFilterEvaluatorFactory(ARecordType path, ATypeTag typeTag, long hash, String stringValue) {
+        this.path = path;
+        this.typeTag = typeTag;
+        this.hash = hash;
+        this.stringValue = stringValue;
+    }
+
+    /**
+     * @return a factory for the predicate 'path = value' or null if Bloom filters are not written for the value's type
+     */
+    public static BloomColumnFilterEvaluatorFactory createFactory(ARecordType path, IAObject value) {
+        ATypeTag typeTag = value.getType().getTypeTag();
+        switch (typeTag) {
+            case BIGINT:
+                long longVal = ((AInt64) value).getLongValue();
+                return new BloomColumnFilterEvaluatorFactory(path, typeTag, ColumnBloomFilterWriter.hash(longVal),
+                        Long.toString(longVal));
+            case STRING:
+                String stringVal = ((AString) value).getStringValue();
+                return new BloomColumnFilterEvaluatorFactory(path, typeTag, ColumnBloomFilterWriter.hash(stringVal),
+                        "\"" + stringVal + "\"");
+            default:
+                return null;
+        }
+    }
+
+    @Override
+    public IColumnFilterEvaluator create(FilterAccessorProvider filterAccessorProvider) throws HyracksDataException {
+        ColumnBloomFilterAccessor accessor = filterAccessorProvider.createBloomFilterAccessor(path, typeTag);
+        if (accessor == null) {
+            return TrueColumnFilterEvaluator.INSTANCE;
+        }
+        return () -> accessor.mightContain(hash);
+    }
+
+    @Override
+    public String toString() {
+        PathStringBuilderForIATypeVisitor pathBuilder = new PathStringBuilderForIATypeVisitor();
+        StringBuilder stringBuilder = new StringBuilder();
+
+        stringBuilder.append("bloom(");
+        path.accept(pathBuilder, stringBuilder);
+        stringBuilder.append(") contains ");
+        stringBuilder.append(stringValue);
+
+        return stringBuilder.toString();
+    }
+}
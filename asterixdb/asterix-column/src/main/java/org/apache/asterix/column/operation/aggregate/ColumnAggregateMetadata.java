@@ -0,0 +1,223 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.column.operation.aggregate;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.asterix.column.metadata.AbstractColumnImmutableReadMetadata;
+import org.apache.asterix.column.metadata.FieldNamesDictionary;
+import org.apache.asterix.column.metadata.schema.AbstractSchemaNode;
+import org.apache.asterix.column.metadata.schema.ObjectSchemaNode;
+import org.apache.asterix.column.metadata.schema.primitive.PrimitiveSchemaNode;
+import org.apache.asterix.column.operation.query.QueryColumnMetadata;
+import org.apache.asterix.column.values.IColumnValuesReader;
+import org.apache.asterix.column.values.IColumnValuesReaderFactory;
+import org.apache.asterix.column.values.reader.PrimitiveColumnValuesReader;
+import org.apache.asterix.om.types.ARecordType;
+import org.apache.asterix.om.types.ATypeTag;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.data.std.api.IValueReference;
+import org.apache.hyracks.data.std.primitive.IntegerPointable;
+import org.apache.hyracks.storage.am.lsm.btree.column.api.AbstractColumnTupleReader;
+
+import it.unimi.dsi.fastutil.ints.Int2IntMap;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+
+/**
+ * Column metadata used to compute {@link ColumnAggregateFunction}s from whole leaves. The only projected columns are
+ * the ones that are needed to compute MIN and MAX of non-key fields.
+ */
+public final class ColumnAggregateMetadata extends AbstractColumnImmutableReadMetadata {
+    /**
+     * The argument is the first primary key, whose values are sorted within a leaf
+     */
+    static final int PRIMARY_KEY = -1;
+    /**
+     * The argument has no values in the component (i.e., it is always MISSING or NULL)
+     */
+    static final int NO_VALUES = -2;
+    private static final int UNSUPPORTED = -3;
+    private final PrimitiveColumnValuesReader[] primaryKeyReaders;
+    private final ColumnAggregateFunction[] functions;
+    private final int[] arguments;
+    private final ColumnMinMaxAggregator[] aggregators;
+
+    private ColumnAggregateMetadata(ARecordType datasetType, int numberOfPrimaryKeys,
+            IValueReference serializedMetadata, PrimitiveColumnValuesReader[] primaryKeyReaders,
+            ColumnAggregateFunction[] functions, int[] arguments, ColumnMinMaxAggregator[] aggregators) {
+        super(datasetType, null, numberOfPrimaryKeys, serializedMetadata, aggregators.length);
+        this.primaryKeyReaders = primaryKeyReaders;
+        this.functions = functions;
+        this.arguments = arguments;
+        this.aggregators = aggregators;
+    }
+
+    public PrimitiveColumnValuesReader[] getPrimaryKeyReaders() {
+        return primaryKeyReaders;
+    }
+
+    ColumnAggregateFunction[] getFunctions() {
+        return functions;
+    }
+
+    /**
+     * @return for each function, the index of its {@link ColumnMinMaxAggregator}, {@link #PRIMARY_KEY}, or
+     * {@link #NO_VALUES}
+     */
+    int[] getArguments() {
+        return arguments;
+    }
+
+    ColumnMinMaxAggregator[] getAggregators() {
+        return aggregators;
+    }
+
+    @Override
+    public int getColumnIndex(int ordinal) {
+        return aggregators[ordinal].getReader().getColumnIndex();
+    }
+
+    @Override
+    public int getNumberOfProjectedColumns() {
+        return aggregators.length;
+    }
+
+    @Override
+    public int getFilteredColumnIndex(int ordinal) {
+        return -1;
+    }
+
+    @Override
+    public int getNumberOfFilteredColumns() {
+        return 0;
+    }
+
+    @Override
+    public AbstractColumnTupleReader createTupleReader() {
+        return new ColumnAggregateTupleReader(this);
+    }
+
+    /**
+     * Create {@link ColumnAggregateMetadata} if all the functions can be computed from the leaves of a component
+     *
+     * @param datasetType         dataset declared type
+     * @param numberOfPrimaryKeys number of PKs
+     * @param serializedMetadata  inferred metadata (schema)
+     * @param readerFactory       column reader factory
+     * @param functions           the aggregate functions
+     * @param keyIndexes          for each function, the index of the primary key it aggregates or -1
+     * @param paths               for each function, the path of the field it aggregates or null
+     * @return the metadata or null if one of the arguments is not a supported column (e.g., an array's item, a field
+     * of multiple types, or a secondary primary key)
+     */
+    public static ColumnAggregateMetadata create(ARecordType datasetType, int numberOfPrimaryKeys,
+            IValueReference serializedMetadata, IColumnValuesReaderFactory readerFactory,
+            ColumnAggregateFunction[] functions, int[] keyIndexes, List<List<String>> paths) throws IOException {
+        byte[] bytes = serializedMetadata.getByteArray();
+        int offset = serializedMetadata.getStartOffset();
+        int length = serializedMetadata.getLength();
+
+        int fieldNamesStart = offset + IntegerPointable.getInteger(bytes, offset + FIELD_NAMES_POINTER);
+        int metaRootStart = IntegerPointable.getInteger(bytes, offset + META_SCHEMA_POINTER);
+        int metaRootSize =
+                metaRootStart < 0 ? 0 : IntegerPointable.getInteger(bytes, offset + PATH_INFO_POINTER) - metaRootStart;
+        DataInput input = new DataInputStream(new ByteArrayInputStream(bytes, fieldNamesStart, length));
+
+        //FieldNames
+        FieldNamesDictionary fieldNamesDictionary = FieldNamesDictionary.deserialize(input);
+        //Schema
+        ObjectSchemaNode root = (ObjectSchemaNode) AbstractSchemaNode.deserialize(input, null);
+        //Skip metaRoot (if exists)
+        input.skipBytes(metaRootSize);
+
+        int[] arguments = new int[functions.length];
+        List<ColumnMinMaxAggregator> aggregators = new ArrayList<>();
+        Int2IntMap columnToAggregator = new Int2IntOpenHashMap();
+        for (int i = 0; i < functions.length; i++) {
+            if (functions[i] == ColumnAggregateFunction.COUNT) {
+                arguments[i] = NO_VALUES;
+                continue;
+            }
+            if (keyIndexes[i] >= 0) {
+                arguments[i] = keyIndexes[i] == 0 ? PRIMARY_KEY : UNSUPPORTED;
+            } else {
+                List<String> path = paths.get(i);
+                arguments[i] =
+                        resolve(fieldNamesDictionary, root, path, readerFactory, aggregators, columnToAggregator);
+            }
+            if (arguments[i] == UNSUPPORTED) {
+                return null;
+            }
+        }
+
+        // Primary key readers
+        PrimitiveColumnValuesReader[] primaryKeyReaders =
+                QueryColumnMetadata.createPrimaryKeyReaders(input, readerFactory, numberOfPrimaryKeys);
+
+        return new ColumnAggregateMetadata(datasetType, numberOfPrimaryKeys, serializedMetadata, primaryKeyReaders,
+                functions, arguments, aggregators.toArray(new ColumnMinMaxAggregator[0]));
+    }
+
+    private static int resolve(FieldNamesDictionary fieldNamesDictionary, ObjectSchemaNode root, List<String> path,
+            IColumnValuesReaderFactory readerFactory, List<ColumnMinMaxAggregator> aggregators,
+            Int2IntMap columnToAggregator) throws HyracksDataException {
+        AbstractSchemaNode node = root;
+        for (int i = 0; i < path.size() && node.getTypeTag() != ATypeTag.MISSING; i++) {
+            if (node.getTypeTag() != ATypeTag.OBJECT) {
+                // Arrays, multisets, and fields of multiple types
+                return UNSUPPORTED;
+            }
+            int fieldNameIndex = fieldNamesDictionary.getFieldNameIndex(path.get(i));
+            node = fieldNameIndex < 0 ? null : ((ObjectSchemaNode) node).getChild(fieldNameIndex);
+            if (node == null) {
+                return NO_VALUES;
+            }
+        }
+
+        if (node.getTypeTag() == ATypeTag.MISSING || node.getTypeTag() == ATypeTag.NULL) {
+            return NO_VALUES;
+        } else if (!(node instanceof PrimitiveSchemaNode)) {
+            return UNSUPPORTED;
+        }
+
+        PrimitiveSchemaNode primitiveNode = (PrimitiveSchemaNode) node;
+        int columnIndex = primitiveNode.getColumnIndex();
+        if (primitiveNode.isPrimaryKey()) {
+            return columnIndex == 0 ? PRIMARY_KEY : UNSUPPORTED;
+        }
+
+        ATypeTag typeTag = primitiveNode.getTypeTag();
+        if (typeTag != ATypeTag.BIGINT && typeTag != ATypeTag.DOUBLE && typeTag != ATypeTag.STRING) {
+            return UNSUPPORTED;
+        }
+
+        if (!columnToAggregator.containsKey(columnIndex)) {
+            // The level of a non-repeated value is the length of its path
+            IColumnValuesReader reader = readerFactory.createValueReader(typeTag, columnIndex, path.size(), false);
+            columnToAggregator.put(columnIndex, aggregators.size());
+            aggregators.add(new ColumnMinMaxAggregator(reader));
+        }
+        return columnToAggregator.get(columnIndex);
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.column.operation.aggregate;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.asterix.column.filter.NoOpColumnFilterEvaluatorFactory;
+import org.apache.asterix.column.operation.query.QueryColumnTupleProjector;
+import org.apache.asterix.column.values.reader.ColumnValueReaderFactory;
+import org.apache.asterix.om.types.ARecordType;
+import org.apache.asterix.om.types.ATypeTag;
+import org.apache.hyracks.algebricks.runtime.base.IScalarEvaluator;
+import org.apache.hyracks.algebricks.runtime.base.IScalarEvaluatorFactory;
+import org.apache.hyracks.algebricks.runtime.evaluators.EvaluatorContext;
+import org.apache.hyracks.api.context.IHyracksTaskContext;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.data.std.api.IPointable;
+import org.apache.hyracks.data.std.api.IValueReference;
+import org.apache.hyracks.data.std.primitive.VoidPointable;
+import org.apache.hyracks.dataflow.common.comm.io.ArrayTupleBuilder;
+import org.apache.hyracks.dataflow.common.data.accessors.ITupleReference;
+import org.apache.hyracks.storage.am.common.tuples.ReferenceFrameTupleReference;
+import org.apache.hyracks.storage.am.lsm.btree.column.api.projection.IColumnProjectionInfo;
+import org.apache.hyracks.storage.am.lsm.btree.column.api.projection.IColumnTupleProjector;
+
+/**
+ * Projects the partial aggregates of {@link ColumnAggregateFunction}s. When whole leaves are read, a tuple holds the
+ * partial aggregates of a leaf's range (see {@link ColumnAggregateTupleReference}). Otherwise, a tuple holds the
+ * partial aggregates of a single record, which are computed from the assembled record.
+ */
+public class ColumnAggregateTupleProjector implements IColumnTupleProjector {
+    private final ARecordType datasetType;
+    private final int numberOfPrimaryKeys;
+    private final ColumnAggregateFunction[] functions;
+    private final int[] keyIndexes;
+    private final List<List<String>> paths;
+    private final QueryColumnTupleProjector recordProjector;
+    private final ArrayTupleBuilder recordBuilder;
+    private final ReferenceFrameTupleReference recordTuple;
+    private final IScalarEvaluator[] argumentEvals;
+    private final IPointable argument;
+
+    public ColumnAggregateTupleProjector(ARecordType datasetType, int numberOfPrimaryKeys, ARecordType requestedType,
+            ColumnAggregateFunction[] functions, int[] keyIndexes, List<List<String>> paths,
+            IScalarEvaluatorFactory[] argumentEvalFactories, IHyracksTaskContext context) throws HyracksDataException {
+        this.datasetType = datasetType;
+        this.numberOfPrimaryKeys = numberOfPrimaryKeys;
+        this.functions = functions;
+        this.keyIndexes = keyIndexes;
+        this.paths = paths;
+        recordProjector = new QueryColumnTupleProjector(datasetType, numberOfPrimaryKeys, requestedType,
+                Collections.emptyMap(), NoOpColumnFilterEvaluatorFactory.INSTANCE,
+                NoOpColumnFilterEvaluatorFactory.INSTANCE, context.getWarningCollector(), context);
+        recordBuilder = new ArrayTupleBuilder(numberOfPrimaryKeys + 1);
+        recordTuple = new ReferenceFrameTupleReference();
+        EvaluatorContext evalContext = new EvaluatorContext(context);
+        argumentEvals = new IScalarEvaluator[argumentEvalFactories.length];
+        for (int i = 0; i < argumentEvals.length; i++) {
+            if (argumentEvalFactories[i] != null) {
+                argumentEvals[i] = argumentEvalFactories[i].createScalarEvaluator(evalContext);
+            }
+        }
+        argument = VoidPointable.FACTORY.createPointable();
+    }
+
+    @Override
+    public IColumnProjectionInfo createProjectionInfo(IValueReference serializedMetadata) throws HyracksDataException {
+        return recordProjector.createProjectionInfo(serializedMetadata);
+    }
+
+    @Override
+    public IColumnProjectionInfo createLeafProjectionInfo(IValueReference serializedMetadata)
+            throws HyracksDataException {
+        try {
+            return ColumnAggregateMetadata.create(datasetType, numberOfPrimaryKeys, serializedMetadata,
+                    new ColumnValueReaderFactory(), functions, keyIndexes, paths);
+        } catch (IOException e) {
+            throw HyracksDataException.create(e);
+        }
+    }
+
+    @Override
+    public ITupleReference project(ITupleReference tuple, DataOutput dos, ArrayTupleBuilder tb) throws IOException {
+        if (tuple instanceof ColumnAggregateTupleReference) {
+            ((ColumnAggregateTupleReference) tuple).writePartialAggregates(dos, tb);
+            return tuple;
+        }
+
+        recordBuilder.reset();
+        ITupleReference record = recordProjector.project(tuple, recordBuilder.getDataOutput(), recordBuilder);
+        if (record == null) {
+            return null;
+        }
+        recordTuple.reset(record);
+        for (int i = 0; i < functions.length; i++) {
+            if (functions[i] == ColumnAggregateFunction.COUNT) {
+                dos.writeByte(ATypeTag.SERIALIZED_INT64_TYPE_TAG);
+                dos.writeLong(1);
+            } else {
+                argumentEvals[i].evaluate(recordTuple, argument);
+                dos.write(argument.getByteArray(), argument.getStartOffset(), argument.getLength());
+            }
+            tb.addFieldEndOffset();
+        }
+        return tuple;
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.column.operation.aggregate;
+
+import java.util.List;
+
+import org.apache.asterix.om.types.ARecordType;
+import org.apache.hyracks.algebricks.runtime.base.IScalarEvaluatorFactory;
+import org.apache.hyracks.api.context.IHyracksTaskContext;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.storage.common.projection.ITupleProjector;
+import org.apache.hyracks.storage.common.projection.ITupleProjectorFactory;
+
+public class ColumnAggregateTupleProjectorFactory implements ITupleProjectorFactory {
+    private static final long serialVersionUID = -4305463880385296517L;
+    private final ARecordType datasetType;
+    private final int numberOfPrimaryKeys;
+    private final ARecordType requestedType;
+    private final ColumnAggregateFunction[] functions;
+    private final int[] keyIndexes;
+    private final List<List<String>> paths;
+    private final IScalarEvaluatorFactory[] argumentEvalFactories;
+
+    /**
+     * @param datasetType           dataset declared type
+     * @param numberOfPrimaryKeys   number of PKs
+     * @param requestedType         the fields needed to evaluate the arguments of the functions
+     * @param functions             the aggregate functions
+     * @param keyIndexes            for each function, the index of the primary key it aggregates or -1
+     * @param paths                 for each function, the path of the field it aggregates or null
+     * @param argumentEvalFactories for each function, its argument's evaluator over the primary keys and the record
+     *                              or null for COUNT
+     */
+    public ColumnAggregateTupleProjectorFactory(ARecordType datasetType, int numberOfPrimaryKeys,
+            ARecordType requestedType, ColumnAggregateFunction[] functions, int[] keyIndexes, List<List<String>> paths,
+            IScalarEvaluatorFactory[] argumentEvalFactories) {
+        this.datasetType = datasetType;
+        this.numberOfPrimaryKeys = numberOfPrimaryKeys;
+        this.requestedType = requestedType;
+        this.functions = functions;
+        this.keyIndexes = keyIndexes;
+        this.paths = paths;
+        this.argumentEvalFactories = argumentEvalFactories;
+    }
+
+    @Override
+    public ITupleProjector createTupleProjector(IHyracksTaskContext context) throws HyracksDataException {
+        return new ColumnAggregateTupleProjector(datasetType, numberOfPrimaryKeys, requestedType, functions, keyIndexes,
+                paths, argumentEvalFactories, context);
+    }
+}
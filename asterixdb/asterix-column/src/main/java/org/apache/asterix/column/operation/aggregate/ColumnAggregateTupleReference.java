@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.column.operation.aggregate;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.apache.asterix.column.bytes.stream.in.AbstractBytesInputStream;
+import org.apache.asterix.column.tuple.AbstractAsterixColumnTupleReference;
+import org.apache.asterix.column.values.reader.PrimitiveColumnValuesReader;
+import org.apache.asterix.column.values.writer.filters.AbstractColumnFilterWriter;
+import org.apache.asterix.om.types.ATypeTag;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.dataflow.common.comm.io.ArrayTupleBuilder;
+import org.apache.hyracks.storage.am.lsm.btree.column.api.IColumnBufferProvider;
+import org.apache.hyracks.storage.am.lsm.btree.column.api.IColumnReadMultiPageOp;
+import org.apache.hyracks.storage.am.lsm.btree.column.api.projection.IColumnProjectionInfo;
+import org.apache.hyracks.storage.am.lsm.btree.column.impls.btree.ColumnBTreeReadLeafFrame;
+
+/**
+ * A leaf's tuple range that is aggregated as a whole. COUNT is the size of the range and MIN/MAX of the first primary
+ * key are the keys at both ends of the range. MIN/MAX of a BIGINT column are taken from the leaf's min/max filter
+ * when the range covers the entire leaf. Only the remaining columns are read and decoded.
+ */
+public final class ColumnAggregateTupleReference extends AbstractAsterixColumnTupleReference {
+    private final ColumnAggregateFunction[] functions;
+    private final int[] arguments;
+    private final ColumnMinMaxAggregator[] aggregators;
+
+    public ColumnAggregateTupleReference(int componentIndex, ColumnBTreeReadLeafFrame frame,
+            ColumnAggregateMetadata columnMetadata, IColumnReadMultiPageOp multiPageOp) {
+        super(componentIndex, frame, columnMetadata, multiPageOp);
+        functions = columnMetadata.getFunctions();
+        arguments = columnMetadata.getArguments();
+        aggregators = columnMetadata.getAggregators();
+    }
+
+    @Override
+    protected PrimitiveColumnValuesReader[] getPrimaryKeyReaders(IColumnProjectionInfo info) {
+        return ((ColumnAggregateMetadata) info).getPrimaryKeyReaders();
+    }
+
+    @Override
+    protected boolean startNewPage(ByteBuffer pageZero, int numberOfColumns, int numberOfTuples)
+            throws HyracksDataException {
+        //Skip to filters
+        int filtersStart = pageZero.position() + numberOfColumns * Integer.BYTES;
+        boolean entireLeaf = tupleIndex == 0 && getEndIndex() == numberOfTuples - 1;
+        boolean readColumns = false;
+        for (int i = 0; i < aggregators.length; i++) {
+            ColumnMinMaxAggregator aggregator = aggregators[i];
+            aggregator.reset();
+            int columnIndex = aggregator.getReader().getColumnIndex();
+            if (columnIndex >= numberOfColumns) {
+                // The column was created after this leaf was written
+                aggregator.setEmpty();
+            } else if (aggregator.getTypeTag() == ATypeTag.BIGINT) {
+                int filterOffset = filtersStart + columnIndex * AbstractColumnFilterWriter.FILTER_SIZE;
+                long min = pageZero.getLong(filterOffset);
+                long max = pageZero.getLong(filterOffset + Long.BYTES);
+                // min > max if the leaf has no values of the column
+                if (entireLeaf || min > max) {
+                    aggregator.setFromFilter(min, max);
+                } else {
+                    readColumns = true;
+                }
+            } else {
+                readColumns = true;
+            }
+        }
+        //Skip filters
+        pageZero.position(filtersStart + numberOfColumns * AbstractColumnFilterWriter.FILTER_SIZE);
+        return readColumns;
+    }
+
+    @Override
+    protected void startColumnFilter(IColumnBufferProvider buffersProvider, int ordinal, int numberOfTuples) {
+        //NoOp
+    }
+
+    @Override
+    protected boolean evaluateFilter() {
+        return true;
+    }
+
+    @Override
+    protected void startColumn(IColumnBufferProvider buffersProvider, int ordinal, int numberOfTuples)
+            throws HyracksDataException {
+        ColumnMinMaxAggregator aggregator = aggregators[ordinal];
+        if (!aggregator.isAggregated()) {
+            AbstractBytesInputStream columnStream = columnStreams[ordinal];
+            columnStream.reset(buffersProvider);
+            aggregator.startColumn(columnStream, numberOfTuples);
+        }
+    }
+
+    @Override
+    public void skip(int count) throws HyracksDataException {
+        for (int i = 0; i < aggregators.length; i++) {
+            if (!aggregators[i].isAggregated()) {
+                aggregators[i].skip(count);
+            }
+        }
+    }
+
+    /**
+     * Write the partial aggregates of this leaf's range as fields of the output tuple
+     */
+    public void writePartialAggregates(DataOutput dos, ArrayTupleBuilder tb) throws IOException {
+        int endIndex = getEndIndex();
+        int numberOfTuples = endIndex - tupleIndex + 1;
+        for (int i = 0; i < functions.length; i++) {
+            ColumnAggregateFunction function = functions[i];
+            int argument = arguments[i];
+            if (function == ColumnAggregateFunction.COUNT) {
+                dos.writeByte(ATypeTag.SERIALIZED_INT64_TYPE_TAG);
+                dos.writeLong(numberOfTuples);
+            } else if (argument == ColumnAggregateMetadata.PRIMARY_KEY) {
+                // Keys are sorted
+                setKeyAt(function == ColumnAggregateFunction.MIN ? tupleIndex : endIndex);
+                dos.write(primaryKeys[0].getByteArray(), primaryKeys[0].getStartOffset(), primaryKeys[0].getLength());
+            } else if (argument == ColumnAggregateMetadata.NO_VALUES) {
+                dos.writeByte(ATypeTag.SERIALIZED_MISSING_TYPE_TAG);
+            } else {
+                ColumnMinMaxAggregator aggregator = aggregators[argument];
+                if (!aggregator.isAggregated()) {
+                    aggregator.aggregate(numberOfTuples);
+                }
+                if (function == ColumnAggregateFunction.MIN) {
+                    aggregator.writeMin(dos);
+                } else {
+                    aggregator.writeMax(dos);
+                }
+            }
+            tb.addFieldEndOffset();
+        }
+    }
+}
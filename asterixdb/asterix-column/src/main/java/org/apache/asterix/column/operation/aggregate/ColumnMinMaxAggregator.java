@@ -0,0 +1,231 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.column.operation.aggregate;
+
+import java.io.DataOutput;
+import java.io.IOException;
+
+import org.apache.asterix.column.bytes.stream.in.AbstractBytesInputStream;
+import org.apache.asterix.column.values.ColumnValuesBatch;
+import org.apache.asterix.column.values.IColumnValuesReader;
+import org.apache.asterix.om.types.ATypeTag;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.data.std.util.ArrayBackedValueStorage;
+import org.apache.hyracks.util.string.UTF8StringUtil;
+
+/**
+ * Computes the minimum and the maximum values of a non-repeated BIGINT, DOUBLE, or STRING column within a range of
+ * tuples of a leaf. The values are read in batches (see {@link IColumnValuesReader#nextBatch(ColumnValuesBatch, int)})
+ * without assembling them into records.
+ */
+final class ColumnMinMaxAggregator {
+    private final IColumnValuesReader reader;
+    private final ATypeTag typeTag;
+    private final ColumnValuesBatch batch;
+    private final ArrayBackedValueStorage min;
+    private final ArrayBackedValueStorage max;
+    private boolean aggregated;
+    private boolean hasValues;
+    private long minLong;
+    private long maxLong;
+    private double minDouble;
+    private double maxDouble;
+
+    ColumnMinMaxAggregator(IColumnValuesReader reader) {
+        this.reader = reader;
+        typeTag = reader.getTypeTag();
+        batch = new ColumnValuesBatch();
+        min = new ArrayBackedValueStorage();
+        max = new ArrayBackedValueStorage();
+    }
+
+    IColumnValuesReader getReader() {
+        return reader;
+    }
+
+    ATypeTag getTypeTag() {
+        return typeTag;
+    }
+
+    boolean isAggregated() {
+        return aggregated;
+    }
+
+    /**
+     * Start aggregating a new range of tuples
+     */
+    void reset() {
+        aggregated = false;
+        hasValues = false;
+    }
+
+    /**
+     * Set the result from the min/max filter of a BIGINT column (see {@link #aggregate(int)} otherwise)
+     *
+     * @param filterMin the filter's minimum value
+     * @param filterMax the filter's maximum value, which is less than the minimum if the column has no values
+     */
+    void setFromFilter(long filterMin, long filterMax) {
+        aggregated = true;
+        hasValues = filterMin <= filterMax;
+        minLong = filterMin;
+        maxLong = filterMax;
+    }
+
+    /**
+     * Set the result of a range without values (e.g., the column does not exist in the leaf)
+     */
+    void setEmpty() {
+        aggregated = true;
+        hasValues = false;
+    }
+
+    void startColumn(AbstractBytesInputStream stream, int numberOfTuples) throws HyracksDataException {
+        reader.reset(stream, numberOfTuples);
+    }
+
+    void skip(int count) throws HyracksDataException {
+        reader.skip(count);
+    }
+
+    /**
+     * Decode the values of the next tuples and compute their minimum and maximum values
+     *
+     * @param numberOfTuples number of tuples to aggregate
+     */
+    void aggregate(int numberOfTuples) throws HyracksDataException {
+        int remaining = numberOfTuples;
+        while (remaining > 0) {
+            int count = reader.nextBatch(batch, remaining);
+            if (count == 0) {
+                break;
+            }
+            remaining -= count;
+            int numberOfValues = batch.getNumberOfValues();
+            if (numberOfValues == 0) {
+                continue;
+            }
+            switch (typeTag) {
+                case BIGINT:
+                    aggregateLongs(batch.getLongs(), numberOfValues);
+                    break;
+                case DOUBLE:
+                    aggregateDoubles(batch.getDoubles(), numberOfValues);
+                    break;
+                default:
+                    aggregateStrings(numberOfValues);
+                    break;
+            }
+            hasValues = true;
+        }
+        aggregated = true;
+    }
+
+    void writeMin(DataOutput dos) throws IOException {
+        write(dos, minLong, minDouble, min);
+    }
+
+    void writeMax(DataOutput dos) throws IOException {
+        write(dos, maxLong, maxDouble, max);
+    }
+
+    private void aggregateLongs(long[] values, int numberOfValues) {
+        int start = 0;
+        if (!hasValues) {
+            minLong = values[0];
+            maxLong = values[0];
+            start = 1;
+        }
+        for (int i = start; i < numberOfValues; i++) {
+            long value = values[i];
+            minLong = Math.min(minLong, value);
+            maxLong = Math.max(maxLong, value);
+        }
+    }
+
+    private void aggregateDoubles(double[] values, int numberOfValues) {
+        int start = 0;
+        if (!hasValues) {
+            minDouble = values[0];
+            maxDouble = values[0];
+            start = 1;
+        }
+        for (int i = start; i < numberOfValues; i++) {
+            double value = values[i];
+            // Double.compare() orders NaN as the comparators of the global aggregate do
+            if (Double.compare(value, minDouble) < 0) {
+                minDouble = value;
+            }
+            if (Double.compare(value, maxDouble) > 0) {
+                maxDouble = value;
+            }
+        }
+    }
+
+    private void aggregateStrings(int numberOfValues) throws HyracksDataException {
+        byte[] bytes = batch.getBytes();
+        int start = 0;
+        if (!hasValues) {
+            setString(min, bytes, batch.getStart(0), batch.getLength(0));
+            setString(max, bytes, batch.getStart(0), batch.getLength(0));
+            start = 1;
+        }
+        for (int i = start; i < numberOfValues; i++) {
+            int valueStart = batch.getStart(i);
+            // The stored values are tagged
+            if (UTF8StringUtil.compareTo(bytes, valueStart, min.getByteArray(), 1) < 0) {
+                setString(min, bytes, valueStart, batch.getLength(i));
+            } else if (UTF8StringUtil.compareTo(bytes, valueStart, max.getByteArray(), 1) > 0) {
+                setString(max, bytes, valueStart, batch.getLength(i));
+            }
+        }
+    }
+
+    private void write(DataOutput dos, long longValue, double doubleValue, ArrayBackedValueStorage stringValue)
+            throws IOException {
+        if (!hasValues) {
+            dos.writeByte(ATypeTag.SERIALIZED_MISSING_TYPE_TAG);
+            return;
+        }
+        switch (typeTag) {
+            case BIGINT:
+                dos.writeByte(ATypeTag.SERIALIZED_INT64_TYPE_TAG);
+                dos.writeLong(longValue);
+                break;
+            case DOUBLE:
+                dos.writeByte(ATypeTag.SERIALIZED_DOUBLE_TYPE_TAG);
+                dos.writeDouble(doubleValue);
+                break;
+            default:
+                dos.write(stringValue.getByteArray(), stringValue.getStartOffset(), stringValue.getLength());
+                break;
+        }
+    }
+
+    private static void setString(ArrayBackedValueStorage storage, byte[] bytes, int start, int length)
+            throws HyracksDataException {
+        storage.reset();
+        try {
+            storage.getDataOutput().writeByte(ATypeTag.SERIALIZED_STRING_TYPE_TAG);
+            storage.getDataOutput().write(bytes, start, length);
+        } catch (IOException e) {
+            throw HyracksDataException.create(e);
+        }
+    }
+}
@@ -37,6 +37,7 @@ import org.apache.asterix.column.filter.iterable.IColumnIterableFilterEvaluator;
 import org.apache.asterix.column.filter.iterable.IColumnIterableFilterEvaluatorFactory;
 import org.apache.asterix.column.filter.range.IColumnRangeFilterEvaluatorFactory;
 import org.apache.asterix.column.filter.range.IColumnRangeFilterValueAccessor;
+import org.apache.asterix.column.filter.range.accessor.ColumnBloomFilterAccessor;
 import org.apache.asterix.column.metadata.AbstractColumnImmutableReadMetadata;
 import org.apache.asterix.column.metadata.FieldNamesDictionary;
 import org.apache.asterix.column.metadata.schema.AbstractSchemaNode;
@@ -70,6 +71,7 @@ public class QueryColumnMetadata extends AbstractColumnImmutableReadMetadata {
     private final PrimitiveColumnValuesReader[] primaryKeyReaders;
     private final IColumnFilterEvaluator normalizedFilterEvaluator;
     private final List<IColumnRangeFilterValueAccessor> filterValueAccessors;
+    private final List<ColumnBloomFilterAccessor> bloomFilterAccessors;
     private final IColumnIterableFilterEvaluator columnFilterEvaluator;
     private final List<IColumnValuesReader> filterColumnReaders;
 
@@ -80,13 +82,14 @@ public class QueryColumnMetadata extends AbstractColumnImmutableReadMetadata {
             FieldNamesDictionary fieldNamesDictionary, ObjectSchemaNode root, IColumnValuesReaderFactory readerFactory,
             IValueGetterFactory valueGetterFactory, IColumnFilterEvaluator normalizedFilterEvaluator,
             List<IColumnRangeFilterValueAccessor> filterValueAccessors,
-            IColumnIterableFilterEvaluator columnFilterEvaluator, List<IColumnValuesReader> filterColumnReaders)
-            throws HyracksDataException {
+            List<ColumnBloomFilterAccessor> bloomFilterAccessors, IColumnIterableFilterEvaluator columnFilterEvaluator,
+            List<IColumnValuesReader> filterColumnReaders) throws HyracksDataException {
         super(datasetType, metaType, primaryKeyReaders.length, serializedMetadata, -1);
         this.fieldNamesDictionary = fieldNamesDictionary;
         this.primaryKeyReaders = primaryKeyReaders;
         this.normalizedFilterEvaluator = normalizedFilterEvaluator;
         this.filterValueAccessors = filterValueAccessors;
+        this.bloomFilterAccessors = bloomFilterAccessors;
         this.columnFilterEvaluator = columnFilterEvaluator;
         this.filterColumnReaders = filterColumnReaders;
         // Must be the last value to set as it depends on 'QueryColumnMetadata.this'
@@ -113,6 +116,10 @@ public class QueryColumnMetadata extends AbstractColumnImmutableReadMetadata {
         return filterValueAccessors;
     }
 
+    public final List<ColumnBloomFilterAccessor> getBloomFilterAccessors() {
+        return bloomFilterAccessors;
+    }
+
     public final IColumnIterableFilterEvaluator getColumnFilterEvaluator() {
         return columnFilterEvaluator;
     }
@@ -205,6 +212,7 @@ public class QueryColumnMetadata extends AbstractColumnImmutableReadMetadata {
         IColumnIterableFilterEvaluator columnFilterEvaluator = TrueColumnFilterEvaluator.INSTANCE;
         List<IColumnValuesReader> filterColumnReaders = Collections.emptyList();
         List<IColumnRangeFilterValueAccessor> filterValueAccessors = Collections.emptyList();
+        List<ColumnBloomFilterAccessor> bloomFilterAccessors = Collections.emptyList();
         if (context != null) {
             FilterAccessorProvider filterAccessorProvider =
                     new FilterAccessorProvider(root, clipperVisitor, readerFactory, valueGetterFactory);
@@ -212,6 +220,8 @@ public class QueryColumnMetadata extends AbstractColumnImmutableReadMetadata {
             // Min/Max filters in page0
             normalizedFilterEvaluator = normalizedEvaluatorFactory.create(filterAccessorProvider);
             filterValueAccessors = filterAccessorProvider.getFilterAccessors();
+            // Bloom filters are read with the filtered columns
+            bloomFilterAccessors = filterAccessorProvider.getBloomFilterAccessors();
 
             // Filter columns (columns appeared in WHERE clause)
             IEvaluatorContext evaluatorContext = new EvaluatorContext(context);
@@ -234,7 +244,7 @@ public class QueryColumnMetadata extends AbstractColumnImmutableReadMetadata {
 
         return new QueryColumnMetadata(datasetType, null, primaryKeyReaders, serializedMetadata, fieldNamesDictionary,
                 clippedRoot, readerFactory, valueGetterFactory, normalizedFilterEvaluator, filterValueAccessors,
-                columnFilterEvaluator, filterColumnReaders);
+                bloomFilterAccessors, columnFilterEvaluator, filterColumnReaders);
     }
 
     protected static ObjectSchemaNode clip(ARecordType requestedType, ObjectSchemaNode root,
@@ -248,7 +258,7 @@ public class QueryColumnMetadata extends AbstractColumnImmutableReadMetadata {
         return clippedRoot;
     }
 
-    protected static PrimitiveColumnValuesReader[] createPrimaryKeyReaders(DataInput input,
+    public static PrimitiveColumnValuesReader[] createPrimaryKeyReaders(DataInput input,
             IColumnValuesReaderFactory readerFactory, int numberOfPrimaryKeys) throws IOException {
         //skip number of columns
         input.readInt();
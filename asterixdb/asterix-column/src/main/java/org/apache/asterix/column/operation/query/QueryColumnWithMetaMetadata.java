@@ -34,6 +34,7 @@ import org.apache.asterix.column.filter.iterable.IColumnIterableFilterEvaluator;
 import org.apache.asterix.column.filter.iterable.IColumnIterableFilterEvaluatorFactory;
 import org.apache.asterix.column.filter.range.IColumnRangeFilterEvaluatorFactory;
 import org.apache.asterix.column.filter.range.IColumnRangeFilterValueAccessor;
+import org.apache.asterix.column.filter.range.accessor.ColumnBloomFilterAccessor;
 import org.apache.asterix.column.metadata.FieldNamesDictionary;
 import org.apache.asterix.column.metadata.schema.AbstractSchemaNode;
 import org.apache.asterix.column.metadata.schema.ObjectSchemaNode;
@@ -65,10 +66,11 @@ public final class QueryColumnWithMetaMetadata extends QueryColumnMetadata {
             FieldNamesDictionary fieldNamesDictionary, ObjectSchemaNode root, ObjectSchemaNode metaRoot,
             IColumnValuesReaderFactory readerFactory, IValueGetterFactory valueGetterFactory,
             IColumnFilterEvaluator filterEvaluator, List<IColumnRangeFilterValueAccessor> filterValueAccessors,
-            IColumnIterableFilterEvaluator columnFilterEvaluator, List<IColumnValuesReader> filterColumnReaders)
-            throws HyracksDataException {
+            List<ColumnBloomFilterAccessor> bloomFilterAccessors, IColumnIterableFilterEvaluator columnFilterEvaluator,
+            List<IColumnValuesReader> filterColumnReaders) throws HyracksDataException {
         super(datasetType, metaType, primaryKeyReaders, serializedMetadata, fieldNamesDictionary, root, readerFactory,
-                valueGetterFactory, filterEvaluator, filterValueAccessors, columnFilterEvaluator, filterColumnReaders);
+                valueGetterFactory, filterEvaluator, filterValueAccessors, bloomFilterAccessors, columnFilterEvaluator,
+                filterColumnReaders);
         metaAssembler = new ColumnAssembler(metaRoot, metaType, this, readerFactory, valueGetterFactory);
     }
 
@@ -150,6 +152,7 @@ public final class QueryColumnWithMetaMetadata extends QueryColumnMetadata {
         IColumnIterableFilterEvaluator columnFilterEvaluator = TrueColumnFilterEvaluator.INSTANCE;
         List<IColumnValuesReader> filterColumnReaders = Collections.emptyList();
         List<IColumnRangeFilterValueAccessor> filterValueAccessors = Collections.emptyList();
+        List<ColumnBloomFilterAccessor> bloomFilterAccessors = Collections.emptyList();
         if (context != null) {
             FilterAccessorProvider filterAccessorProvider =
                     new FilterAccessorProvider(root, clipperVisitor, readerFactory, valueGetterFactory);
@@ -157,6 +160,8 @@ public final class QueryColumnWithMetaMetadata extends QueryColumnMetadata {
             // Min/Max filters in page0
             normalizedFilterEvaluator = normalizedEvaluatorFactory.create(filterAccessorProvider);
             filterValueAccessors = filterAccessorProvider.getFilterAccessors();
+            // Bloom filters are read with the filtered columns
+            bloomFilterAccessors = filterAccessorProvider.getBloomFilterAccessors();
 
             // Filter columns (columns appeared in WHERE clause)
             IEvaluatorContext evaluatorContext = new EvaluatorContext(context);
@@ -180,6 +185,7 @@ public final class QueryColumnWithMetaMetadata extends QueryColumnMetadata {
 
         return new QueryColumnWithMetaMetadata(datasetType, metaType, primaryKeyReaders, serializedMetadata,
                 fieldNamesDictionary, clippedRoot, metaClippedRoot, readerFactory, valueGetterFactory,
-                normalizedFilterEvaluator, filterValueAccessors, columnFilterEvaluator, filterColumnReaders);
+                normalizedFilterEvaluator, filterValueAccessors, bloomFilterAccessors, columnFilterEvaluator,
+                filterColumnReaders);
     }
 }
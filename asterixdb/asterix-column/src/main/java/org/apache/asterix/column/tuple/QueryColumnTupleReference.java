@@ -31,6 +31,7 @@ import org.apache.asterix.column.filter.IFilterApplier;
 import org.apache.asterix.column.filter.TrueColumnFilterEvaluator;
 import org.apache.asterix.column.filter.iterable.IColumnIterableFilterEvaluator;
 import org.apache.asterix.column.filter.range.IColumnRangeFilterValueAccessor;
+import org.apache.asterix.column.filter.range.accessor.ColumnBloomFilterAccessor;
 import org.apache.asterix.column.operation.query.ColumnAssembler;
 import org.apache.asterix.column.operation.query.QueryColumnMetadata;
 import org.apache.asterix.column.values.IColumnValuesReader;
@@ -48,6 +49,7 @@ public final class QueryColumnTupleReference extends AbstractAsterixColumnTupleR
     private final ColumnAssembler assembler;
     private final IColumnFilterEvaluator rangeFilterEvaluator;
     private final List<IColumnRangeFilterValueAccessor> filterValueAccessors;
+    private final List<ColumnBloomFilterAccessor> bloomFilterAccessors;
     private final IColumnIterableFilterEvaluator columnFilterEvaluator;
     private final IFilterApplier filterApplier;
     private final List<IColumnValuesReader> filterColumnReaders;
@@ -60,6 +62,7 @@ public final class QueryColumnTupleReference extends AbstractAsterixColumnTupleR
 
         rangeFilterEvaluator = columnMetadata.getRangeFilterEvaluator();
         filterValueAccessors = columnMetadata.getFilterValueAccessors();
+        bloomFilterAccessors = columnMetadata.getBloomFilterAccessors();
 
         columnFilterEvaluator = columnMetadata.getColumnFilterEvaluator();
         filterColumnReaders = columnMetadata.getFilterColumnReaders();
@@ -88,6 +91,8 @@ public final class QueryColumnTupleReference extends AbstractAsterixColumnTupleR
         pageZero.position(pageZero.position() + numberOfColumns * Integer.BYTES);
         //Set filters' values
         FilterAccessorProvider.setFilterValues(filterValueAccessors, pageZero, numberOfColumns);
+        //Bloom filters are not available until the filtered columns are read
+        FilterAccessorProvider.setBloomFiltersAvailable(bloomFilterAccessors, false);
         //Skip filters
         pageZero.position(pageZero.position() + numberOfColumns * AbstractColumnFilterWriter.FILTER_SIZE);
         //Check if we should read all column pages
@@ -107,6 +112,14 @@ public final class QueryColumnTupleReference extends AbstractAsterixColumnTupleR
 
     @Override
     protected boolean evaluateFilter() throws HyracksDataException {
+        if (!bloomFilterAccessors.isEmpty()) {
+            //Re-evaluate the range filter using the Bloom filters of the filtered columns
+            FilterAccessorProvider.setBloomFiltersAvailable(bloomFilterAccessors, true);
+            if (!rangeFilterEvaluator.evaluate()) {
+                assembler.reset(0);
+                return false;
+            }
+        }
         return columnFilterEvaluator.evaluate();
     }
 
@@ -31,6 +31,7 @@ import org.apache.asterix.column.filter.IFilterApplier;
 import org.apache.asterix.column.filter.TrueColumnFilterEvaluator;
 import org.apache.asterix.column.filter.iterable.IColumnIterableFilterEvaluator;
 import org.apache.asterix.column.filter.range.IColumnRangeFilterValueAccessor;
+import org.apache.asterix.column.filter.range.accessor.ColumnBloomFilterAccessor;
 import org.apache.asterix.column.operation.query.ColumnAssembler;
 import org.apache.asterix.column.operation.query.QueryColumnMetadata;
 import org.apache.asterix.column.operation.query.QueryColumnWithMetaMetadata;
@@ -50,6 +51,7 @@ public final class QueryColumnWithMetaTupleReference extends AbstractAsterixColu
     private final ColumnAssembler metaAssembler;
     private final IColumnFilterEvaluator rangeFilterEvaluator;
     private final List<IColumnRangeFilterValueAccessor> filterValueAccessors;
+    private final List<ColumnBloomFilterAccessor> bloomFilterAccessors;
     private final IColumnIterableFilterEvaluator columnFilterEvaluator;
     private final IFilterApplier filterApplier;
     private final List<IColumnValuesReader> filterColumnReaders;
@@ -63,6 +65,7 @@ public final class QueryColumnWithMetaTupleReference extends AbstractAsterixColu
 
         rangeFilterEvaluator = columnMetadata.getRangeFilterEvaluator();
         filterValueAccessors = columnMetadata.getFilterValueAccessors();
+        bloomFilterAccessors = columnMetadata.getBloomFilterAccessors();
 
         columnFilterEvaluator = columnMetadata.getColumnFilterEvaluator();
         filterColumnReaders = columnMetadata.getFilterColumnReaders();
@@ -91,6 +94,8 @@ public final class QueryColumnWithMetaTupleReference extends AbstractAsterixColu
         pageZero.position(pageZero.position() + numberOfColumns * Integer.BYTES);
         //Set filters' values
         FilterAccessorProvider.setFilterValues(filterValueAccessors, pageZero, numberOfColumns);
+        //Bloom filters are not available until the filtered columns are read
+        FilterAccessorProvider.setBloomFiltersAvailable(bloomFilterAccessors, false);
         //Skip filters
         pageZero.position(pageZero.position() + numberOfColumns * AbstractColumnFilterWriter.FILTER_SIZE);
         //Check if we should read all column pages
@@ -111,6 +116,15 @@ public final class QueryColumnWithMetaTupleReference extends AbstractAsterixColu
 
     @Override
     protected boolean evaluateFilter() throws HyracksDataException {
+        if (!bloomFilterAccessors.isEmpty()) {
+            //Re-evaluate the range filter using the Bloom filters of the filtered columns
+            FilterAccessorProvider.setBloomFiltersAvailable(bloomFilterAccessors, true);
+            if (!rangeFilterEvaluator.evaluate()) {
+                assembler.reset(0);
+                metaAssembler.reset(0);
+                return false;
+            }
+        }
         return columnFilterEvaluator.evaluate();
     }
 
@@ -0,0 +1,231 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.column.values;
+
+import java.util.Arrays;
+
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.data.std.api.IValueReference;
+import org.apache.hyracks.data.std.util.ArrayBackedValueStorage;
+
+/**
+ * A batch of values read from a non-repeated column (see {@link IColumnValuesReader#nextBatch(ColumnValuesBatch)}).
+ * The state of each tuple in the batch (i.e., MISSING, NULL, or VALUE) is kept as a bitmap. The actual values are
+ * stored densely in primitive arrays, where the values of the tuples that are neither MISSING nor NULL come one after
+ * another. This allows simple aggregates (e.g., COUNT, SUM, MIN, and MAX) to run over the values in tight loops
+ * without assembling them back into tagged ADM values.
+ * <p>
+ * The values are stored as follows:
+ * <ul>
+ *     <li>BIGINT: {@link #getLongs()}</li>
+ *     <li>BOOLEAN: {@link #getLongs()}, where 1 is true and 0 is false</li>
+ *     <li>DOUBLE: {@link #getDoubles()}</li>
+ *     <li>STRING and UUID: {@link #getBytes()}, where the i-th value starts at {@link #getStart(int)} and its length
+ *     is {@link #getLength(int)}</li>
+ * </ul>
+ */
+public final class ColumnValuesBatch {
+    public static final int DEFAULT_CAPACITY = 1024;
+    private final int capacity;
+    private final long[] valuesBitmap;
+    private final long[] nullsBitmap;
+    private final int[] offsets;
+    private final ArrayBackedValueStorage bytes;
+    private long[] longs;
+    private double[] doubles;
+    private int numberOfTuples;
+    private int numberOfValues;
+
+    public ColumnValuesBatch() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public ColumnValuesBatch(int capacity) {
+        this.capacity = capacity;
+        int numberOfWords = (capacity + Long.SIZE - 1) / Long.SIZE;
+        valuesBitmap = new long[numberOfWords];
+        nullsBitmap = new long[numberOfWords];
+        offsets = new int[capacity + 1];
+        bytes = new ArrayBackedValueStorage();
+    }
+
+    /**
+     * Clear the batch to be filled with new values
+     */
+    public void reset() {
+        int numberOfWords = (numberOfTuples + Long.SIZE - 1) / Long.SIZE;
+        Arrays.fill(valuesBitmap, 0, numberOfWords, 0L);
+        Arrays.fill(nullsBitmap, 0, numberOfWords, 0L);
+        bytes.reset();
+        numberOfTuples = 0;
+        numberOfValues = 0;
+    }
+
+    /**
+     * @return the maximum number of tuples a batch can hold
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return the number of tuples in the batch
+     */
+    public int getNumberOfTuples() {
+        return numberOfTuples;
+    }
+
+    /**
+     * @return the number of the tuples that have actual values (i.e., neither NULL nor MISSING)
+     */
+    public int getNumberOfValues() {
+        return numberOfValues;
+    }
+
+    /**
+     * @param tupleIndex the index of a tuple in the batch
+     * @return true if the tuple has an actual value (i.e., neither NULL nor MISSING)
+     */
+    public boolean isValue(int tupleIndex) {
+        return isSet(valuesBitmap, tupleIndex);
+    }
+
+    /**
+     * @param tupleIndex the index of a tuple in the batch
+     * @return true if the tuple's value is NULL
+     */
+    public boolean isNull(int tupleIndex) {
+        return isSet(nullsBitmap, tupleIndex);
+    }
+
+    /**
+     * @param tupleIndex the index of a tuple in the batch
+     * @return true if the tuple's value is MISSING
+     */
+    public boolean isMissing(int tupleIndex) {
+        return !isValue(tupleIndex) && !isNull(tupleIndex);
+    }
+
+    /**
+     * @return a bitmap, where the i-th bit is set if the i-th tuple has an actual value
+     */
+    public long[] getValuesBitmap() {
+        return valuesBitmap;
+    }
+
+    /**
+     * @return a bitmap, where the i-th bit is set if the i-th tuple's value is NULL
+     */
+    public long[] getNullsBitmap() {
+        return nullsBitmap;
+    }
+
+    /**
+     * @return BIGINT or BOOLEAN values
+     */
+    public long[] getLongs() {
+        if (longs == null) {
+            longs = new long[capacity];
+        }
+        return longs;
+    }
+
+    /**
+     * @return DOUBLE values
+     */
+    public double[] getDoubles() {
+        if (doubles == null) {
+            doubles = new double[capacity];
+        }
+        return doubles;
+    }
+
+    /**
+     * @return the bytes of STRING or UUID values
+     */
+    public byte[] getBytes() {
+        return bytes.getByteArray();
+    }
+
+    /**
+     * @param valueIndex the index of a value (not the index of a tuple)
+     * @return the start offset of the value in {@link #getBytes()}
+     */
+    public int getStart(int valueIndex) {
+        return offsets[valueIndex];
+    }
+
+    /**
+     * @param valueIndex the index of a value (not the index of a tuple)
+     * @return the length of the value in {@link #getBytes()}
+     */
+    public int getLength(int valueIndex) {
+        return offsets[valueIndex + 1] - offsets[valueIndex];
+    }
+
+    /* ***********************
+     * Writer functions
+     * ***********************
+     */
+
+    /**
+     * Append a tuple to the batch
+     *
+     * @param value  whether the tuple has an actual value
+     * @param isNull whether the tuple's value is NULL
+     */
+    public void appendTuple(boolean value, boolean isNull) {
+        if (value) {
+            setBit(valuesBitmap, numberOfTuples);
+            numberOfValues++;
+        } else if (isNull) {
+            setBit(nullsBitmap, numberOfTuples);
+        }
+        numberOfTuples++;
+    }
+
+    /**
+     * Append MISSING tuples to the batch
+     *
+     * @param count the number of MISSING tuples
+     */
+    public void appendMissing(int count) {
+        numberOfTuples += count;
+    }
+
+    /**
+     * Append the bytes of a value
+     *
+     * @param valueIndex the index of the value
+     * @param value      the value's bytes
+     */
+    public void appendBytes(int valueIndex, IValueReference value) throws HyracksDataException {
+        offsets[valueIndex] = bytes.getLength();
+        bytes.append(value);
+        offsets[valueIndex + 1] = bytes.getLength();
+    }
+
+    private static boolean isSet(long[] bitmap, int index) {
+        return (bitmap[index >>> 6] & (1L << index)) != 0;
+    }
+
+    private static void setBit(long[] bitmap, int index) {
+        bitmap[index >>> 6] |= 1L << index;
+    }
+}
@@ -19,6 +19,7 @@
 package org.apache.asterix.column.values;
 
 import org.apache.asterix.column.bytes.stream.in.AbstractBytesInputStream;
+import org.apache.asterix.column.values.writer.filters.ColumnBloomFilterWriter;
 import org.apache.asterix.om.types.ATypeTag;
 import org.apache.hyracks.api.exceptions.HyracksDataException;
 import org.apache.hyracks.data.std.api.IValueReference;
@@ -46,6 +47,29 @@ public interface IColumnValuesReader extends Comparable<IColumnValuesReader> {
      */
     boolean next() throws HyracksDataException;
 
+    /**
+     * Read the next values as a batch, where the number of values is at most {@link ColumnValuesBatch#getCapacity()}.
+     * Only non-repeated columns (including primary keys) support batch reads, and repeated columns throw
+     * {@link UnsupportedOperationException}. The batch is reset before reading the values, and the caller
+     * is responsible for not reading past the number of tuples the column belongs to.
+     *
+     * @param batch destination batch
+     * @return the number of values read or 0 if the end of the values was reached
+     */
+    default int nextBatch(ColumnValuesBatch batch) throws HyracksDataException {
+        return nextBatch(batch, batch.getCapacity());
+    }
+
+    /**
+     * Same as {@link #nextBatch(ColumnValuesBatch)}, but reads at most {@code maxCount} values. This allows reading
+     * a sub-range of the tuples without reading into the tuples that follow it.
+     *
+     * @param batch    destination batch
+     * @param maxCount the maximum number of values to read (must not exceed {@link ColumnValuesBatch#getCapacity()})
+     * @return the number of values read or 0 if the end of the values was reached
+     */
+    int nextBatch(ColumnValuesBatch batch, int maxCount) throws HyracksDataException;
+
     /* ***********************
      * Information functions
      * ***********************
@@ -114,6 +138,34 @@ public interface IColumnValuesReader extends Comparable<IColumnValuesReader> {
 
     IValueReference getBytes();
 
+    /**
+     * @return the dictionary code of the current value or -1 if the value is not dictionary-encoded. Two values that
+     * have the same code and the same {@link #getDictionaryId()} are equal
+     */
+    int getDictionaryCode();
+
+    /**
+     * @return an identifier of the current dictionary, which changes whenever the reader moves to a new dictionary
+     */
+    int getDictionaryId();
+
+    /* ***********************
+     * Bloom filter functions
+     * ***********************
+     */
+
+    /**
+     * Read the Bloom filter of the column (if any) whenever the reader is reset
+     */
+    void requestBloomFilter();
+
+    /**
+     * @param hash the hash of a value (see {@link ColumnBloomFilterWriter})
+     * @return false if the column's values in the current mega leaf node definitely do not contain a value with the
+     * given hash, true otherwise
+     */
+    boolean mightContain(long hash);
+
     /* ***********************
      * Write functions
      * ***********************
@@ -25,6 +25,7 @@ import org.apache.asterix.column.bytes.stream.in.AbstractBytesInputStream;
 import org.apache.asterix.column.bytes.stream.in.ByteBufferInputStream;
 import org.apache.asterix.column.bytes.stream.in.MultiByteBufferInputStream;
 import org.apache.asterix.column.util.ColumnValuesUtil;
+import org.apache.asterix.column.values.ColumnValuesBatch;
 import org.apache.asterix.column.values.IColumnValuesReader;
 import org.apache.asterix.column.values.IColumnValuesWriter;
 import org.apache.asterix.column.values.reader.value.AbstractValueReader;
@@ -49,6 +50,7 @@ abstract class AbstractColumnValuesReader implements IColumnValuesReader {
     private int nullBitMask;
     private boolean nullLevel;
     private boolean allMissing;
+    private ColumnBloomFilterReader bloomFilter;
 
     // For logging purposes only
     private int numberOfEncounteredMissing;
@@ -82,6 +84,32 @@ abstract class AbstractColumnValuesReader implements IColumnValuesReader {
 
     abstract void resetValues();
 
+    @Override
+    public int nextBatch(ColumnValuesBatch batch, int maxCount) throws HyracksDataException {
+        throw new UnsupportedOperationException(getClass().getName());
+    }
+
+    /**
+     * Read the next definition levels into the batch
+     *
+     * @param batch destination batch
+     * @param count number of definition levels to read
+     * @return the number of actual values (i.e., neither NULL nor MISSING) that follow in the values' stream
+     */
+    protected final int nextLevels(ColumnValuesBatch batch, int count) throws HyracksDataException {
+        if (allMissing) {
+            // nextLevel() does not advance when all values are missing
+            valueIndex += count;
+            batch.appendMissing(count);
+            return 0;
+        }
+        for (int i = 0; i < count; i++) {
+            nextLevel();
+            batch.appendTuple(primaryKey || level == maxLevel, nullLevel);
+        }
+        return batch.getNumberOfValues();
+    }
+
     @Override
     public final void reset(AbstractBytesInputStream in, int tupleCount) throws HyracksDataException {
         valueIndex = 0;
@@ -91,6 +119,9 @@ abstract class AbstractColumnValuesReader implements IColumnValuesReader {
             allMissing = true;
             level = 0;
             valueCount = tupleCount;
+            if (bloomFilter != null) {
+                bloomFilter.clear();
+            }
             return;
         }
         allMissing = false;
@@ -101,6 +132,9 @@ abstract class AbstractColumnValuesReader implements IColumnValuesReader {
             definitionLevels.reset(in);
             valuesStream.resetAt(defLevelsSize, in);
             int valueLength = BytesUtils.readZigZagVarInt(valuesStream);
+            if (bloomFilter != null) {
+                bloomFilter.reset(valuesStream, valueLength);
+            }
             if (valueLength > 0) {
                 valueReader.init(valuesStream, tupleCount);
             }
@@ -110,6 +144,19 @@ abstract class AbstractColumnValuesReader implements IColumnValuesReader {
         resetValues();
     }
 
+    @Override
+    public final void requestBloomFilter() {
+        // Primary keys do not have Bloom filters
+        if (bloomFilter == null && !primaryKey) {
+            bloomFilter = new ColumnBloomFilterReader();
+        }
+    }
+
+    @Override
+    public final boolean mightContain(long hash) {
+        return bloomFilter == null || bloomFilter.mightContain(hash);
+    }
+
     @Override
     public final ATypeTag getTypeTag() {
         return valueReader.getTypeTag();
@@ -160,6 +207,16 @@ abstract class AbstractColumnValuesReader implements IColumnValuesReader {
         return valueReader.getBytes();
     }
 
+    @Override
+    public final int getDictionaryCode() {
+        return valueReader.getDictionaryCode();
+    }
+
+    @Override
+    public final int getDictionaryId() {
+        return valueReader.getDictionaryId();
+    }
+
     @Override
     public final int compareTo(IColumnValuesReader o) {
         return valueReader.compareTo(((AbstractColumnValuesReader) o).valueReader);
@@ -191,6 +248,15 @@ abstract class AbstractColumnValuesReader implements IColumnValuesReader {
              */
             return;
         }
+        skipValues(count);
+    }
+
+    /**
+     * Skip the next {@code count} values. By default, the values are read by calling {@link #next()}
+     *
+     * @param count number of values to skip
+     */
+    protected void skipValues(int count) throws HyracksDataException {
         for (int i = 0; i < count; i++) {
             next();
         }
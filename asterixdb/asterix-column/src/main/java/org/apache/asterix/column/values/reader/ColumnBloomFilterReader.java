@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.column.values.reader;
+
+import java.io.IOException;
+
+import org.apache.asterix.column.bytes.stream.in.AbstractBytesInputStream;
+import org.apache.asterix.column.bytes.stream.in.MultiByteBufferInputStream;
+import org.apache.asterix.column.values.writer.filters.ColumnBloomFilterWriter;
+import org.apache.parquet.bytes.BytesUtils;
+
+/**
+ * Reads the Bloom filter written after a column's values
+ *
+ * @see ColumnBloomFilterWriter
+ */
+final class ColumnBloomFilterReader {
+    private final AbstractBytesInputStream stream;
+    private long[] words;
+    private int numberOfWords;
+    private int numberOfHashFunctions;
+
+    ColumnBloomFilterReader() {
+        stream = new MultiByteBufferInputStream();
+        words = new long[0];
+    }
+
+    void reset(AbstractBytesInputStream valuesStream, int valuesLength) throws IOException {
+        clear();
+        stream.resetAt(valuesLength, valuesStream);
+        if (stream.available() == 0) {
+            // No Bloom filter was written
+            return;
+        }
+
+        numberOfHashFunctions = BytesUtils.readUnsignedVarInt(stream);
+        int size = BytesUtils.readUnsignedVarInt(stream);
+        if (words.length < size) {
+            words = new long[size];
+        }
+        for (int i = 0; i < size; i++) {
+            long word = 0;
+            for (int j = 0; j < Long.BYTES; j++) {
+                word |= (long) stream.read() << (j * Byte.SIZE);
+            }
+            words[i] = word;
+        }
+        numberOfWords = size;
+    }
+
+    void clear() {
+        numberOfWords = 0;
+    }
+
+    boolean mightContain(long hash) {
+        return numberOfWords == 0
+                || ColumnBloomFilterWriter.mightContain(words, numberOfWords, numberOfHashFunctions, hash);
+    }
+}
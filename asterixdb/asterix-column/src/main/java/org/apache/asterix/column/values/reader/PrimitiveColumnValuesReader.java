@@ -20,6 +20,7 @@ package org.apache.asterix.column.values.reader;
 
 import java.io.IOException;
 
+import org.apache.asterix.column.values.ColumnValuesBatch;
 import org.apache.asterix.column.values.IColumnKeyValueReader;
 import org.apache.asterix.column.values.IColumnValuesWriter;
 import org.apache.asterix.column.values.reader.value.AbstractValueReader;
@@ -62,6 +63,31 @@ public final class PrimitiveColumnValuesReader extends AbstractColumnValuesReade
         return true;
     }
 
+    @Override
+    public int nextBatch(ColumnValuesBatch batch, int maxCount) throws HyracksDataException {
+        batch.reset();
+        int count = Math.min(Math.min(batch.getCapacity(), maxCount), valueCount - valueIndex);
+        if (count <= 0) {
+            return 0;
+        }
+        int numberOfValues = nextLevels(batch, count);
+        if (numberOfValues > 0) {
+            valueReader.nextValues(batch, numberOfValues);
+        }
+        return count;
+    }
+
+    @Override
+    protected void skipValues(int count) throws HyracksDataException {
+        // Only the definition levels are decoded. The skipped values are not materialized.
+        int numberOfValues = 0;
+        for (int i = 0; i < count && valueIndex < valueCount; i++) {
+            nextLevel();
+            numberOfValues += level == maxLevel ? 1 : 0;
+        }
+        valueReader.skip(numberOfValues);
+    }
+
     @Override
     public boolean isRepeated() {
         return false;
@@ -21,6 +21,7 @@ package org.apache.asterix.column.values.reader.value;
 import java.io.IOException;
 
 import org.apache.asterix.column.bytes.stream.in.AbstractBytesInputStream;
+import org.apache.asterix.column.values.ColumnValuesBatch;
 import org.apache.asterix.om.types.ATypeTag;
 import org.apache.hyracks.api.exceptions.HyracksDataException;
 import org.apache.hyracks.data.std.api.IValueReference;
@@ -31,6 +32,27 @@ public abstract class AbstractValueReader implements Comparable<AbstractValueRea
 
     public abstract void nextValue() throws HyracksDataException;
 
+    /**
+     * Skip values without materializing them. The current value is undefined until {@link #nextValue()} is called.
+     *
+     * @param count number of values to skip
+     */
+    public void skip(int count) throws HyracksDataException {
+        for (int i = 0; i < count; i++) {
+            nextValue();
+        }
+    }
+
+    /**
+     * Read the next values into a batch (see {@link ColumnValuesBatch} for how the values are stored)
+     *
+     * @param batch destination batch
+     * @param count number of values to read
+     */
+    public void nextValues(ColumnValuesBatch batch, int count) throws HyracksDataException {
+        throw new UnsupportedOperationException(getClass().getName());
+    }
+
     public abstract ATypeTag getTypeTag();
 
     public boolean getBoolean() {
@@ -48,4 +70,18 @@ public abstract class AbstractValueReader implements Comparable<AbstractValueRea
     public IValueReference getBytes() {
         throw new UnsupportedOperationException(getClass().getName());
     }
+
+    /**
+     * @return the dictionary code of the current value or -1 if the value is not dictionary-encoded
+     */
+    public int getDictionaryCode() {
+        return -1;
+    }
+
+    /**
+     * @return an identifier of the current dictionary
+     */
+    public int getDictionaryId() {
+        return 0;
+    }
 }
@@ -22,6 +22,7 @@ import java.io.IOException;
 
 import org.apache.asterix.column.bytes.decoder.ParquetRunLengthBitPackingHybridDecoder;
 import org.apache.asterix.column.bytes.stream.in.AbstractBytesInputStream;
+import org.apache.asterix.column.values.ColumnValuesBatch;
 import org.apache.asterix.om.types.ATypeTag;
 import org.apache.hyracks.api.exceptions.HyracksDataException;
 
@@ -48,6 +49,18 @@ public final class BooleanValueReader extends AbstractValueReader {
 
     }
 
+    @Override
+    public void nextValues(ColumnValuesBatch batch, int count) throws HyracksDataException {
+        long[] values = batch.getLongs();
+        try {
+            for (int i = 0; i < count; i++) {
+                values[i] = booleanReader.readInt();
+            }
+        } catch (IOException e) {
+            throw HyracksDataException.create(e);
+        }
+    }
+
     @Override
     public boolean getBoolean() {
         return nextValue;
@@ -22,6 +22,7 @@ import java.io.IOException;
 
 import org.apache.asterix.column.bytes.decoder.ParquetPlainFixedLengthValuesReader;
 import org.apache.asterix.column.bytes.stream.in.AbstractBytesInputStream;
+import org.apache.asterix.column.values.ColumnValuesBatch;
 import org.apache.asterix.om.types.ATypeTag;
 
 public final class DoubleValueReader extends AbstractValueReader {
@@ -47,6 +48,16 @@ public final class DoubleValueReader extends AbstractValueReader {
         return nextValue;
     }
 
+    @Override
+    public void nextValues(ColumnValuesBatch batch, int count) {
+        doubleReader.readDoubles(batch.getDoubles(), 0, count);
+    }
+
+    @Override
+    public void skip(int count) {
+        doubleReader.skip(count);
+    }
+
     @Override
     public ATypeTag getTypeTag() {
         return ATypeTag.DOUBLE;
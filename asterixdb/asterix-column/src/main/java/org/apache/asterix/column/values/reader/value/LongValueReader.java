@@ -22,6 +22,7 @@ import java.io.IOException;
 
 import org.apache.asterix.column.bytes.decoder.ParquetDeltaBinaryPackingValuesReader;
 import org.apache.asterix.column.bytes.stream.in.AbstractBytesInputStream;
+import org.apache.asterix.column.values.ColumnValuesBatch;
 import org.apache.asterix.om.types.ATypeTag;
 
 public final class LongValueReader extends AbstractValueReader {
@@ -47,6 +48,18 @@ public final class LongValueReader extends AbstractValueReader {
         return nextValue;
     }
 
+    @Override
+    public void nextValues(ColumnValuesBatch batch, int count) {
+        longReader.readLongs(batch.getLongs(), 0, count);
+    }
+
+    @Override
+    public void skip(int count) {
+        for (int i = 0; i < count; i++) {
+            longReader.skip();
+        }
+    }
+
     @Override
     public ATypeTag getTypeTag() {
         return ATypeTag.BIGINT;
@@ -21,6 +21,7 @@ package org.apache.asterix.column.values.reader.value;
 import java.io.IOException;
 
 import org.apache.asterix.column.bytes.stream.in.AbstractBytesInputStream;
+import org.apache.asterix.column.values.ColumnValuesBatch;
 import org.apache.asterix.om.types.ATypeTag;
 import org.apache.hyracks.api.exceptions.HyracksDataException;
 
@@ -40,6 +41,14 @@ public class NoOpValueReader extends AbstractValueReader {
         throw new UnsupportedOperationException(getClass().getName());
     }
 
+    /**
+     * MISSING and NULL columns have no actual values. Thus, batch reads never request any values from this reader.
+     */
+    @Override
+    public void nextValues(ColumnValuesBatch batch, int count) {
+        throw new UnsupportedOperationException(getClass().getName());
+    }
+
     @Override
     public ATypeTag getTypeTag() {
         throw new UnsupportedOperationException(getClass().getName());
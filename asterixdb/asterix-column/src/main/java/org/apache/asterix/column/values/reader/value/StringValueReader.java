@@ -20,18 +20,20 @@ package org.apache.asterix.column.values.reader.value;
 
 import java.io.IOException;
 
-import org.apache.asterix.column.bytes.decoder.ParquetDeltaByteArrayReader;
+import org.apache.asterix.column.bytes.decoder.ParquetDictionaryByteArrayReader;
 import org.apache.asterix.column.bytes.stream.in.AbstractBytesInputStream;
+import org.apache.asterix.column.values.ColumnValuesBatch;
 import org.apache.asterix.om.types.ATypeTag;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
 import org.apache.hyracks.data.std.api.IValueReference;
 import org.apache.hyracks.data.std.primitive.UTF8StringPointable;
 
 public final class StringValueReader extends AbstractValueReader {
-    private final ParquetDeltaByteArrayReader stringReader;
+    private final ParquetDictionaryByteArrayReader stringReader;
     private IValueReference nextValue;
 
     public StringValueReader() {
-        stringReader = new ParquetDeltaByteArrayReader(true);
+        stringReader = new ParquetDictionaryByteArrayReader(true);
     }
 
     @Override
@@ -49,6 +51,31 @@ public final class StringValueReader extends AbstractValueReader {
         return nextValue;
     }
 
+    @Override
+    public void nextValues(ColumnValuesBatch batch, int count) throws HyracksDataException {
+        for (int i = 0; i < count; i++) {
+            batch.appendBytes(i, stringReader.readBytes());
+        }
+    }
+
+    @Override
+    public void skip(int count) {
+        // Dictionary-encoded values are skipped without being materialized
+        for (int i = 0; i < count; i++) {
+            stringReader.skip();
+        }
+    }
+
+    @Override
+    public int getDictionaryCode() {
+        return stringReader.getDictionaryCode();
+    }
+
+    @Override
+    public int getDictionaryId() {
+        return stringReader.getDictionaryId();
+    }
+
     @Override
     public ATypeTag getTypeTag() {
         return ATypeTag.STRING;
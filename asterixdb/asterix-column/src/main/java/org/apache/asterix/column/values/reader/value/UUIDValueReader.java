@@ -22,8 +22,10 @@ import java.io.IOException;
 
 import org.apache.asterix.column.bytes.decoder.ParquetPlainFixedLengthValuesReader;
 import org.apache.asterix.column.bytes.stream.in.AbstractBytesInputStream;
+import org.apache.asterix.column.values.ColumnValuesBatch;
 import org.apache.asterix.dataflow.data.nontagged.comparators.AUUIDPartialBinaryComparatorFactory;
 import org.apache.asterix.om.types.ATypeTag;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
 import org.apache.hyracks.data.std.api.IValueReference;
 import org.apache.hyracks.data.std.util.ArrayBackedValueStorage;
 
@@ -33,6 +35,8 @@ public final class UUIDValueReader extends AbstractValueReader {
 
     public UUIDValueReader() {
         ArrayBackedValueStorage storage = new ArrayBackedValueStorage(16);
+        // The values are read directly into the storage's array. Hence, the length is set upfront
+        storage.setSize(16);
         uuidReader = new ParquetPlainFixedLengthValuesReader(storage);
     }
 
@@ -51,6 +55,18 @@ public final class UUIDValueReader extends AbstractValueReader {
         return nextValue;
     }
 
+    @Override
+    public void nextValues(ColumnValuesBatch batch, int count) throws HyracksDataException {
+        for (int i = 0; i < count; i++) {
+            batch.appendBytes(i, uuidReader.readBytes());
+        }
+    }
+
+    @Override
+    public void skip(int count) {
+        uuidReader.skip(count);
+    }
+
     @Override
     public ATypeTag getTypeTag() {
         return ATypeTag.UUID;
@@ -18,6 +18,7 @@
  */
 package org.apache.asterix.column.values.reader.value.key;
 
+import org.apache.asterix.column.values.ColumnValuesBatch;
 import org.apache.asterix.column.values.reader.value.AbstractValueReader;
 import org.apache.asterix.om.types.ATypeTag;
 import org.apache.hyracks.data.std.primitive.DoublePointable;
@@ -38,6 +39,15 @@ public final class DoubleKeyValueReader extends AbstractFixedLengthColumnKeyValu
         return DoublePointable.getDouble(value.getByteArray(), value.getStartOffset());
     }
 
+    @Override
+    public void nextValues(ColumnValuesBatch batch, int count) {
+        double[] values = batch.getDoubles();
+        for (int i = 0; i < count; i++) {
+            nextValue();
+            values[i] = getDouble();
+        }
+    }
+
     @Override
     public int compareTo(AbstractValueReader o) {
         return Double.compare(getDouble(), o.getDouble());
@@ -18,6 +18,7 @@
  */
 package org.apache.asterix.column.values.reader.value.key;
 
+import org.apache.asterix.column.values.ColumnValuesBatch;
 import org.apache.asterix.column.values.reader.value.AbstractValueReader;
 import org.apache.asterix.om.types.ATypeTag;
 import org.apache.hyracks.data.std.primitive.LongPointable;
@@ -38,6 +39,15 @@ public final class LongKeyValueReader extends AbstractFixedLengthColumnKeyValueR
         return LongPointable.getLong(value.getByteArray(), value.getStartOffset());
     }
 
+    @Override
+    public void nextValues(ColumnValuesBatch batch, int count) {
+        long[] values = batch.getLongs();
+        for (int i = 0; i < count; i++) {
+            nextValue();
+            values[i] = getLong();
+        }
+    }
+
     @Override
     public int compareTo(AbstractValueReader o) {
         return Long.compare(getLong(), o.getLong());
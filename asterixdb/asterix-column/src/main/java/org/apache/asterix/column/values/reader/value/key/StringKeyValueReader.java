@@ -22,9 +22,11 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 
 import org.apache.asterix.column.bytes.stream.in.AbstractBytesInputStream;
+import org.apache.asterix.column.values.ColumnValuesBatch;
 import org.apache.asterix.column.values.IColumnKeyValueReader;
 import org.apache.asterix.column.values.reader.value.AbstractValueReader;
 import org.apache.asterix.om.types.ATypeTag;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
 import org.apache.hyracks.data.std.api.IPointable;
 import org.apache.hyracks.data.std.api.IValueReference;
 import org.apache.hyracks.data.std.primitive.IntegerPointable;
@@ -89,6 +91,14 @@ public final class StringKeyValueReader extends AbstractValueReader implements I
         return ATypeTag.STRING;
     }
 
+    @Override
+    public void nextValues(ColumnValuesBatch batch, int count) throws HyracksDataException {
+        for (int i = 0; i < count; i++) {
+            nextValue();
+            batch.appendBytes(i, value);
+        }
+    }
+
     @Override
     public int compareTo(AbstractValueReader o) {
         return UTF8StringPointable.compare(getBytes(), o.getBytes());
@@ -18,9 +18,11 @@
  */
 package org.apache.asterix.column.values.reader.value.key;
 
+import org.apache.asterix.column.values.ColumnValuesBatch;
 import org.apache.asterix.column.values.reader.value.AbstractValueReader;
 import org.apache.asterix.dataflow.data.nontagged.comparators.AUUIDPartialBinaryComparatorFactory;
 import org.apache.asterix.om.types.ATypeTag;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
 import org.apache.hyracks.data.std.api.IValueReference;
 
 public final class UUIDKeyValueReader extends AbstractFixedLengthColumnKeyValueReader {
@@ -39,6 +41,14 @@ public final class UUIDKeyValueReader extends AbstractFixedLengthColumnKeyValueR
         return value;
     }
 
+    @Override
+    public void nextValues(ColumnValuesBatch batch, int count) throws HyracksDataException {
+        for (int i = 0; i < count; i++) {
+            nextValue();
+            batch.appendBytes(i, value);
+        }
+    }
+
     @Override
     public int compareTo(AbstractValueReader o) {
         return AUUIDPartialBinaryComparatorFactory.compare(getBytes(), o.getBytes());
@@ -67,7 +67,8 @@ public abstract class AbstractColumnValuesWriter implements IColumnValuesWriter
 
     @Override
     public final int getEstimatedSize() {
-        return definitionLevels.getEstimatedSize() + getValuesEstimatedSize() + COUNT_DEF_SIZE_VALUE_SIZE;
+        return definitionLevels.getEstimatedSize() + getValuesEstimatedSize() + COUNT_DEF_SIZE_VALUE_SIZE
+                + filterWriter.getBloomFilterEstimatedSize();
     }
 
     @Override
@@ -182,6 +183,8 @@ public abstract class AbstractColumnValuesWriter implements IColumnValuesWriter
                 int valueSize = (int) values.size();
                 BytesUtils.writeZigZagVarInt(valueSize, out);
                 values.writeAllTo(out);
+                // The Bloom filter (if any) is written after the values
+                filterWriter.writeBloomFilter(out);
             } else {
                 /*
                  * Do not write the values if all values are null/missing
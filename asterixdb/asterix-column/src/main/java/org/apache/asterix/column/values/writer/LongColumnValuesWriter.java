@@ -102,7 +102,7 @@ final class LongColumnValuesWriter extends AbstractColumnValuesWriter {
 
     @Override
     protected AbstractColumnFilterWriter createFilter() {
-        return new LongColumnFilterWriter();
+        return new LongColumnFilterWriter(true);
     }
 
     @Override
@@ -21,7 +21,7 @@ package org.apache.asterix.column.values.writer;
 import java.io.IOException;
 
 import org.apache.asterix.column.bytes.encoder.AbstractParquetValuesWriter;
-import org.apache.asterix.column.bytes.encoder.ParquetDeltaByteArrayWriter;
+import org.apache.asterix.column.bytes.encoder.ParquetDictionaryByteArrayWriter;
 import org.apache.asterix.column.bytes.encoder.ParquetPlainVariableLengthValuesWriter;
 import org.apache.asterix.column.values.IColumnValuesReader;
 import org.apache.asterix.column.values.writer.filters.AbstractColumnFilterWriter;
@@ -39,8 +39,9 @@ public class StringColumnValuesWriter extends AbstractColumnValuesWriter {
 
     public StringColumnValuesWriter(Mutable<IColumnWriteMultiPageOp> multiPageOpRef, int columnIndex, int level,
             boolean collection, boolean filtered) {
-        this(columnIndex, level, collection, filtered, true, filtered ? new ParquetDeltaByteArrayWriter(multiPageOpRef)
-                : new ParquetPlainVariableLengthValuesWriter(multiPageOpRef));
+        this(columnIndex, level, collection, filtered, true,
+                filtered ? new ParquetDictionaryByteArrayWriter(multiPageOpRef)
+                        : new ParquetPlainVariableLengthValuesWriter(multiPageOpRef));
     }
 
     protected StringColumnValuesWriter(int columnIndex, int level, boolean collection, boolean filtered,
@@ -18,6 +18,9 @@
  */
 package org.apache.asterix.column.values.writer.filters;
 
+import java.io.IOException;
+import java.io.OutputStream;
+
 import org.apache.hyracks.api.exceptions.HyracksDataException;
 import org.apache.hyracks.data.std.api.IValueReference;
 
@@ -40,6 +43,24 @@ public abstract class AbstractColumnFilterWriter {
 
     public abstract long getMaxNormalizedValue();
 
+    /**
+     * @return the estimated size of the Bloom filter (if any)
+     * @see ColumnBloomFilterWriter
+     */
+    public int getBloomFilterEstimatedSize() {
+        return 0;
+    }
+
+    /**
+     * Write the Bloom filter (if any) of the added values
+     *
+     * @param out output stream
+     * @see ColumnBloomFilterWriter
+     */
+    public void writeBloomFilter(OutputStream out) throws IOException {
+        //NoOp
+    }
+
     public abstract void reset();
 
 }
@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.column.values.writer.filters;
+
+import static org.apache.hyracks.util.string.UTF8StringUtil.charAt;
+import static org.apache.hyracks.util.string.UTF8StringUtil.charSize;
+import static org.apache.hyracks.util.string.UTF8StringUtil.getNumBytesToStoreLength;
+import static org.apache.hyracks.util.string.UTF8StringUtil.getUTFLength;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.apache.hyracks.data.std.api.IValueReference;
+import org.apache.parquet.bytes.BytesUtils;
+
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+
+/**
+ * A Bloom filter of the values of a column in a mega leaf node. The filter is written after the column's values as:
+ * <pre>
+ * numberOfHashFunctions | numberOfWords | words (little-endian longs)
+ * </pre>
+ * Nothing is written if the column has no values or if it has too many distinct values for the filter to be useful.
+ * Hence, readers must treat a missing filter as one that contains every value.
+ */
+public final class ColumnBloomFilterWriter {
+    public static final int NUMBER_OF_HASH_FUNCTIONS = 7;
+    private static final int BITS_PER_VALUE = 10;
+    private static final int MAX_NUMBER_OF_WORDS = 1024;
+    // Beyond this number of distinct values, the false positive rate of the filter is too high
+    private static final int MAX_NUMBER_OF_VALUES = MAX_NUMBER_OF_WORDS * Long.SIZE / 4;
+    private final LongOpenHashSet hashes;
+    private long[] words;
+    private boolean saturated;
+
+    public ColumnBloomFilterWriter() {
+        hashes = new LongOpenHashSet();
+        words = new long[0];
+    }
+
+    public void add(long hash) {
+        if (!saturated) {
+            hashes.add(hash);
+            saturated = hashes.size() > MAX_NUMBER_OF_VALUES;
+        }
+    }
+
+    public int getEstimatedSize() {
+        if (saturated || hashes.isEmpty()) {
+            return 0;
+        }
+        // + 2 integers for the number of hash functions and the number of words
+        return getNumberOfWords(hashes.size()) * Long.BYTES + 2 * Integer.BYTES;
+    }
+
+    public void write(OutputStream out) throws IOException {
+        if (saturated || hashes.isEmpty()) {
+            return;
+        }
+
+        int numberOfWords = getNumberOfWords(hashes.size());
+        if (words.length < numberOfWords) {
+            words = new long[numberOfWords];
+        }
+        int numberOfBits = numberOfWords * Long.SIZE;
+        LongIterator iterator = hashes.iterator();
+        while (iterator.hasNext()) {
+            long hash = iterator.nextLong();
+            for (int i = 0; i < NUMBER_OF_HASH_FUNCTIONS; i++) {
+                int bitIndex = getBitIndex(hash, i, numberOfBits);
+                words[bitIndex / Long.SIZE] |= 1L << bitIndex;
+            }
+        }
+
+        BytesUtils.writeUnsignedVarInt(NUMBER_OF_HASH_FUNCTIONS, out);
+        BytesUtils.writeUnsignedVarInt(numberOfWords, out);
+        for (int i = 0; i < numberOfWords; i++) {
+            long word = words[i];
+            for (int j = 0; j < Long.BYTES; j++) {
+                out.write((int) (word >>> (j * Byte.SIZE)) & 0xFF);
+            }
+            words[i] = 0;
+        }
+    }
+
+    public void reset() {
+        hashes.clear();
+        saturated = false;
+    }
+
+    /**
+     * @param words                 the filter's words
+     * @param numberOfWords         the number of words of the filter
+     * @param numberOfHashFunctions the number of hash functions of the filter
+     * @param hash                  the hash of a value (see {@link #hash(long)} and {@link #hash(IValueReference)})
+     * @return false if the value was definitely not added to the filter, true otherwise
+     */
+    public static boolean mightContain(long[] words, int numberOfWords, int numberOfHashFunctions, long hash) {
+        int numberOfBits = numberOfWords * Long.SIZE;
+        for (int i = 0; i < numberOfHashFunctions; i++) {
+            int bitIndex = getBitIndex(hash, i, numberOfBits);
+            if ((words[bitIndex / Long.SIZE] & (1L << bitIndex)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the hash of a normalized integer value
+     */
+    public static long hash(long value) {
+        // MurmurHash3's 64-bit finalizer
+        long hash = value;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * @return the hash of a serialized UTF-8 string (including its length)
+     */
+    public static long hash(IValueReference value) {
+        byte[] bytes = value.getByteArray();
+        int start = value.getStartOffset();
+        int offset = start + getNumBytesToStoreLength(getUTFLength(bytes, start));
+        int end = start + value.getLength();
+        long hash = 0;
+        while (offset < end) {
+            hash = 31 * hash + charAt(bytes, offset);
+            offset += charSize(bytes, offset);
+        }
+        return hash(hash);
+    }
+
+    /**
+     * @return the hash of a string, which is the same as {@link #hash(IValueReference)} of its serialized value
+     */
+    public static long hash(String value) {
+        long hash = 0;
+        for (int i = 0; i < value.length(); i++) {
+            hash = 31 * hash + value.charAt(i);
+        }
+        return hash(hash);
+    }
+
+    private static int getNumberOfWords(int numberOfValues) {
+        int numberOfBits = numberOfValues * BITS_PER_VALUE;
+        return Math.min(MAX_NUMBER_OF_WORDS, (numberOfBits + Long.SIZE - 1) / Long.SIZE);
+    }
+
+    private static int getBitIndex(long hash, int i, int numberOfBits) {
+        // Kirsch-Mitzenmacher: derive the i-th hash function from the two halves of the hash
+        int combinedHash = (int) hash + i * (int) (hash >>> 32);
+        return Math.floorMod(combinedHash, numberOfBits);
+    }
+}
@@ -18,18 +18,32 @@
  */
 package org.apache.asterix.column.values.writer.filters;
 
+import java.io.IOException;
+import java.io.OutputStream;
+
 public class LongColumnFilterWriter extends AbstractColumnFilterWriter {
+    protected final ColumnBloomFilterWriter bloomFilter;
     private long min;
     private long max;
 
     public LongColumnFilterWriter() {
+        this(false);
+    }
+
+    /**
+     * @param bloomFiltered whether to write a Bloom filter of the added values
+     */
+    public LongColumnFilterWriter(boolean bloomFiltered) {
+        bloomFilter = bloomFiltered ? new ColumnBloomFilterWriter() : null;
         reset();
     }
 
     @Override
     public void addLong(long value) {
-        min = Math.min(min, value);
-        max = Math.max(max, value);
+        addMinMax(value);
+        if (bloomFilter != null) {
+            bloomFilter.add(ColumnBloomFilterWriter.hash(value));
+        }
     }
 
     @Override
@@ -42,9 +56,29 @@ public class LongColumnFilterWriter extends AbstractColumnFilterWriter {
         return max;
     }
 
+    @Override
+    public int getBloomFilterEstimatedSize() {
+        return bloomFilter != null ? bloomFilter.getEstimatedSize() : 0;
+    }
+
+    @Override
+    public void writeBloomFilter(OutputStream out) throws IOException {
+        if (bloomFilter != null) {
+            bloomFilter.write(out);
+        }
+    }
+
     @Override
     public void reset() {
         min = Long.MAX_VALUE;
         max = Long.MIN_VALUE;
+        if (bloomFilter != null) {
+            bloomFilter.reset();
+        }
+    }
+
+    protected final void addMinMax(long value) {
+        min = Math.min(min, value);
+        max = Math.max(max, value);
     }
 }
@@ -27,9 +27,14 @@ import org.apache.hyracks.api.exceptions.HyracksDataException;
 import org.apache.hyracks.data.std.api.IValueReference;
 
 public class StringColumnFilterWriter extends LongColumnFilterWriter {
+    public StringColumnFilterWriter() {
+        super(true);
+    }
+
     @Override
     public void addValue(IValueReference value) throws HyracksDataException {
-        addLong(normalize(value));
+        addMinMax(normalize(value));
+        bloomFilter.add(ColumnBloomFilterWriter.hash(value));
     }
 
     /**
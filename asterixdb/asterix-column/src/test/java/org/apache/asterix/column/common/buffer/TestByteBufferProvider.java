@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.column.common.buffer;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+
+import org.apache.hyracks.storage.am.lsm.btree.column.api.IColumnBufferProvider;
+import org.apache.hyracks.storage.am.lsm.btree.column.impls.btree.ColumnBTreeReadLeafFrame;
+
+/**
+ * Provides the bytes of a single column that were written into one buffer
+ */
+public class TestByteBufferProvider implements IColumnBufferProvider {
+    private final ByteBuffer buffer;
+
+    public TestByteBufferProvider(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    @Override
+    public void reset(ColumnBTreeReadLeafFrame frame) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void readAll(Queue<ByteBuffer> buffers) {
+        buffers.add(buffer.duplicate());
+    }
+
+    @Override
+    public void releaseAll() {
+        // NoOp
+    }
+
+    @Override
+    public ByteBuffer getBuffer() {
+        return buffer;
+    }
+
+    @Override
+    public int getLength() {
+        return buffer.remaining();
+    }
+
+    @Override
+    public int getColumnIndex() {
+        return 0;
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.column.test.bytes;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+import org.apache.asterix.column.bytes.decoder.ParquetDictionaryByteArrayReader;
+import org.apache.asterix.column.bytes.encoder.ParquetDictionaryByteArrayWriter;
+import org.apache.asterix.column.bytes.stream.in.ByteBufferInputStream;
+import org.apache.asterix.column.common.buffer.DummyBufferCache;
+import org.apache.asterix.column.common.buffer.TestByteBufferProvider;
+import org.apache.asterix.column.common.buffer.TestWriteMultiPageOp;
+import org.apache.asterix.dataflow.data.nontagged.serde.AStringSerializerDeserializer;
+import org.apache.asterix.om.base.AMutableString;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.mutable.MutableObject;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.data.std.api.IValueReference;
+import org.apache.hyracks.data.std.util.ArrayBackedValueStorage;
+import org.apache.hyracks.util.string.UTF8StringReader;
+import org.apache.hyracks.util.string.UTF8StringWriter;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Writes pages using {@link ParquetDictionaryByteArrayWriter} and reads them back using
+ * {@link ParquetDictionaryByteArrayReader}
+ */
+public class DictionaryEncodingTest {
+    private static final int PAGE_SIZE = 4096;
+    private static final int NUMBER_OF_VALUES = 2000;
+    private static final int DISTINCT_VALUES = 20;
+
+    private final DummyBufferCache dummyBufferCache;
+    private final ArrayBackedValueStorage storage;
+    private final AStringSerializerDeserializer stringSerDer;
+    private final AMutableString stringValue;
+    private ParquetDictionaryByteArrayWriter writer;
+    private ParquetDictionaryByteArrayReader reader;
+
+    public DictionaryEncodingTest() {
+        dummyBufferCache = new DummyBufferCache(PAGE_SIZE);
+        storage = new ArrayBackedValueStorage();
+        stringSerDer = new AStringSerializerDeserializer(new UTF8StringWriter(), new UTF8StringReader());
+        stringValue = new AMutableString("");
+    }
+
+    @Before
+    public void setUp() throws HyracksDataException {
+        writer = new ParquetDictionaryByteArrayWriter(
+                new MutableObject<>(new TestWriteMultiPageOp(dummyBufferCache, dummyBufferCache.createFile())));
+        writer.reset();
+        reader = new ParquetDictionaryByteArrayReader(true);
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        IntFunction<String> values = i -> "value" + i % DISTINCT_VALUES;
+        byte[] page = writePage(values);
+        Assert.assertEquals(ParquetDictionaryByteArrayWriter.DICTIONARY_PAGE, page[0]);
+        // the distinct values are stored once
+        Assert.assertTrue(page.length < NUMBER_OF_VALUES * 2);
+
+        initFromPage(page);
+        for (int i = 0; i < NUMBER_OF_VALUES; i++) {
+            assertValue(values.apply(i), reader.readBytes());
+            // codes are assigned in the order of the first occurrence of each value
+            Assert.assertEquals(i % DISTINCT_VALUES, reader.getDictionaryCode());
+        }
+    }
+
+    @Test
+    public void testSkip() throws IOException {
+        IntFunction<String> values = i -> "value" + i % DISTINCT_VALUES;
+        initFromPage(writePage(values));
+        for (int i = 0; i < NUMBER_OF_VALUES; i++) {
+            if (i % 3 == 0) {
+                reader.skip();
+            } else {
+                assertValue(values.apply(i), reader.readBytes());
+            }
+        }
+    }
+
+    @Test
+    public void testFallBackOnDistinctValues() throws IOException {
+        // most of the values are distinct, so the values written so far are replayed into the delta encoding
+        IntFunction<String> values = i -> "distinct" + i;
+        byte[] page = writePage(values);
+        Assert.assertNotEquals(ParquetDictionaryByteArrayWriter.DICTIONARY_PAGE, page[0]);
+
+        initFromPage(page);
+        for (int i = 0; i < NUMBER_OF_VALUES; i++) {
+            assertValue(values.apply(i), reader.readBytes());
+            Assert.assertEquals(-1, reader.getDictionaryCode());
+        }
+    }
+
+    @Test
+    public void testFallBackOnLargeDictionary() throws IOException {
+        // few distinct values, but the dictionary exceeds its maximum size after 65 of them
+        IntFunction<String> values = i -> StringUtils.repeat('x', 1000) + i % 80;
+        byte[] page = writePage(values);
+        Assert.assertNotEquals(ParquetDictionaryByteArrayWriter.DICTIONARY_PAGE, page[0]);
+
+        initFromPage(page);
+        for (int i = 0; i < NUMBER_OF_VALUES; i++) {
+            assertValue(values.apply(i), reader.readBytes());
+        }
+    }
+
+    @Test
+    public void testMixedPages() throws IOException {
+        IntFunction<String> firstValues = i -> "first" + i % DISTINCT_VALUES;
+        IntFunction<String> distinctValues = i -> "distinct" + i;
+        IntFunction<String> lastValues = i -> "last" + i % (DISTINCT_VALUES / 2);
+        // one writer writes the pages of consecutive mega leaf nodes
+        byte[] firstPage = writePage(firstValues);
+        writer.reset();
+        byte[] distinctPage = writePage(distinctValues);
+        writer.reset();
+        byte[] lastPage = writePage(lastValues);
+        writer.close();
+
+        // and one reader reads them
+        initFromPage(firstPage);
+        int firstDictionaryId = reader.getDictionaryId();
+        for (int i = 0; i < NUMBER_OF_VALUES; i++) {
+            assertValue(firstValues.apply(i), reader.readBytes());
+            Assert.assertEquals(i % DISTINCT_VALUES, reader.getDictionaryCode());
+        }
+
+        initFromPage(distinctPage);
+        for (int i = 0; i < NUMBER_OF_VALUES; i++) {
+            assertValue(distinctValues.apply(i), reader.readBytes());
+            Assert.assertEquals(-1, reader.getDictionaryCode());
+        }
+
+        initFromPage(lastPage);
+        Assert.assertNotEquals(firstDictionaryId, reader.getDictionaryId());
+        for (int i = 0; i < NUMBER_OF_VALUES; i++) {
+            assertValue(lastValues.apply(i), reader.readBytes());
+            Assert.assertEquals(i % (DISTINCT_VALUES / 2), reader.getDictionaryCode());
+        }
+    }
+
+    private byte[] writePage(IntFunction<String> values) throws IOException {
+        for (int i = 0; i < NUMBER_OF_VALUES; i++) {
+            writer.writeBytes(serialize(values.apply(i)), true);
+        }
+        return writer.getBytes().toByteArray();
+    }
+
+    private void initFromPage(byte[] page) throws IOException {
+        ByteBufferInputStream in = new ByteBufferInputStream();
+        in.reset(new TestByteBufferProvider(ByteBuffer.wrap(page)));
+        reader.initFromPage(in);
+    }
+
+    private IValueReference serialize(String value) throws HyracksDataException {
+        storage.reset();
+        stringValue.setValue(value);
+        stringSerDer.serialize(stringValue, storage.getDataOutput());
+        return storage;
+    }
+
+    private void assertValue(String expected, IValueReference actual) throws HyracksDataException {
+        IValueReference expectedBytes = serialize(expected);
+        Assert.assertArrayEquals(expected,
+                Arrays.copyOfRange(expectedBytes.getByteArray(), expectedBytes.getStartOffset(),
+                        expectedBytes.getStartOffset() + expectedBytes.getLength()),
+                Arrays.copyOfRange(actual.getByteArray(), actual.getStartOffset(),
+                        actual.getStartOffset() + actual.getLength()));
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.column.test.filter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import org.apache.asterix.column.values.writer.filters.ColumnBloomFilterWriter;
+import org.apache.asterix.column.values.writer.filters.LongColumnFilterWriter;
+import org.apache.asterix.column.values.writer.filters.StringColumnFilterWriter;
+import org.apache.asterix.dataflow.data.nontagged.serde.AStringSerializerDeserializer;
+import org.apache.asterix.om.base.AMutableString;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.data.std.api.IValueReference;
+import org.apache.hyracks.data.std.util.ArrayBackedValueStorage;
+import org.apache.hyracks.util.string.UTF8StringReader;
+import org.apache.hyracks.util.string.UTF8StringWriter;
+import org.apache.parquet.bytes.BytesUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BloomFilterTest {
+    private static final int NUMBER_OF_VALUES = 1000;
+    private final AMutableString stringValue;
+    private final AStringSerializerDeserializer stringSerDer;
+    private final ArrayBackedValueStorage storage;
+    private long[] words;
+    private int numberOfHashFunctions;
+
+    public BloomFilterTest() {
+        stringValue = new AMutableString("");
+        stringSerDer = new AStringSerializerDeserializer(new UTF8StringWriter(), new UTF8StringReader());
+        storage = new ArrayBackedValueStorage();
+    }
+
+    @Test
+    public void testStringBloomFilter() throws IOException {
+        StringColumnFilterWriter filter = new StringColumnFilterWriter();
+        for (int i = 0; i < NUMBER_OF_VALUES; i++) {
+            filter.addValue(getSerializedString("user" + i + "\u00e9\u4e2d"));
+        }
+        readBloomFilter(filter.getBloomFilterEstimatedSize(), write(filter));
+
+        for (int i = 0; i < NUMBER_OF_VALUES; i++) {
+            Assert.assertTrue(mightContain(ColumnBloomFilterWriter.hash("user" + i + "\u00e9\u4e2d")));
+        }
+        int falsePositives = 0;
+        for (int i = NUMBER_OF_VALUES; i < 2 * NUMBER_OF_VALUES; i++) {
+            falsePositives += mightContain(ColumnBloomFilterWriter.hash("user" + i + "\u00e9\u4e2d")) ? 1 : 0;
+        }
+        Assert.assertTrue(falsePositives < NUMBER_OF_VALUES / 20);
+    }
+
+    @Test
+    public void testLongBloomFilter() throws IOException {
+        LongColumnFilterWriter filter = new LongColumnFilterWriter(true);
+        for (int i = 0; i < NUMBER_OF_VALUES; i++) {
+            filter.addLong(i * 7L);
+        }
+        readBloomFilter(filter.getBloomFilterEstimatedSize(), write(filter));
+
+        int falsePositives = 0;
+        for (int i = 0; i < NUMBER_OF_VALUES * 7; i++) {
+            boolean mightContain = mightContain(ColumnBloomFilterWriter.hash(i));
+            if (i % 7 == 0) {
+                Assert.assertTrue(mightContain);
+            } else {
+                falsePositives += mightContain ? 1 : 0;
+            }
+        }
+        Assert.assertTrue(falsePositives < NUMBER_OF_VALUES * 6 / 20);
+    }
+
+    @Test
+    public void testNoBloomFilter() throws IOException {
+        LongColumnFilterWriter filter = new LongColumnFilterWriter();
+        filter.addLong(1);
+        Assert.assertEquals(0, filter.getBloomFilterEstimatedSize());
+        Assert.assertEquals(0, write(filter).length);
+
+        // Nothing is written if no value was added
+        filter = new LongColumnFilterWriter(true);
+        Assert.assertEquals(0, write(filter).length);
+
+        filter.addLong(1);
+        filter.reset();
+        Assert.assertEquals(0, write(filter).length);
+    }
+
+    private static byte[] write(LongColumnFilterWriter filter) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        filter.writeBloomFilter(out);
+        return out.toByteArray();
+    }
+
+    private void readBloomFilter(int estimatedSize, byte[] bytes) throws IOException {
+        Assert.assertTrue(bytes.length > 0 && bytes.length <= estimatedSize);
+        ByteArrayInputStream in = new ByteArrayInputStream(bytes);
+        numberOfHashFunctions = BytesUtils.readUnsignedVarInt(in);
+        words = new long[BytesUtils.readUnsignedVarInt(in)];
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, bytes.length - in.available(), in.available());
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < words.length; i++) {
+            words[i] = buffer.getLong();
+        }
+        Assert.assertFalse(buffer.hasRemaining());
+    }
+
+    private boolean mightContain(long hash) {
+        return ColumnBloomFilterWriter.mightContain(words, words.length, numberOfHashFunctions, hash);
+    }
+
+    private IValueReference getSerializedString(String value) throws HyracksDataException {
+        storage.reset();
+        stringValue.setValue(value);
+        stringSerDer.serialize(stringValue, storage.getDataOutput());
+        return storage;
+    }
+}
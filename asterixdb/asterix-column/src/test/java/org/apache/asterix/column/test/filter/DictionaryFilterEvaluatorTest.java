@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.column.test.filter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import org.apache.asterix.column.bytes.stream.in.MultiByteBufferInputStream;
+import org.apache.asterix.column.common.buffer.DummyBufferCache;
+import org.apache.asterix.column.common.buffer.TestByteBufferProvider;
+import org.apache.asterix.column.common.buffer.TestWriteMultiPageOp;
+import org.apache.asterix.column.filter.iterable.evaluator.ColumnDictionaryIterableFilterEvaluator;
+import org.apache.asterix.column.values.IColumnValuesReader;
+import org.apache.asterix.column.values.IColumnValuesWriter;
+import org.apache.asterix.column.values.reader.ColumnValueReaderFactory;
+import org.apache.asterix.column.values.writer.ColumnValuesWriterFactory;
+import org.apache.asterix.dataflow.data.nontagged.serde.AStringSerializerDeserializer;
+import org.apache.asterix.om.base.AMutableString;
+import org.apache.asterix.om.types.ATypeTag;
+import org.apache.commons.lang3.mutable.Mutable;
+import org.apache.commons.lang3.mutable.MutableObject;
+import org.apache.hyracks.algebricks.runtime.base.IScalarEvaluator;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.data.std.api.IPointable;
+import org.apache.hyracks.data.std.api.IValueReference;
+import org.apache.hyracks.data.std.util.ArrayBackedValueStorage;
+import org.apache.hyracks.dataflow.common.data.accessors.IFrameTupleReference;
+import org.apache.hyracks.storage.am.lsm.btree.column.api.IColumnWriteMultiPageOp;
+import org.apache.hyracks.util.string.UTF8StringReader;
+import org.apache.hyracks.util.string.UTF8StringWriter;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Evaluates an equality filter on a string column using {@link ColumnDictionaryIterableFilterEvaluator}
+ */
+public class DictionaryFilterEvaluatorTest {
+    private static final int PAGE_SIZE = 4096;
+    private static final int MAX_LEVEL = 1;
+    private static final int NUMBER_OF_TUPLES = 3000;
+    private static final int DISTINCT_VALUES = 30;
+
+    private final DummyBufferCache dummyBufferCache;
+    private final ArrayBackedValueStorage storage;
+    private final AStringSerializerDeserializer stringSerDer;
+    private final AMutableString stringValue;
+
+    public DictionaryFilterEvaluatorTest() {
+        dummyBufferCache = new DummyBufferCache(PAGE_SIZE);
+        storage = new ArrayBackedValueStorage();
+        stringSerDer = new AStringSerializerDeserializer(new UTF8StringWriter(), new UTF8StringReader());
+        stringValue = new AMutableString("");
+    }
+
+    @Test
+    public void testDictionaryPage() throws IOException {
+        IntFunction<String> values = i -> "value" + i % DISTINCT_VALUES;
+        EqualsEvaluator equals = new EqualsEvaluator(serialize("value7"));
+        List<Integer> matches = filter(write(values), equals);
+
+        Assert.assertEquals(expectedMatches(values, "value7"), matches);
+        // the filter is evaluated once per dictionary entry
+        Assert.assertEquals(DISTINCT_VALUES, equals.evaluations);
+    }
+
+    @Test
+    public void testDeltaPage() throws IOException {
+        // distinct values are not dictionary-encoded, so the filter is evaluated for every value
+        IntFunction<String> values = i -> "value" + i;
+        EqualsEvaluator equals = new EqualsEvaluator(serialize("value1234"));
+        List<Integer> matches = filter(write(values), equals);
+
+        Assert.assertEquals(expectedMatches(values, "value1234"), matches);
+        Assert.assertEquals(NUMBER_OF_TUPLES, equals.evaluations);
+    }
+
+    private List<Integer> filter(IColumnValuesReader reader, EqualsEvaluator equals) throws HyracksDataException {
+        equals.reader = reader;
+        ColumnDictionaryIterableFilterEvaluator evaluator = new ColumnDictionaryIterableFilterEvaluator(equals, reader);
+        List<Integer> matches = new ArrayList<>();
+        while (evaluator.evaluate()) {
+            matches.add(evaluator.getTupleIndex());
+        }
+        return matches;
+    }
+
+    private static List<Integer> expectedMatches(IntFunction<String> values, String value) {
+        List<Integer> matches = new ArrayList<>();
+        for (int i = 0; i < NUMBER_OF_TUPLES; i++) {
+            if (values.apply(i).equals(value)) {
+                matches.add(i);
+            }
+        }
+        return matches;
+    }
+
+    private IColumnValuesReader write(IntFunction<String> values) throws IOException {
+        Mutable<IColumnWriteMultiPageOp> multiPageOpRef =
+                new MutableObject<>(new TestWriteMultiPageOp(dummyBufferCache, dummyBufferCache.createFile()));
+        IColumnValuesWriter writer = new ColumnValuesWriterFactory(multiPageOpRef).createValueWriter(ATypeTag.STRING, 0,
+                MAX_LEVEL, false, true);
+        writer.reset();
+        for (int i = 0; i < NUMBER_OF_TUPLES; i++) {
+            writer.writeValue(ATypeTag.STRING, serialize(values.apply(i)));
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.flush(out);
+        writer.close();
+
+        MultiByteBufferInputStream in = new MultiByteBufferInputStream();
+        in.reset(new TestByteBufferProvider(ByteBuffer.wrap(out.toByteArray())));
+        IColumnValuesReader reader =
+                new ColumnValueReaderFactory().createValueReader(ATypeTag.STRING, 0, MAX_LEVEL, false);
+        reader.reset(in, NUMBER_OF_TUPLES);
+        return reader;
+    }
+
+    private ArrayBackedValueStorage serialize(String value) throws HyracksDataException {
+        storage.reset();
+        stringValue.setValue(value);
+        stringSerDer.serialize(stringValue, storage.getDataOutput());
+        return storage;
+    }
+
+    /**
+     * Compares the current value of a reader with a constant and counts its evaluations
+     */
+    private static class EqualsEvaluator implements IScalarEvaluator {
+        private final ArrayBackedValueStorage constant;
+        private final byte[] result;
+        private IColumnValuesReader reader;
+        private int evaluations;
+
+        EqualsEvaluator(IValueReference constant) {
+            this.constant = new ArrayBackedValueStorage();
+            this.constant.set(constant);
+            result = new byte[] { ATypeTag.SERIALIZED_BOOLEAN_TYPE_TAG, 0 };
+        }
+
+        @Override
+        public void evaluate(IFrameTupleReference tuple, IPointable resultPointable) {
+            evaluations++;
+            result[1] = (byte) (reader.isValue() && isEqual(reader.getBytes()) ? 1 : 0);
+            resultPointable.set(result, 0, result.length);
+        }
+
+        private boolean isEqual(IValueReference value) {
+            return Arrays.equals(value.getByteArray(), value.getStartOffset(),
+                    value.getStartOffset() + value.getLength(), constant.getByteArray(), constant.getStartOffset(),
+                    constant.getStartOffset() + constant.getLength());
+        }
+    }
+}
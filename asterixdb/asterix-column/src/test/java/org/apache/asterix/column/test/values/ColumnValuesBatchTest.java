@@ -0,0 +1,298 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.column.test.values;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.UUID;
+
+import org.apache.asterix.column.bytes.stream.in.AbstractBytesInputStream;
+import org.apache.asterix.column.bytes.stream.in.ByteBufferInputStream;
+import org.apache.asterix.column.bytes.stream.in.MultiByteBufferInputStream;
+import org.apache.asterix.column.common.buffer.DummyBufferCache;
+import org.apache.asterix.column.common.buffer.TestByteBufferProvider;
+import org.apache.asterix.column.common.buffer.TestWriteMultiPageOp;
+import org.apache.asterix.column.values.ColumnValuesBatch;
+import org.apache.asterix.column.values.IColumnValuesReader;
+import org.apache.asterix.column.values.IColumnValuesWriter;
+import org.apache.asterix.column.values.reader.ColumnValueReaderFactory;
+import org.apache.asterix.column.values.writer.ColumnValuesWriterFactory;
+import org.apache.asterix.dataflow.data.nontagged.serde.AStringSerializerDeserializer;
+import org.apache.asterix.dataflow.data.nontagged.serde.AUUIDSerializerDeserializer;
+import org.apache.asterix.om.base.AMutableString;
+import org.apache.asterix.om.base.AMutableUUID;
+import org.apache.asterix.om.types.ATypeTag;
+import org.apache.commons.lang3.mutable.Mutable;
+import org.apache.commons.lang3.mutable.MutableObject;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.data.std.util.ArrayBackedValueStorage;
+import org.apache.hyracks.storage.am.lsm.btree.column.api.IColumnWriteMultiPageOp;
+import org.apache.hyracks.util.string.UTF8StringReader;
+import org.apache.hyracks.util.string.UTF8StringWriter;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Writes a column, reads it back using {@link IColumnValuesReader#nextBatch(ColumnValuesBatch)}, and compares the
+ * read values with the written ones.
+ */
+public class ColumnValuesBatchTest {
+    private static final int PAGE_SIZE = 4096;
+    // More than two batches with a partial last batch
+    private static final int NUMBER_OF_TUPLES = 2 * ColumnValuesBatch.DEFAULT_CAPACITY + 300;
+    private static final int MAX_LEVEL = 1;
+
+    private enum State {
+        VALUE,
+        NULL,
+        MISSING
+    }
+
+    private final DummyBufferCache dummyBufferCache;
+    private final ArrayBackedValueStorage storage;
+    private final AStringSerializerDeserializer stringSerDer;
+    private final AMutableString stringValue;
+    private final AMutableUUID uuidValue;
+
+    public ColumnValuesBatchTest() {
+        dummyBufferCache = new DummyBufferCache(PAGE_SIZE);
+        storage = new ArrayBackedValueStorage();
+        stringSerDer = new AStringSerializerDeserializer(new UTF8StringWriter(), new UTF8StringReader());
+        stringValue = new AMutableString("");
+        uuidValue = new AMutableUUID();
+    }
+
+    @Test
+    public void testBoolean() throws IOException {
+        roundTrip(ATypeTag.BOOLEAN, false);
+    }
+
+    @Test
+    public void testLong() throws IOException {
+        roundTrip(ATypeTag.BIGINT, false);
+    }
+
+    @Test
+    public void testLongKey() throws IOException {
+        roundTrip(ATypeTag.BIGINT, true);
+    }
+
+    @Test
+    public void testDouble() throws IOException {
+        roundTrip(ATypeTag.DOUBLE, false);
+    }
+
+    @Test
+    public void testDoubleKey() throws IOException {
+        roundTrip(ATypeTag.DOUBLE, true);
+    }
+
+    @Test
+    public void testString() throws IOException {
+        roundTrip(ATypeTag.STRING, false);
+    }
+
+    @Test
+    public void testStringKey() throws IOException {
+        roundTrip(ATypeTag.STRING, true);
+    }
+
+    @Test
+    public void testUUID() throws IOException {
+        roundTrip(ATypeTag.UUID, false);
+    }
+
+    @Test
+    public void testUUIDKey() throws IOException {
+        roundTrip(ATypeTag.UUID, true);
+    }
+
+    @Test
+    public void testNull() throws IOException {
+        roundTrip(ATypeTag.NULL, false);
+    }
+
+    @Test
+    public void testLongRange() throws IOException {
+        readRange(ATypeTag.BIGINT, 700, 1500);
+    }
+
+    @Test
+    public void testDoubleRange() throws IOException {
+        readRange(ATypeTag.DOUBLE, 700, 1500);
+    }
+
+    @Test
+    public void testStringRange() throws IOException {
+        readRange(ATypeTag.STRING, 700, 1500);
+    }
+
+    private void roundTrip(ATypeTag typeTag, boolean primaryKey) throws IOException {
+        IColumnValuesReader reader = write(typeTag, primaryKey);
+        ColumnValuesBatch batch = new ColumnValuesBatch();
+        int tupleIndex = 0;
+        int count;
+        while ((count = reader.nextBatch(batch)) > 0) {
+            tupleIndex = assertBatch(typeTag, primaryKey, batch, count, tupleIndex);
+        }
+        Assert.assertEquals(NUMBER_OF_TUPLES, tupleIndex);
+    }
+
+    /**
+     * Reads a range of tuples as a leaf range is read (i.e., skip to the range then read bounded batches)
+     */
+    private void readRange(ATypeTag typeTag, int start, int numberOfTuples) throws IOException {
+        IColumnValuesReader reader = write(typeTag, false);
+        reader.skip(start);
+        ColumnValuesBatch batch = new ColumnValuesBatch();
+        int tupleIndex = start;
+        int remaining = numberOfTuples;
+        while (remaining > 0) {
+            int count = reader.nextBatch(batch, remaining);
+            Assert.assertTrue(count > 0 && count <= remaining);
+            tupleIndex = assertBatch(typeTag, false, batch, count, tupleIndex);
+            remaining -= count;
+        }
+        Assert.assertEquals(start + numberOfTuples, tupleIndex);
+    }
+
+    private int assertBatch(ATypeTag typeTag, boolean primaryKey, ColumnValuesBatch batch, int count,
+            int firstTupleIndex) throws HyracksDataException {
+        Assert.assertEquals(count, batch.getNumberOfTuples());
+        int tupleIndex = firstTupleIndex;
+        int valueIndex = 0;
+        for (int i = 0; i < count; i++, tupleIndex++) {
+            State state = getState(typeTag, primaryKey, tupleIndex);
+            Assert.assertEquals("tuple " + tupleIndex, state == State.VALUE, batch.isValue(i));
+            Assert.assertEquals("tuple " + tupleIndex, state == State.NULL, batch.isNull(i));
+            Assert.assertEquals("tuple " + tupleIndex, state == State.MISSING, batch.isMissing(i));
+            if (state == State.VALUE) {
+                assertValue(typeTag, tupleIndex, batch, valueIndex++);
+            }
+        }
+        Assert.assertEquals(valueIndex, batch.getNumberOfValues());
+        return tupleIndex;
+    }
+
+    private IColumnValuesReader write(ATypeTag typeTag, boolean primaryKey) throws IOException {
+        Mutable<IColumnWriteMultiPageOp> multiPageOpRef =
+                new MutableObject<>(new TestWriteMultiPageOp(dummyBufferCache, dummyBufferCache.createFile()));
+        // Primary keys are written as plain values and other columns are encoded (as in FlushColumnMetadata)
+        IColumnValuesWriter writer = new ColumnValuesWriterFactory(multiPageOpRef).createValueWriter(typeTag, 0,
+                MAX_LEVEL, primaryKey, !primaryKey);
+        writer.reset();
+        for (int i = 0; i < NUMBER_OF_TUPLES; i++) {
+            switch (getState(typeTag, primaryKey, i)) {
+                case VALUE:
+                    if (primaryKey && i % 9 == 0) {
+                        writer.writeAntiMatter(typeTag, serialize(typeTag, i));
+                    } else {
+                        writer.writeValue(typeTag, serialize(typeTag, i));
+                    }
+                    break;
+                case NULL:
+                    writer.writeNull(MAX_LEVEL - 1);
+                    break;
+                default:
+                    writer.writeLevel(MAX_LEVEL - 1);
+                    break;
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.flush(out);
+        writer.close();
+
+        AbstractBytesInputStream in = primaryKey ? new ByteBufferInputStream() : new MultiByteBufferInputStream();
+        in.reset(new TestByteBufferProvider(ByteBuffer.wrap(out.toByteArray())));
+        IColumnValuesReader reader =
+                new ColumnValueReaderFactory().createValueReader(typeTag, 0, MAX_LEVEL, primaryKey);
+        reader.reset(in, NUMBER_OF_TUPLES);
+        return reader;
+    }
+
+    private static State getState(ATypeTag typeTag, boolean primaryKey, int i) {
+        if (primaryKey) {
+            // Primary keys are always present (including anti-matter keys)
+            return State.VALUE;
+        } else if (i % 5 == 0) {
+            return State.NULL;
+        } else if (i % 7 == 0 || typeTag == ATypeTag.NULL) {
+            return State.MISSING;
+        }
+        return State.VALUE;
+    }
+
+    private ArrayBackedValueStorage serialize(ATypeTag typeTag, int i) throws HyracksDataException {
+        storage.reset();
+        DataOutput out = storage.getDataOutput();
+        try {
+            switch (typeTag) {
+                case BOOLEAN:
+                    out.writeByte(i % 3 == 0 ? 1 : 0);
+                    break;
+                case BIGINT:
+                    out.writeLong(i * 31L - 1000);
+                    break;
+                case DOUBLE:
+                    out.writeDouble(i / 3.0 - 100);
+                    break;
+                case STRING:
+                    // Repeated values to be dictionary encoded
+                    stringValue.setValue("value" + (i % 50));
+                    stringSerDer.serialize(stringValue, out);
+                    break;
+                case UUID:
+                    char[] uuid = new UUID(i % 11, i).toString().toCharArray();
+                    uuidValue.parseUUIDString(uuid, 0, uuid.length);
+                    AUUIDSerializerDeserializer.INSTANCE.serialize(uuidValue, out);
+                    break;
+                default:
+                    throw new IllegalStateException(typeTag + " has no values");
+            }
+        } catch (IOException e) {
+            throw HyracksDataException.create(e);
+        }
+        return storage;
+    }
+
+    private void assertValue(ATypeTag typeTag, int tupleIndex, ColumnValuesBatch batch, int valueIndex)
+            throws HyracksDataException {
+        String message = "tuple " + tupleIndex;
+        ArrayBackedValueStorage expected = serialize(typeTag, tupleIndex);
+        switch (typeTag) {
+            case BOOLEAN:
+                Assert.assertEquals(message, expected.getByteArray()[0], batch.getLongs()[valueIndex]);
+                break;
+            case BIGINT:
+                Assert.assertEquals(message, tupleIndex * 31L - 1000, batch.getLongs()[valueIndex]);
+                break;
+            case DOUBLE:
+                Assert.assertEquals(message, tupleIndex / 3.0 - 100, batch.getDoubles()[valueIndex], 0.0);
+                break;
+            default:
+                int start = batch.getStart(valueIndex);
+                byte[] actual = Arrays.copyOfRange(batch.getBytes(), start, start + batch.getLength(valueIndex));
+                Assert.assertArrayEquals(message, Arrays.copyOf(expected.getByteArray(), expected.getLength()), actual);
+                break;
+        }
+    }
+}
@@ -23,6 +23,7 @@ import java.util.List;
 import org.apache.asterix.column.bytes.stream.in.AbstractBytesInputStream;
 import org.apache.asterix.column.util.ColumnValuesUtil;
 import org.apache.asterix.column.util.RunLengthIntArray;
+import org.apache.asterix.column.values.ColumnValuesBatch;
 import org.apache.asterix.column.values.IColumnValuesReader;
 import org.apache.asterix.column.values.IColumnValuesWriter;
 import org.apache.asterix.om.types.ATypeTag;
@@ -135,6 +136,31 @@ public abstract class AbstractDummyColumnValuesReader implements IColumnValuesRe
         return values.get(nonMissingValueIndex);
     }
 
+    @Override
+    public final int getDictionaryCode() {
+        return -1;
+    }
+
+    @Override
+    public final int getDictionaryId() {
+        return 0;
+    }
+
+    @Override
+    public final int nextBatch(ColumnValuesBatch batch, int maxCount) {
+        throw new UnsupportedOperationException(getClass().getName());
+    }
+
+    @Override
+    public final void requestBloomFilter() {
+        //NoOp
+    }
+
+    @Override
+    public final boolean mightContain(long hash) {
+        return true;
+    }
+
     @Override
     public final int compareTo(IColumnValuesReader o) {
         return 0;
@@ -80,6 +80,10 @@ public class CompilerProperties extends AbstractProperties {
                 POSITIVE_INTEGER,
                 AlgebricksConfig.SORT_SAMPLES_DEFAULT,
                 "The number of samples which parallel sorting should take from each partition"),
+        COMPILER_SORT_ALGORITHM(
+                STRING,
+                AlgebricksConfig.SORT_ALGORITHM_DEFAULT,
+                "The algorithm used to sort the runs of an external sort (merge or radix)"),
         COMPILER_INDEXONLY(BOOLEAN, AlgebricksConfig.INDEX_ONLY_DEFAULT, "Enabling/disabling index-only plans"),
         COMPILER_INTERNAL_SANITYCHECK(
                 BOOLEAN,
@@ -122,7 +126,12 @@ public class CompilerProperties extends AbstractProperties {
         COMPILER_COLUMN_FILTER(
                 BOOLEAN,
                 AlgebricksConfig.COLUMN_FILTER_DEFAULT,
-                "Enable/disable the use of column min/max filters");
+                "Enable/disable the use of column min/max filters"),
+        COMPILER_SPILL_COMPRESSION(
+                STRING,
+                "none",
+                "The compression scheme of the run files spilled by joins, sorts and group-bys. Supported schemes "
+                        + "are the storage compression schemes (none, snappy, lz4 and zstd)");
 
         private final IOptionType type;
         private final Object defaultValue;
@@ -176,6 +185,8 @@ public class CompilerProperties extends AbstractProperties {
 
     public static final String COMPILER_SORT_SAMPLES_KEY = Option.COMPILER_SORT_SAMPLES.ini();
 
+    public static final String COMPILER_SORT_ALGORITHM_KEY = Option.COMPILER_SORT_ALGORITHM.ini();
+
     public static final String COMPILER_INDEXONLY_KEY = Option.COMPILER_INDEXONLY.ini();
 
     public static final String COMPILER_INTERNAL_SANITYCHECK_KEY = Option.COMPILER_INTERNAL_SANITYCHECK.ini();
@@ -204,6 +215,8 @@ public class CompilerProperties extends AbstractProperties {
 
     public static final String COMPILER_COLUMN_FILTER_KEY = Option.COMPILER_COLUMN_FILTER.ini();
 
+    public static final String COMPILER_SPILL_COMPRESSION_KEY = Option.COMPILER_SPILL_COMPRESSION.ini();
+
     public static final int COMPILER_PARALLELISM_AS_STORAGE = 0;
 
     public CompilerProperties(PropertiesAccessor accessor) {
@@ -246,6 +259,15 @@ public class CompilerProperties extends AbstractProperties {
         return accessor.getInt(Option.COMPILER_SORT_SAMPLES);
     }
 
+    public String getSortAlgorithm() {
+        String sortAlgorithm = accessor.getString(Option.COMPILER_SORT_ALGORITHM);
+        if (!(sortAlgorithm.equals(AlgebricksConfig.SORT_ALGORITHM_MERGE)
+                || sortAlgorithm.equals(AlgebricksConfig.SORT_ALGORITHM_RADIX))) {
+            return AlgebricksConfig.SORT_ALGORITHM_DEFAULT;
+        }
+        return sortAlgorithm;
+    }
+
     public boolean isIndexOnly() {
         return accessor.getBoolean(Option.COMPILER_INDEXONLY);
     }
@@ -306,4 +328,8 @@ public class CompilerProperties extends AbstractProperties {
     public boolean isColumnFilter() {
         return accessor.getBoolean(Option.COMPILER_COLUMN_FILTER);
     }
+
+    public String getSpillCompressionScheme() {
+        return accessor.getString(Option.COMPILER_SPILL_COMPRESSION);
+    }
 }
@@ -43,6 +43,12 @@ public class NodeProperties extends AbstractProperties {
                 appConfig -> FileUtil.joinPath(appConfig.getString(ControllerConfig.Option.DEFAULT_DIR), "txn-log"),
                 "The directory where transaction logs should be stored",
                 "<value of " + ControllerConfig.Option.DEFAULT_DIR.cmdline() + ">/txn-log"),
+        TXN_LOG_STRIPE_DIRS(
+                OptionTypes.STRING_ARRAY,
+                new String[0],
+                "Comma separated list of additional directories (preferably on separate devices) that transaction "
+                        + "log files are striped across together with the transaction log directory. The list must not "
+                        + "change while transaction logs exist"),
         STARTING_PARTITION_ID(
                 OptionTypes.INTEGER,
                 -1,
@@ -115,4 +121,8 @@ public class NodeProperties extends AbstractProperties {
     public String getTxnLogDir() {
         return accessor.getString(Option.TXN_LOG_DIR);
     }
+
+    public String[] getTxnLogStripeDirs() {
+        return accessor.getStringArray(Option.TXN_LOG_STRIPE_DIRS);
+    }
 }
@@ -66,6 +66,8 @@ public class OptimizationConfUtil {
         int sortNumSamples = getSortSamples(compilerProperties, querySpecificConfig, sourceLoc);
         boolean fullParallelSort = getBoolean(querySpecificConfig, CompilerProperties.COMPILER_SORT_PARALLEL_KEY,
                 compilerProperties.getSortParallel());
+        String sortAlgorithm = getString(querySpecificConfig, CompilerProperties.COMPILER_SORT_ALGORITHM_KEY,
+                compilerProperties.getSortAlgorithm()).toLowerCase();
         boolean indexOnly = getBoolean(querySpecificConfig, CompilerProperties.COMPILER_INDEXONLY_KEY,
                 compilerProperties.isIndexOnly());
         boolean sanityCheck = getBoolean(querySpecificConfig, CompilerProperties.COMPILER_INTERNAL_SANITYCHECK_KEY,
@@ -105,6 +107,7 @@ public class OptimizationConfUtil {
         physOptConf.setMaxFramesForTextSearch(textSearchFrameLimit);
         physOptConf.setSortParallel(fullParallelSort);
         physOptConf.setSortSamples(sortNumSamples);
+        physOptConf.setSortAlgorithm(sortAlgorithm);
         physOptConf.setIndexOnly(indexOnly);
         physOptConf.setSanityCheckEnabled(sanityCheck);
         physOptConf.setExternalFieldPushdown(externalFieldPushdown);
@@ -168,6 +171,12 @@ public class OptimizationConfUtil {
                 MIN_FRAME_LIMIT_FOR_TEXT_SEARCH, sourceLoc);
     }
 
+    public static String getSpillCompressionScheme(CompilerProperties compilerProperties,
+            Map<String, Object> querySpecificConfig) {
+        return getString(querySpecificConfig, CompilerProperties.COMPILER_SPILL_COMPRESSION_KEY,
+                compilerProperties.getSpillCompressionScheme()).toLowerCase();
+    }
+
     @SuppressWarnings("squid:S1166") // Either log or rethrow this exception
     private static int getFrameLimit(String parameterName, String parameter, long memBudgetInConfiguration,
             int frameSize, int minFrameLimit, SourceLocation sourceLoc) throws AlgebricksException {
@@ -48,16 +48,23 @@ public class StorageProperties extends AbstractProperties {
         // By default, uses 1/4 of the maximum heap size for read cache, i.e., disk buffer cache.
         STORAGE_BUFFERCACHE_SIZE(LONG_BYTE_UNIT, MAX_HEAP_BYTES / 4),
         STORAGE_BUFFERCACHE_MAXOPENFILES(NONNEGATIVE_INTEGER, Integer.MAX_VALUE),
+        STORAGE_BUFFERCACHE_REPLACEMENT_POLICY(STRING, "clock"),
+        STORAGE_BUFFERCACHE_PREFETCH_PAGES(NONNEGATIVE_INTEGER, 0),
+        STORAGE_BUFFERCACHE_PREFETCH_BUDGET(LONG_BYTE_UNIT, StorageUtil.getLongSizeInBytes(64, MEGABYTE)),
         STORAGE_MEMORYCOMPONENT_GLOBALBUDGET(LONG_BYTE_UNIT, MAX_HEAP_BYTES / 4),
         STORAGE_MEMORYCOMPONENT_PAGESIZE(INTEGER_BYTE_UNIT, StorageUtil.getIntSizeInBytes(128, KILOBYTE)),
         STORAGE_MEMORYCOMPONENT_NUMCOMPONENTS(POSITIVE_INTEGER, 2),
+        STORAGE_MEMORYCOMPONENT_NUMPARTITIONS(POSITIVE_INTEGER, 1),
         STORAGE_MEMORYCOMPONENT_FLUSH_THRESHOLD(DOUBLE, 0.9d),
         STORAGE_MEMORYCOMPONENT_MAX_SCHEDULED_FLUSHES(NONNEGATIVE_INTEGER, 0),
         STORAGE_FILTERED_MEMORYCOMPONENT_MAX_SIZE(LONG_BYTE_UNIT, 0L),
         STORAGE_LSM_BLOOMFILTER_FALSEPOSITIVERATE(DOUBLE, 0.01d),
         STORAGE_COMPRESSION_BLOCK(STRING, "snappy"),
+        STORAGE_COMPRESSION_ZSTD_LEVEL(POSITIVE_INTEGER, 3),
         STORAGE_DISK_FORCE_BYTES(LONG_BYTE_UNIT, StorageUtil.getLongSizeInBytes(16, MEGABYTE)),
         STORAGE_IO_SCHEDULER(STRING, "greedy"),
+        STORAGE_IO_DEVICE_BANDWIDTH(LONG_BYTE_UNIT, 0L),
+        STORAGE_IO_MERGE_READ_LATENCY_TARGET(NONNEGATIVE_INTEGER, 0),
         STORAGE_WRITE_RATE_LIMIT(LONG_BYTE_UNIT, 0L),
         STORAGE_MAX_CONCURRENT_FLUSHES_PER_PARTITION(NONNEGATIVE_INTEGER, 2),
         STORAGE_MAX_SCHEDULED_MERGES_PER_PARTITION(NONNEGATIVE_INTEGER, 8),
@@ -83,6 +90,7 @@ public class StorageProperties extends AbstractProperties {
             switch (this) {
                 case STORAGE_BUFFERCACHE_PAGESIZE:
                 case STORAGE_COMPRESSION_BLOCK:
+                case STORAGE_COMPRESSION_ZSTD_LEVEL:
                 case STORAGE_LSM_BLOOMFILTER_FALSEPOSITIVERATE:
                 case STORAGE_GLOBAL_CLEANUP:
                 case STORAGE_GLOBAL_CLEANUP_TIMEOUT:
@@ -107,6 +115,16 @@ public class StorageProperties extends AbstractProperties {
                             + " of the buffer cache page size.";
                 case STORAGE_BUFFERCACHE_MAXOPENFILES:
                     return "The maximum number of open files in the buffer cache";
+                case STORAGE_BUFFERCACHE_REPLACEMENT_POLICY:
+                    return "The page replacement policy of the buffer cache (either clock or 2q). 2q is scan"
+                            + " resistant and keeps pages that are accessed repeatedly cached during large scans"
+                            + " and merges";
+                case STORAGE_BUFFERCACHE_PREFETCH_PAGES:
+                    return "The number of pages to read ahead of sequential scans over disk components (0 disables"
+                            + " read-ahead)";
+                case STORAGE_BUFFERCACHE_PREFETCH_BUDGET:
+                    return "The maximum size of the pages that were read ahead and not accessed yet. The budget is"
+                            + " capped at a quarter of the buffer cache";
                 case STORAGE_MEMORYCOMPONENT_GLOBALBUDGET:
                     return "The size of memory allocated to the memory components.  The value should be a multiple "
                             + "of the memory component page size";
@@ -114,6 +132,10 @@ public class StorageProperties extends AbstractProperties {
                     return "The page size in bytes for pages allocated to memory components";
                 case STORAGE_MEMORYCOMPONENT_NUMCOMPONENTS:
                     return "The number of memory components to be used per lsm index";
+                case STORAGE_MEMORYCOMPONENT_NUMPARTITIONS:
+                    return "The number of b-trees that each memory component of an lsm btree index is partitioned"
+                            + " into by key hash. More partitions reduce the latch contention of concurrent writers"
+                            + " of the same index";
                 case STORAGE_MEMORYCOMPONENT_MAX_SCHEDULED_FLUSHES:
                     return "The maximum number of scheduled flush operations. 0 means that the value will be "
                             + "calculated as the number of partitions";
@@ -125,13 +147,23 @@ public class StorageProperties extends AbstractProperties {
                 case STORAGE_LSM_BLOOMFILTER_FALSEPOSITIVERATE:
                     return "The maximum acceptable false positive rate for bloom filters associated with LSM indexes";
                 case STORAGE_COMPRESSION_BLOCK:
-                    return "The default compression scheme for the storage";
+                    return "The default compression scheme for the storage (none, snappy, lz4 or zstd)";
+                case STORAGE_COMPRESSION_ZSTD_LEVEL:
+                    return "The compression level used by the zstd compression scheme. Higher levels give a better"
+                            + " compression ratio at the expense of a slower compression";
                 case STORAGE_WRITE_RATE_LIMIT:
                     return "The maximum disk write rate (bytes/s) for each storage partition (disabled if the provided value <= 0)";
                 case STORAGE_DISK_FORCE_BYTES:
                     return "The number of bytes before each disk force (fsync)";
                 case STORAGE_IO_SCHEDULER:
-                    return "The I/O scheduler for LSM flush and merge operations";
+                    return "The I/O scheduler for LSM flush and merge operations (greedy, async or bandwidth)";
+                case STORAGE_IO_DEVICE_BANDWIDTH:
+                    return "The disk bandwidth (bytes/s) of the flushes and merges of each I/O device under the"
+                            + " bandwidth I/O scheduler. Merges are paused once the budget is used up (0 means"
+                            + " unlimited)";
+                case STORAGE_IO_MERGE_READ_LATENCY_TARGET:
+                    return "The average latency (in microseconds) of the page reads of queries above which the"
+                            + " bandwidth I/O scheduler slows merges down (0 disables the read latency target)";
                 case STORAGE_MAX_CONCURRENT_FLUSHES_PER_PARTITION:
                     return "The maximum number of concurrently executed flushes per partition (0 means unlimited)";
                 case STORAGE_MAX_SCHEDULED_MERGES_PER_PARTITION:
@@ -200,6 +232,20 @@ public class StorageProperties extends AbstractProperties {
         return accessor.getInt(Option.STORAGE_BUFFERCACHE_MAXOPENFILES);
     }
 
+    public String getBufferCacheReplacementPolicy() {
+        return accessor.getString(Option.STORAGE_BUFFERCACHE_REPLACEMENT_POLICY);
+    }
+
+    public int getBufferCachePrefetchPages() {
+        return accessor.getInt(Option.STORAGE_BUFFERCACHE_PREFETCH_PAGES);
+    }
+
+    public int getBufferCacheMaxPrefetchedPages() {
+        final long budgetPages =
+                accessor.getLong(Option.STORAGE_BUFFERCACHE_PREFETCH_BUDGET) / getBufferCachePageSize();
+        return (int) Math.max(1, Math.min(budgetPages, getBufferCacheNumPages() / 4));
+    }
+
     public int getMemoryComponentPageSize() {
         return accessor.getInt(Option.STORAGE_MEMORYCOMPONENT_PAGESIZE);
     }
@@ -217,6 +263,10 @@ public class StorageProperties extends AbstractProperties {
         return accessor.getInt(Option.STORAGE_MEMORYCOMPONENT_NUMCOMPONENTS);
     }
 
+    public int getMemoryComponentPartitions() {
+        return accessor.getInt(Option.STORAGE_MEMORYCOMPONENT_NUMPARTITIONS);
+    }
+
     public long getMemoryComponentGlobalBudget() {
         return accessor.getLong(Option.STORAGE_MEMORYCOMPONENT_GLOBALBUDGET);
     }
@@ -249,10 +299,22 @@ public class StorageProperties extends AbstractProperties {
         return accessor.getString(Option.STORAGE_COMPRESSION_BLOCK);
     }
 
+    public int getZstdCompressionLevel() {
+        return accessor.getInt(Option.STORAGE_COMPRESSION_ZSTD_LEVEL);
+    }
+
     public String getIoScheduler() {
         return accessor.getString(Option.STORAGE_IO_SCHEDULER);
     }
 
+    public long getIoDeviceBandwidth() {
+        return accessor.getLong(Option.STORAGE_IO_DEVICE_BANDWIDTH);
+    }
+
+    public int getIoMergeReadLatencyTarget() {
+        return accessor.getInt(Option.STORAGE_IO_MERGE_READ_LATENCY_TARGET);
+    }
+
     public int geMaxConcurrentFlushes(int numPartitions) {
         int value = accessor.getInt(Option.STORAGE_MAX_CONCURRENT_FLUSHES_PER_PARTITION);
         return value != 0 ? value * numPartitions : Integer.MAX_VALUE;
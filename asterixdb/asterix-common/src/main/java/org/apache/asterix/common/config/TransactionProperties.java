@@ -25,6 +25,7 @@ import static org.apache.hyracks.control.common.config.OptionTypes.INTEGER_BYTE_
 import static org.apache.hyracks.control.common.config.OptionTypes.LONG_BYTE_UNIT;
 import static org.apache.hyracks.control.common.config.OptionTypes.NONNEGATIVE_INTEGER;
 import static org.apache.hyracks.control.common.config.OptionTypes.POSITIVE_INTEGER;
+import static org.apache.hyracks.util.StorageUtil.StorageUnit.KILOBYTE;
 import static org.apache.hyracks.util.StorageUtil.StorageUnit.MEGABYTE;
 
 import java.util.Map;
@@ -54,6 +55,11 @@ public class TransactionProperties extends AbstractProperties {
                 LONG_BYTE_UNIT,
                 StorageUtil.getLongSizeInBytes(256L, MEGABYTE),
                 "The maximum size (in bytes) of each transaction log file"),
+        TXN_LOG_STRIPE_SIZE(
+                INTEGER_BYTE_UNIT,
+                StorageUtil.getIntSizeInBytes(256, KILOBYTE),
+                "The size (in bytes) of the contiguous unit of a transaction log file that is written to one log "
+                        + "directory when transaction logs are striped across several directories"),
         TXN_LOG_CHECKPOINT_LSNTHRESHOLD(
                 INTEGER_BYTE_UNIT,
                 StorageUtil.getIntSizeInBytes(64, MEGABYTE),
@@ -64,7 +70,22 @@ public class TransactionProperties extends AbstractProperties {
                 120,
                 "The frequency (in seconds) the checkpoint thread should check to see if a checkpoint should be "
                         + "written"),
+        TXN_LOG_CHECKPOINT_FUZZY_MAXFLUSHES(
+                NONNEGATIVE_INTEGER,
+                0,
+                "The maximum number of lagging partitions a checkpoint attempt flushes, oldest first, so that the "
+                        + "checkpoint moves forward gradually (0 flushes all lagging partitions at once)"),
         TXN_LOG_CHECKPOINT_HISTORY(NONNEGATIVE_INTEGER, 2, "The number of checkpoints to keep in the transaction log"),
+        TXN_LOG_GROUPCOMMIT_MAXWAIT(
+                NONNEGATIVE_INTEGER,
+                0,
+                "The maximum time (in microseconds) the log flusher waits for more commits before forcing the "
+                        + "transaction log, so that concurrent commits share one fsync (0 disables waiting)"),
+        TXN_LOG_GROUPCOMMIT_ADAPTIVE(
+                BOOLEAN,
+                false,
+                "Whether the log flusher only waits for more commits when the previous fsync covered several "
+                        + "commits, and for at most the observed fsync latency"),
         TXN_LOCK_ESCALATIONTHRESHOLD(
                 NONNEGATIVE_INTEGER,
                 1000,
@@ -90,7 +111,12 @@ public class TransactionProperties extends AbstractProperties {
         TXN_JOB_RECOVERY_MEMORYSIZE(
                 LONG_BYTE_UNIT,
                 StorageUtil.getLongSizeInBytes(64L, MEGABYTE),
-                "The memory budget for each job (in bytes) used for recovery");
+                "The memory budget for each job (in bytes) used for recovery"),
+        TXN_RECOVERY_REDO_PARALLELISM(
+                POSITIVE_INTEGER,
+                1,
+                "The number of threads used to apply the redo phase of recovery. Log records are assigned to threads "
+                        + "by partition");
 
         private final IOptionType type;
         private final Object defaultValue;
@@ -153,6 +179,14 @@ public class TransactionProperties extends AbstractProperties {
         return accessor.getTransactionLogDirs();
     }
 
+    public String[] getLogStripeDirectories(String nodeId) {
+        return accessor.getTransactionLogStripeDirs().get(nodeId);
+    }
+
+    public int getLogStripeSize() {
+        return accessor.getInt(Option.TXN_LOG_STRIPE_SIZE);
+    }
+
     public int getLogBufferNumPages() {
         return accessor.getInt(Option.TXN_LOG_BUFFER_NUMPAGES);
     }
@@ -165,6 +199,14 @@ public class TransactionProperties extends AbstractProperties {
         return accessor.getLong(Option.TXN_LOG_PARTITIONSIZE);
     }
 
+    public int getLogGroupCommitMaxWait() {
+        return accessor.getInt(Option.TXN_LOG_GROUPCOMMIT_MAXWAIT);
+    }
+
+    public boolean isLogGroupCommitAdaptive() {
+        return accessor.getBoolean(Option.TXN_LOG_GROUPCOMMIT_ADAPTIVE);
+    }
+
     public int getCheckpointLSNThreshold() {
         return accessor.getInt(Option.TXN_LOG_CHECKPOINT_LSNTHRESHOLD);
     }
@@ -177,6 +219,10 @@ public class TransactionProperties extends AbstractProperties {
         return accessor.getInt(Option.TXN_LOG_CHECKPOINT_HISTORY);
     }
 
+    public int getCheckpointFuzzyMaxFlushes() {
+        return accessor.getInt(Option.TXN_LOG_CHECKPOINT_FUZZY_MAXFLUSHES);
+    }
+
     public int getEntityToDatasetLockEscalationThreshold() {
         return accessor.getInt(Option.TXN_LOCK_ESCALATIONTHRESHOLD);
     }
@@ -209,6 +255,10 @@ public class TransactionProperties extends AbstractProperties {
         return accessor.getLong(Option.TXN_JOB_RECOVERY_MEMORYSIZE);
     }
 
+    public int getRecoveryRedoParallelism() {
+        return accessor.getInt(Option.TXN_RECOVERY_REDO_PARALLELISM);
+    }
+
     public int getDatasetCheckpointInterval() {
         return accessor.getInt(Option.TXN_DATASET_CHECKPOINT_INTERVAL);
     }
@@ -52,6 +52,12 @@ public class AsterixVirtualBufferCacheProvider implements IVirtualBufferCachePro
                 .getVirtualBufferCaches(datasetId, deviceId);
     }
 
+    @Override
+    public int getMemoryComponentPartitions(INCServiceContext ctx) {
+        return ((INcApplicationContext) ctx.getApplicationContext()).getStorageProperties()
+                .getMemoryComponentPartitions();
+    }
+
     public static int getDeviceId(IIOManager ioManager, FileReference fileRef) {
         IODeviceHandle device = fileRef.getDeviceHandle();
         List<IODeviceHandle> devices = ioManager.getIODevices();
@@ -62,19 +62,21 @@ import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 public class GlobalVirtualBufferCache implements IVirtualBufferCache, ILifeCycleComponent {
     private static final Logger LOGGER = LogManager.getLogger();
 
-    // keep track of the memory usage of each filtered memory component
-    private final Map<ILSMMemoryComponent, AtomicInteger> memoryComponentUsageMap =
+    // keep track of the memory usage of each primary memory component
+    private final Map<ILSMMemoryComponent, MemoryComponentUsage> memoryComponentUsageMap =
             Collections.synchronizedMap(new HashMap<>());
-    private final Map<FileReference, AtomicInteger> fileRefUsageMap = Collections.synchronizedMap(new HashMap<>());
-    private final Int2ObjectMap<AtomicInteger> fileIdUsageMap =
+    private final Map<FileReference, MemoryComponentUsage> fileRefUsageMap =
+            Collections.synchronizedMap(new HashMap<>());
+    private final Int2ObjectMap<MemoryComponentUsage> fileIdUsageMap =
             Int2ObjectMaps.synchronize(new Int2ObjectOpenHashMap<>());
+    // keep track of the memory usage and write rate of each primary index to choose flush victims
+    private final WriteRateBudgetBalancer<ILSMIndex> budgetBalancer = new WriteRateBudgetBalancer<>();
 
     private final int maxConcurrentFlushes;
     private final List<ILSMIndex> primaryIndexes = new ArrayList<>();
 
     private final Set<ILSMIndex> flushingIndexes = Collections.synchronizedSet(new HashSet<>());
     private final Set<ILSMMemoryComponent> flushingComponents = Collections.synchronizedSet(new HashSet<>());
-    private volatile int flushPtr;
 
     private final int filteredMemoryComponentMaxNumPages;
     private final int flushPageBudget;
@@ -117,14 +119,11 @@ public class GlobalVirtualBufferCache implements IVirtualBufferCache, ILifeCycle
                                 isMetadataIndex(index) ? "metadata" : "primary", index.toString());
                     }
                 }
-                if (index.getNumOfFilterFields() > 0) {
-                    // handle filtered primary index
-                    AtomicInteger usage = new AtomicInteger();
-                    memoryComponentUsageMap.put(memoryComponent, usage);
-                    for (FileReference ref : memoryComponent.getComponentFileRefs().getFileReferences()) {
-                        if (ref != null) {
-                            fileRefUsageMap.put(ref, usage);
-                        }
+                MemoryComponentUsage usage = new MemoryComponentUsage(budgetBalancer.register(index));
+                memoryComponentUsageMap.put(memoryComponent, usage);
+                for (FileReference ref : memoryComponent.getComponentFileRefs().getFileReferences()) {
+                    if (ref != null) {
+                        fileRefUsageMap.put(ref, usage);
                     }
                 }
             }
@@ -136,27 +135,20 @@ public class GlobalVirtualBufferCache implements IVirtualBufferCache, ILifeCycle
         ILSMIndex index = memoryComponent.getLsmIndex();
         if (index.isPrimaryIndex()) {
             synchronized (this) {
-                int pos = primaryIndexes.indexOf(index);
-                if (pos >= 0) {
-                    primaryIndexes.remove(index);
+                if (primaryIndexes.remove(index)) {
+                    budgetBalancer.unregister(index);
                     if (LOGGER.isInfoEnabled()) {
                         LOGGER.info("Unregistered {} index {} to the global VBC",
                                 isMetadataIndex(index) ? "metadata" : "primary", index.toString());
                     }
-                    if (primaryIndexes.isEmpty()) {
-                        flushPtr = 0;
-                    } else if (flushPtr > pos) {
-                        // If the removed index is before flushPtr, we should decrement flushPtr by 1 so that
-                        // it still points to the same index.
-                        flushPtr = (flushPtr - 1) % primaryIndexes.size();
-                    }
                 }
-                if (index.getNumOfFilterFields() > 0) {
-                    memoryComponentUsageMap.remove(memoryComponent);
-                    for (FileReference ref : memoryComponent.getComponentFileRefs().getFileReferences()) {
-                        if (ref != null) {
-                            fileRefUsageMap.remove(ref);
-                        }
+                MemoryComponentUsage usage = memoryComponentUsageMap.remove(memoryComponent);
+                if (usage != null) {
+                    usage.reset();
+                }
+                for (FileReference ref : memoryComponent.getComponentFileRefs().getFileReferences()) {
+                    if (ref != null) {
+                        fileRefUsageMap.remove(ref);
                     }
                 }
             }
@@ -184,12 +176,11 @@ public class GlobalVirtualBufferCache implements IVirtualBufferCache, ILifeCycle
             }
             checkAndNotifyFlushThread();
         }
-        if (memoryComponent.getLsmIndex().getNumOfFilterFields() > 0
-                && memoryComponent.getLsmIndex().isPrimaryIndex()) {
-            AtomicInteger usage = memoryComponentUsageMap.get(memoryComponent);
+        if (memoryComponent.getLsmIndex().isPrimaryIndex()) {
+            MemoryComponentUsage usage = memoryComponentUsageMap.get(memoryComponent);
             if (usage != null) {
                 // reset usage to 0 after the memory component is flushed
-                usage.set(0);
+                usage.reset();
             }
         }
     }
@@ -218,8 +209,8 @@ public class GlobalVirtualBufferCache implements IVirtualBufferCache, ILifeCycle
                 || !memoryComponent.getLsmIndex().isPrimaryIndex()) {
             return false;
         }
-        AtomicInteger usage = memoryComponentUsageMap.get(memoryComponent);
-        return usage.get() >= filteredMemoryComponentMaxNumPages;
+        MemoryComponentUsage usage = memoryComponentUsageMap.get(memoryComponent);
+        return usage.pages.get() >= filteredMemoryComponentMaxNumPages;
     }
 
     @Override
@@ -237,7 +228,7 @@ public class GlobalVirtualBufferCache implements IVirtualBufferCache, ILifeCycle
     }
 
     private void updateFileIdUsageMap(FileReference fileRef, int fileId) {
-        AtomicInteger usage = fileRefUsageMap.get(fileRef);
+        MemoryComponentUsage usage = fileRefUsageMap.get(fileRef);
         if (usage != null) {
             fileIdUsageMap.put(fileId, usage);
         }
@@ -267,23 +258,20 @@ public class GlobalVirtualBufferCache implements IVirtualBufferCache, ILifeCycle
     public ICachedPage pin(long dpid, boolean newPage) throws HyracksDataException {
         ICachedPage page = vbc.pin(dpid, newPage);
         if (newPage) {
-            incrementFilteredMemoryComponentUsage(dpid, 1);
+            incrementMemoryComponentUsage(dpid, 1);
             checkAndNotifyFlushThread();
         }
         return page;
     }
 
-    private void incrementFilteredMemoryComponentUsage(long dpid, int pages) {
-        if (filteredMemoryComponentMaxNumPages > 0) {
-            // update memory usage of filtered index
-            AtomicInteger usage = fileIdUsageMap.get(BufferedFileHandle.getFileId(dpid));
-            if (usage != null) {
-                usage.addAndGet(pages);
-                // We do not need extra code to flush this filtered memory component when it becomes full.
-                // This method is only called when there are active writers on this memory component.
-                // When the writer exits, it'll automatically flush this memory component when it finds out
-                // that this memory component becomes full.
-            }
+    private void incrementMemoryComponentUsage(long dpid, int pages) {
+        MemoryComponentUsage usage = fileIdUsageMap.get(BufferedFileHandle.getFileId(dpid));
+        if (usage != null) {
+            usage.add(pages);
+            // We do not need extra code to flush a filtered memory component when it becomes full.
+            // This method is only called when there are active writers on this memory component.
+            // When the writer exits, it'll automatically flush this memory component when it finds out
+            // that this memory component becomes full.
         }
     }
 
@@ -303,7 +291,7 @@ public class GlobalVirtualBufferCache implements IVirtualBufferCache, ILifeCycle
             throws HyracksDataException {
         vbc.resizePage(cPage, multiplier, extraPageBlockHelper);
         int delta = multiplier - cPage.getFrameSizeMultiplier();
-        incrementFilteredMemoryComponentUsage(((VirtualPage) cPage).dpid(), delta);
+        incrementMemoryComponentUsage(((VirtualPage) cPage).dpid(), delta);
         if (delta > 0) {
             checkAndNotifyFlushThread();
         }
@@ -368,6 +356,7 @@ public class GlobalVirtualBufferCache implements IVirtualBufferCache, ILifeCycle
     @Override
     public void dumpState(OutputStream os) throws IOException {
         os.write(vbc.toString().getBytes());
+        os.write(budgetBalancer.toString().getBytes());
     }
 
     @Override
@@ -487,12 +476,17 @@ public class GlobalVirtualBufferCache implements IVirtualBufferCache, ILifeCycle
         }
 
         private ILSMIndex selectFlushIndex() throws HyracksDataException {
-            int cycles = 0;
-            while (vbc.getUsage() >= flushPageBudget && cycles <= primaryIndexes.size()) {
-                // find the first modified memory component while avoiding infinite loops
-                ILSMIndex primaryIndex = primaryIndexes.get(flushPtr);
-                flushPtr = (flushPtr + 1) % primaryIndexes.size();
-                cycles++;
+            if (vbc.getUsage() < flushPageBudget) {
+                return null;
+            }
+            // visit indexes holding the most memory beyond their write-rate share of the budget first, so that
+            // cold indexes are flushed before hot ones
+            List<ILSMIndex> flushOrder =
+                    budgetBalancer.getFlushOrder(primaryIndexes, flushPageBudget, System.nanoTime());
+            for (ILSMIndex primaryIndex : flushOrder) {
+                if (vbc.getUsage() < flushPageBudget) {
+                    break;
+                }
                 if (!primaryIndex.isCurrentMutableComponentEmpty() && !flushingIndexes.contains(primaryIndex)) {
                     // we need to manually flush this memory component because it may be idle at this point
                     // note that this is different from flushing a filtered memory component
@@ -536,4 +530,22 @@ public class GlobalVirtualBufferCache implements IVirtualBufferCache, ILifeCycle
 
     }
 
+    private static class MemoryComponentUsage {
+        private final AtomicInteger pages = new AtomicInteger();
+        private final WriteRateBudgetBalancer.Usage indexUsage;
+
+        private MemoryComponentUsage(WriteRateBudgetBalancer.Usage indexUsage) {
+            this.indexUsage = indexUsage;
+        }
+
+        private void add(int delta) {
+            pages.addAndGet(delta);
+            indexUsage.allocated(delta);
+        }
+
+        private void reset() {
+            indexUsage.released(pages.getAndSet(0));
+        }
+    }
+
 }
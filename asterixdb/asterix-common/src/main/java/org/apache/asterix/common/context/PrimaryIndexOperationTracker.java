@@ -22,6 +22,7 @@ package org.apache.asterix.common.context;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -74,6 +75,7 @@ public class PrimaryIndexOperationTracker extends BaseOperationTracker implement
     private final Map<String, FlushOperation> scheduledFlushes = new HashMap<>();
     private long lastFlushTime = System.nanoTime();
     private final Map<String, FlushOperation> lastFlushOperation = new HashMap<>();
+    private final Set<IoOperationCompleteListener> nextFlushListeners = new LinkedHashSet<>();
     private final IIndexCheckpointManagerProvider indexCheckpointManagerProvider;
 
     public PrimaryIndexOperationTracker(int datasetID, int partition, ILogManager logManager, DatasetInfo dsInfo,
@@ -257,7 +259,11 @@ public class PrimaryIndexOperationTracker extends BaseOperationTracker implement
                         lastFlushOperation.put(lsmIndex.getIndexIdentifier(), (FlushOperation) flush);
                     }
                     flush.addCompleteListener(this);
+                    for (IoOperationCompleteListener listener : nextFlushListeners) {
+                        flush.addCompleteListener(listener);
+                    }
                 }
+                nextFlushListeners.clear();
             }
         } finally {
             flushLogCreated = false;
@@ -309,6 +315,17 @@ public class PrimaryIndexOperationTracker extends BaseOperationTracker implement
         }
     }
 
+    /**
+     * Adds a listener to the flush operations of the next flush that is scheduled on this partition. Adding a
+     * listener again before that flush is scheduled has no effect.
+     *
+     * @param listener
+     *            the listener to notify when each flush operation of the partition completes
+     */
+    public synchronized void addNextFlushListener(IoOperationCompleteListener listener) {
+        nextFlushListeners.add(listener);
+    }
+
     public List<FlushOperation> getScheduledFlushes() {
         synchronized (scheduledFlushes) {
             Collection<FlushOperation> scheduled = scheduledFlushes.values();
@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.common.context;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Divides a shared memory component page budget among indexes in proportion to their recent page allocation
+ * rates, and orders indexes for flushing by how far their held pages exceed that share. Indexes that stopped
+ * receiving writes are thus flushed first, while hot indexes keep their memory and produce larger (and fewer)
+ * disk components.
+ *
+ * @param <T>
+ *            the key identifying an index
+ */
+public class WriteRateBudgetBalancer<T> {
+
+    static final long MIN_SAMPLE_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    static final double RATE_WEIGHT = 0.5;
+
+    private final Map<T, Usage> usages = new ConcurrentHashMap<>();
+
+    public Usage register(T key) {
+        return usages.computeIfAbsent(key, k -> new Usage());
+    }
+
+    public void unregister(T key) {
+        usages.remove(key);
+    }
+
+    public Usage getUsage(T key) {
+        return usages.get(key);
+    }
+
+    /**
+     * @param candidates
+     *            the indexes that may be flushed
+     * @param pageBudget
+     *            the number of pages shared by the candidates
+     * @param now
+     *            the current time as returned by {@link System#nanoTime()}
+     * @return the candidates ordered by the number of pages they hold beyond their share of the budget, largest
+     *         first. When no candidate has been written recently, the share is zero and the order is by held pages.
+     */
+    public List<T> getFlushOrder(Collection<T> candidates, int pageBudget, long now) {
+        Map<T, Usage> candidateUsages = new HashMap<>();
+        double totalRate = 0;
+        for (T candidate : candidates) {
+            Usage usage = usages.get(candidate);
+            if (usage != null) {
+                candidateUsages.put(candidate, usage);
+                totalRate += usage.sampleRate(now);
+            }
+        }
+        Map<T, Double> excess = new HashMap<>();
+        for (T candidate : candidates) {
+            Usage usage = candidateUsages.get(candidate);
+            if (usage == null) {
+                excess.put(candidate, 0.0);
+            } else {
+                double share = totalRate > 0 ? pageBudget * usage.getRate() / totalRate : 0;
+                excess.put(candidate, usage.getHeldPages() - share);
+            }
+        }
+        List<T> order = new ArrayList<>(candidates);
+        order.sort(Comparator.comparingDouble(excess::get).reversed());
+        return order;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        usages.forEach((key, usage) -> sb.append(key).append(": ").append(usage).append('\n'));
+        return sb.toString();
+    }
+
+    /**
+     * Page usage of a single index. The allocation rate is an exponentially weighted moving average that is only
+     * resampled when flush victims are selected, so that page pins only pay for two atomic increments.
+     */
+    public static class Usage {
+        private final AtomicLong allocatedPages = new AtomicLong();
+        private final AtomicInteger heldPages = new AtomicInteger();
+        private long sampledPages;
+        private long sampleTime = -1;
+        private double rate;
+
+        public void allocated(int pages) {
+            if (pages > 0) {
+                allocatedPages.addAndGet(pages);
+            }
+            heldPages.addAndGet(pages);
+        }
+
+        public void released(int pages) {
+            heldPages.addAndGet(-pages);
+        }
+
+        public int getHeldPages() {
+            return heldPages.get();
+        }
+
+        /**
+         * @return the allocation rate in pages per second
+         */
+        public synchronized double getRate() {
+            return rate;
+        }
+
+        synchronized double sampleRate(long now) {
+            long pages = allocatedPages.get();
+            if (sampleTime < 0) {
+                sampledPages = pages;
+                sampleTime = now;
+            } else if (now - sampleTime >= MIN_SAMPLE_INTERVAL_NANOS) {
+                double seconds = (double) (now - sampleTime) / TimeUnit.SECONDS.toNanos(1);
+                rate = RATE_WEIGHT * ((pages - sampledPages) / seconds) + (1 - RATE_WEIGHT) * rate;
+                sampledPages = pages;
+                sampleTime = now;
+            }
+            return rate;
+        }
+
+        @Override
+        public String toString() {
+            return "{heldPages: " + heldPages.get() + ", allocatedPages: " + allocatedPages.get() + ", rate: "
+                    + getRate() + "}";
+        }
+    }
+}
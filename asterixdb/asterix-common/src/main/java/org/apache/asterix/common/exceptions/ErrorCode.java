@@ -89,6 +89,7 @@ public enum ErrorCode implements IError {
     INVALID_PARQUET_FILE(59),
     TYPE_MISMATCH_EXTRA_FIELD(60),
     TYPE_MISMATCH_MISSING_FIELD(61),
+    RANGE_DELETE_WITH_SECONDARY_INDEXES(62),
 
     UNSUPPORTED_JRE(100),
 
@@ -27,6 +27,7 @@ public class CheckpointProperties {
     private final int pollFrequency;
     private final int historyToKeep;
     private final int datasetCheckpointInterval;
+    private final int fuzzyMaxFlushes;
 
     public CheckpointProperties(TransactionProperties txnProperties, String nodeId) {
         // Currently we use the log files directory for checkpoints
@@ -35,6 +36,7 @@ public class CheckpointProperties {
         pollFrequency = txnProperties.getCheckpointPollFrequency();
         historyToKeep = txnProperties.getCheckpointHistory();
         datasetCheckpointInterval = txnProperties.getDatasetCheckpointInterval();
+        fuzzyMaxFlushes = txnProperties.getCheckpointFuzzyMaxFlushes();
     }
 
     public int getLsnThreshold() {
@@ -57,11 +59,15 @@ public class CheckpointProperties {
         return datasetCheckpointInterval;
     }
 
+    public int getFuzzyMaxFlushes() {
+        return fuzzyMaxFlushes;
+    }
+
     @Override
     public String toString() {
         return "{\"class\" : \"" + getClass().getSimpleName() + "\", \"checkpoint-dir-path\" : \"" + checkpointDirPath
                 + "\", \"lsn-threshold\" : " + lsnThreshold + ", \"poll-frequency\" : " + pollFrequency
                 + ", \"history-to-keep\" : " + historyToKeep + ", \"dataset-checkpoint-interval\" : "
-                + datasetCheckpointInterval + "}";
+                + datasetCheckpointInterval + ", \"fuzzy-max-flushes\" : " + fuzzyMaxFlushes + "}";
     }
 }
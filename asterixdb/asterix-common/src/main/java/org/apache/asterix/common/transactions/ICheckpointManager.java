@@ -66,6 +66,17 @@ public interface ICheckpointManager extends ILifeCycleComponent {
      */
     void checkpointIdleDatasets() throws HyracksDataException;
 
+    /**
+     * @return The length of the transaction log (in bytes) between the low-water mark observed by the last
+     *         checkpoint attempt and the log tail at that time.
+     */
+    long getCheckpointLag();
+
+    /**
+     * @return The total size (in bytes) of the disk components produced by flushes requested by checkpoint attempts.
+     */
+    long getCheckpointFlushedBytes();
+
     /**
      * Suspends checkpointing datasets
      */
@@ -159,4 +159,10 @@ public interface ITransactionContext {
      * @return true if this tx uses WAL. Otherwise, false.
      */
     boolean hasWAL();
+
+    /**
+     * Determines if this tx commits each entity on its own and releases the entity's locks when it commits
+     * @return true if this tx commits at the entity level. Otherwise, false.
+     */
+    boolean isEntityLevel();
 }
@@ -32,11 +32,19 @@ public class LogManagerProperties implements Serializable {
     // follow the naming convention <logFilePrefix>_<number> where number starts from 0
     private final String logFilePrefix;
     private final String logDir;
+    // additional directories that log files are striped across
+    private final String[] logStripeDirs;
+    // size of the contiguous part of a log file that is written to one directory
+    private final int logStripeSize;
 
     // number of log pages in the log buffer
     private final int logPageSize;
     // number of log pages in the log buffer.
     private final int numLogPages;
+    // maximum time (in microseconds) to wait for more commits before forcing the log
+    private final int groupCommitMaxWait;
+    // whether the group commit wait adapts to the commit concurrency and fsync latency
+    private final boolean groupCommitAdaptive;
     // maximum size of each log file
     private final long logPartitionSize;
 
@@ -45,6 +53,11 @@ public class LogManagerProperties implements Serializable {
         this.numLogPages = txnProperties.getLogBufferNumPages();
         long logPartitionSize = txnProperties.getLogPartitionSize();
         this.logDir = txnProperties.getLogDirectory(nodeId);
+        String[] stripeDirs = txnProperties.getLogStripeDirectories(nodeId);
+        this.logStripeDirs = stripeDirs == null ? new String[0] : stripeDirs;
+        this.logStripeSize = txnProperties.getLogStripeSize();
+        this.groupCommitMaxWait = txnProperties.getLogGroupCommitMaxWait();
+        this.groupCommitAdaptive = txnProperties.isLogGroupCommitAdaptive();
         this.logFilePrefix = DEFAULT_LOG_FILE_PREFIX;
         int logBufferSize = logPageSize * numLogPages;
         //make sure that the log partition size is the multiple of log buffer size.
@@ -63,6 +76,22 @@ public class LogManagerProperties implements Serializable {
         return logDir;
     }
 
+    public String[] getLogStripeDirs() {
+        return logStripeDirs;
+    }
+
+    public int getLogStripeSize() {
+        return logStripeSize;
+    }
+
+    public int getGroupCommitMaxWait() {
+        return groupCommitMaxWait;
+    }
+
+    public boolean isGroupCommitAdaptive() {
+        return groupCommitAdaptive;
+    }
+
     public int getLogPageSize() {
         return logPageSize;
     }
@@ -75,9 +104,13 @@ public class LogManagerProperties implements Serializable {
     public String toString() {
         StringBuilder builder = new StringBuilder();
         builder.append("log_dir_ : " + logDir + lineSeparator);
+        builder.append("log_stripe_dirs : " + String.join(",", logStripeDirs) + lineSeparator);
+        builder.append("log_stripe_size : " + logStripeSize + lineSeparator);
         builder.append("log_file_prefix" + logFilePrefix + lineSeparator);
         builder.append("log_page_size : " + logPageSize + lineSeparator);
         builder.append("num_log_pages : " + numLogPages + lineSeparator);
+        builder.append("group_commit_max_wait : " + groupCommitMaxWait + lineSeparator);
+        builder.append("group_commit_adaptive : " + groupCommitAdaptive + lineSeparator);
         builder.append("log_partition_size : " + logPartitionSize + lineSeparator);
         return builder.toString();
     }
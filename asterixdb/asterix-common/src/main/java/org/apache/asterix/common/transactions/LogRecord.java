@@ -39,7 +39,7 @@ import org.apache.hyracks.storage.am.common.tuples.SimpleTupleWriter;
  * LogType(1)
  * TxnId(8)
  * ---------------------------
- * [Header2] (8 bytes) : for entity_commit, upsert_entity_commit, filter and update log types
+ * [Header2] (8 bytes) : for entity_commit, upsert_entity_commit, filter, range_delete and update log types
  * DatasetId(4) //stored in dataset_dataset in Metadata Node
  * ResourcePartition(4)
  * ---------------------------
@@ -48,11 +48,12 @@ import org.apache.hyracks.storage.am.common.tuples.SimpleTupleWriter;
  * PKValueSize(4)
  * PKValue(PKValueSize)
  * ---------------------------
- * [Header4] (12 bytes) : only for update, filter log type
+ * [Header4] (12 bytes) : only for update, filter, range_delete log type
  * ResourceId(8) //stored in .metadata of the corresponding index in NC node
  * LogRecordSize(4)
  * ---------------------------
- * [Body] (9 bytes + NewValueSize) : only for update, filter log type
+ * [Body] (9 bytes + NewValueSize) : only for update, filter, range_delete log type
+ * (the NewValue of a range_delete log holds the low key fields followed by the high key fields)
  * FieldCnt(4)
  * NewOp(1)
  * NewValueSize(4)
@@ -149,6 +150,7 @@ public class LogRecord implements ILogRecord {
                 }
                 break;
             case LogType.FILTER:
+            case LogType.RANGE_DELETE:
                 writeEntityResource(buffer);
                 buffer.putLong(resourceId);
                 buffer.putInt(logSize);
@@ -334,6 +336,7 @@ public class LogRecord implements ILogRecord {
                 marker.flip();
                 break;
             case LogType.FILTER:
+            case LogType.RANGE_DELETE:
                 if (readEntityResource(buffer)) {
                     return readUpdateInfo(buffer, readNew, readOld);
                 } else {
@@ -486,6 +489,7 @@ public class LogRecord implements ILogRecord {
                 logSize = WAIT_LOG_SIZE;
                 break;
             case LogType.FILTER:
+            case LogType.RANGE_DELETE:
                 logSize = getFilterLogSize();
                 break;
             case LogType.MARKER:
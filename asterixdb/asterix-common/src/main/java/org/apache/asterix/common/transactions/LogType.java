@@ -29,6 +29,7 @@ public class LogType {
     public static final byte FILTER = 7;
     public static final byte MARKER = 8;
     public static final byte WAIT_FOR_FLUSHES = 9;
+    public static final byte RANGE_DELETE = 10;
 
     private static final String STRING_UPDATE = "UPDATE";
     private static final String STRING_JOB_COMMIT = "JOB_COMMIT";
@@ -39,6 +40,7 @@ public class LogType {
     private static final String STRING_FILTER = "FILTER";
     private static final String STRING_MARKER = "MARKER";
     private static final String STRING_WAIT_FOR_FLUSHES = "WAIT_FOR_FLUSHES";
+    private static final String STRING_RANGE_DELETE = "RANGE_DELETE";
     private static final String STRING_UNKNOWN_LOG_TYPE = "UNKNOWN_LOG_TYPE";
 
     public static String toString(byte logType) {
@@ -61,6 +63,8 @@ public class LogType {
                 return STRING_FILTER;
             case LogType.MARKER:
                 return STRING_MARKER;
+            case LogType.RANGE_DELETE:
+                return STRING_RANGE_DELETE;
             default:
                 return STRING_UNKNOWN_LOG_TYPE;
         }
@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.test.context;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.asterix.common.context.WriteRateBudgetBalancer;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class WriteRateBudgetBalancerTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    public void testColdIndexFlushedFirst() {
+        WriteRateBudgetBalancer<String> balancer = new WriteRateBudgetBalancer<>();
+        WriteRateBudgetBalancer.Usage hot = balancer.register("hot");
+        WriteRateBudgetBalancer.Usage cold = balancer.register("cold");
+        List<String> candidates = Arrays.asList("hot", "cold");
+        cold.allocated(100);
+        balancer.getFlushOrder(candidates, 1000, 0);
+        // the hot index holds more pages, but it is well within its share of the budget
+        hot.allocated(900);
+        Assert.assertEquals(Arrays.asList("cold", "hot"), balancer.getFlushOrder(candidates, 1000, SECOND));
+        Assert.assertTrue(hot.getRate() > 0);
+        Assert.assertEquals(0, cold.getRate(), 0);
+    }
+
+    @Test
+    public void testIdleIndexesOrderedByHeldPages() {
+        WriteRateBudgetBalancer<String> balancer = new WriteRateBudgetBalancer<>();
+        balancer.register("small").allocated(10);
+        balancer.register("large").allocated(50);
+        List<String> candidates = Arrays.asList("small", "large", "unknown");
+        Assert.assertEquals(Arrays.asList("large", "small", "unknown"), balancer.getFlushOrder(candidates, 100, 0));
+    }
+
+    @Test
+    public void testReleasedPagesLowerPriority() {
+        WriteRateBudgetBalancer<String> balancer = new WriteRateBudgetBalancer<>();
+        WriteRateBudgetBalancer.Usage a = balancer.register("a");
+        WriteRateBudgetBalancer.Usage b = balancer.register("b");
+        a.allocated(40);
+        b.allocated(30);
+        List<String> candidates = Arrays.asList("a", "b");
+        Assert.assertEquals(Arrays.asList("a", "b"), balancer.getFlushOrder(candidates, 100, 0));
+        a.released(40);
+        Assert.assertEquals(0, a.getHeldPages());
+        Assert.assertEquals(Arrays.asList("b", "a"), balancer.getFlushOrder(candidates, 100, 0));
+    }
+}
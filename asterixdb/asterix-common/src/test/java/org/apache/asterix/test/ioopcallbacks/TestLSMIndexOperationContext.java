@@ -48,6 +48,7 @@ public class TestLSMIndexOperationContext implements ILSMIndexOperationContext {
     private Map<String, Object> map;
     private boolean filterSkip = false;
     private boolean isRecovery = false;
+    private boolean useOncePageAccess = false;
 
     public TestLSMIndexOperationContext(ILSMIndex index) {
         this.index = index;
@@ -199,4 +200,14 @@ public class TestLSMIndexOperationContext implements ILSMIndexOperationContext {
         return map;
     }
 
+    @Override
+    public boolean isUseOncePageAccess() {
+        return useOncePageAccess;
+    }
+
+    @Override
+    public void setUseOncePageAccess(boolean useOncePageAccess) {
+        this.useOncePageAccess = useOncePageAccess;
+    }
+
 }
@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.metadata.declared;
+
+import java.util.List;
+
+import org.apache.asterix.column.operation.aggregate.ColumnAggregateFunction;
+import org.apache.asterix.metadata.entities.Dataset;
+import org.apache.asterix.om.base.IAObject;
+import org.apache.asterix.om.types.IAType;
+import org.apache.hyracks.algebricks.common.constraints.AlgebricksPartitionConstraint;
+import org.apache.hyracks.algebricks.common.exceptions.AlgebricksException;
+import org.apache.hyracks.algebricks.common.utils.Pair;
+import org.apache.hyracks.algebricks.core.algebra.base.ILogicalExpression;
+import org.apache.hyracks.algebricks.core.algebra.base.LogicalVariable;
+import org.apache.hyracks.algebricks.core.algebra.expressions.IVariableTypeEnvironment;
+import org.apache.hyracks.algebricks.core.algebra.metadata.IDataSource;
+import org.apache.hyracks.algebricks.core.algebra.metadata.IProjectionFiltrationInfo;
+import org.apache.hyracks.algebricks.core.algebra.operators.logical.IOperatorSchema;
+import org.apache.hyracks.algebricks.core.algebra.properties.FunctionalDependency;
+import org.apache.hyracks.algebricks.core.algebra.properties.INodeDomain;
+import org.apache.hyracks.algebricks.core.jobgen.impl.JobGenContext;
+import org.apache.hyracks.api.dataflow.IOperatorDescriptor;
+import org.apache.hyracks.api.job.JobSpecification;
+import org.apache.hyracks.storage.am.common.api.ITupleFilterFactory;
+
+/**
+ * A data source that produces the partial aggregates (COUNT, MIN, and MAX) of a column dataset's records within a
+ * constant primary key range. The partial aggregates are computed from the leaves' metadata whenever possible (e.g.,
+ * the count of the records of a leaf that is entirely within the range). The data source produces one variable per
+ * aggregate function and requires a global aggregate to combine the partial aggregates.
+ */
+public class ColumnAggregateDataSource extends DataSource {
+    private final Dataset dataset;
+    private final IAObject[] lowKey;
+    private final IAObject[] highKey;
+    private final boolean lowKeyInclusive;
+    private final boolean highKeyInclusive;
+    private final List<ColumnAggregateFunction> functions;
+    private final int[] keyIndexes;
+    private final List<List<String>> paths;
+    private final List<ILogicalExpression> arguments;
+    private final List<LogicalVariable> argumentVariables;
+    private final IVariableTypeEnvironment argumentTypeEnv;
+
+    /**
+     * @param lowKey            the range's low key or null if the range has no lower bound
+     * @param highKey           the range's high key or null if the range has no upper bound
+     * @param functions         the aggregate functions
+     * @param keyIndexes        for each function, the index of the primary key it aggregates or -1
+     * @param paths             for each function, the path of the field it aggregates or null
+     * @param arguments         for each function, its argument or null for COUNT
+     * @param argumentVariables the primary keys and the record variables the arguments are expressed with
+     * @param argumentTypeEnv   the type environment of the arguments
+     * @param outputTypes       the types of the partial aggregates
+     */
+    public ColumnAggregateDataSource(Dataset dataset, IAType itemType, INodeDomain domain, IAObject[] lowKey,
+            IAObject[] highKey, boolean lowKeyInclusive, boolean highKeyInclusive,
+            List<ColumnAggregateFunction> functions, int[] keyIndexes, List<List<String>> paths,
+            List<ILogicalExpression> arguments, List<LogicalVariable> argumentVariables,
+            IVariableTypeEnvironment argumentTypeEnv, IAType[] outputTypes) throws AlgebricksException {
+        super(new DataSourceId(dataset.getDataverseName(), dataset.getDatasetName()), itemType, null,
+                Type.COLUMN_AGGREGATE, domain);
+        this.dataset = dataset;
+        this.lowKey = lowKey;
+        this.highKey = highKey;
+        this.lowKeyInclusive = lowKeyInclusive;
+        this.highKeyInclusive = highKeyInclusive;
+        this.functions = functions;
+        this.keyIndexes = keyIndexes;
+        this.paths = paths;
+        this.arguments = arguments;
+        this.argumentVariables = argumentVariables;
+        this.argumentTypeEnv = argumentTypeEnv;
+        this.schemaTypes = outputTypes;
+    }
+
+    @Override
+    public Pair<IOperatorDescriptor, AlgebricksPartitionConstraint> buildDatasourceScanRuntime(
+            MetadataProvider metadataProvider, IDataSource<DataSourceId> dataSource,
+            List<LogicalVariable> scanVariables, List<LogicalVariable> projectVariables, boolean projectPushed,
+            List<LogicalVariable> minFilterVars, List<LogicalVariable> maxFilterVars,
+            ITupleFilterFactory tupleFilterFactory, long outputLimit, IOperatorSchema opSchema,
+            IVariableTypeEnvironment typeEnv, JobGenContext context, JobSpecification jobSpec, Object implConfig,
+            IProjectionFiltrationInfo projectionInfo) throws AlgebricksException {
+        return metadataProvider.getColumnAggregateRuntime(jobSpec, opSchema, typeEnv, context, this);
+    }
+
+    @Override
+    public boolean isScanAccessPathALeaf() {
+        return false;
+    }
+
+    @Override
+    public void computeFDs(List<LogicalVariable> scanVariables, List<FunctionalDependency> fdList) {
+        // The partial aggregates have no functional dependencies
+    }
+
+    public Dataset getDataset() {
+        return dataset;
+    }
+
+    public IAObject[] getLowKey() {
+        return lowKey;
+    }
+
+    public IAObject[] getHighKey() {
+        return highKey;
+    }
+
+    public boolean isLowKeyInclusive() {
+        return lowKeyInclusive;
+    }
+
+    public boolean isHighKeyInclusive() {
+        return highKeyInclusive;
+    }
+
+    public List<ColumnAggregateFunction> getFunctions() {
+        return functions;
+    }
+
+    public int[] getKeyIndexes() {
+        return keyIndexes;
+    }
+
+    public List<List<String>> getPaths() {
+        return paths;
+    }
+
+    public List<ILogicalExpression> getArguments() {
+        return arguments;
+    }
+
+    public List<LogicalVariable> getArgumentVariables() {
+        return argumentVariables;
+    }
+
+    public IVariableTypeEnvironment getArgumentTypeEnv() {
+        return argumentTypeEnv;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append(getId()).append(" aggregate [");
+        for (int i = 0; i < functions.size(); i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(functions.get(i).name().toLowerCase()).append('(');
+            if (keyIndexes[i] >= 0) {
+                builder.append(String.join(".", dataset.getPrimaryKeys().get(keyIndexes[i])));
+            } else if (paths.get(i) != null) {
+                builder.append(String.join(".", paths.get(i)));
+            } else {
+                builder.append('*');
+            }
+            builder.append(')');
+        }
+        builder.append(']');
+        if (lowKey != null || highKey != null) {
+            builder.append(" range ").append(lowKeyInclusive ? '[' : '(');
+            appendKey(builder, lowKey);
+            builder.append(", ");
+            appendKey(builder, highKey);
+            builder.append(highKeyInclusive ? ']' : ')');
+        }
+        return builder.toString();
+    }
+
+    private static void appendKey(StringBuilder builder, IAObject[] key) {
+        if (key == null) {
+            builder.append('*');
+        } else if (key.length == 1) {
+            builder.append(key[0]);
+        } else {
+            builder.append(List.of(key));
+        }
+    }
+}
@@ -59,6 +59,7 @@ public class DataSourcePartitioningProvider implements IDataSourcePropertiesProv
         switch (ds.getDatasourceType()) {
             case DataSource.Type.LOADABLE:
             case DataSource.Type.EXTERNAL_DATASET:
+            case DataSource.Type.COLUMN_AGGREGATE:
                 pp = new RandomPartitioningProperty(domain);
                 ds.computeLocalStructuralProperties(propsLocal, scanVariables);
                 break;
@@ -26,12 +26,15 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+import org.apache.asterix.column.operation.aggregate.ColumnAggregateFunction;
+import org.apache.asterix.column.operation.aggregate.ColumnAggregateTupleProjectorFactory;
 import org.apache.asterix.common.cluster.PartitioningProperties;
 import org.apache.asterix.common.config.DatasetConfig.DatasetType;
 import org.apache.asterix.common.config.DatasetConfig.IndexType;
@@ -89,6 +92,9 @@ import org.apache.asterix.metadata.utils.FullTextUtil;
 import org.apache.asterix.metadata.utils.IndexUtil;
 import org.apache.asterix.metadata.utils.MetadataConstants;
 import org.apache.asterix.metadata.utils.MetadataUtil;
+import org.apache.asterix.om.base.AInt64;
+import org.apache.asterix.om.base.AMissing;
+import org.apache.asterix.om.base.IAObject;
 import org.apache.asterix.om.functions.BuiltinFunctions;
 import org.apache.asterix.om.functions.IFunctionExtensionManager;
 import org.apache.asterix.om.functions.IFunctionManager;
@@ -96,6 +102,7 @@ import org.apache.asterix.om.types.ARecordType;
 import org.apache.asterix.om.types.ATypeTag;
 import org.apache.asterix.om.types.IAType;
 import org.apache.asterix.om.utils.NonTaggedFormatUtil;
+import org.apache.asterix.om.utils.ProjectionFiltrationTypeUtil;
 import org.apache.asterix.runtime.base.AsterixTupleFilterFactory;
 import org.apache.asterix.runtime.formats.FormatUtils;
 import org.apache.asterix.runtime.operators.LSMIndexBulkLoadOperatorDescriptor;
@@ -125,6 +132,7 @@ import org.apache.hyracks.algebricks.core.algebra.operators.logical.IOperatorSch
 import org.apache.hyracks.algebricks.core.algebra.properties.INodeDomain;
 import org.apache.hyracks.algebricks.core.jobgen.impl.JobGenContext;
 import org.apache.hyracks.algebricks.core.jobgen.impl.JobGenHelper;
+import org.apache.hyracks.algebricks.core.jobgen.impl.OperatorSchemaImpl;
 import org.apache.hyracks.algebricks.data.IAWriterFactory;
 import org.apache.hyracks.algebricks.data.IPrinterFactory;
 import org.apache.hyracks.algebricks.data.IResultSerializerFactoryProvider;
@@ -142,6 +150,7 @@ import org.apache.hyracks.api.dataflow.value.ISerializerDeserializer;
 import org.apache.hyracks.api.dataflow.value.ITuplePartitionerFactory;
 import org.apache.hyracks.api.dataflow.value.ITypeTraits;
 import org.apache.hyracks.api.dataflow.value.RecordDescriptor;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
 import org.apache.hyracks.api.exceptions.IWarningCollector;
 import org.apache.hyracks.api.exceptions.SourceLocation;
 import org.apache.hyracks.api.io.FileSplit;
@@ -150,6 +159,7 @@ import org.apache.hyracks.api.job.JobSpecification;
 import org.apache.hyracks.api.result.IResultMetadata;
 import org.apache.hyracks.api.result.ResultSetId;
 import org.apache.hyracks.data.std.primitive.ShortPointable;
+import org.apache.hyracks.data.std.util.ArrayBackedValueStorage;
 import org.apache.hyracks.dataflow.common.data.marshalling.ShortSerializerDeserializer;
 import org.apache.hyracks.dataflow.common.data.partition.FieldHashPartitionerFactory;
 import org.apache.hyracks.dataflow.std.result.ResultWriterOperatorDescriptor;
@@ -160,6 +170,7 @@ import org.apache.hyracks.storage.am.common.api.ITupleFilterFactory;
 import org.apache.hyracks.storage.am.common.dataflow.IIndexDataflowHelperFactory;
 import org.apache.hyracks.storage.am.common.dataflow.IndexDataflowHelperFactory;
 import org.apache.hyracks.storage.am.common.ophelpers.IndexOperation;
+import org.apache.hyracks.storage.am.lsm.btree.column.dataflow.ColumnAggregateSearchOperatorDescriptor;
 import org.apache.hyracks.storage.am.lsm.btree.dataflow.LSMBTreeBatchPointSearchOperatorDescriptor;
 import org.apache.hyracks.storage.am.lsm.invertedindex.dataflow.BinaryTokenizerOperatorDescriptor;
 import org.apache.hyracks.storage.am.lsm.invertedindex.fulltext.IFullTextConfigEvaluatorFactory;
@@ -634,6 +645,85 @@ public class MetadataProvider implements IMetadataProvider<DataSourceId, String>
         return new Pair<>(btreeSearchOp, datasetPartitioningProp.getConstraints());
     }
 
+    public Pair<IOperatorDescriptor, AlgebricksPartitionConstraint> getColumnAggregateRuntime(JobSpecification jobSpec,
+            IOperatorSchema opSchema, IVariableTypeEnvironment typeEnv, JobGenContext context,
+            ColumnAggregateDataSource dataSource) throws AlgebricksException {
+        Dataset dataset = dataSource.getDataset();
+        Index primaryIndex = MetadataManager.INSTANCE.getIndex(mdTxnCtx, dataset.getDataverseName(),
+                dataset.getDatasetName(), dataset.getDatasetName());
+        int numPrimaryKeys = dataset.getPrimaryKeys().size();
+        int[] primaryKeyFields = new int[numPrimaryKeys];
+        for (int i = 0; i < numPrimaryKeys; i++) {
+            primaryKeyFields[i] = i;
+        }
+        RecordDescriptor outputRecDesc = JobGenHelper.mkRecordDescriptor(typeEnv, opSchema, context);
+        PartitioningProperties partitioningProperties = getPartitioningProperties(dataset, primaryIndex.getIndexName());
+        ISearchOperationCallbackFactory searchCallbackFactory = dataset.getSearchCallbackFactory(
+                storageComponentProvider, primaryIndex, IndexOperation.SEARCH, primaryKeyFields, null, false);
+        IIndexDataflowHelperFactory indexHelperFactory = new IndexDataflowHelperFactory(
+                storageComponentProvider.getStorageManager(), partitioningProperties.getSplitsProvider());
+
+        // The arguments are evaluated against the primary keys and the record of the records that are read one by one
+        IOperatorSchema argumentSchema = new OperatorSchemaImpl();
+        for (LogicalVariable var : dataSource.getArgumentVariables()) {
+            argumentSchema.addVariable(var);
+        }
+        List<ColumnAggregateFunction> functions = dataSource.getFunctions();
+        List<ILogicalExpression> arguments = dataSource.getArguments();
+        List<List<String>> paths = dataSource.getPaths();
+        List<List<String>> requestedPaths = new ArrayList<>();
+        IScalarEvaluatorFactory[] argumentEvalFactories = new IScalarEvaluatorFactory[functions.size()];
+        byte[][] identityFields = new byte[functions.size()][];
+        for (int i = 0; i < functions.size(); i++) {
+            ILogicalExpression argument = arguments.get(i);
+            if (argument != null) {
+                argumentEvalFactories[i] = context.getExpressionRuntimeProvider().createEvaluatorFactory(argument,
+                        dataSource.getArgumentTypeEnv(), new IOperatorSchema[] { argumentSchema }, context);
+            }
+            if (paths.get(i) != null) {
+                requestedPaths.add(paths.get(i));
+            }
+            IAObject identity = functions.get(i) == ColumnAggregateFunction.COUNT ? new AInt64(0) : AMissing.MISSING;
+            identityFields[i] = serializeConstant(identity);
+        }
+
+        ARecordType datasetType = (ARecordType) findTypeForDatasetWithoutType(findType(dataset), null, dataset);
+        ARecordType requestedType = requestedPaths.isEmpty() ? ProjectionFiltrationTypeUtil.EMPTY_TYPE
+                : ProjectionFiltrationTypeUtil.getRecordType(requestedPaths);
+        ITupleProjectorFactory tupleProjectorFactory = new ColumnAggregateTupleProjectorFactory(datasetType,
+                numPrimaryKeys, requestedType, functions.toArray(new ColumnAggregateFunction[0]),
+                dataSource.getKeyIndexes(), paths, argumentEvalFactories);
+
+        ColumnAggregateSearchOperatorDescriptor aggregateSearchOp = new ColumnAggregateSearchOperatorDescriptor(jobSpec,
+                outputRecDesc, serializeKey(dataSource.getLowKey()), serializeKey(dataSource.getHighKey()),
+                dataSource.isLowKeyInclusive(), dataSource.isHighKeyInclusive(), indexHelperFactory,
+                searchCallbackFactory, identityFields, tupleProjectorFactory,
+                partitioningProperties.getComputeStorageMap());
+        return new Pair<>(aggregateSearchOp, partitioningProperties.getConstraints());
+    }
+
+    private byte[][] serializeKey(IAObject[] key) throws AlgebricksException {
+        if (key == null) {
+            return null;
+        }
+        byte[][] fields = new byte[key.length][];
+        for (int i = 0; i < key.length; i++) {
+            fields[i] = serializeConstant(key[i]);
+        }
+        return fields;
+    }
+
+    private byte[] serializeConstant(IAObject value) throws AlgebricksException {
+        ArrayBackedValueStorage storage = new ArrayBackedValueStorage();
+        try {
+            getDataFormat().getSerdeProvider().getSerializerDeserializer(value.getType()).serialize(value,
+                    storage.getDataOutput());
+        } catch (HyracksDataException e) {
+            throw new AlgebricksException(e);
+        }
+        return Arrays.copyOf(storage.getByteArray(), storage.getLength());
+    }
+
     public Pair<IOperatorDescriptor, AlgebricksPartitionConstraint> getRtreeSearchRuntime(JobSpecification jobSpec,
             List<LogicalVariable> outputVars, IOperatorSchema opSchema, IVariableTypeEnvironment typeEnv,
             JobGenContext context, boolean retainInput, boolean retainMissing,
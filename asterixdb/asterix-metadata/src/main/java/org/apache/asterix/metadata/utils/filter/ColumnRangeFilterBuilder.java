@@ -35,6 +35,7 @@ import org.apache.asterix.column.filter.range.compartor.GTColumnFilterEvaluatorF
 import org.apache.asterix.column.filter.range.compartor.LEColumnFilterEvaluatorFactory;
 import org.apache.asterix.column.filter.range.compartor.LTColumnFilterEvaluatorFactory;
 import org.apache.asterix.column.filter.range.evaluator.ANDColumnFilterEvaluatorFactory;
+import org.apache.asterix.column.filter.range.evaluator.BloomColumnFilterEvaluatorFactory;
 import org.apache.asterix.column.filter.range.evaluator.ORColumnFilterEvaluatorFactory;
 import org.apache.asterix.om.base.IAObject;
 import org.apache.asterix.om.constants.AsterixConstantValue;
@@ -123,7 +124,12 @@ public class ColumnRangeFilterBuilder {
         IColumnRangeFilterValueAccessorFactory min = new ColumnRangeFilterValueAccessorFactory(path, true);
         IColumnRangeFilterValueAccessorFactory max = new ColumnRangeFilterValueAccessorFactory(path, false);
 
-        if (rightConstant) {
+        if (comparisonKind == ComparisonKind.EQ) {
+            IColumnRangeFilterEvaluatorFactory minMax = createEvaluator(comparisonKind, min, constValue, max);
+            // Equality can also be checked against the column's Bloom filter
+            IColumnRangeFilterEvaluatorFactory bloom = BloomColumnFilterEvaluatorFactory.createFactory(path, constant);
+            return bloom == null ? minMax : new ANDColumnFilterEvaluatorFactory(minMax, bloom);
+        } else if (rightConstant) {
             return createEvaluator(comparisonKind, min, constValue, max);
         }
         return createEvaluator(invert(comparisonKind), min, constValue, max);
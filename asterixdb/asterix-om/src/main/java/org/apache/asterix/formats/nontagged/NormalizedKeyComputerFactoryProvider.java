@@ -21,6 +21,7 @@ package org.apache.asterix.formats.nontagged;
 import org.apache.asterix.dataflow.data.nontagged.keynormalizers.AUUIDNormalizedKeyComputerFactory;
 import org.apache.asterix.dataflow.data.nontagged.keynormalizers.AWrappedAscNormalizedKeyComputerFactory;
 import org.apache.asterix.dataflow.data.nontagged.keynormalizers.AWrappedDescNormalizedKeyComputerFactory;
+import org.apache.asterix.om.types.ATypeTag;
 import org.apache.asterix.om.types.IAType;
 import org.apache.hyracks.algebricks.data.INormalizedKeyComputerFactoryProvider;
 import org.apache.hyracks.api.dataflow.value.INormalizedKeyComputerFactory;
@@ -38,6 +39,19 @@ public class NormalizedKeyComputerFactoryProvider implements INormalizedKeyCompu
     private NormalizedKeyComputerFactoryProvider() {
     }
 
+    @Override
+    public INormalizedKeyComputerFactory getNormalizedKeyComputerFactory(Object typeInfo, boolean ascending,
+            int maxNormalizedKeyLength) {
+        IAType type = (IAType) typeInfo;
+        if (type.getTypeTag() == ATypeTag.STRING && maxNormalizedKeyLength > 1) {
+            UTF8StringNormalizedKeyComputerFactory nkcf =
+                    new UTF8StringNormalizedKeyComputerFactory(maxNormalizedKeyLength);
+            return ascending ? new AWrappedAscNormalizedKeyComputerFactory(nkcf)
+                    : new AWrappedDescNormalizedKeyComputerFactory(nkcf);
+        }
+        return getNormalizedKeyComputerFactory(typeInfo, ascending);
+    }
+
     @Override
     public INormalizedKeyComputerFactory getNormalizedKeyComputerFactory(Object typeInfo, boolean ascending) {
         IAType type = (IAType) typeInfo;
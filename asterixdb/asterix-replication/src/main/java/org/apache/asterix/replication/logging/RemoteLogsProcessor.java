@@ -54,6 +54,7 @@ public class RemoteLogsProcessor implements ILogRequester {
                 case LogType.UPDATE:
                 case LogType.ENTITY_COMMIT:
                 case LogType.FILTER:
+                case LogType.RANGE_DELETE:
                     logManager.log(reusableLog);
                     break;
                 case LogType.JOB_COMMIT:
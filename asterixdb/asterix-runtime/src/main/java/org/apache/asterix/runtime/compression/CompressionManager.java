@@ -28,14 +28,17 @@ import org.apache.asterix.common.exceptions.ErrorCode;
 import org.apache.asterix.common.storage.ICompressionManager;
 import org.apache.hyracks.api.compression.ICompressorDecompressorFactory;
 import org.apache.hyracks.api.io.IJsonSerializable;
+import org.apache.hyracks.storage.common.compression.Lz4CompressorDecompressorFactory;
 import org.apache.hyracks.storage.common.compression.NoOpCompressorDecompressorFactory;
 import org.apache.hyracks.storage.common.compression.SnappyCompressorDecompressorFactory;
+import org.apache.hyracks.storage.common.compression.ZstdCompressorDecompressorFactory;
 
 public class CompressionManager implements ICompressionManager {
     private static final Map<String, Class<? extends ICompressorDecompressorFactory>> REGISTERED_SCHEMES =
             getRegisteredSchemes();
     public static final String NONE = "none";
     private final String defaultScheme;
+    private final int zstdLevel;
 
     /*
      * New compression schemes can be added by registering the name and the factory class
@@ -47,19 +50,25 @@ public class CompressionManager implements ICompressionManager {
         final Map<String, Class<? extends ICompressorDecompressorFactory>> registeredSchemes = new HashMap<>();
         //No compression
         registeredSchemes.put(NONE, NoOpCompressorDecompressorFactory.class);
-        registeredSchemes.put("snappy", SnappyCompressorDecompressorFactory.class);
+        registeredSchemes.put(SnappyCompressorDecompressorFactory.NAME, SnappyCompressorDecompressorFactory.class);
+        registeredSchemes.put(Lz4CompressorDecompressorFactory.NAME, Lz4CompressorDecompressorFactory.class);
+        registeredSchemes.put(ZstdCompressorDecompressorFactory.NAME, ZstdCompressorDecompressorFactory.class);
         return registeredSchemes;
     }
 
     public CompressionManager(StorageProperties storageProperties) {
         validateCompressionConfiguration(storageProperties);
         defaultScheme = storageProperties.getCompressionScheme();
+        zstdLevel = storageProperties.getZstdCompressionLevel();
     }
 
     @Override
     public ICompressorDecompressorFactory getFactory(String schemeName) throws CompilationException {
         final String scheme = getDdlOrDefaultCompressionScheme(schemeName);
         Class<? extends ICompressorDecompressorFactory> clazz = REGISTERED_SCHEMES.get(scheme);
+        if (clazz == ZstdCompressorDecompressorFactory.class) {
+            return new ZstdCompressorDecompressorFactory(zstdLevel);
+        }
         try {
             return clazz.newInstance();
         } catch (IllegalAccessException | InstantiationException e) {
@@ -110,7 +119,13 @@ public class CompressionManager implements ICompressionManager {
             throw new IllegalStateException("Invalid compression configuration (" + option + " = " + value
                     + "). Valid values are: " + formatSupportedValues());
         }
-
+        if (!ZstdCompressorDecompressorFactory.isValidLevel(storageProperties.getZstdCompressionLevel())) {
+            final String option = StorageProperties.Option.STORAGE_COMPRESSION_ZSTD_LEVEL.ini();
+            final int value = storageProperties.getZstdCompressionLevel();
+            throw new IllegalStateException("Invalid compression configuration (" + option + " = " + value
+                    + "). Valid values are: [" + ZstdCompressorDecompressorFactory.MIN_LEVEL + ","
+                    + ZstdCompressorDecompressorFactory.MAX_LEVEL + "]");
+        }
     }
 
     private String formatSupportedValues() {
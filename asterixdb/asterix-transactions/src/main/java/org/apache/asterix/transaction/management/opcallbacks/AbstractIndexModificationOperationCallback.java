@@ -19,6 +19,8 @@
 package org.apache.asterix.transaction.management.opcallbacks;
 
 import org.apache.asterix.common.exceptions.ACIDException;
+import org.apache.asterix.common.exceptions.ErrorCode;
+import org.apache.asterix.common.exceptions.RuntimeDataException;
 import org.apache.asterix.common.transactions.AbstractOperationCallback;
 import org.apache.asterix.common.transactions.DatasetId;
 import org.apache.asterix.common.transactions.ILockManager;
@@ -28,6 +30,8 @@ import org.apache.asterix.common.transactions.ITransactionSubsystem;
 import org.apache.asterix.common.transactions.LogRecord;
 import org.apache.asterix.common.transactions.LogType;
 import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.dataflow.common.comm.io.ArrayTupleBuilder;
+import org.apache.hyracks.dataflow.common.comm.io.ArrayTupleReference;
 import org.apache.hyracks.dataflow.common.data.accessors.ITupleReference;
 import org.apache.hyracks.storage.am.common.api.IExtendedModificationOperationCallback;
 import org.apache.hyracks.storage.am.common.ophelpers.IndexOperation;
@@ -39,12 +43,14 @@ public abstract class AbstractIndexModificationOperationCallback extends Abstrac
     public static final byte DELETE_BYTE = 0x02;
     public static final byte UPSERT_BYTE = 0x03;
     public static final byte FILTER_BYTE = 0x04;
+    public static final byte RANGE_DELETE_BYTE = 0x05;
 
     public enum Operation {
         INSERT(INSERT_BYTE),
         DELETE(DELETE_BYTE),
         UPSERT(UPSERT_BYTE),
-        FILTER_MOD(FILTER_BYTE);
+        FILTER_MOD(FILTER_BYTE),
+        RANGE_DELETE(RANGE_DELETE_BYTE);
 
         private byte value;
 
@@ -78,6 +84,9 @@ public abstract class AbstractIndexModificationOperationCallback extends Abstrac
     protected final ITransactionSubsystem txnSubsystem;
     protected final ILogRecord indexRecord;
     protected final ILogRecord filterRecord;
+    private ILogRecord rangeDeleteRecord;
+    private ArrayTupleBuilder rangeDeleteBuilder;
+    private ArrayTupleReference rangeDeleteKeys;
 
     protected AbstractIndexModificationOperationCallback(DatasetId datasetId, int[] primaryKeyFields,
             ITransactionContext txnCtx, ILockManager lockManager, ITransactionSubsystem txnSubsystem, long resourceId,
@@ -134,6 +143,43 @@ public abstract class AbstractIndexModificationOperationCallback extends Abstrac
         }
     }
 
+    @Override
+    public void beforeRangeDelete(ITupleReference lowKey, ITupleReference highKey) throws HyracksDataException {
+        throw new RuntimeDataException(ErrorCode.OPERATION_NOT_SUPPORTED);
+    }
+
+    /**
+     * Logs a range delete as a single log record whose value holds the low key fields followed by the high key
+     * fields. The record is redone on recovery if the range delete's job committed.
+     */
+    @Override
+    public void afterRangeDelete(ITupleReference lowKey, ITupleReference highKey) throws HyracksDataException {
+        if (rangeDeleteRecord == null) {
+            rangeDeleteRecord = new LogRecord();
+            rangeDeleteRecord.setTxnCtx(txnCtx);
+            rangeDeleteRecord.setLogType(LogType.RANGE_DELETE);
+            rangeDeleteRecord.setDatasetId(datasetId.getId());
+            rangeDeleteRecord.setTxnId(txnCtx.getTxnId().getId());
+            rangeDeleteRecord.setResourceId(resourceId);
+            rangeDeleteRecord.setResourcePartition(indexRecord.getResourcePartition());
+            rangeDeleteRecord.setNewOp(Operation.RANGE_DELETE.value());
+            rangeDeleteBuilder = new ArrayTupleBuilder(lowKey.getFieldCount() + highKey.getFieldCount());
+            rangeDeleteKeys = new ArrayTupleReference();
+        }
+        rangeDeleteBuilder.reset();
+        for (int i = 0; i < lowKey.getFieldCount(); i++) {
+            rangeDeleteBuilder.addField(lowKey, i);
+        }
+        for (int i = 0; i < highKey.getFieldCount(); i++) {
+            rangeDeleteBuilder.addField(highKey, i);
+        }
+        rangeDeleteKeys.reset(rangeDeleteBuilder.getFieldEndOffsets(), rangeDeleteBuilder.getByteArray());
+        rangeDeleteRecord.setNewValueSize(SimpleTupleWriter.INSTANCE.bytesRequired(rangeDeleteKeys));
+        rangeDeleteRecord.setNewValue(rangeDeleteKeys);
+        rangeDeleteRecord.computeAndSetLogSize();
+        txnSubsystem.getLogManager().log(rangeDeleteRecord);
+    }
+
     /**
      * This call specifies the next operation to be performed. It is used to allow
      * a single operator to perform different operations per tuple
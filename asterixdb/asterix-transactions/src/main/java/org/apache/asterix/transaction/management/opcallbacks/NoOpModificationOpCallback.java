@@ -43,4 +43,14 @@ public class NoOpModificationOpCallback extends AbstractIndexModificationOperati
     public void found(ITupleReference before, ITupleReference after) throws HyracksDataException {
         // no op
     }
+
+    @Override
+    public void beforeRangeDelete(ITupleReference lowKey, ITupleReference highKey) throws HyracksDataException {
+        // no op
+    }
+
+    @Override
+    public void afterRangeDelete(ITupleReference lowKey, ITupleReference highKey) throws HyracksDataException {
+        // no op
+    }
 }
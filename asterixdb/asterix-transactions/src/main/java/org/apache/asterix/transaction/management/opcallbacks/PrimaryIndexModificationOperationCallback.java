@@ -19,16 +19,25 @@
 
 package org.apache.asterix.transaction.management.opcallbacks;
 
+import java.util.Collections;
+import java.util.Map;
+
+import org.apache.asterix.common.dataflow.DatasetLocalResource;
 import org.apache.asterix.common.exceptions.ACIDException;
+import org.apache.asterix.common.exceptions.ErrorCode;
+import org.apache.asterix.common.exceptions.RuntimeDataException;
+import org.apache.asterix.common.storage.DatasetResourceReference;
 import org.apache.asterix.common.transactions.DatasetId;
 import org.apache.asterix.common.transactions.ILockManager;
 import org.apache.asterix.common.transactions.ITransactionContext;
 import org.apache.asterix.common.transactions.ITransactionSubsystem;
+import org.apache.asterix.transaction.management.resource.PersistentLocalResourceRepository;
 import org.apache.asterix.transaction.management.service.transaction.TransactionManagementConstants.LockManagerConstants.LockMode;
 import org.apache.hyracks.api.dataflow.IOperatorNodePushable;
 import org.apache.hyracks.api.exceptions.HyracksDataException;
 import org.apache.hyracks.dataflow.common.data.accessors.ITupleReference;
 import org.apache.hyracks.storage.am.lsm.common.api.ILSMIndexFrameWriter;
+import org.apache.hyracks.storage.common.LocalResource;
 
 /**
  * Assumes LSM-BTrees as primary indexes.
@@ -87,6 +96,33 @@ public class PrimaryIndexModificationOperationCallback extends AbstractIndexModi
         }
     }
 
+    /**
+     * A range delete takes an exclusive dataset lock instead of one lock per deleted key. Only the primary index
+     * is modified, so datasets whose partition has other (secondary) indexes are rejected.
+     */
+    @Override
+    public void beforeRangeDelete(ITupleReference lowKey, ITupleReference highKey) throws HyracksDataException {
+        PersistentLocalResourceRepository localResourceRepository =
+                (PersistentLocalResourceRepository) txnSubsystem.getApplicationContext().getLocalResourceRepository();
+        int partition = indexRecord.getResourcePartition();
+        Map<Long, LocalResource> datasetResources = localResourceRepository.getResources(
+                r -> ((DatasetLocalResource) r.getResource()).getDatasetId() == datasetId.getId(),
+                Collections.singleton(partition));
+        if (datasetResources.size() > 1) {
+            LocalResource primaryIndex = datasetResources.get(resourceId);
+            String datasetName = primaryIndex != null ? DatasetResourceReference.of(primaryIndex).getDataset()
+                    : String.valueOf(datasetId.getId());
+            throw new RuntimeDataException(ErrorCode.RANGE_DELETE_WITH_SECONDARY_INDEXES, datasetName);
+        }
+        try {
+            lockManager.lock(datasetId, -1, LockMode.X, txnCtx);
+        } catch (ACIDException e) {
+            throw HyracksDataException.create(e);
+        }
+        // the job must end with a job commit log for the range delete to be redone on recovery
+        txnCtx.setWriteTxn(true);
+    }
+
     @Override
     public void found(ITupleReference before, ITupleReference after) throws HyracksDataException {
         try {
@@ -29,20 +29,33 @@ import org.apache.asterix.common.transactions.DatasetId;
 import org.apache.asterix.common.transactions.ILockManager;
 import org.apache.asterix.common.transactions.ITransactionContext;
 import org.apache.asterix.common.transactions.ITransactionManager;
+import org.apache.asterix.transaction.management.service.locking.JobDatasetLocks.DatasetLocks;
 import org.apache.asterix.transaction.management.service.transaction.TransactionManagementConstants.LockManagerConstants.LockMode;
 import org.apache.hyracks.api.lifecycle.ILifeCycleComponent;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
 import it.unimi.dsi.fastutil.longs.Long2LongMap;
 import it.unimi.dsi.fastutil.longs.Long2LongMaps;
 import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.longs.LongArrayList;
 import it.unimi.dsi.fastutil.longs.LongList;
 
 /**
  * A concurrent implementation of the ILockManager interface.
+ * Locks are hierarchical: before an entity lock is granted, the job obtains an intention lock (IS or IX) on the
+ * dataset, which is held until the end of the job. Once a job holds more exclusive entity locks on a dataset than the
+ * escalation threshold, the lock manager tries to replace them by an exclusive dataset lock, after which entity locks
+ * on that dataset are no longer allocated for the job.
+ * Jobs that commit at the entity level (e.g. feeds) release their entity locks as they commit, so they neither hold
+ * intention locks until the end of the job nor escalate: the intention lock is only checked instantly, and the entity
+ * locks they hold on a dataset are counted to prevent other jobs from escalating on that dataset.
  *
  * @see ResourceGroupTable
  * @see ResourceGroup
@@ -65,6 +78,9 @@ public class ConcurrentLockManager implements ILockManager, ILifeCycleComponent
     private final RequestArenaManager reqArenaMgr;
     private final JobArenaManager jobArenaMgr;
     private final Long2LongMap txnId2TxnSlotMap;
+    private final Long2ObjectMap<JobDatasetLocks> txnId2DatasetLocksMap;
+    private final Int2IntOpenHashMap entityLevelLocks;
+    private final int escalationThreshold;
     private final LockManagerStats stats = new LockManagerStats(10000);
 
     enum LockAction {
@@ -93,17 +109,26 @@ public class ConcurrentLockManager implements ILockManager, ILifeCycleComponent
             { LockAction.ERR, LockAction.WAIT, LockAction.WAIT, LockAction.WAIT, LockAction.WAIT } // X
     };
 
-    public ConcurrentLockManager(final int lockManagerShrinkTimer, int tableSize) throws ACIDException {
-        this(lockManagerShrinkTimer, Runtime.getRuntime().availableProcessors() * 2, tableSize);
+    public ConcurrentLockManager(final int lockManagerShrinkTimer, int tableSize, int escalationThreshold)
+            throws ACIDException {
+        this(lockManagerShrinkTimer, Runtime.getRuntime().availableProcessors() * 2, tableSize, escalationThreshold);
     }
 
-    public ConcurrentLockManager(final int lockManagerShrinkTimer, final int noArenas, final int tableSize)
-            throws ACIDException {
+    /**
+     * @param escalationThreshold
+     *            the number of exclusive entity locks a job may hold on a dataset before the lock manager tries
+     *            to escalate them to a dataset lock, 0 disables escalation
+     */
+    public ConcurrentLockManager(final int lockManagerShrinkTimer, final int noArenas, final int tableSize,
+            final int escalationThreshold) throws ACIDException {
         table = new ResourceGroupTable(tableSize);
         resArenaMgr = new ResourceArenaManager(noArenas, lockManagerShrinkTimer);
         reqArenaMgr = new RequestArenaManager(noArenas, lockManagerShrinkTimer);
         jobArenaMgr = new JobArenaManager(noArenas, lockManagerShrinkTimer);
         txnId2TxnSlotMap = Long2LongMaps.synchronize(new Long2LongOpenHashMap());
+        txnId2DatasetLocksMap = new Long2ObjectOpenHashMap<>();
+        entityLevelLocks = new Int2IntOpenHashMap();
+        this.escalationThreshold = escalationThreshold;
     }
 
     @Override
@@ -112,6 +137,42 @@ public class ConcurrentLockManager implements ILockManager, ILifeCycleComponent
         log("lock", datasetId.getId(), entityHashValue, lockMode, txnContext);
         stats.lock();
 
+        final long txnId = txnContext.getTxnId().getId();
+        DatasetLocks dsLocks = null;
+        if (entityHashValue != NIL && txnContext.isEntityLevel()) {
+            addEntityLevelLock(datasetId.getId());
+            boolean locked = false;
+            try {
+                instantLock(datasetId, NIL, intentionMode(lockMode), txnContext);
+                lockEntity(datasetId, entityHashValue, lockMode, txnContext);
+                locked = true;
+            } finally {
+                if (!locked) {
+                    removeEntityLevelLock(datasetId.getId());
+                }
+            }
+            return;
+        }
+        if (entityHashValue != NIL) {
+            dsLocks = getDatasetLocks(txnId, datasetId.getId());
+            if (dsLocks.isEscalated()) {
+                validateJob(txnContext);
+                return;
+            }
+            final byte intentionMode = intentionMode(lockMode);
+            if (!dsLocks.coversIntention(intentionMode)) {
+                lock(datasetId, NIL, intentionMode, txnContext);
+                dsLocks.setIntention(intentionMode);
+            }
+        }
+        final long jobSlot = lockEntity(datasetId, entityHashValue, lockMode, txnContext);
+        if (dsLocks != null && lockMode == LockMode.X) {
+            countExclusiveEntityLock(datasetId.getId(), dsLocks, jobSlot);
+        }
+    }
+
+    private long lockEntity(DatasetId datasetId, int entityHashValue, byte lockMode, ITransactionContext txnContext)
+            throws ACIDException {
         final long txnId = txnContext.getTxnId().getId();
         final long jobSlot = findOrAllocJobSlot(txnId);
         final ResourceGroup group = table.get(datasetId.getId(), entityHashValue);
@@ -161,6 +222,7 @@ public class ConcurrentLockManager implements ILockManager, ILifeCycleComponent
         if (CHECK_CONSISTENCY) {
             assertLocksCanBefoundInJobQueue();
         }
+        return jobSlot;
     }
 
     private void enqueueWaiter(final ResourceGroup group, final long reqSlot, final long resSlot, final long jobSlot,
@@ -337,6 +399,13 @@ public class ConcurrentLockManager implements ILockManager, ILifeCycleComponent
         stats.instantLock();
 
         final long txnId = txnContext.getTxnId().getId();
+        if (entityHashValue != NIL) {
+            if (isEscalated(txnId, datasetId.getId())) {
+                validateJob(txnContext);
+                return;
+            }
+            instantLock(datasetId, NIL, intentionMode(lockMode), txnContext);
+        }
         final ResourceGroup group = table.get(datasetId.getId(), entityHashValue);
         if (group.firstResourceIndex == NILL) {
             validateJob(txnContext);
@@ -399,7 +468,50 @@ public class ConcurrentLockManager implements ILockManager, ILifeCycleComponent
         stats.tryLock();
 
         final long txnId = txnContext.getTxnId().getId();
-        final long jobSlot = findOrAllocJobSlot(txnId);
+        DatasetLocks dsLocks = null;
+        if (entityHashValue != NIL && txnContext.isEntityLevel()) {
+            addEntityLevelLock(datasetId.getId());
+            boolean locked = false;
+            try {
+                locked = instantTryLock(datasetId, NIL, intentionMode(lockMode), txnContext)
+                        && tryLockEntity(datasetId, entityHashValue, lockMode, txnContext) != NILL;
+            } finally {
+                if (!locked) {
+                    removeEntityLevelLock(datasetId.getId());
+                }
+            }
+            return locked;
+        }
+        if (entityHashValue != NIL) {
+            dsLocks = getDatasetLocks(txnId, datasetId.getId());
+            if (dsLocks.isEscalated()) {
+                validateJob(txnContext);
+                return true;
+            }
+            final byte intentionMode = intentionMode(lockMode);
+            if (!dsLocks.coversIntention(intentionMode)) {
+                if (!tryLock(datasetId, NIL, intentionMode, txnContext)) {
+                    return false;
+                }
+                dsLocks.setIntention(intentionMode);
+            }
+        }
+        final long jobSlot = tryLockEntity(datasetId, entityHashValue, lockMode, txnContext);
+        if (jobSlot == NILL) {
+            return false;
+        }
+        if (dsLocks != null && lockMode == LockMode.X) {
+            countExclusiveEntityLock(datasetId.getId(), dsLocks, jobSlot);
+        }
+        return true;
+    }
+
+    /**
+     * @return the slot of the job if the lock was granted, NILL otherwise
+     */
+    private long tryLockEntity(DatasetId datasetId, int entityHashValue, byte lockMode, ITransactionContext txnContext)
+            throws ACIDException {
+        final long jobSlot = findOrAllocJobSlot(txnContext.getTxnId().getId());
         final ResourceGroup group = table.get(datasetId.getId(), entityHashValue);
         group.getLatch();
 
@@ -416,16 +528,17 @@ public class ConcurrentLockManager implements ILockManager, ILifeCycleComponent
                     //fall-through
                 case GET:
                     addHolder(reqSlot, resSlot, jobSlot);
-                    return true;
+                    break;
                 case WAIT:
                 case CONV:
-                    return false;
+                    return NILL;
                 default:
                     throw new IllegalStateException();
             }
         } finally {
             group.releaseLatch();
         }
+        return jobSlot;
     }
 
     @Override
@@ -435,6 +548,15 @@ public class ConcurrentLockManager implements ILockManager, ILifeCycleComponent
         stats.instantTryLock();
 
         final long txnId = txnContext.getTxnId().getId();
+        if (entityHashValue != NIL) {
+            if (isEscalated(txnId, datasetId.getId())) {
+                validateJob(txnContext);
+                return true;
+            }
+            if (!instantTryLock(datasetId, NIL, intentionMode(lockMode), txnContext)) {
+                return false;
+            }
+        }
         final ResourceGroup group = table.get(datasetId.getId(), entityHashValue);
         if (group.firstResourceIndex == NILL) {
             validateJob(txnContext);
@@ -478,11 +600,28 @@ public class ConcurrentLockManager implements ILockManager, ILifeCycleComponent
         log("unlock", datasetId.getId(), entityHashValue, lockMode, txnContext);
         final long txnId = txnContext.getTxnId().getId();
         final long jobSlot = txnId2TxnSlotMap.get(txnId);
-
-        unlock(datasetId.getId(), entityHashValue, lockMode, jobSlot);
+        if (entityHashValue == NIL) {
+            unlock(datasetId.getId(), entityHashValue, lockMode, jobSlot);
+        } else if (txnContext.isEntityLevel()) {
+            unlock(datasetId.getId(), entityHashValue, lockMode, jobSlot);
+            removeEntityLevelLock(datasetId.getId());
+        } else {
+            final DatasetLocks dsLocks = findDatasetLocks(txnId, datasetId.getId());
+            if (dsLocks != null && dsLocks.isEscalated()) {
+                // the entity locks of this job were released when they were escalated to the dataset lock
+                return;
+            }
+            final byte releasedMode = unlock(datasetId.getId(), entityHashValue, lockMode, jobSlot);
+            if (dsLocks != null && releasedMode == LockMode.X) {
+                dsLocks.removeExclusiveEntityLock();
+            }
+        }
     }
 
-    private void unlock(int dsId, int entityHashValue, byte lockMode, long jobSlot) throws ACIDException {
+    /**
+     * @return the mode of the released lock
+     */
+    private byte unlock(int dsId, int entityHashValue, byte lockMode, long jobSlot) throws ACIDException {
         log("unlock", dsId, entityHashValue, lockMode, null);
         stats.unlock();
 
@@ -500,6 +639,7 @@ public class ConcurrentLockManager implements ILockManager, ILifeCycleComponent
             }
 
             long holder = removeLastHolder(resource, jobSlot, lockMode);
+            final byte releasedMode = (byte) reqArenaMgr.getLockMode(holder);
 
             // deallocate request
             if (DEBUG_MODE) {
@@ -527,6 +667,7 @@ public class ConcurrentLockManager implements ILockManager, ILifeCycleComponent
                 resArenaMgr.setMaxMode(resource, newMaxMode);
                 group.wakeUp();
             }
+            return releasedMode;
         } finally {
             group.releaseLatch();
         }
@@ -538,6 +679,9 @@ public class ConcurrentLockManager implements ILockManager, ILifeCycleComponent
         stats.releaseLocks();
 
         long txnId = txnContext.getTxnId().getId();
+        synchronized (txnId2DatasetLocksMap) {
+            txnId2DatasetLocksMap.remove(txnId);
+        }
         long jobSlot = txnId2TxnSlotMap.get(txnId);
         if (jobSlot == 0) {
             // we don't know the job, so there are no locks for it - we're done
@@ -558,6 +702,9 @@ public class ConcurrentLockManager implements ILockManager, ILifeCycleComponent
             int dsId = resArenaMgr.getDatasetId(resource);
             int pkHashVal = resArenaMgr.getPkHashVal(resource);
             unlock(dsId, pkHashVal, LockMode.ANY, jobSlot);
+            if (pkHashVal != NIL && txnContext.isEntityLevel()) {
+                removeEntityLevelLock(dsId);
+            }
             synchronized (jobArenaMgr) {
                 holder = jobArenaMgr.getLastHolder(jobSlot);
             }
@@ -570,6 +717,112 @@ public class ConcurrentLockManager implements ILockManager, ILifeCycleComponent
         stats.logCounters(LOGGER, Level.DEBUG, true);
     }
 
+    private DatasetLocks getDatasetLocks(long txnId, int dsId) {
+        JobDatasetLocks jobLocks;
+        synchronized (txnId2DatasetLocksMap) {
+            jobLocks = txnId2DatasetLocksMap.get(txnId);
+            if (jobLocks == null) {
+                jobLocks = new JobDatasetLocks(escalationThreshold);
+                txnId2DatasetLocksMap.put(txnId, jobLocks);
+            }
+        }
+        return jobLocks.get(dsId);
+    }
+
+    private DatasetLocks findDatasetLocks(long txnId, int dsId) {
+        JobDatasetLocks jobLocks;
+        synchronized (txnId2DatasetLocksMap) {
+            jobLocks = txnId2DatasetLocksMap.get(txnId);
+        }
+        return jobLocks == null ? null : jobLocks.find(dsId);
+    }
+
+    private boolean isEscalated(long txnId, int dsId) {
+        DatasetLocks dsLocks = findDatasetLocks(txnId, dsId);
+        return dsLocks != null && dsLocks.isEscalated();
+    }
+
+    private void addEntityLevelLock(int dsId) {
+        synchronized (entityLevelLocks) {
+            entityLevelLocks.addTo(dsId, 1);
+        }
+    }
+
+    private void removeEntityLevelLock(int dsId) {
+        synchronized (entityLevelLocks) {
+            if (entityLevelLocks.addTo(dsId, -1) == 1) {
+                entityLevelLocks.remove(dsId);
+            }
+        }
+    }
+
+    private boolean hasEntityLevelLocks(int dsId) {
+        synchronized (entityLevelLocks) {
+            return entityLevelLocks.get(dsId) > 0;
+        }
+    }
+
+    private static byte intentionMode(byte entityLockMode) {
+        return entityLockMode == LockMode.X || entityLockMode == LockMode.IX ? LockMode.IX : LockMode.IS;
+    }
+
+    private void countExclusiveEntityLock(int dsId, DatasetLocks dsLocks, long jobSlot) throws ACIDException {
+        if (dsLocks.addExclusiveEntityLock() && !tryEscalate(dsId, dsLocks, jobSlot)) {
+            dsLocks.escalationFailed();
+        }
+    }
+
+    /**
+     * Replaces the entity locks of a job on a dataset by an exclusive dataset lock.
+     * To stay within the deadlock-free locking protocol escalation never waits: it only succeeds if the job is the
+     * only holder of the dataset lock (i.e. no other job holds an intention lock), nobody waits for it and no
+     * entity-level job holds entity locks on the dataset. Otherwise the job keeps using entity locks and escalation is
+     * attempted again once it holds another threshold's worth of exclusive entity locks.
+     *
+     * @return true if the entity locks were escalated
+     */
+    private boolean tryEscalate(int dsId, DatasetLocks dsLocks, long jobSlot) throws ACIDException {
+        final ResourceGroup group = table.get(dsId, NIL);
+        group.getLatch();
+        try {
+            final long resSlot = findResourceInGroup(group, dsId, NIL);
+            if (resSlot == NILL || hasOtherHolders(resSlot, jobSlot) || resArenaMgr.getFirstWaiter(resSlot) != NILL
+                    || resArenaMgr.getFirstUpgrader(resSlot) != NILL || hasEntityLevelLocks(dsId)) {
+                return false;
+            }
+            final long reqSlot = allocRequestSlot(resSlot, jobSlot, LockMode.X);
+            resArenaMgr.setMaxMode(resSlot, LockMode.X);
+            addHolder(reqSlot, resSlot, jobSlot);
+            dsLocks.setEscalated();
+        } finally {
+            group.releaseLatch();
+        }
+        stats.escalate();
+        releaseEntityLocks(dsId, jobSlot);
+        return true;
+    }
+
+    private void releaseEntityLocks(int dsId, long jobSlot) throws ACIDException {
+        final IntList entityHashValues = new IntArrayList();
+        long holder;
+        synchronized (jobArenaMgr) {
+            holder = jobArenaMgr.getLastHolder(jobSlot);
+        }
+        while (holder != NILL) {
+            long resource = reqArenaMgr.getResourceId(holder);
+            int pkHashVal = resArenaMgr.getPkHashVal(resource);
+            if (dsId == resArenaMgr.getDatasetId(resource) && pkHashVal != NIL) {
+                entityHashValues.add(pkHashVal);
+            }
+            synchronized (jobArenaMgr) {
+                holder = reqArenaMgr.getNextJobRequest(holder);
+            }
+        }
+        for (int i = 0; i < entityHashValues.size(); i++) {
+            unlock(dsId, entityHashValues.getInt(i), LockMode.ANY, jobSlot);
+        }
+    }
+
     private long findOrAllocJobSlot(long txnId) {
         long jobSlot = txnId2TxnSlotMap.get(txnId);
         if (jobSlot == 0) {
@@ -660,10 +913,12 @@ public class ConcurrentLockManager implements ILockManager, ILifeCycleComponent
         LockAction res = LockAction.WAIT;
         while (holder != NILL) {
             if (job == reqArenaMgr.getJobSlot(holder)) {
-                if (reqArenaMgr.getLockMode(holder) == lockMode) {
+                if (covers((byte) reqArenaMgr.getLockMode(holder), lockMode)) {
                     return LockAction.GET;
                 } else {
-                    if (ENABLED_DEADLOCK_FREE_LOCKING_PROTOCOL) {
+                    // upgrading an intention lock (IS to IX) does not violate the protocol, as it only conflicts
+                    // with dataset locks
+                    if (ENABLED_DEADLOCK_FREE_LOCKING_PROTOCOL && lockMode != LockMode.IX) {
                         throw new IllegalStateException(
                                 "Lock conversion is not supported when deadlock-free locking protocol is enabled!");
                     }
@@ -675,6 +930,11 @@ public class ConcurrentLockManager implements ILockManager, ILifeCycleComponent
         return res;
     }
 
+    private static boolean covers(byte heldMode, byte lockMode) {
+        return heldMode == lockMode || heldMode == LockMode.X
+                || (lockMode == LockMode.IS && (heldMode == LockMode.IX || heldMode == LockMode.S));
+    }
+
     private long findResourceInGroup(ResourceGroup group, int dsId, int entityHashValue) {
         stats.logCounters(LOGGER, LVL, false);
         long resSlot = group.firstResourceIndex;
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.transaction.management.service.locking;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.asterix.transaction.management.service.transaction.TransactionManagementConstants.LockManagerConstants.LockMode;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+
+/**
+ * The dataset-level view of the locks of one job: for each dataset, the intention mode that the job holds on behalf
+ * of its entity locks, the number of exclusive entity locks it currently holds and whether those have been escalated
+ * to an exclusive dataset lock.
+ */
+final class JobDatasetLocks {
+
+    private final Int2ObjectMap<DatasetLocks> datasets = new Int2ObjectOpenHashMap<>();
+    private final int escalationThreshold;
+
+    JobDatasetLocks(int escalationThreshold) {
+        this.escalationThreshold = escalationThreshold;
+    }
+
+    synchronized DatasetLocks get(int datasetId) {
+        DatasetLocks dsLocks = datasets.get(datasetId);
+        if (dsLocks == null) {
+            dsLocks = new DatasetLocks(escalationThreshold);
+            datasets.put(datasetId, dsLocks);
+        }
+        return dsLocks;
+    }
+
+    synchronized DatasetLocks find(int datasetId) {
+        return datasets.get(datasetId);
+    }
+
+    static final class DatasetLocks {
+        private final int escalationThreshold;
+        private final AtomicInteger exclusiveEntityLocks = new AtomicInteger();
+        private volatile int nextEscalation;
+        private volatile byte intentionMode = LockMode.NL;
+        private volatile boolean escalated;
+
+        DatasetLocks(int escalationThreshold) {
+            this.escalationThreshold = escalationThreshold;
+            this.nextEscalation = escalationThreshold;
+        }
+
+        boolean coversIntention(byte mode) {
+            // IX covers IS
+            return intentionMode >= mode;
+        }
+
+        synchronized void setIntention(byte mode) {
+            if (mode > intentionMode) {
+                intentionMode = mode;
+            }
+        }
+
+        /**
+         * Counts a newly granted exclusive entity lock.
+         *
+         * @return true if the job now holds enough exclusive entity locks to attempt escalation
+         */
+        boolean addExclusiveEntityLock() {
+            final int held = exclusiveEntityLocks.incrementAndGet();
+            return escalationThreshold > 0 && held >= nextEscalation;
+        }
+
+        void removeExclusiveEntityLock() {
+            exclusiveEntityLocks.decrementAndGet();
+        }
+
+        /**
+         * Postpones the next escalation attempt until the job holds another threshold's worth of exclusive entity
+         * locks.
+         */
+        synchronized void escalationFailed() {
+            nextEscalation = exclusiveEntityLocks.get() + escalationThreshold;
+        }
+
+        boolean isEscalated() {
+            return escalated;
+        }
+
+        void setEscalated() {
+            escalated = true;
+        }
+    }
+}
@@ -33,6 +33,7 @@ final class LockManagerStats {
     private final AtomicLong itlCnt = new AtomicLong();
     private final AtomicLong ulCnt = new AtomicLong();
     private final AtomicLong rlCnt = new AtomicLong();
+    private final AtomicLong esCnt = new AtomicLong();
 
     LockManagerStats(int loggingPeriod) {
         this.loggingPeriod = loggingPeriod;
@@ -62,6 +63,10 @@ final class LockManagerStats {
         rlCnt.incrementAndGet();
     }
 
+    final void escalate() {
+        esCnt.incrementAndGet();
+    }
+
     final int requestSum() {
         return lCnt.intValue() + ilCnt.intValue() + tlCnt.intValue() + itlCnt.intValue() + ulCnt.intValue()
                 + rlCnt.intValue();
@@ -70,7 +75,7 @@ final class LockManagerStats {
     final StringBuilder append(StringBuilder sb) {
         sb.append("{").append(" lock : ").append(lCnt).append(", instantLock : ").append(ilCnt).append(", tryLock : ")
                 .append(tlCnt).append(", instantTryLock : ").append(itlCnt).append(", unlock : ").append(ulCnt)
-                .append(", releaseLocks : ").append(rlCnt).append(" }");
+                .append(", releaseLocks : ").append(rlCnt).append(", escalations : ").append(esCnt).append(" }");
         return sb;
     }
 
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.transaction.management.service.logging;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides how long the log flusher waits for more log records before forcing the log tail, so that the commits of
+ * concurrent transactions share one fsync, and keeps the group commit statistics.
+ * <p>
+ * With a fixed wait, the flusher always waits up to the configured maximum. With an adaptive wait, the flusher
+ * only waits when the previous fsync covered more than one commit, and at most for the observed fsync latency.
+ */
+final class GroupCommitController {
+
+    // weight of the latest fsync in the moving average of the fsync latency
+    private static final double FSYNC_LATENCY_WEIGHT = 0.2;
+
+    private final long maxWaitNanos;
+    private final boolean adaptive;
+    private volatile long avgFsyncNanos;
+    private volatile int lastFsyncCommits;
+    private final AtomicLong fsyncCount = new AtomicLong();
+    private final AtomicLong fsyncNanos = new AtomicLong();
+    private final AtomicLong flushedCommitCount = new AtomicLong();
+    private final AtomicLong commitWaitCount = new AtomicLong();
+    private final AtomicLong commitWaitNanos = new AtomicLong();
+
+    GroupCommitController(long maxWaitMicros, boolean adaptive) {
+        this.maxWaitNanos = TimeUnit.MICROSECONDS.toNanos(maxWaitMicros);
+        this.adaptive = adaptive;
+    }
+
+    /**
+     * @return the time (in nanoseconds) to wait for more log records before forcing pending log records
+     */
+    long getFlushWaitNanos() {
+        if (maxWaitNanos == 0 || !adaptive) {
+            return maxWaitNanos;
+        }
+        return lastFsyncCommits > 1 ? Math.min(maxWaitNanos, avgFsyncNanos) : 0;
+    }
+
+    /**
+     * Called by the log flusher after each fsync of the log tail.
+     */
+    void flushed(long fsyncTimeNanos, int commits) {
+        avgFsyncNanos = avgFsyncNanos == 0 ? fsyncTimeNanos
+                : (long) (FSYNC_LATENCY_WEIGHT * fsyncTimeNanos + (1 - FSYNC_LATENCY_WEIGHT) * avgFsyncNanos);
+        lastFsyncCommits = commits;
+        fsyncCount.incrementAndGet();
+        fsyncNanos.addAndGet(fsyncTimeNanos);
+        flushedCommitCount.addAndGet(commits);
+    }
+
+    /**
+     * Called by a committing transaction after its commit log record became durable.
+     */
+    void commitWaited(long waitTimeNanos) {
+        commitWaitCount.incrementAndGet();
+        commitWaitNanos.addAndGet(waitTimeNanos);
+    }
+
+    long getFsyncCount() {
+        return fsyncCount.get();
+    }
+
+    double getCommitsPerFsync() {
+        long fsyncs = fsyncCount.get();
+        return fsyncs == 0 ? 0 : (double) flushedCommitCount.get() / fsyncs;
+    }
+
+    long getAvgCommitWaitMicros() {
+        long commits = commitWaitCount.get();
+        return commits == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(commitWaitNanos.get() / commits);
+    }
+
+    StringBuilder append(StringBuilder sb) {
+        long fsyncs = fsyncCount.get();
+        sb.append("{ maxWaitMicros : ").append(TimeUnit.NANOSECONDS.toMicros(maxWaitNanos)).append(", adaptive : ")
+                .append(adaptive).append(", fsyncs : ").append(fsyncs).append(", avgFsyncMicros : ")
+                .append(fsyncs == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(fsyncNanos.get() / fsyncs))
+                .append(", commitsPerFsync : ").append(String.format("%.2f", getCommitsPerFsync()))
+                .append(", avgCommitWaitMicros : ").append(getAvgCommitWaitMicros()).append(" }");
+        return sb;
+    }
+
+    @Override
+    public String toString() {
+        return append(new StringBuilder()).toString();
+    }
+}
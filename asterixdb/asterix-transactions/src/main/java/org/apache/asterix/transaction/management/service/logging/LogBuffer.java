@@ -21,6 +21,7 @@ package org.apache.asterix.transaction.management.service.logging;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.asterix.common.context.PrimaryIndexOperationTracker;
@@ -50,6 +51,7 @@ public class LogBuffer implements ILogBuffer {
     private final LogBufferTailReader logBufferTailReader;
     private final int logPageSize;
     private final MutableLong flushLSN;
+    private final GroupCommitController groupCommit;
     private final AtomicBoolean full;
     protected int appendOffset;
     private int flushOffset;
@@ -64,10 +66,12 @@ public class LogBuffer implements ILogBuffer {
     private final MutableTxnId reusableTxnId;
     private final DatasetId reusableDatasetId;
 
-    public LogBuffer(ITransactionSubsystem txnSubsystem, int logPageSize, MutableLong flushLSN) {
+    public LogBuffer(ITransactionSubsystem txnSubsystem, int logPageSize, MutableLong flushLSN,
+            GroupCommitController groupCommit) {
         this.txnSubsystem = txnSubsystem;
         this.logPageSize = logPageSize;
         this.flushLSN = flushLSN;
+        this.groupCommit = groupCommit;
         appendBuffer = ByteBuffer.allocate(logPageSize);
         flushBuffer = appendBuffer.duplicate();
         unlockBuffer = appendBuffer.duplicate();
@@ -176,6 +180,9 @@ public class LogBuffer implements ILogBuffer {
                             }
                             wait();
                         }
+                        if (appendOffset > flushOffset && !stopping) {
+                            waitForGroupCommit();
+                        }
                         endOffset = appendOffset;
                     }
                     internalFlush(flushOffset, endOffset);
@@ -191,12 +198,32 @@ public class LogBuffer implements ILogBuffer {
         }
     }
 
+    /**
+     * Gives concurrent transactions the chance to append their commits before the pending log records are forced,
+     * so that they share one fsync.
+     */
+    private void waitForGroupCommit() throws InterruptedException {
+        final long waitNanos = groupCommit.getFlushWaitNanos();
+        if (waitNanos <= 0) {
+            return;
+        }
+        final long deadline = System.nanoTime() + waitNanos;
+        long remaining = waitNanos;
+        // appends notify this buffer, so keep waiting until the deadline unless the page is full
+        while (remaining > 0 && !full.get() && !stop) {
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            remaining = deadline - System.nanoTime();
+        }
+    }
+
     private void internalFlush(int beginOffset, int endOffset) {
         try {
             if (endOffset > beginOffset) {
                 flushBuffer.limit(endOffset);
                 fileChannel.write(flushBuffer);
+                final long fsyncStart = System.nanoTime();
                 fileChannel.force(false);
+                final long fsyncTime = System.nanoTime() - fsyncStart;
                 flushOffset = endOffset;
                 synchronized (flushLSN) {
                     flushLSN.set(flushLSN.get() + (endOffset - beginOffset));
@@ -205,7 +232,8 @@ public class LogBuffer implements ILogBuffer {
                 if (IS_DEBUG_MODE) {
                     LOGGER.info("internalFlush()| flushOffset: " + flushOffset + ", flushLSN: " + flushLSN.get());
                 }
-                batchUnlock(beginOffset, endOffset);
+                int commits = batchUnlock(beginOffset, endOffset);
+                groupCommit.flushed(fsyncTime, commits);
             }
         } catch (Exception e) {
             throw new IllegalStateException(e);
@@ -216,7 +244,8 @@ public class LogBuffer implements ILogBuffer {
         return new LogBufferTailReader(unlockBuffer);
     }
 
-    private void batchUnlock(int beginOffset, int endOffset) throws ACIDException {
+    private int batchUnlock(int beginOffset, int endOffset) throws ACIDException {
+        int commits = 0;
         if (endOffset > beginOffset) {
             logBufferTailReader.initializeScan(beginOffset, endOffset);
             ITransactionContext txnCtx;
@@ -233,8 +262,12 @@ public class LogBuffer implements ILogBuffer {
                         if (txnSubsystem.getTransactionProperties().isCommitProfilerEnabled()) {
                             txnSubsystem.incrementEntityCommitCount();
                         }
+                        commits++;
                     } else if (logRecord.getLogType() == LogType.JOB_COMMIT
                             || logRecord.getLogType() == LogType.ABORT) {
+                        if (logRecord.getLogType() == LogType.JOB_COMMIT) {
+                            commits++;
+                        }
                         notifyJobTermination();
                     } else if (logRecord.getLogType() == LogType.FLUSH) {
                         notifyFlushTermination();
@@ -249,6 +282,7 @@ public class LogBuffer implements ILogBuffer {
                 logRecord = logBufferTailReader.next();
             }
         }
+        return commits;
     }
 
     public void notifyJobTermination() {
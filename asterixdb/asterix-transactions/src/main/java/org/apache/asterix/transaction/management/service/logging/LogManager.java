@@ -31,6 +31,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
@@ -69,6 +70,9 @@ public class LogManager implements ILogManager, ILifeCycleComponent {
     private final LogManagerProperties logManagerProperties;
     private final int numLogPages;
     private final String logDir;
+    private final String[] logStripeDirs;
+    private final int logStripeSize;
+    private final Executor stripeIoExecutor;
     private final String logFilePrefix;
     private final MutableLong flushLSN;
     private final String nodeId;
@@ -76,6 +80,7 @@ public class LogManager implements ILogManager, ILifeCycleComponent {
     private final int logPageSize;
     private final AtomicLong appendLSN;
     private final long maxLogRecordSize;
+    private final GroupCommitController groupCommitController;
 
     private LinkedBlockingQueue<ILogBuffer> emptyQ;
     private LinkedBlockingQueue<ILogBuffer> flushQ;
@@ -96,10 +101,19 @@ public class LogManager implements ILogManager, ILifeCycleComponent {
         logPageSize = logManagerProperties.getLogPageSize();
         numLogPages = logManagerProperties.getNumLogPages();
         logDir = logManagerProperties.getLogDir();
+        // the log directory holds the first stripe of every log file
+        String[] stripeDirs = logManagerProperties.getLogStripeDirs();
+        logStripeDirs = new String[stripeDirs.length + 1];
+        logStripeDirs[0] = logDir;
+        System.arraycopy(stripeDirs, 0, logStripeDirs, 1, stripeDirs.length);
+        logStripeSize = logManagerProperties.getLogStripeSize();
+        stripeIoExecutor = txnSubsystem.getApplicationContext().getThreadExecutor();
         logFilePrefix = logManagerProperties.getLogFilePrefix();
         flushLSN = new MutableLong();
         appendLSN = new AtomicLong();
         nodeId = txnSubsystem.getId();
+        groupCommitController = new GroupCommitController(logManagerProperties.getGroupCommitMaxWait(),
+                logManagerProperties.isGroupCommitAdaptive());
         flushLogsQ = new LinkedBlockingQueue<>();
         txnSubsystem.getApplicationContext().getThreadExecutor().execute(new FlushLogsLogger());
         final long onDiskMaxLogFileId = getOnDiskMaxLogFileId();
@@ -111,7 +125,7 @@ public class LogManager implements ILogManager, ILifeCycleComponent {
         flushQ = new LinkedBlockingQueue<>(numLogPages);
         stashQ = new LinkedBlockingQueue<>(numLogPages);
         for (int i = 0; i < numLogPages; i++) {
-            emptyQ.add(new LogBuffer(txnSubsystem, logPageSize, flushLSN));
+            emptyQ.add(new LogBuffer(txnSubsystem, logPageSize, flushLSN, groupCommitController));
         }
         appendLSN.set(initializeLogAnchor(nextLogFileId));
         flushLSN.set(appendLSN.get());
@@ -159,6 +173,7 @@ public class LogManager implements ILogManager, ILifeCycleComponent {
 
     @SuppressWarnings("squid:S2445")
     protected void appendToLogTail(ILogRecord logRecord) {
+        final long appendTime = System.nanoTime();
         syncAppendToLogTail(logRecord);
         if (waitForFlush(logRecord) && !logRecord.isFlushed()) {
             InvokeUtil.doUninterruptibly(() -> {
@@ -169,6 +184,13 @@ public class LogManager implements ILogManager, ILifeCycleComponent {
                 }
             });
         }
+        commitFlushed(logRecord, appendTime);
+    }
+
+    protected void commitFlushed(ILogRecord logRecord, long appendTime) {
+        if (logRecord.getLogType() == LogType.JOB_COMMIT && logRecord.getLogSource() == LogSource.LOCAL) {
+            groupCommitController.commitWaited(System.nanoTime() - appendTime);
+        }
     }
 
     protected static boolean waitForFlush(ILogRecord logRecord) {
@@ -232,7 +254,7 @@ public class LogManager implements ILogManager, ILifeCycleComponent {
         if (largePage) {
             // for now, alloc a new buffer for each large page
             // TODO: pool large pages??
-            appendPage = new LogBuffer(txnSubsystem, logSize, flushLSN);
+            appendPage = new LogBuffer(txnSubsystem, logSize, flushLSN, groupCommitController);
         } else {
             appendPage.reset();
         }
@@ -332,6 +354,9 @@ public class LogManager implements ILogManager, ILifeCycleComponent {
 
         // #. dump LSNInfo
         dumpLSNInfo(os);
+
+        // #. dump GroupCommitInfo
+        dumpGroupCommitInfo(os);
     }
 
     private void dumpConfVars(OutputStream os) {
@@ -365,11 +390,29 @@ public class LogManager implements ILogManager, ILifeCycleComponent {
         }
     }
 
+    private void dumpGroupCommitInfo(OutputStream os) {
+        try {
+            StringBuilder sb = new StringBuilder();
+            sb.append("\n>>dump_begin\t>>----- [GroupCommitInfo] -----\n");
+            groupCommitController.append(sb);
+            sb.append("\n>>dump_end\t>>----- [GroupCommitInfo] -----\n");
+            os.write(sb.toString().getBytes());
+        } catch (Exception e) {
+            // ignore exception and continue dumping as much as possible.
+            if (IS_DEBUG_MODE) {
+                e.printStackTrace();
+            }
+        }
+    }
+
     private long initializeLogAnchor(long fileId) {
-        final String logFilePath = getLogFilePath(fileId);
-        createFileIfNotExists(logFilePath);
-        final File logFile = new File(logFilePath);
-        long offset = logFile.length();
+        createLogFileIfNotExists(fileId);
+        long offset;
+        try (FileChannel logFile = openLogFile(fileId, "r")) {
+            offset = logFile.size();
+        } catch (IOException e) {
+            throw new ACIDException(e);
+        }
         if (LOGGER.isInfoEnabled()) {
             LOGGER.info("initializing log anchor with log file Id: {} at offset: {}", fileId, offset);
         }
@@ -381,7 +424,7 @@ public class LogManager implements ILogManager, ILifeCycleComponent {
         terminateLogFlusher();
         closeCurrentLogFile();
         long nextLogFileId = getNextLogFileId();
-        createFileIfNotExists(getLogFilePath(nextLogFileId));
+        createLogFileIfNotExists(nextLogFileId);
         final long logFileFirstLsn = getLogFileFirstLsn(nextLogFileId);
         deleteOldLogFiles(logFileFirstLsn);
         initializeLogManager(nextLogFileId);
@@ -409,10 +452,12 @@ public class LogManager implements ILogManager, ILifeCycleComponent {
                     break;
                 }
                 //delete old log file
-                File file = new File(getLogFilePath(id));
-                file.delete();
-                if (LOGGER.isInfoEnabled()) {
-                    LOGGER.info("Deleted log file " + file.getAbsolutePath());
+                for (String stripeDir : logStripeDirs) {
+                    File file = new File(getLogFilePath(stripeDir, id));
+                    file.delete();
+                    if (LOGGER.isInfoEnabled()) {
+                        LOGGER.info("Deleted log file " + file.getAbsolutePath());
+                    }
                 }
             }
         }
@@ -466,7 +511,38 @@ public class LogManager implements ILogManager, ILifeCycleComponent {
     }
 
     private String getLogFilePath(long fileId) {
-        return logDir + File.separator + logFilePrefix + "_" + fileId;
+        return getLogFilePath(logDir, fileId);
+    }
+
+    private String getLogFilePath(String dir, long fileId) {
+        return dir + File.separator + logFilePrefix + "_" + fileId;
+    }
+
+    private void createLogFileIfNotExists(long fileId) {
+        for (String stripeDir : logStripeDirs) {
+            createFileIfNotExists(getLogFilePath(stripeDir, fileId));
+        }
+    }
+
+    private FileChannel openLogFile(long fileId, String mode) throws IOException {
+        if (logStripeDirs.length == 1) {
+            return new RandomAccessFile(getLogFilePath(fileId), mode).getChannel(); // NOSONAR closed with channel
+        }
+        final FileChannel[] stripes = new FileChannel[logStripeDirs.length];
+        try {
+            for (int i = 0; i < logStripeDirs.length; i++) {
+                final String stripePath = getLogFilePath(logStripeDirs[i], fileId);
+                stripes[i] = new RandomAccessFile(stripePath, mode).getChannel(); // NOSONAR closed with channel
+            }
+        } catch (IOException e) {
+            for (FileChannel stripe : stripes) {
+                if (stripe != null) {
+                    stripe.close();
+                }
+            }
+            throw e;
+        }
+        return new StripedLogFileChannel(stripes, logStripeSize, stripeIoExecutor);
     }
 
     private long getLogFileOffset(long lsn) {
@@ -497,20 +573,24 @@ public class LogManager implements ILogManager, ILifeCycleComponent {
     private void createNextLogFile() throws IOException {
         final long nextFileBeginLsn = getNextFileFirstLsn();
         final long fileId = getLogFileId(nextFileBeginLsn);
-        final Path nextFilePath = Paths.get(getLogFilePath(fileId));
-        if (nextFilePath.toFile().exists()) {
-            LOGGER.warn("Ignored create log file {} since file already exists", nextFilePath.toString());
-            return;
+        for (String stripeDir : logStripeDirs) {
+            final Path nextFilePath = Paths.get(getLogFilePath(stripeDir, fileId));
+            if (nextFilePath.toFile().exists()) {
+                LOGGER.warn("Ignored create log file {} since file already exists", nextFilePath.toString());
+                continue;
+            }
+            Files.createFile(nextFilePath);
         }
-        Files.createFile(nextFilePath);
     }
 
     private void setLogPosition(long lsn) throws IOException {
         final long fileId = getLogFileId(lsn);
-        final Path targetFilePath = Paths.get(getLogFilePath(fileId));
         final long targetPosition = getLogFileOffset(lsn);
-        final RandomAccessFile raf = new RandomAccessFile(targetFilePath.toFile(), "rw"); // NOSONAR closed when full
-        appendChannel = raf.getChannel();
+        appendChannel = openLogFile(fileId, "rw"); // NOSONAR closed when full
+        if (appendChannel instanceof StripedLogFileChannel) {
+            // drop the units that a crash left after the valid prefix, before new writes can fill the hole
+            appendChannel.truncate(targetPosition);
+        }
         appendChannel.position(targetPosition);
         currentLogFileId = fileId;
     }
@@ -565,8 +645,7 @@ public class LogManager implements ILogManager, ILifeCycleComponent {
         if (!file.exists()) {
             throw new IOException("Log file with id(" + fileId + ") was not found. Requested LSN: " + LSN);
         }
-        RandomAccessFile raf = new RandomAccessFile(new File(logFilePath), "r");
-        FileChannel newFileChannel = raf.getChannel();
+        FileChannel newFileChannel = openLogFile(fileId, "r");
         TxnLogFile logFile = new TxnLogFile(this, newFileChannel, fileId, fileId * logFileSize);
         return logFile;
     }
@@ -619,7 +698,7 @@ public class LogManager implements ILogManager, ILifeCycleComponent {
 
 class LogFlusher implements Callable<Boolean> {
     private static final Logger LOGGER = org.apache.logging.log4j.LogManager.getLogger();
-    private static final ILogBuffer POISON_PILL = new LogBuffer(null, LogConstants.JOB_TERMINATE_LOG_SIZE, null);
+    private static final ILogBuffer POISON_PILL = new LogBuffer(null, LogConstants.JOB_TERMINATE_LOG_SIZE, null, null);
     private final LogManager logMgr;//for debugging
     private final LinkedBlockingQueue<ILogBuffer> emptyQ;
     private final LinkedBlockingQueue<ILogBuffer> flushQ;
@@ -59,6 +59,7 @@ public class LogManagerWithReplication extends LogManager {
                 case LogType.UPDATE:
                 case LogType.FLUSH:
                 case LogType.FILTER:
+                case LogType.RANGE_DELETE:
                     shouldReplicate = replicationStrategy.isMatch(logRecord.getDatasetId());
                     if (shouldReplicate) {
                         replicatedTxn.add(logRecord.getTxnId());
@@ -81,6 +82,7 @@ public class LogManagerWithReplication extends LogManager {
     @SuppressWarnings("squid:S2445")
     @Override
     protected void appendToLogTail(ILogRecord logRecord) {
+        final long appendTime = System.nanoTime();
         syncAppendToLogTail(logRecord);
 
         if (logRecord.isReplicate()) {
@@ -118,6 +120,7 @@ public class LogManagerWithReplication extends LogManager {
                 }
             });
         }
+        commitFlushed(logRecord, appendTime);
     }
 
     @Override
@@ -0,0 +1,370 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.transaction.management.service.logging;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+/**
+ * A transaction log file that is striped across several files, one per log directory. The log file is divided
+ * into units of {@code stripeSize} bytes that are assigned to the stripe files round-robin. A write that covers
+ * several stripe files, and the force that follows it, is performed on all of them in parallel.
+ * <p>
+ * Mapping and locking are not supported, as they need a single underlying file.
+ */
+class StripedLogFileChannel extends FileChannel {
+
+    private final FileChannel[] stripes;
+    private final int stripeSize;
+    private final Executor executor;
+    private final boolean[] dirty;
+    private long position;
+
+    StripedLogFileChannel(FileChannel[] stripes, int stripeSize, Executor executor) {
+        this.stripes = stripes;
+        this.stripeSize = stripeSize;
+        this.executor = executor;
+        this.dirty = new boolean[stripes.length];
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        int read = read(dst, position);
+        if (read > 0) {
+            position += read;
+        }
+        return read;
+    }
+
+    @Override
+    public int read(ByteBuffer dst, long position) throws IOException {
+        final long size = size();
+        if (position >= size) {
+            return -1;
+        }
+        int total = 0;
+        long offset = position;
+        while (dst.hasRemaining() && offset < size) {
+            int length = (int) Math.min(Math.min(dst.remaining(), stripeSize - offset % stripeSize), size - offset);
+            ByteBuffer segment = slice(dst, length);
+            int read = stripes[getStripe(offset)].read(segment, getStripeOffset(offset));
+            if (read <= 0) {
+                break;
+            }
+            dst.position(dst.position() + read);
+            offset += read;
+            total += read;
+        }
+        return total;
+    }
+
+    @Override
+    public int write(ByteBuffer src) throws IOException {
+        int written = write(src, position);
+        position += written;
+        return written;
+    }
+
+    @Override
+    public int write(ByteBuffer src, long position) throws IOException {
+        final int length = src.remaining();
+        final List<List<Segment>> stripeSegments = new ArrayList<>(stripes.length);
+        for (int i = 0; i < stripes.length; i++) {
+            stripeSegments.add(new ArrayList<>());
+        }
+        long offset = position;
+        while (src.hasRemaining()) {
+            int segmentLength = (int) Math.min(src.remaining(), stripeSize - offset % stripeSize);
+            int stripe = getStripe(offset);
+            stripeSegments.get(stripe).add(new Segment(slice(src, segmentLength), getStripeOffset(offset)));
+            src.position(src.position() + segmentLength);
+            offset += segmentLength;
+        }
+        List<Callable<Void>> writes = new ArrayList<>();
+        for (int i = 0; i < stripes.length; i++) {
+            final List<Segment> segments = stripeSegments.get(i);
+            if (!segments.isEmpty()) {
+                final FileChannel stripe = stripes[i];
+                dirty[i] = true;
+                writes.add(() -> {
+                    for (Segment segment : segments) {
+                        writeFully(stripe, segment.buffer, segment.offset);
+                    }
+                    return null;
+                });
+            }
+        }
+        runAll(writes);
+        return length;
+    }
+
+    @Override
+    public void force(boolean metaData) throws IOException {
+        List<Callable<Void>> forces = new ArrayList<>();
+        for (int i = 0; i < stripes.length; i++) {
+            if (dirty[i]) {
+                final FileChannel stripe = stripes[i];
+                dirty[i] = false;
+                forces.add(() -> {
+                    stripe.force(metaData);
+                    return null;
+                });
+            }
+        }
+        runAll(forces);
+    }
+
+    @Override
+    public long position() {
+        return position;
+    }
+
+    @Override
+    public FileChannel position(long newPosition) {
+        position = newPosition;
+        return this;
+    }
+
+    /**
+     * @return the size of the longest prefix of the log file that is fully present in the stripe files. Stripe
+     *         files are written in parallel, so after a crash, a stripe file may hold data that follows a hole.
+     */
+    @Override
+    public long size() throws IOException {
+        long firstIncompleteUnit = Long.MAX_VALUE;
+        long incompleteUnitSize = 0;
+        for (int i = 0; i < stripes.length; i++) {
+            long stripeFileSize = stripes[i].size();
+            long unit = (stripeFileSize / stripeSize) * stripes.length + i;
+            if (unit < firstIncompleteUnit) {
+                firstIncompleteUnit = unit;
+                incompleteUnitSize = stripeFileSize % stripeSize;
+            }
+        }
+        return firstIncompleteUnit * stripeSize + incompleteUnitSize;
+    }
+
+    @Override
+    protected void implCloseChannel() throws IOException {
+        IOException failure = null;
+        for (FileChannel stripe : stripes) {
+            try {
+                stripe.close();
+            } catch (IOException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    @Override
+    public long read(ByteBuffer[] dsts, int offset, int length) throws IOException {
+        long total = 0;
+        for (int i = offset; i < offset + length; i++) {
+            int read = read(dsts[i]);
+            if (read < 0) {
+                return total == 0 ? -1 : total;
+            }
+            total += read;
+            if (dsts[i].hasRemaining()) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+        long total = 0;
+        for (int i = offset; i < offset + length; i++) {
+            total += write(srcs[i]);
+        }
+        return total;
+    }
+
+    /**
+     * Truncates every stripe file to its part of the first {@code size} bytes of the log file and forces the
+     * truncation. After a crash, this removes the units that were written after a hole, so that they can not become
+     * part of the log once the hole is filled by new writes.
+     */
+    @Override
+    public FileChannel truncate(long size) throws IOException {
+        long fullUnits = size / stripeSize;
+        for (int i = 0; i < stripes.length; i++) {
+            long stripeUnits = fullUnits / stripes.length + (i < fullUnits % stripes.length ? 1 : 0);
+            long stripeFileSize = stripeUnits * stripeSize;
+            if (i == fullUnits % stripes.length) {
+                stripeFileSize += size % stripeSize;
+            }
+            if (stripes[i].size() > stripeFileSize) {
+                stripes[i].truncate(stripeFileSize);
+                stripes[i].force(true);
+            }
+        }
+        if (position > size) {
+            position = size;
+        }
+        return this;
+    }
+
+    @Override
+    public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(count, stripeSize));
+        long transferred = 0;
+        while (transferred < count) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), count - transferred));
+            if (read(buffer, position + transferred) <= 0) {
+                break;
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                transferred += target.write(buffer);
+            }
+        }
+        return transferred;
+    }
+
+    @Override
+    public long transferFrom(ReadableByteChannel src, long position, long count) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(count, stripeSize));
+        long transferred = 0;
+        while (transferred < count) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), count - transferred));
+            if (src.read(buffer) <= 0) {
+                break;
+            }
+            buffer.flip();
+            transferred += write(buffer, position + transferred);
+        }
+        return transferred;
+    }
+
+    @Override
+    public MappedByteBuffer map(MapMode mode, long position, long size) {
+        throw new UnsupportedOperationException("A striped log file can not be mapped into a single buffer");
+    }
+
+    @Override
+    public FileLock lock(long position, long size, boolean shared) {
+        throw new UnsupportedOperationException("A striped log file can not be locked as a single file");
+    }
+
+    @Override
+    public FileLock tryLock(long position, long size, boolean shared) {
+        throw new UnsupportedOperationException("A striped log file can not be locked as a single file");
+    }
+
+    private int getStripe(long offset) {
+        return (int) ((offset / stripeSize) % stripes.length);
+    }
+
+    private long getStripeOffset(long offset) {
+        return (offset / stripeSize / stripes.length) * stripeSize + offset % stripeSize;
+    }
+
+    private void runAll(List<Callable<Void>> tasks) throws IOException {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        // the first task runs on the calling thread, the others in parallel with it
+        List<FutureTask<Void>> futures = new ArrayList<>(tasks.size() - 1);
+        for (int i = 1; i < tasks.size(); i++) {
+            FutureTask<Void> future = new FutureTask<>(tasks.get(i));
+            executor.execute(future);
+            futures.add(future);
+        }
+        IOException failure = null;
+        try {
+            tasks.get(0).call();
+        } catch (IOException e) {
+            failure = e;
+        } catch (Exception e) {
+            failure = new IOException(e);
+        }
+        boolean interrupted = false;
+        for (FutureTask<Void> future : futures) {
+            while (true) {
+                try {
+                    future.get();
+                    break;
+                } catch (InterruptedException e) {
+                    // the stripe files must be in a known state before returning
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    IOException cause =
+                            e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e);
+                    if (failure == null) {
+                        failure = cause;
+                    } else {
+                        failure.addSuppressed(cause);
+                    }
+                    break;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static ByteBuffer slice(ByteBuffer buffer, int length) {
+        ByteBuffer slice = buffer.duplicate();
+        slice.limit(slice.position() + length);
+        return slice;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long offset) throws IOException {
+        long position = offset;
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private static class Segment {
+        private final ByteBuffer buffer;
+        private final long offset;
+
+        private Segment(ByteBuffer buffer, long offset) {
+            this.buffer = buffer;
+            this.offset = offset;
+        }
+    }
+}
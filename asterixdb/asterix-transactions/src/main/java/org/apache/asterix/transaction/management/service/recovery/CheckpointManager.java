@@ -18,10 +18,18 @@
  */
 package org.apache.asterix.transaction.management.service.recovery;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
 
 import org.apache.asterix.common.api.IDatasetLifecycleManager;
@@ -32,7 +40,12 @@ import org.apache.asterix.common.transactions.ICheckpointManager;
 import org.apache.asterix.common.transactions.ITransactionSubsystem;
 import org.apache.asterix.common.transactions.TxnId;
 import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.storage.am.lsm.common.api.ILSMDiskComponent;
+import org.apache.hyracks.storage.am.lsm.common.api.ILSMIOOperation;
+import org.apache.hyracks.storage.am.lsm.common.api.ILSMIOOperation.LSMIOOperationStatus;
 import org.apache.hyracks.storage.am.lsm.common.api.ILSMIndex;
+import org.apache.hyracks.storage.am.lsm.common.api.IoOperationCompleteListener;
+import org.apache.hyracks.storage.common.IIndex;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -46,12 +59,18 @@ public class CheckpointManager extends AbstractCheckpointManager {
     private static final long NO_SECURED_LSN = -1L;
     private final long datasetCheckpointIntervalNanos;
     private final Map<TxnId, Long> securedLSNs;
+    private final int fuzzyMaxFlushes;
+    private final IoOperationCompleteListener flushListener;
+    private final AtomicLong flushedBytes = new AtomicLong();
+    private volatile long checkpointLag;
     private int suspendCount = 0;
 
     public CheckpointManager(ITransactionSubsystem txnSubsystem, CheckpointProperties checkpointProperties) {
         super(txnSubsystem, checkpointProperties);
         datasetCheckpointIntervalNanos = TimeUnit.SECONDS.toNanos(checkpointProperties.getDatasetCheckpointInterval());
         securedLSNs = new HashMap<>();
+        fuzzyMaxFlushes = checkpointProperties.getFuzzyMaxFlushes();
+        flushListener = this::flushCompleted;
     }
 
     /**
@@ -74,6 +93,8 @@ public class CheckpointManager extends AbstractCheckpointManager {
      * If a checkpoint cannot be captured due to datasets having LSN < {@code checkpointTargetLSN},
      * an asynchronous flush is triggered on them. When a checkpoint is successful, all transaction
      * log files that end with LSN < {@code checkpointTargetLSN} are deleted.
+     * In fuzzy mode, only the partitions with the oldest LSNs are flushed and the log is truncated
+     * up to the current low-water mark on every attempt, so the checkpoint moves forward gradually.
      */
     @Override
     public synchronized long tryCheckpoint(long checkpointTargetLSN) throws HyracksDataException {
@@ -83,16 +104,21 @@ public class CheckpointManager extends AbstractCheckpointManager {
             return minSecuredLSN;
         }
         final long minFirstLSN = txnSubsystem.getRecoveryManager().getMinFirstLSN();
+        checkpointLag = txnSubsystem.getLogManager().getAppendLSN() - minFirstLSN;
         boolean checkpointSucceeded = minFirstLSN >= checkpointTargetLSN;
         if (!checkpointSucceeded && !isSuspended()) {
             // Flush datasets with indexes behind target checkpoint LSN
             final IDatasetLifecycleManager dlcm = txnSubsystem.getApplicationContext().getDatasetLifecycleManager();
-            dlcm.asyncFlushMatchingIndexes(newLaggingDatasetPredicate(checkpointTargetLSN));
+            flushLaggingPartitions(dlcm, checkpointTargetLSN);
         }
         capture(minFirstLSN, false);
         if (checkpointSucceeded) {
             txnSubsystem.getLogManager().deleteOldLogFiles(minFirstLSN);
             LOGGER.info(String.format("soft checkpoint succeeded at LSN(%s)", minFirstLSN));
+        } else if (fuzzyMaxFlushes > 0) {
+            // minFirstLSN is below any secured LSN, otherwise we would have returned above
+            txnSubsystem.getLogManager().deleteOldLogFiles(minFirstLSN);
+            LOGGER.info("fuzzy checkpoint advanced to LSN({}), lag {} bytes", minFirstLSN, checkpointLag);
         }
         return minFirstLSN;
     }
@@ -116,6 +142,22 @@ public class CheckpointManager extends AbstractCheckpointManager {
         dlcm.asyncFlushMatchingIndexes(newIdleDatasetPredicate());
     }
 
+    @Override
+    public long getCheckpointLag() {
+        return checkpointLag;
+    }
+
+    @Override
+    public long getCheckpointFlushedBytes() {
+        return flushedBytes.get();
+    }
+
+    @Override
+    public void dumpState(OutputStream os) throws IOException {
+        os.write(("checkpoint lag: " + checkpointLag + ", checkpoint flushed bytes: " + flushedBytes.get() + "\n")
+                .getBytes());
+    }
+
     private synchronized boolean isSuspended() {
         return suspendCount != 0;
     }
@@ -146,6 +188,47 @@ public class CheckpointManager extends AbstractCheckpointManager {
         };
     }
 
+    /**
+     * Flushes the partitions with primary indexes behind {@code checkpointTargetLSN}. In fuzzy mode, at most
+     * {@link #fuzzyMaxFlushes} partitions are flushed, starting from the one with the oldest persistence LSN.
+     */
+    private void flushLaggingPartitions(IDatasetLifecycleManager dlcm, long checkpointTargetLSN)
+            throws HyracksDataException {
+        final Predicate<ILSMIndex> lagging = newLaggingDatasetPredicate(checkpointTargetLSN);
+        final List<ILSMIndex> laggingPrimaryIndexes = new ArrayList<>();
+        for (IIndex index : dlcm.getOpenResources()) {
+            final ILSMIndex lsmIndex = (ILSMIndex) index;
+            if (lsmIndex.isPrimaryIndex() && !lsmIndex.isCurrentMutableComponentEmpty() && lagging.test(lsmIndex)) {
+                laggingPrimaryIndexes.add(lsmIndex);
+            }
+        }
+        if (fuzzyMaxFlushes > 0 && laggingPrimaryIndexes.size() > fuzzyMaxFlushes) {
+            laggingPrimaryIndexes.sort(Comparator.comparingLong(CheckpointManager::getPersistenceLsn));
+            laggingPrimaryIndexes.subList(fuzzyMaxFlushes, laggingPrimaryIndexes.size()).clear();
+        }
+        final Set<ILSMIndex> toFlush = new HashSet<>(laggingPrimaryIndexes);
+        // the predicate is only tested on indexes that need a flush, and a flush of the partition is requested
+        // when it holds, so only the flushes requested by this checkpoint are tracked
+        dlcm.asyncFlushMatchingIndexes(lsmIndex -> {
+            if (!toFlush.contains(lsmIndex)) {
+                return false;
+            }
+            ((PrimaryIndexOperationTracker) lsmIndex.getOperationTracker()).addNextFlushListener(flushListener);
+            return true;
+        });
+    }
+
+    private void flushCompleted(ILSMIOOperation flush) {
+        final ILSMDiskComponent component = flush.getNewComponent();
+        if (flush.getStatus() == LSMIOOperationStatus.SUCCESS && component != null) {
+            flushedBytes.addAndGet(component.getComponentSize());
+        }
+    }
+
+    private static long getPersistenceLsn(ILSMIndex lsmIndex) {
+        return ((LSMIOOperationCallback) lsmIndex.getIOOperationCallback()).getPersistenceLsn();
+    }
+
     private Predicate<ILSMIndex> newLaggingDatasetPredicate(long checkpointTargetLSN) {
         return lsmIndex -> {
             final LSMIOOperationCallback ioCallback = (LSMIOOperationCallback) lsmIndex.getIOOperationCallback();
@@ -120,4 +120,9 @@ public class AtomicTransactionContext extends AbstractTransactionContext {
     public boolean hasWAL() {
         return true;
     }
+
+    @Override
+    public boolean isEntityLevel() {
+        return false;
+    }
 }
@@ -118,4 +118,9 @@ public class EntityLevelTransactionContext extends AbstractTransactionContext {
     public boolean hasWAL() {
         return true;
     }
+
+    @Override
+    public boolean isEntityLevel() {
+        return true;
+    }
 }
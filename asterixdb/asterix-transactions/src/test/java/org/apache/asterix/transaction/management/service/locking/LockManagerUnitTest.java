@@ -39,6 +39,7 @@ import org.apache.asterix.common.transactions.TxnId;
 import org.apache.asterix.transaction.management.service.locking.Request.Kind;
 import org.apache.asterix.transaction.management.service.transaction.TransactionManagementConstants.LockManagerConstants.LockMode;
 import org.junit.After;
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -47,6 +48,7 @@ public class LockManagerUnitTest {
     public static int LOCK_MGR_SHRINK_TIMER = 5000;
     public static int LOCK_MGR_ARENAS = 2;
     public static int LOCK_MGR_TABLE_SIZE = 10;
+    public static int LOCK_MGR_ESCALATION_THRESHOLD = 2;
 
     static int INITIAL_TIMESTAMP = 0;
     static long COORDINATOR_SLEEP = 20;
@@ -66,7 +68,8 @@ public class LockManagerUnitTest {
     @Before
     public void setUp() throws Exception {
         jobId2TxnCtxMap = new HashMap<>();
-        lockMgr = new ConcurrentLockManager(LOCK_MGR_SHRINK_TIMER, LOCK_MGR_ARENAS, LOCK_MGR_TABLE_SIZE);
+        lockMgr = new ConcurrentLockManager(LOCK_MGR_SHRINK_TIMER, LOCK_MGR_ARENAS, LOCK_MGR_TABLE_SIZE,
+                LOCK_MGR_ESCALATION_THRESHOLD);
     }
 
     @After
@@ -143,6 +146,119 @@ public class LockManagerUnitTest {
         expectError(execute(reqs), j(1), IllegalStateException.class);
     }
 
+    @Test
+    public void testIntentionLockBlocksDatasetLock() throws Exception {
+        List<Request> reqs = new ArrayList<>();
+        reqs.add(req(Kind.LOCK, j(1), d(1), e(1), LockMode.X));
+        reqs.add(req(Kind.LOCK, j(2), d(1), e(-1), LockMode.S));
+        expectError(execute(reqs), j(2), ACIDException.class);
+    }
+
+    @Test
+    public void testIntentionLocksAreCompatible() throws Exception {
+        List<Request> reqs = new ArrayList<>();
+        reqs.add(req(Kind.LOCK, j(1), d(1), e(1), LockMode.X));
+        reqs.add(req(Kind.LOCK, j(2), d(1), e(2), LockMode.X));
+        reqs.add(req(Kind.LOCK, j(3), d(1), e(3), LockMode.S));
+        reqs.add(req(Kind.RELEASE, j(1)));
+        reqs.add(req(Kind.RELEASE, j(2)));
+        reqs.add(req(Kind.RELEASE, j(3)));
+        reportErrors(execute(reqs));
+    }
+
+    @Test
+    public void testEscalation() throws Exception {
+        List<Request> reqs = new ArrayList<>();
+        reqs.add(req(Kind.LOCK, j(1), d(1), e(1), LockMode.X));
+        reqs.add(req(Kind.LOCK, j(1), d(1), e(2), LockMode.X));
+        // the entity locks are covered by the dataset lock from now on
+        reqs.add(req(Kind.UNLOCK, j(1), d(1), e(1), LockMode.X));
+        reqs.add(req(Kind.LOCK, j(1), d(1), e(3), LockMode.X));
+        reqs.add(req(Kind.LOCK, j(2), d(1), e(4), LockMode.S));
+        Map<String, Throwable> errors = execute(reqs);
+        Assert.assertNull(getError(errors, j(1)));
+        expectError(errors, j(2), ACIDException.class);
+    }
+
+    @Test
+    public void testEscalationDoesNotWait() throws Exception {
+        List<Request> reqs = new ArrayList<>();
+        reqs.add(req(Kind.LOCK, j(2), d(1), e(9), LockMode.X));
+        reqs.add(req(Kind.LOCK, j(1), d(1), e(1), LockMode.X));
+        reqs.add(req(Kind.LOCK, j(1), d(1), e(2), LockMode.X));
+        // j(2) holds an intention lock, so j(1) keeps its entity locks
+        reqs.add(req(Kind.UNLOCK, j(1), d(1), e(1), LockMode.X));
+        reqs.add(req(Kind.RELEASE, j(1)));
+        reqs.add(req(Kind.RELEASE, j(2)));
+        reportErrors(execute(reqs));
+    }
+
+    @Test
+    public void testEscalationCountsHeldLocks() throws Exception {
+        List<Request> reqs = new ArrayList<>();
+        reqs.add(req(Kind.LOCK, j(1), d(1), e(1), LockMode.X));
+        reqs.add(req(Kind.UNLOCK, j(1), d(1), e(1), LockMode.X));
+        reqs.add(req(Kind.LOCK, j(1), d(1), e(2), LockMode.X));
+        reqs.add(req(Kind.UNLOCK, j(1), d(1), e(2), LockMode.X));
+        reqs.add(req(Kind.LOCK, j(1), d(1), e(3), LockMode.X));
+        // j(1) never holds more than one exclusive entity lock, so it does not escalate
+        reqs.add(req(Kind.LOCK, j(2), d(1), e(4), LockMode.S));
+        reqs.add(req(Kind.RELEASE, j(1)));
+        reqs.add(req(Kind.RELEASE, j(2)));
+        reportErrors(execute(reqs));
+    }
+
+    @Test
+    public void testEntityLevelJobDoesNotEscalate() throws Exception {
+        List<Request> reqs = new ArrayList<>();
+        reqs.add(req(Kind.LOCK, el(1), d(1), e(1), LockMode.X));
+        reqs.add(req(Kind.LOCK, el(1), d(1), e(2), LockMode.X));
+        reqs.add(req(Kind.LOCK, el(1), d(1), e(3), LockMode.X));
+        reqs.add(req(Kind.LOCK, j(2), d(1), e(4), LockMode.S));
+        reqs.add(req(Kind.RELEASE, el(1)));
+        reqs.add(req(Kind.RELEASE, j(2)));
+        reportErrors(execute(reqs));
+    }
+
+    @Test
+    public void testEntityLevelJobDoesNotBlockDatasetLock() throws Exception {
+        List<Request> reqs = new ArrayList<>();
+        reqs.add(req(Kind.LOCK, el(1), d(1), e(1), LockMode.X));
+        // entity commit
+        reqs.add(req(Kind.UNLOCK, el(1), d(1), e(1), LockMode.X));
+        reqs.add(req(Kind.LOCK, j(2), d(1), e(-1), LockMode.S));
+        reqs.add(req(Kind.RELEASE, j(2)));
+        reqs.add(req(Kind.RELEASE, el(1)));
+        reportErrors(execute(reqs));
+    }
+
+    @Test
+    public void testEntityLevelLocksPreventEscalation() throws Exception {
+        List<Request> reqs = new ArrayList<>();
+        reqs.add(req(Kind.LOCK, el(3), d(1), e(9), LockMode.X));
+        reqs.add(req(Kind.LOCK, j(1), d(1), e(1), LockMode.X));
+        reqs.add(req(Kind.LOCK, j(1), d(1), e(2), LockMode.X));
+        // el(3) holds an entity lock on d(1), so j(1) keeps its entity locks
+        reqs.add(req(Kind.LOCK, j(2), d(1), e(4), LockMode.S));
+        reqs.add(req(Kind.RELEASE, j(1)));
+        reqs.add(req(Kind.RELEASE, j(2)));
+        reqs.add(req(Kind.RELEASE, el(3)));
+        reportErrors(execute(reqs));
+    }
+
+    @Test
+    public void testEscalationAfterEntityLevelLocksAreReleased() throws Exception {
+        List<Request> reqs = new ArrayList<>();
+        reqs.add(req(Kind.LOCK, el(3), d(1), e(9), LockMode.X));
+        reqs.add(req(Kind.UNLOCK, el(3), d(1), e(9), LockMode.X));
+        reqs.add(req(Kind.LOCK, j(1), d(1), e(1), LockMode.X));
+        reqs.add(req(Kind.LOCK, j(1), d(1), e(2), LockMode.X));
+        reqs.add(req(Kind.LOCK, j(2), d(1), e(4), LockMode.S));
+        Map<String, Throwable> errors = execute(reqs);
+        Assert.assertNull(getError(errors, j(1)));
+        expectError(errors, j(2), ACIDException.class);
+    }
+
     //--------------------------------------------------------------------
     // Helper methods
     //--------------------------------------------------------------------
@@ -354,4 +470,10 @@ public class LockManagerUnitTest {
         }
         return jobId2TxnCtxMap.get(jId);
     }
+
+    private ITransactionContext el(int jId) {
+        ITransactionContext txnCtx = j(jId);
+        when(txnCtx.isEntityLevel()).thenReturn(true);
+        return txnCtx;
+    }
 }
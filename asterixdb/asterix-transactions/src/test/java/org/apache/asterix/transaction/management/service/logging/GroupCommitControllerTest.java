@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.transaction.management.service.logging;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GroupCommitControllerTest {
+
+    @Test
+    public void fixedWaitTest() {
+        GroupCommitController controller = new GroupCommitController(500, false);
+        Assert.assertEquals(TimeUnit.MICROSECONDS.toNanos(500), controller.getFlushWaitNanos());
+        controller.flushed(TimeUnit.MICROSECONDS.toNanos(100), 1);
+        Assert.assertEquals(TimeUnit.MICROSECONDS.toNanos(500), controller.getFlushWaitNanos());
+        Assert.assertEquals(0, new GroupCommitController(0, true).getFlushWaitNanos());
+    }
+
+    @Test
+    public void adaptiveWaitTest() {
+        GroupCommitController controller = new GroupCommitController(500, true);
+        // no concurrent commits were observed yet
+        Assert.assertEquals(0, controller.getFlushWaitNanos());
+        controller.flushed(TimeUnit.MICROSECONDS.toNanos(100), 4);
+        Assert.assertEquals(TimeUnit.MICROSECONDS.toNanos(100), controller.getFlushWaitNanos());
+        // the wait is capped by the configured maximum
+        for (int i = 0; i < 50; i++) {
+            controller.flushed(TimeUnit.MILLISECONDS.toNanos(5), 2);
+        }
+        Assert.assertEquals(TimeUnit.MICROSECONDS.toNanos(500), controller.getFlushWaitNanos());
+        controller.flushed(TimeUnit.MICROSECONDS.toNanos(100), 1);
+        Assert.assertEquals(0, controller.getFlushWaitNanos());
+    }
+
+    @Test
+    public void statsTest() {
+        GroupCommitController controller = new GroupCommitController(0, false);
+        controller.flushed(1000, 3);
+        controller.flushed(1000, 5);
+        controller.commitWaited(TimeUnit.MICROSECONDS.toNanos(10));
+        controller.commitWaited(TimeUnit.MICROSECONDS.toNanos(30));
+        Assert.assertEquals(2, controller.getFsyncCount());
+        Assert.assertEquals(4.0, controller.getCommitsPerFsync(), 0.0);
+        Assert.assertEquals(20, controller.getAvgCommitWaitMicros());
+    }
+}
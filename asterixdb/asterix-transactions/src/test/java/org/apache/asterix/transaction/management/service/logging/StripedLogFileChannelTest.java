@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.asterix.transaction.management.service.logging;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class StripedLogFileChannelTest {
+
+    private static final int NUM_STRIPES = 3;
+    private static final int STRIPE_SIZE = 16;
+    private File dir;
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("striped_log").toFile();
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        executor.shutdownNow();
+        FileUtils.deleteDirectory(dir);
+    }
+
+    @Test
+    public void writeReadTest() throws IOException {
+        byte[] data = new byte[STRIPE_SIZE * NUM_STRIPES * 4 + 5];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+        try (FileChannel channel = open("rw")) {
+            // uneven writes that cross stripe boundaries
+            int offset = 0;
+            int length = 7;
+            while (offset < data.length) {
+                int writeLength = Math.min(length, data.length - offset);
+                channel.write(ByteBuffer.wrap(data, offset, writeLength));
+                channel.force(false);
+                offset += writeLength;
+                length += 11;
+            }
+            Assert.assertEquals(data.length, channel.size());
+        }
+        for (int i = 0; i < NUM_STRIPES; i++) {
+            Assert.assertTrue(getStripeFile(i).length() > 0);
+        }
+        try (FileChannel channel = open("r")) {
+            Assert.assertEquals(data.length, channel.size());
+            ByteBuffer readBuffer = ByteBuffer.allocate(data.length + 10);
+            channel.position(3);
+            int read = channel.read(readBuffer);
+            Assert.assertEquals(data.length - 3, read);
+            for (int i = 0; i < read; i++) {
+                Assert.assertEquals(data[i + 3], readBuffer.get(i));
+            }
+            Assert.assertEquals(-1, channel.read(ByteBuffer.allocate(1)));
+        }
+    }
+
+    @Test
+    public void sizeStopsAtHoleTest() throws IOException {
+        try (FileChannel channel = open("rw")) {
+            channel.write(ByteBuffer.allocate(STRIPE_SIZE + 4));
+        }
+        // simulate a crash where the third stripe was written but the second was not completed
+        try (RandomAccessFile stripe = new RandomAccessFile(getStripeFile(2), "rw")) {
+            stripe.setLength(STRIPE_SIZE);
+        }
+        try (FileChannel channel = open("r")) {
+            Assert.assertEquals(STRIPE_SIZE + 4, channel.size());
+        }
+    }
+
+    @Test
+    public void reopenTruncatesUnitsAfterHoleTest() throws IOException {
+        byte[] data = new byte[STRIPE_SIZE * NUM_STRIPES * 2];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i + 1);
+        }
+        try (FileChannel channel = open("rw")) {
+            channel.write(ByteBuffer.wrap(data, 0, STRIPE_SIZE + 4));
+        }
+        // simulate a crash where a partial unit reached the third stripe but the second unit was not completed
+        try (RandomAccessFile stripe = new RandomAccessFile(getStripeFile(2), "rw")) {
+            stripe.write(new byte[] { -1, -1, -1, -1, -1 });
+        }
+        // reopen as the log manager does on restart: truncate to the valid prefix, then append
+        try (FileChannel channel = open("rw")) {
+            long validSize = channel.size();
+            Assert.assertEquals(STRIPE_SIZE + 4, validSize);
+            channel.truncate(validSize);
+            Assert.assertEquals(0, getStripeFile(2).length());
+            channel.position(validSize);
+            channel.write(ByteBuffer.wrap(data, (int) validSize, data.length - (int) validSize));
+            channel.force(false);
+        }
+        try (FileChannel channel = open("r")) {
+            Assert.assertEquals(data.length, channel.size());
+            ByteBuffer readBuffer = ByteBuffer.allocate(data.length);
+            Assert.assertEquals(data.length, channel.read(readBuffer, 0));
+            Assert.assertArrayEquals(data, readBuffer.array());
+        }
+    }
+
+    private FileChannel open(String mode) throws IOException {
+        FileChannel[] stripes = new FileChannel[NUM_STRIPES];
+        for (int i = 0; i < NUM_STRIPES; i++) {
+            stripes[i] = new RandomAccessFile(getStripeFile(i), mode).getChannel();
+        }
+        return new StripedLogFileChannel(stripes, STRIPE_SIZE, executor);
+    }
+
+    private File getStripeFile(int stripe) {
+        return new File(dir, "transaction_log_0_" + stripe);
+    }
+}
@@ -228,6 +228,8 @@ public class ExternalGroupByPOperator extends AbstractGroupByPOperator {
                 gbyColumns, fdColumns, framesLimit, comparatorFactories, normalizedKeyFactory, aggregatorFactory,
                 mergeFactory, recordDescriptor, recordDescriptor, new HashSpillableTableFactory(hashFunctionFactories));
         gbyOpDesc.setSourceLocation(gby.getSourceLocation());
+        // the local group-by of a two-phase aggregation may leave the grouping of unique keys to the global one
+        gbyOpDesc.setPassThroughOnLowReduction(!gby.isGlobal());
         contributeOpDesc(builder, gby, gbyOpDesc);
         ILogicalOperator src = op.getInputs().get(0).getValue();
         builder.contributeGraphEdge(src, 0, op, 0);
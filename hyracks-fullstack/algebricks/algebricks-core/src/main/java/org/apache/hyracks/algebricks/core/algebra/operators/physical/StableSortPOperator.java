@@ -29,6 +29,7 @@ import org.apache.hyracks.algebricks.core.algebra.operators.logical.IOperatorSch
 import org.apache.hyracks.algebricks.core.algebra.operators.logical.OrderOperator;
 import org.apache.hyracks.algebricks.core.algebra.operators.logical.OrderOperator.IOrder.OrderKind;
 import org.apache.hyracks.algebricks.core.algebra.properties.OrderColumn;
+import org.apache.hyracks.algebricks.core.config.AlgebricksConfig;
 import org.apache.hyracks.algebricks.core.jobgen.impl.JobGenContext;
 import org.apache.hyracks.algebricks.core.jobgen.impl.JobGenHelper;
 import org.apache.hyracks.algebricks.data.IBinaryComparatorFactoryProvider;
@@ -38,6 +39,7 @@ import org.apache.hyracks.api.dataflow.value.INormalizedKeyComputerFactory;
 import org.apache.hyracks.api.dataflow.value.RecordDescriptor;
 import org.apache.hyracks.api.job.IOperatorDescriptorRegistry;
 import org.apache.hyracks.dataflow.std.sort.AbstractSorterOperatorDescriptor;
+import org.apache.hyracks.dataflow.std.sort.Algorithm;
 import org.apache.hyracks.dataflow.std.sort.ExternalSortOperatorDescriptor;
 import org.apache.hyracks.dataflow.std.sort.TopKSorterOperatorDescriptor;
 
@@ -47,6 +49,9 @@ import org.apache.hyracks.dataflow.std.sort.TopKSorterOperatorDescriptor;
 
 public class StableSortPOperator extends AbstractStableSortPOperator {
 
+    // the radix sort buckets by the normalized keys, so it asks for wider keys to leave fewer ties to the comparators
+    private static final int RADIX_SORT_NORMALIZED_KEY_LENGTH = 4;
+
     private final int topK;
 
     public StableSortPOperator() {
@@ -80,6 +85,8 @@ public class StableSortPOperator extends AbstractStableSortPOperator {
 
         INormalizedKeyComputerFactoryProvider nkcfProvider = context.getNormalizedKeyComputerFactoryProvider();
         INormalizedKeyComputerFactory nkcf = null;
+        boolean radixSort = topK == -1 && AlgebricksConfig.SORT_ALGORITHM_RADIX
+                .equals(context.getPhysicalOptimizationConfig().getSortAlgorithm());
 
         IVariableTypeEnvironment env = context.getTypeEnvironment(op);
         int i = 0;
@@ -90,7 +97,10 @@ public class StableSortPOperator extends AbstractStableSortPOperator {
             Object type = env.getVarType(var);
             OrderKind order = oc.getOrder();
             if (i == 0 && nkcfProvider != null && type != null) {
-                nkcf = nkcfProvider.getNormalizedKeyComputerFactory(type, order == OrderKind.ASC);
+                nkcf = radixSort
+                        ? nkcfProvider.getNormalizedKeyComputerFactory(type, order == OrderKind.ASC,
+                                RADIX_SORT_NORMALIZED_KEY_LENGTH)
+                        : nkcfProvider.getNormalizedKeyComputerFactory(type, order == OrderKind.ASC);
             }
             IBinaryComparatorFactoryProvider bcfp = context.getBinaryComparatorFactoryProvider();
             comps[i] = bcfp.getBinaryComparatorFactory(type, oc.getOrder() == OrderKind.ASC);
@@ -101,8 +111,10 @@ public class StableSortPOperator extends AbstractStableSortPOperator {
         AbstractSorterOperatorDescriptor sortOpDesc;
         // topK == -1 means that a topK value is not provided.
         if (topK == -1) {
-            sortOpDesc =
-                    new ExternalSortOperatorDescriptor(spec, maxNumberOfFrames, sortFields, nkcf, comps, recDescriptor);
+            // without a normalized key, the radix sort would leave every tuple to the comparators
+            Algorithm alg = radixSort && nkcf != null ? Algorithm.RADIX_SORT : Algorithm.MERGE_SORT;
+            sortOpDesc = new ExternalSortOperatorDescriptor(spec, maxNumberOfFrames, sortFields,
+                    nkcf != null ? new INormalizedKeyComputerFactory[] { nkcf } : null, comps, recDescriptor, alg);
         } else {
             // Since topK value is provided, topK optimization is possible.
             // We call topKSorter instead of calling ExternalSortOperator.
@@ -46,4 +46,7 @@ public class AlgebricksConfig {
             StorageUtil.getIntSizeInBytes(8, StorageUtil.StorageUnit.KILOBYTE);
     public static final boolean BATCH_LOOKUP_DEFAULT = true;
     public static final boolean COLUMN_FILTER_DEFAULT = false;
+    public static final String SORT_ALGORITHM_MERGE = "merge";
+    public static final String SORT_ALGORITHM_RADIX = "radix";
+    public static final String SORT_ALGORITHM_DEFAULT = SORT_ALGORITHM_MERGE;
 }
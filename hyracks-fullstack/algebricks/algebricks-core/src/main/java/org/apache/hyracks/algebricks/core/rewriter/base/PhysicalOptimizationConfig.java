@@ -53,6 +53,7 @@ public class PhysicalOptimizationConfig {
     private static final String FORCE_JOIN_ORDER = "FORCE_JOIN_ORDER";
     private static final String QUERY_PLAN_SHAPE = "QUERY_PLAN_SHAPE";
     private static final String COLUMN_FILTER = "COLUMN_FILTER";
+    private static final String SORT_ALGORITHM = "SORT_ALGORITHM";
 
     private final Properties properties = new Properties();
 
@@ -267,6 +268,15 @@ public class PhysicalOptimizationConfig {
         return queryPlanShapeMode;
     }
 
+    public String getSortAlgorithm() {
+        String sortAlgorithm = getString(SORT_ALGORITHM, AlgebricksConfig.SORT_ALGORITHM_DEFAULT);
+        if (!(sortAlgorithm.equals(AlgebricksConfig.SORT_ALGORITHM_MERGE)
+                || sortAlgorithm.equals(AlgebricksConfig.SORT_ALGORITHM_RADIX))) {
+            return AlgebricksConfig.SORT_ALGORITHM_DEFAULT;
+        }
+        return sortAlgorithm;
+    }
+
     public void setCBOMode(boolean cbo) {
         setBoolean(CBO, cbo);
     }
@@ -283,6 +293,10 @@ public class PhysicalOptimizationConfig {
         setString(QUERY_PLAN_SHAPE, queryPlanShape);
     }
 
+    public void setSortAlgorithm(String sortAlgorithm) {
+        setString(SORT_ALGORITHM, sortAlgorithm);
+    }
+
     public boolean isBatchLookupEnabled() {
         return getBoolean(BATCH_LOOKUP, AlgebricksConfig.BATCH_LOOKUP_DEFAULT);
     }
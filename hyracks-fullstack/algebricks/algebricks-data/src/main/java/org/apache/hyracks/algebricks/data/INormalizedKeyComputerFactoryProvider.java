@@ -22,4 +22,20 @@ import org.apache.hyracks.api.dataflow.value.INormalizedKeyComputerFactory;
 
 public interface INormalizedKeyComputerFactoryProvider {
     public INormalizedKeyComputerFactory getNormalizedKeyComputerFactory(Object type, boolean ascending);
+
+    /**
+     * Returns a normalized key computer factory whose keys may span up to {@code maxNormalizedKeyLength} integers.
+     * Providers that do not support wider keys return the default normalized key.
+     *
+     * @param type
+     *            the type of the key
+     * @param ascending
+     *            whether the key is sorted in ascending order
+     * @param maxNormalizedKeyLength
+     *            the maximum length of the normalized key in terms of integers
+     */
+    default INormalizedKeyComputerFactory getNormalizedKeyComputerFactory(Object type, boolean ascending,
+            int maxNormalizedKeyLength) {
+        return getNormalizedKeyComputerFactory(type, ascending);
+    }
 }
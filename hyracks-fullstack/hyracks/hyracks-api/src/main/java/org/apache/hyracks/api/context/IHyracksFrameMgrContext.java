@@ -35,4 +35,15 @@ public interface IHyracksFrameMgrContext {
             throws HyracksDataException;
 
     public void deallocateFrames(int bytes);
+
+    /**
+     * Deallocates a frame that was allocated by this context. The caller must not use the frame afterwards, since it
+     * may be handed out again by a later allocation.
+     *
+     * @param frame
+     *            the frame to deallocate
+     */
+    public default void deallocateFrame(ByteBuffer frame) {
+        deallocateFrames(frame.capacity());
+    }
 }
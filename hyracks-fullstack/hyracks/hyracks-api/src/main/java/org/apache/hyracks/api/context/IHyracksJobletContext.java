@@ -19,6 +19,7 @@
 package org.apache.hyracks.api.context;
 
 import org.apache.hyracks.api.application.INCServiceContext;
+import org.apache.hyracks.api.compression.ICompressorDecompressor;
 import org.apache.hyracks.api.exceptions.HyracksException;
 import org.apache.hyracks.api.io.IWorkspaceFileFactory;
 import org.apache.hyracks.api.job.IJobletEventListenerFactory;
@@ -44,4 +45,9 @@ public interface IHyracksJobletContext extends IWorkspaceFileFactory, IDeallocat
     Class<?> loadClass(String className) throws HyracksException;
 
     ClassLoader getClassLoader() throws HyracksException;
+
+    /**
+     * @return the compressor of the run files spilled by the operators of the job, or null if they are not compressed
+     */
+    ICompressorDecompressor getSpillCompressorDecompressor();
 }
@@ -24,6 +24,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.apache.hyracks.api.compression.ICompressorDecompressorFactory;
 import org.apache.hyracks.api.dataflow.ActivityId;
 import org.apache.hyracks.api.dataflow.ConnectorDescriptorId;
 import org.apache.hyracks.api.dataflow.IConnectorDescriptor;
@@ -50,6 +51,8 @@ public class ActivityClusterGraph implements Serializable {
 
     private int maxReattempts;
 
+    private ICompressorDecompressorFactory spillCompressorDecompressorFactory;
+
     private IJobletEventListenerFactory jobletEventListenerFactory;
 
     private IGlobalJobDataFactory globalJobDataFactory;
@@ -122,6 +125,14 @@ public class ActivityClusterGraph implements Serializable {
         return maxReattempts;
     }
 
+    public ICompressorDecompressorFactory getSpillCompressorDecompressorFactory() {
+        return spillCompressorDecompressorFactory;
+    }
+
+    public void setSpillCompressorDecompressorFactory(ICompressorDecompressorFactory compressorDecompressorFactory) {
+        this.spillCompressorDecompressorFactory = compressorDecompressorFactory;
+    }
+
     public IJobletEventListenerFactory getJobletEventListenerFactory() {
         return jobletEventListenerFactory;
     }
@@ -30,6 +30,7 @@ import java.util.Map;
 import java.util.Set;
 
 import org.apache.commons.lang3.tuple.Pair;
+import org.apache.hyracks.api.compression.ICompressorDecompressorFactory;
 import org.apache.hyracks.api.constraints.Constraint;
 import org.apache.hyracks.api.constraints.expressions.ConstantExpression;
 import org.apache.hyracks.api.constraints.expressions.ConstraintExpression.ExpressionTag;
@@ -82,6 +83,8 @@ public class JobSpecification implements Serializable, IOperatorDescriptorRegist
 
     private long maxWarnings;
 
+    private ICompressorDecompressorFactory spillCompressorDecompressorFactory;
+
     private IJobletEventListenerFactory jobletEventListenerFactory;
 
     private IGlobalJobDataFactory globalJobDataFactory;
@@ -282,6 +285,18 @@ public class JobSpecification implements Serializable, IOperatorDescriptorRegist
         return maxReattempts;
     }
 
+    /**
+     * @return the factory of the compressor of the run files spilled by the operators of the job, or null if the run
+     *         files are not compressed
+     */
+    public ICompressorDecompressorFactory getSpillCompressorDecompressorFactory() {
+        return spillCompressorDecompressorFactory;
+    }
+
+    public void setSpillCompressorDecompressorFactory(ICompressorDecompressorFactory compressorDecompressorFactory) {
+        this.spillCompressorDecompressorFactory = compressorDecompressorFactory;
+    }
+
     public void addUserConstraint(Constraint constraint) {
         userConstraints.add(constraint);
     }
@@ -32,6 +32,9 @@ public class HyracksConstants {
 
     public static final String ATOMIC_OP_CONTEXT = "ATOMIC_OP_CONTEXT";
 
+    // Hint that the pages read by an index search are not expected to be re-read soon (e.g. full scans)
+    public static final String USE_ONCE_PAGE_ACCESS = "USE_ONCE_PAGE_ACCESS";
+
     private HyracksConstants() {
     }
 }
@@ -22,6 +22,7 @@ import static org.apache.hyracks.control.common.config.OptionTypes.BOOLEAN;
 import static org.apache.hyracks.control.common.config.OptionTypes.INTEGER;
 import static org.apache.hyracks.control.common.config.OptionTypes.INTEGER_BYTE_UNIT;
 import static org.apache.hyracks.control.common.config.OptionTypes.LONG;
+import static org.apache.hyracks.control.common.config.OptionTypes.LONG_BYTE_UNIT;
 import static org.apache.hyracks.control.common.config.OptionTypes.NONNEGATIVE_INTEGER;
 import static org.apache.hyracks.control.common.config.OptionTypes.POSITIVE_INTEGER;
 import static org.apache.hyracks.control.common.config.OptionTypes.STRING;
@@ -82,6 +83,7 @@ public class NCConfig extends ControllerConfig {
         RESULT_TTL(LONG, 86400000L),
         RESULT_SWEEP_THRESHOLD(LONG, 60000L),
         RESULT_MANAGER_MEMORY(INTEGER_BYTE_UNIT, -1),
+        FRAME_CACHE_SIZE(LONG_BYTE_UNIT, 0L),
         @SuppressWarnings("RedundantCast") // not redundant- false positive from IDEA
         APP_CLASS(STRING, (String) null),
         NCSERVICE_PID(INTEGER, -1),
@@ -217,6 +219,10 @@ public class NCConfig extends ControllerConfig {
                             + "milliseconds";
                 case RESULT_MANAGER_MEMORY:
                     return "Memory usable for result caching at this Node Controller in bytes";
+                case FRAME_CACHE_SIZE:
+                    return "The maximum size in bytes of the operator frames kept at this Node Controller for reuse "
+                            + "by later frame allocations, reserved from the memory available to jobs (0 disables the "
+                            + "frame cache)";
                 case APP_CLASS:
                     return "Application NC Main Class";
                 case NCSERVICE_PID:
@@ -572,6 +578,14 @@ public class NCConfig extends ControllerConfig {
         configManager.set(nodeId, Option.RESULT_MANAGER_MEMORY, resultManagerMemory);
     }
 
+    public long getFrameCacheSize() {
+        return appConfig.getLong(Option.FRAME_CACHE_SIZE);
+    }
+
+    public void setFrameCacheSize(long frameCacheSize) {
+        configManager.set(nodeId, Option.FRAME_CACHE_SIZE, frameCacheSize);
+    }
+
     public String getAppClass() {
         return appConfig.getString(Option.APP_CLASS);
     }
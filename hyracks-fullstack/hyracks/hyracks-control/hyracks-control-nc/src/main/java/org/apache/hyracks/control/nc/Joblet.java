@@ -24,12 +24,15 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Hashtable;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.hyracks.api.application.INCServiceContext;
 import org.apache.hyracks.api.com.job.profiling.counters.Counter;
 import org.apache.hyracks.api.comm.IPartitionCollector;
 import org.apache.hyracks.api.comm.PartitionChannel;
+import org.apache.hyracks.api.compression.ICompressorDecompressor;
+import org.apache.hyracks.api.compression.ICompressorDecompressorFactory;
 import org.apache.hyracks.api.context.IHyracksJobletContext;
 import org.apache.hyracks.api.dataflow.TaskAttemptId;
 import org.apache.hyracks.api.dataflow.state.IStateObject;
@@ -95,6 +98,8 @@ public class Joblet implements IHyracksJobletContext, ICounterContext {
 
     private final FrameManager frameManager;
 
+    private final ICompressorDecompressor spillCompressorDecompressor;
+
     private final AtomicLong memoryAllocation;
 
     private JobStatus cleanupStatus;
@@ -116,14 +121,18 @@ public class Joblet implements IHyracksJobletContext, ICounterContext {
         this.serviceCtx = serviceCtx;
         this.deploymentId = deploymentId;
         this.jobId = jobId;
-        this.frameManager = new FrameManager(acg.getFrameSize());
+        this.frameManager = new FrameManager(acg.getFrameSize(), nodeController.getFrameCache());
         memoryAllocation = new AtomicLong();
+        ICompressorDecompressorFactory spillCompressorDecompressorFactory = acg.getSpillCompressorDecompressorFactory();
+        spillCompressorDecompressor =
+                spillCompressorDecompressorFactory != null ? spillCompressorDecompressorFactory.createInstance() : null;
         this.acg = acg;
         partitionRequestMap = new HashMap<>();
         env = new OperatorEnvironmentImpl(nodeController.getId());
         stateObjectMap = new HashMap<>();
         taskMap = new HashMap<>();
-        counterMap = new HashMap<>();
+        // spilling operators update the joblet counters while the profile is dumped
+        counterMap = new ConcurrentHashMap<>();
         deallocatableRegistry = new DefaultDeallocatableRegistry();
         fileFactory = new WorkspaceFileFactory(this, serviceCtx.getIoManager());
         cleanupPending = false;
@@ -270,11 +279,22 @@ public class Joblet implements IHyracksJobletContext, ICounterContext {
 
     @Override
     public void deallocateFrames(int bytes) {
-        memoryAllocation.addAndGet(bytes);
+        memoryAllocation.addAndGet(-bytes);
         serviceCtx.getMemoryManager().deallocate(bytes);
         frameManager.deallocateFrames(bytes);
     }
 
+    @Override
+    public void deallocateFrame(ByteBuffer frame) {
+        deallocateFrames(frame.capacity());
+        frameManager.deallocateFrame(frame);
+    }
+
+    @Override
+    public ICompressorDecompressor getSpillCompressorDecompressor() {
+        return spillCompressorDecompressor;
+    }
+
     @Override
     public final int getInitialFrameSize() {
         return frameManager.getInitialFrameSize();
@@ -300,13 +320,8 @@ public class Joblet implements IHyracksJobletContext, ICounterContext {
     }
 
     @Override
-    public synchronized ICounter getCounter(String name, boolean create) {
-        Counter counter = counterMap.get(name);
-        if (counter == null && create) {
-            counter = new Counter(name);
-            counterMap.put(name, counter);
-        }
-        return counter;
+    public ICounter getCounter(String name, boolean create) {
+        return create ? counterMap.computeIfAbsent(name, Counter::new) : counterMap.get(name);
     }
 
     @Override
@@ -82,6 +82,7 @@ import org.apache.hyracks.control.nc.net.MessagingNetworkManager;
 import org.apache.hyracks.control.nc.net.NetworkManager;
 import org.apache.hyracks.control.nc.net.ResultNetworkManager;
 import org.apache.hyracks.control.nc.partitions.PartitionManager;
+import org.apache.hyracks.control.nc.resources.memory.FrameCache;
 import org.apache.hyracks.control.nc.resources.memory.MemoryManager;
 import org.apache.hyracks.control.nc.result.ResultPartitionManager;
 import org.apache.hyracks.control.nc.work.AbortAllJobsWork;
@@ -163,6 +164,8 @@ public class NodeControllerService implements IControllerService {
 
     private final MemoryManager memoryManager;
 
+    private final FrameCache frameCache;
+
     private final INetworkSecurityManager networkSecurityManager;
 
     private StackTraceElement[] shutdownCallStack;
@@ -219,8 +222,15 @@ public class NodeControllerService implements IControllerService {
             File ncBaseDir = ioManager.getWorkspacePath(0);
             serverCtx = new ServerContext(ServerContext.ServerType.NODE_CONTROLLER, ncBaseDir);
             getNodeControllerInfosAcceptor = new MutableObject<>();
-            memoryManager =
-                    new MemoryManager((long) (memoryMXBean.getHeapMemoryUsage().getMax() * MEMORY_FUDGE_FACTOR));
+            long memory = (long) (memoryMXBean.getHeapMemoryUsage().getMax() * MEMORY_FUDGE_FACTOR);
+            long frameCacheSize = ncConfig.getFrameCacheSize();
+            if (frameCacheSize >= memory) {
+                throw new IllegalArgumentException("Frame cache size " + frameCacheSize
+                        + " must be smaller than the memory of the node controller " + memory);
+            }
+            // the cached frames live on the heap, so their memory is not available to the jobs
+            memoryManager = new MemoryManager(memory - frameCacheSize);
+            frameCache = new FrameCache(frameCacheSize);
         } catch (Throwable th) { // NOSONAR will be re-thrown
             CleanupUtils.close(ioManager, th);
             throw th;
@@ -231,6 +241,10 @@ public class NodeControllerService implements IControllerService {
         return ioManager;
     }
 
+    public FrameCache getFrameCache() {
+        return frameCache;
+    }
+
     @Override
     public NCServiceContext getContext() {
         return serviceCtx;
@@ -497,6 +511,7 @@ public class NodeControllerService implements IControllerService {
         }
         partitionManager.close();
         resultPartitionManager.close();
+        frameCache.clear();
         netManager.stop();
         resultNetworkManager.stop();
         if (messagingNetManager != null) {
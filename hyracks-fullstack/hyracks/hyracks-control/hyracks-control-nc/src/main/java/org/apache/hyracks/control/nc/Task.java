@@ -182,6 +182,11 @@ public class Task implements IHyracksTaskContext, ICounterContext, Runnable {
         joblet.deallocateFrames(bytes);
     }
 
+    @Override
+    public void deallocateFrame(ByteBuffer frame) {
+        joblet.deallocateFrame(frame);
+    }
+
     @Override
     public int getInitialFrameSize() {
         return joblet.getInitialFrameSize();
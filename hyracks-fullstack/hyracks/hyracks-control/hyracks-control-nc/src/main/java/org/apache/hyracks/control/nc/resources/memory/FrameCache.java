@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.control.nc.resources.memory;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the frames that were deallocated by the operators of a node controller, grouped by their capacity, so that
+ * later frame allocations of any job on the node can reuse them instead of allocating new buffers on the heap. The
+ * total capacity of the cached frames is bounded by the configured size; frames beyond it are left to the garbage
+ * collector. The configured size is reserved from the memory of the node controller's {@link MemoryManager}.
+ */
+public class FrameCache {
+
+    private final long maxSize;
+
+    private final AtomicLong cachedSize;
+
+    private final Map<Integer, Queue<ByteBuffer>> frames;
+
+    public FrameCache(long maxSize) {
+        this.maxSize = maxSize;
+        this.cachedSize = new AtomicLong();
+        this.frames = new ConcurrentHashMap<>();
+    }
+
+    public boolean isEnabled() {
+        return maxSize > 0;
+    }
+
+    public long getCachedSize() {
+        return cachedSize.get();
+    }
+
+    /**
+     * @param capacity
+     *            the capacity of the requested frame in bytes
+     * @return a zeroed and cleared frame of the given capacity, or null if no such frame is cached
+     */
+    public ByteBuffer get(int capacity) {
+        if (!isEnabled()) {
+            return null;
+        }
+        Queue<ByteBuffer> queue = frames.get(capacity);
+        ByteBuffer frame = queue == null ? null : queue.poll();
+        if (frame == null) {
+            return null;
+        }
+        cachedSize.addAndGet(-capacity);
+        frame.clear();
+        return frame;
+    }
+
+    /**
+     * Caches a frame that is no longer referenced by its previous owner. The contents of the frame are zeroed before
+     * it is cached, so that no data of the previous owner is kept or handed to the job that reuses the frame.
+     *
+     * @param frame
+     *            the deallocated frame
+     * @return true if the frame was cached, false if it was dropped
+     */
+    public boolean put(ByteBuffer frame) {
+        if (!isEnabled() || !frame.hasArray()) {
+            return false;
+        }
+        int capacity = frame.capacity();
+        if (cachedSize.addAndGet(capacity) > maxSize) {
+            cachedSize.addAndGet(-capacity);
+            return false;
+        }
+        Arrays.fill(frame.array(), frame.arrayOffset(), frame.arrayOffset() + capacity, (byte) 0);
+        frames.computeIfAbsent(capacity, c -> new ConcurrentLinkedQueue<>()).offer(frame);
+        return true;
+    }
+
+    public void clear() {
+        for (Queue<ByteBuffer> queue : frames.values()) {
+            ByteBuffer frame;
+            while ((frame = queue.poll()) != null) {
+                cachedSize.addAndGet(-frame.capacity());
+            }
+        }
+    }
+}
@@ -30,8 +30,15 @@ public class FrameManager implements IHyracksFrameMgrContext {
 
     private final int minFrameSize;
 
+    private final FrameCache frameCache;
+
     public FrameManager(int minFrameSize) {
+        this(minFrameSize, null);
+    }
+
+    public FrameManager(int minFrameSize, FrameCache frameCache) {
         this.minFrameSize = minFrameSize;
+        this.frameCache = frameCache;
     }
 
     @Override
@@ -53,7 +60,10 @@ public class FrameManager implements IHyracksFrameMgrContext {
             throw new HyracksDataException(
                     "Unable to allocate frame larger than:" + FrameConstants.MAX_FRAMESIZE + " bytes");
         }
-        ByteBuffer buffer = ByteBuffer.allocate(bytes);
+        ByteBuffer buffer = frameCache != null ? frameCache.get(bytes) : null;
+        if (buffer == null) {
+            buffer = ByteBuffer.allocate(bytes);
+        }
         FrameHelper.serializeFrameSize(buffer, bytes / minFrameSize);
         return (ByteBuffer) buffer.clear();
     }
@@ -86,4 +96,11 @@ public class FrameManager implements IHyracksFrameMgrContext {
     public void deallocateFrames(int bytes) {
         //TODO make a global memory manager to allocate and deallocate the frames.
     }
+
+    @Override
+    public void deallocateFrame(ByteBuffer frame) {
+        if (frameCache != null) {
+            frameCache.put(frame);
+        }
+    }
 }
@@ -26,38 +26,67 @@ import org.apache.hyracks.util.string.UTF8StringUtil;
 public class UTF8StringNormalizedKeyComputerFactory implements INormalizedKeyComputerFactory {
     private static final long serialVersionUID = 1L;
 
-    public static final INormalizedKeyProperties PROPERTIES = new INormalizedKeyProperties() {
-        private static final long serialVersionUID = 1L;
+    public static final INormalizedKeyProperties PROPERTIES = new Properties(1);
 
-        @Override
-        public int getNormalizedKeyLength() {
-            // TODO optimize normalize key for UTF8 to use multiple integers
-            return 1;
-        }
+    private final INormalizedKeyProperties properties;
 
-        @Override
-        public boolean isDecisive() {
-            return false;
+    public UTF8StringNormalizedKeyComputerFactory() {
+        this(1);
+    }
+
+    /**
+     * @param normalizedKeyLength
+     *            the length of the normalized key in terms of integers, each of which holds two chars of the string.
+     *            A longer normalized key leaves fewer ties to the comparator for strings that share a prefix.
+     */
+    public UTF8StringNormalizedKeyComputerFactory(int normalizedKeyLength) {
+        if (normalizedKeyLength < 1) {
+            throw new IllegalArgumentException("normalized key length must be positive: " + normalizedKeyLength);
         }
-    };
+        this.properties = normalizedKeyLength == 1 ? PROPERTIES : new Properties(normalizedKeyLength);
+    }
 
     @Override
     public INormalizedKeyComputer createNormalizedKeyComputer() {
+        final int normalizedKeyLength = properties.getNormalizedKeyLength();
         return new INormalizedKeyComputer() {
             @Override
             public void normalize(byte[] bytes, int start, int length, int[] normalizedKeys, int keyStart) {
-                normalizedKeys[keyStart] = UTF8StringUtil.normalize(bytes, start);
+                if (normalizedKeyLength == 1) {
+                    normalizedKeys[keyStart] = UTF8StringUtil.normalize(bytes, start);
+                } else {
+                    UTF8StringUtil.normalize(bytes, start, normalizedKeys, keyStart, normalizedKeyLength);
+                }
             }
 
             @Override
             public INormalizedKeyProperties getNormalizedKeyProperties() {
-                return PROPERTIES;
+                return properties;
             }
         };
     }
 
     @Override
     public INormalizedKeyProperties getNormalizedKeyProperties() {
-        return PROPERTIES;
+        return properties;
+    }
+
+    private static class Properties implements INormalizedKeyProperties {
+        private static final long serialVersionUID = 1L;
+        private final int normalizedKeyLength;
+
+        Properties(int normalizedKeyLength) {
+            this.normalizedKeyLength = normalizedKeyLength;
+        }
+
+        @Override
+        public int getNormalizedKeyLength() {
+            return normalizedKeyLength;
+        }
+
+        @Override
+        public boolean isDecisive() {
+            return false;
+        }
     }
 }
@@ -19,11 +19,13 @@
 package org.apache.hyracks.dataflow.common.io;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.hyracks.api.comm.FrameHelper;
 import org.apache.hyracks.api.comm.IFrame;
 import org.apache.hyracks.api.comm.IFrameReader;
+import org.apache.hyracks.api.compression.ICompressorDecompressor;
 import org.apache.hyracks.api.exceptions.ErrorCode;
 import org.apache.hyracks.api.exceptions.HyracksDataException;
 import org.apache.hyracks.api.io.FileReference;
@@ -31,18 +33,38 @@ import org.apache.hyracks.api.io.IFileHandle;
 import org.apache.hyracks.api.io.IIOManager;
 
 public class RunFileReader implements IFrameReader {
+    // the compressed length and the uncompressed length of a compressed frame
+    static final int COMPRESSED_FRAME_HEADER_SIZE = 2 * Integer.BYTES;
+
     private final FileReference file;
     private IFileHandle handle;
     private final IIOManager ioManager;
     private final long size;
+    private final long dataSize;
+    private final ICompressorDecompressor decompressor;
     private long readPtr;
     private boolean deleteAfterClose;
+    private ByteBuffer headerBuffer;
+    private ByteBuffer compressedBuffer;
 
     public RunFileReader(FileReference file, IIOManager ioManager, long size, boolean deleteAfterRead) {
+        this(file, ioManager, size, size, deleteAfterRead, null);
+    }
+
+    /**
+     * @param dataSize
+     *            the total size of the frames in the file
+     * @param decompressor
+     *            the decompressor of the frames, or null if they were written as they are
+     */
+    public RunFileReader(FileReference file, IIOManager ioManager, long size, long dataSize, boolean deleteAfterRead,
+            ICompressorDecompressor decompressor) {
         this.file = file;
         this.ioManager = ioManager;
         this.size = size;
+        this.dataSize = dataSize;
         this.deleteAfterClose = deleteAfterRead;
+        this.decompressor = decompressor;
     }
 
     @Override
@@ -70,6 +92,10 @@ public class RunFileReader implements IFrameReader {
             return false;
         }
         frame.reset();
+        if (decompressor != null) {
+            readCompressedFrame(frame);
+            return true;
+        }
 
         int readLength = ioManager.syncRead(handle, readPtr, frame.getBuffer());
         if (readLength <= 0) {
@@ -93,6 +119,35 @@ public class RunFileReader implements IFrameReader {
         return true;
     }
 
+    private void readCompressedFrame(IFrame frame) throws HyracksDataException {
+        if (headerBuffer == null) {
+            headerBuffer = ByteBuffer.allocate(COMPRESSED_FRAME_HEADER_SIZE);
+        }
+        headerBuffer.clear();
+        readFully(headerBuffer);
+        int compressedLength = headerBuffer.getInt(0);
+        int frameLength = headerBuffer.getInt(Integer.BYTES);
+        if (compressedBuffer == null || compressedBuffer.capacity() < compressedLength) {
+            compressedBuffer = ByteBuffer.allocate(compressedLength);
+        }
+        compressedBuffer.clear().limit(compressedLength);
+        readFully(compressedBuffer);
+        compressedBuffer.flip();
+        frame.ensureFrameSize(frameLength);
+        ByteBuffer buffer = frame.getBuffer();
+        buffer.clear();
+        decompressor.uncompress(compressedBuffer, buffer);
+        buffer.position(0);
+    }
+
+    private void readFully(ByteBuffer buffer) throws HyracksDataException {
+        int length = buffer.remaining();
+        if (ioManager.syncRead(handle, readPtr, buffer) < length) {
+            throw HyracksDataException.create(ErrorCode.EOF);
+        }
+        readPtr += length;
+    }
+
     @Override
     public void close() throws HyracksDataException {
         if (handle == null) {
@@ -109,12 +164,20 @@ public class RunFileReader implements IFrameReader {
             ioManager.close(handle);
         }
         handle = null;
+        compressedBuffer = null;
     }
 
     public long getFileSize() {
         return size;
     }
 
+    /**
+     * @return the total size of the frames in the file, which exceeds the file size if they were compressed
+     */
+    public long getDataSize() {
+        return dataSize;
+    }
+
     public void setDeleteAfterClose(boolean deleteAfterClose) {
         this.deleteAfterClose = deleteAfterClose;
     }
@@ -21,23 +21,60 @@ package org.apache.hyracks.dataflow.common.io;
 import java.nio.ByteBuffer;
 
 import org.apache.hyracks.api.comm.IFrameWriter;
+import org.apache.hyracks.api.compression.ICompressorDecompressor;
+import org.apache.hyracks.api.context.IHyracksJobletContext;
 import org.apache.hyracks.api.exceptions.HyracksDataException;
 import org.apache.hyracks.api.io.FileReference;
 import org.apache.hyracks.api.io.IFileHandle;
 import org.apache.hyracks.api.io.IIOManager;
+import org.apache.hyracks.api.job.profiling.counters.ICounter;
+import org.apache.hyracks.api.job.profiling.counters.ICounterContext;
 
 public class RunFileWriter implements IFrameWriter {
+    public static final String SPILLED_BYTES_COUNTER = "spill.bytes";
+    public static final String SPILL_WRITTEN_BYTES_COUNTER = "spill.bytes.written";
+
     private final IIOManager ioManager;
+    private final ICompressorDecompressor compressor;
+    private final ICounter spilledBytes;
+    private final ICounter writtenBytes;
     private FileReference file;
     private boolean failed;
 
     private IFileHandle handle;
     private long size;
+    private long dataSize;
     private int maxOutputFrameSize;
+    private ByteBuffer compressedBuffer;
 
     public RunFileWriter(FileReference file, IIOManager ioManager) {
+        this(file, ioManager, null, null);
+    }
+
+    /**
+     * @param compressor
+     *            the compressor of the written frames, or null to write them as they are
+     * @param counterContext
+     *            the context of the counters accounting the bytes of the frames and the bytes written to the file,
+     *            or null
+     */
+    public RunFileWriter(FileReference file, IIOManager ioManager, ICompressorDecompressor compressor,
+            ICounterContext counterContext) {
         this.file = file;
         this.ioManager = ioManager;
+        this.compressor = compressor;
+        this.spilledBytes = counterContext != null ? counterContext.getCounter(SPILLED_BYTES_COUNTER, true) : null;
+        this.writtenBytes =
+                counterContext != null ? counterContext.getCounter(SPILL_WRITTEN_BYTES_COUNTER, true) : null;
+    }
+
+    /**
+     * Creates a writer for an operator spilling its working data, which compresses the frames with the spill
+     * compression of the job and accounts them in the counters of the joblet.
+     */
+    public static RunFileWriter createSpillWriter(FileReference file, IHyracksJobletContext jobletCtx) {
+        return new RunFileWriter(file, jobletCtx.getIoManager(), jobletCtx.getSpillCompressorDecompressor(),
+                jobletCtx.getCounterContext());
     }
 
     @Override
@@ -45,12 +82,14 @@ public class RunFileWriter implements IFrameWriter {
         handle = ioManager.open(file, IIOManager.FileReadWriteMode.READ_WRITE,
                 IIOManager.FileSyncMode.METADATA_ASYNC_DATA_ASYNC);
         size = 0;
+        dataSize = 0;
         failed = false;
         maxOutputFrameSize = 0;
     }
 
     public void rewind() {
         size = 0;
+        dataSize = 0;
         maxOutputFrameSize = 0;
     }
 
@@ -62,9 +101,34 @@ public class RunFileWriter implements IFrameWriter {
 
     @Override
     public void nextFrame(ByteBuffer buffer) throws HyracksDataException {
-        int writen = ioManager.syncWrite(handle, size, buffer);
-        maxOutputFrameSize = Math.max(writen, maxOutputFrameSize);
+        int frameSize = buffer.remaining();
+        int writen = compressor == null ? ioManager.syncWrite(handle, size, buffer) : writeCompressed(buffer);
+        maxOutputFrameSize = Math.max(frameSize, maxOutputFrameSize);
         size += writen;
+        dataSize += frameSize;
+        if (spilledBytes != null) {
+            spilledBytes.update(frameSize);
+            writtenBytes.update(writen);
+        }
+    }
+
+    /**
+     * Writes the frame as its compressed length, its uncompressed length and its compressed bytes
+     */
+    private int writeCompressed(ByteBuffer buffer) throws HyracksDataException {
+        int frameSize = buffer.remaining();
+        int requiredSize =
+                RunFileReader.COMPRESSED_FRAME_HEADER_SIZE + compressor.computeCompressedBufferSize(frameSize);
+        if (compressedBuffer == null || compressedBuffer.capacity() < requiredSize) {
+            compressedBuffer = ByteBuffer.allocate(requiredSize);
+        }
+        compressedBuffer.clear();
+        compressedBuffer.position(RunFileReader.COMPRESSED_FRAME_HEADER_SIZE);
+        compressor.compress(buffer, compressedBuffer);
+        compressedBuffer.putInt(0, compressedBuffer.limit() - RunFileReader.COMPRESSED_FRAME_HEADER_SIZE);
+        compressedBuffer.putInt(Integer.BYTES, frameSize);
+        compressedBuffer.position(0);
+        return ioManager.syncWrite(handle, size, compressedBuffer);
     }
 
     @Override
@@ -72,6 +136,7 @@ public class RunFileWriter implements IFrameWriter {
         if (!failed && handle != null) {
             ioManager.close(handle);
         }
+        compressedBuffer = null;
     }
 
     public void erase() throws HyracksDataException {
@@ -97,18 +162,25 @@ public class RunFileWriter implements IFrameWriter {
         return size;
     }
 
+    /**
+     * @return the total size of the frames written to the file, which exceeds the file size if they were compressed
+     */
+    public long getDataSize() {
+        return dataSize;
+    }
+
     public GeneratedRunFileReader createReader() throws HyracksDataException {
         if (failed) {
             throw new HyracksDataException("createReader() called on a failed RunFileWriter");
         }
-        return new GeneratedRunFileReader(file, ioManager, size, false, maxOutputFrameSize);
+        return new GeneratedRunFileReader(file, ioManager, size, dataSize, false, maxOutputFrameSize, compressor);
     }
 
     public GeneratedRunFileReader createDeleteOnCloseReader() throws HyracksDataException {
         if (failed) {
             throw new HyracksDataException("createReader() called on a failed RunFileWriter");
         }
-        return new GeneratedRunFileReader(file, ioManager, size, true, maxOutputFrameSize);
+        return new GeneratedRunFileReader(file, ioManager, size, dataSize, true, maxOutputFrameSize, compressor);
     }
 
     @Override
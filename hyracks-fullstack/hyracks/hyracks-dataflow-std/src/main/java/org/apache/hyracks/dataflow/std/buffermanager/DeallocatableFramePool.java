@@ -68,7 +68,7 @@ public class DeallocatableFramePool implements IDeallocatableFramePool {
             ByteBuffer buffer = iter.next();
             iter.remove();
             mergedSize += buffer.capacity();
-            ctx.deallocateFrames(buffer.capacity());
+            ctx.deallocateFrame(buffer);
             allocated -= buffer.capacity();
             if (mergedSize >= frameSize) {
                 return createNewFrame(mergedSize);
@@ -102,7 +102,7 @@ public class DeallocatableFramePool implements IDeallocatableFramePool {
     public void deAllocateBuffer(ByteBuffer buffer) {
         if (buffer.capacity() != ctx.getInitialFrameSize()) {
             // simply deallocate the Big Object frame
-            ctx.deallocateFrames(buffer.capacity());
+            ctx.deallocateFrame(buffer);
             allocated -= buffer.capacity();
         } else {
             buffers.add(buffer);
@@ -119,7 +119,7 @@ public class DeallocatableFramePool implements IDeallocatableFramePool {
     public void close() {
         for (Iterator<ByteBuffer> iter = buffers.iterator(); iter.hasNext();) {
             ByteBuffer next = iter.next();
-            ctx.deallocateFrames(next.capacity());
+            ctx.deallocateFrame(next);
             iter.remove();
         }
         allocated = 0;
@@ -162,7 +162,7 @@ public class VariableFramePool implements IFramePool {
 
     private int deAllocateFrame(int id) {
         ByteBuffer frame = buffers.get(id);
-        ctx.deallocateFrames(frame.capacity());
+        ctx.deallocateFrame(frame);
         buffers.set(id, null);
         used.set(id);
         allocateMem -= frame.capacity();
@@ -188,6 +188,11 @@ public class VariableFramePool implements IFramePool {
 
     @Override
     public void close() {
+        for (ByteBuffer buffer : buffers) {
+            if (buffer != null) {
+                ctx.deallocateFrame(buffer);
+            }
+        }
         buffers.clear();
         used.clear();
         allocateMem = 0;
@@ -19,8 +19,11 @@
 
 package org.apache.hyracks.dataflow.std.group;
 
+import java.nio.ByteBuffer;
 import java.util.BitSet;
 
+import org.apache.hyracks.api.comm.FixedSizeFrame;
+import org.apache.hyracks.api.comm.FrameHelper;
 import org.apache.hyracks.api.comm.IFrameTupleAccessor;
 import org.apache.hyracks.api.comm.IFrameWriter;
 import org.apache.hyracks.api.comm.VSizeFrame;
@@ -32,6 +35,7 @@ import org.apache.hyracks.api.dataflow.value.ITuplePartitionComputer;
 import org.apache.hyracks.api.dataflow.value.RecordDescriptor;
 import org.apache.hyracks.api.exceptions.HyracksDataException;
 import org.apache.hyracks.dataflow.common.comm.io.ArrayTupleBuilder;
+import org.apache.hyracks.dataflow.common.comm.io.FrameTupleAccessor;
 import org.apache.hyracks.dataflow.common.comm.io.FrameTupleAppender;
 import org.apache.hyracks.dataflow.common.data.partition.FieldHashPartitionComputerFamily;
 import org.apache.hyracks.dataflow.std.buffermanager.DeallocatableFramePool;
@@ -164,8 +168,15 @@ public class HashSpillableTableFactory implements ISpillableTableFactory {
 
             private final FrameTupleAppender outputAppender = new FrameTupleAppender(new VSizeFrame(ctx));
 
+            // holds the state of a singleton group, which is never inserted into the data table. Its buffer comes from
+            // the frame pool, so it is charged to the memory budget of the table.
+            private final FixedSizeFrame singletonFrame = new FixedSizeFrame();
+            private final FrameTupleAppender singletonAppender = new FrameTupleAppender();
+            private final FrameTupleAccessor singletonAccessor = new FrameTupleAccessor(outRecordDescriptor);
+
             @Override
             public void close() throws HyracksDataException {
+                releaseSingletonFrame();
                 hashTableForTuplePointer.close();
                 aggregator.close();
             }
@@ -297,13 +308,8 @@ public class HashSpillableTableFactory implements ISpillableTableFactory {
                                 break;
                         }
 
-                        if (hasOutput && !outputAppender.appendSkipEmptyField(outputTupleBuilder.getFieldEndOffsets(),
-                                outputTupleBuilder.getByteArray(), 0, outputTupleBuilder.getSize())) {
-                            outputAppender.write(writer, true);
-                            if (!outputAppender.appendSkipEmptyField(outputTupleBuilder.getFieldEndOffsets(),
-                                    outputTupleBuilder.getByteArray(), 0, outputTupleBuilder.getSize())) {
-                                throw new HyracksDataException("The output item is too large to be fit into a frame.");
-                            }
+                        if (hasOutput) {
+                            appendOutputTuple(writer);
                         }
                     }
                 }
@@ -312,6 +318,72 @@ public class HashSpillableTableFactory implements ISpillableTableFactory {
                 return count;
             }
 
+            private void appendOutputTuple(IFrameWriter writer) throws HyracksDataException {
+                if (!outputAppender.appendSkipEmptyField(outputTupleBuilder.getFieldEndOffsets(),
+                        outputTupleBuilder.getByteArray(), 0, outputTupleBuilder.getSize())) {
+                    outputAppender.write(writer, true);
+                    if (!outputAppender.appendSkipEmptyField(outputTupleBuilder.getFieldEndOffsets(),
+                            outputTupleBuilder.getByteArray(), 0, outputTupleBuilder.getSize())) {
+                        throw new HyracksDataException("The output item is too large to be fit into a frame.");
+                    }
+                }
+            }
+
+            @Override
+            public boolean outputSingletonGroup(IFrameTupleAccessor accessor, int tIndex, IFrameWriter writer)
+                    throws HyracksDataException {
+                initStateTupleBuilder(accessor, tIndex);
+                int frameSize = FrameHelper.calcAlignedFrameSizeToStore(stateTupleBuilder.getFieldEndOffsets().length,
+                        stateTupleBuilder.getSize(), framePool.getMinFrameSize());
+                if (!allocateSingletonFrame(frameSize)) {
+                    return false;
+                }
+                singletonAppender.reset(singletonFrame, true);
+                singletonAppender.append(stateTupleBuilder.getFieldEndOffsets(), stateTupleBuilder.getByteArray(), 0,
+                        stateTupleBuilder.getSize());
+                singletonAccessor.reset(singletonFrame.getBuffer());
+                outputTupleBuilder.reset();
+                for (int k = 0; k < intermediateResultAllFields.length; k++) {
+                    outputTupleBuilder.addField(singletonAccessor, 0, intermediateResultAllFields[k]);
+                }
+                if (aggregator.outputFinalResult(outputTupleBuilder, singletonAccessor, 0, aggregateState)) {
+                    // partitions are only flushed to the same writer while singleton groups are buffered, so they
+                    // share the output frame
+                    appendOutputTuple(writer);
+                }
+                return true;
+            }
+
+            private boolean allocateSingletonFrame(int frameSize) throws HyracksDataException {
+                if (singletonFrame.getBuffer() != null && singletonFrame.getFrameSize() >= frameSize) {
+                    return true;
+                }
+                releaseSingletonFrame();
+                ByteBuffer buffer = framePool.allocateFrame(frameSize);
+                if (buffer == null) {
+                    return false;
+                }
+                singletonFrame.reset(buffer);
+                return true;
+            }
+
+            private void releaseSingletonFrame() {
+                if (singletonFrame.getBuffer() != null) {
+                    framePool.deAllocateBuffer(singletonFrame.getBuffer());
+                    singletonFrame.reset(null);
+                }
+            }
+
+            @Override
+            public void flushSingletonGroups(IFrameWriter writer) throws HyracksDataException {
+                outputAppender.write(writer, true);
+            }
+
+            @Override
+            public int getNumGroups() {
+                return hashTableForTuplePointer.getTupleCount();
+            }
+
             @Override
             public int getNumPartitions() {
                 return bufferManager.getNumPartitions();
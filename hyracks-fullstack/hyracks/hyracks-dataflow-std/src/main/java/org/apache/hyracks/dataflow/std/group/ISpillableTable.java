@@ -56,6 +56,32 @@ public interface ISpillableTable {
      */
     int flushFrames(int partition, IFrameWriter writer, AggregateType type) throws HyracksDataException;
 
+    /**
+     * Aggregates the specific tuple as a group of its own and appends the final result of that group to the writer,
+     * without inserting the tuple into the table. The results are buffered until the buffer is full or
+     * {@link #flushSingletonGroups(IFrameWriter)} is called. The state of the group is held in memory taken from the
+     * budget of the table.
+     * @param accessor
+     * @param tIndex
+     * @param writer
+     * @return true if the group was output, false if there is not enough memory left to hold its state
+     * @throws HyracksDataException
+     */
+    boolean outputSingletonGroup(IFrameTupleAccessor accessor, int tIndex, IFrameWriter writer)
+            throws HyracksDataException;
+
+    /**
+     * Flush the buffered results of {@link #outputSingletonGroup(IFrameTupleAccessor, int, IFrameWriter)} to writer
+     * @param writer
+     * @throws HyracksDataException
+     */
+    void flushSingletonGroups(IFrameWriter writer) throws HyracksDataException;
+
+    /**
+     * Get number of groups in the table
+     */
+    int getNumGroups();
+
     /**
      * Get number of partitions
      */
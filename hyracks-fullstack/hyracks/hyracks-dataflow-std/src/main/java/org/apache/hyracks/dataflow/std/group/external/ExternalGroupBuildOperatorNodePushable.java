@@ -146,6 +146,6 @@ public class ExternalGroupBuildOperatorNodePushable extends AbstractUnaryInputSi
     public RunFileWriter getRunFileWriter() throws HyracksDataException {
         FileReference file = ctx.getJobletContext()
                 .createManagedWorkspaceFile(ExternalGroupOperatorDescriptor.class.getSimpleName());
-        return new RunFileWriter(file, ctx.getIoManager());
+        return RunFileWriter.createSpillWriter(file, ctx.getJobletContext());
     }
 }
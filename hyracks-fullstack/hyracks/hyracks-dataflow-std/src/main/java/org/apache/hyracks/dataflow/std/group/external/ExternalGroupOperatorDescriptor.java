@@ -58,6 +58,7 @@ public class ExternalGroupOperatorDescriptor extends AbstractOperatorDescriptor
     private final RecordDescriptor outRecDesc;
     private final int tableSize;
     private final long fileSize;
+    private boolean passThroughOnLowReduction;
 
     public ExternalGroupOperatorDescriptor(IOperatorDescriptorRegistry spec, int inputSizeInTuple, long inputFileSize,
             int[] gbyFields, int[] fdFields, int framesLimit, IBinaryComparatorFactory[] comparatorFactories,
@@ -94,8 +95,26 @@ public class ExternalGroupOperatorDescriptor extends AbstractOperatorDescriptor
         this.fileSize = inputFileSize;
     }
 
+    /**
+     * Lets the aggregation stop hashing and output the remaining tuples as groups of their own when it finds that
+     * nearly every tuple forms a new group. The output then may contain several results for the same group, so this
+     * may only be set for the local phase of a two-phase aggregation.
+     */
+    public void setPassThroughOnLowReduction(boolean passThroughOnLowReduction) {
+        this.passThroughOnLowReduction = passThroughOnLowReduction;
+    }
+
     @Override
     public void contributeActivities(IActivityGraphBuilder builder) {
+        if (passThroughOnLowReduction) {
+            // the tuples that are passed through go straight to the output, so build and merge run in one activity
+            PassThroughActivity passThroughAct =
+                    new PassThroughActivity(new ActivityId(getOperatorId(), AGGREGATE_ACTIVITY_ID));
+            builder.addActivity(this, passThroughAct);
+            builder.addSourceEdge(0, passThroughAct, 0);
+            builder.addTargetEdge(0, passThroughAct, 0);
+            return;
+        }
         AggregateActivity aggregateAct = new AggregateActivity(new ActivityId(getOperatorId(), AGGREGATE_ACTIVITY_ID));
         MergeActivity mergeAct = new MergeActivity(new ActivityId(odId, MERGE_ACTIVITY_ID));
 
@@ -146,6 +165,24 @@ public class ExternalGroupOperatorDescriptor extends AbstractOperatorDescriptor
 
     }
 
+    private class PassThroughActivity extends AbstractActivityNode {
+        private static final long serialVersionUID = 1L;
+
+        public PassThroughActivity(ActivityId id) {
+            super(id);
+        }
+
+        @Override
+        public IOperatorNodePushable createPushRuntime(final IHyracksTaskContext ctx,
+                final IRecordDescriptorProvider recordDescProvider, final int partition, int nPartitions)
+                throws HyracksDataException {
+            return new ExternalGroupPassThroughOperatorNodePushable(ctx, tableSize, fileSize, gbyFields, fdFields,
+                    framesLimit, comparatorFactories, firstNormalizerFactory, partialAggregatorFactory,
+                    intermediateAggregateFactory, recordDescProvider.getInputRecordDescriptor(getActivityId(), 0),
+                    partialRecDesc, outRecDesc, spillableTableFactory);
+        }
+    }
+
     /**
      * Based on a rough estimation of a tuple (each field size: 4 bytes) size and the number of possible hash values
      * for the given number of group-by columns, calculates the number of hash entries for the hash table in Group-by.
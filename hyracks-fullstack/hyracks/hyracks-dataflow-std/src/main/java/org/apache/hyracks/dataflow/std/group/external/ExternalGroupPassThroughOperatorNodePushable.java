@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.dataflow.std.group.external;
+
+import java.nio.ByteBuffer;
+
+import org.apache.hyracks.api.context.IHyracksTaskContext;
+import org.apache.hyracks.api.dataflow.value.IBinaryComparator;
+import org.apache.hyracks.api.dataflow.value.IBinaryComparatorFactory;
+import org.apache.hyracks.api.dataflow.value.INormalizedKeyComputer;
+import org.apache.hyracks.api.dataflow.value.INormalizedKeyComputerFactory;
+import org.apache.hyracks.api.dataflow.value.RecordDescriptor;
+import org.apache.hyracks.api.exceptions.ErrorCode;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.api.io.FileReference;
+import org.apache.hyracks.dataflow.common.io.RunFileWriter;
+import org.apache.hyracks.dataflow.std.base.AbstractUnaryInputUnaryOutputOperatorNodePushable;
+import org.apache.hyracks.dataflow.std.group.IAggregatorDescriptorFactory;
+import org.apache.hyracks.dataflow.std.group.ISpillableTable;
+import org.apache.hyracks.dataflow.std.group.ISpillableTableFactory;
+
+/**
+ * Runs the build and the merge of the hash group-by in one pipelined activity, so that the group-by can pass its
+ * input through to the output while it is still consuming it. Once the table is full and holds nearly as many groups
+ * as it got tuples, the remaining tuples are written to the output as groups of their own instead of being spilled.
+ * The output then may contain several results for the same group, so this is only used for the local phase of a
+ * two-phase aggregation.
+ */
+public class ExternalGroupPassThroughOperatorNodePushable extends AbstractUnaryInputUnaryOutputOperatorNodePushable
+        implements IRunFileWriterGenerator {
+    // see ExternalGroupBuildOperatorNodePushable
+    private static final int INIT_SEED = 573275022;
+
+    private final IHyracksTaskContext ctx;
+    private final int[] gbyFields;
+    private final int[] fdFields; // nullable
+    private final IBinaryComparator[] comparators;
+    private final INormalizedKeyComputer firstNormalizerComputer;
+    private final IAggregatorDescriptorFactory aggregatorFactory;
+    private final int framesLimit;
+    private final ISpillableTableFactory spillableTableFactory;
+    private final RecordDescriptor inRecordDescriptor;
+    private final RecordDescriptor outRecordDescriptor;
+    private final int tableSize;
+    private final long fileSize;
+    private final ExternalGroupWriteOperatorNodePushable merger;
+
+    private ISpillableTable table;
+    private RunFileWriter[] runFileWriters;
+    private ExternalHashGroupBy externalGroupBy;
+    private boolean isFailed = false;
+
+    public ExternalGroupPassThroughOperatorNodePushable(IHyracksTaskContext ctx, int tableSize, long fileSize,
+            int[] gbyFields, int[] fdFields, int framesLimit, IBinaryComparatorFactory[] comparatorFactories,
+            INormalizedKeyComputerFactory firstNormalizerFactory, IAggregatorDescriptorFactory partialAggregatorFactory,
+            IAggregatorDescriptorFactory intermediateAggregateFactory, RecordDescriptor inRecordDescriptor,
+            RecordDescriptor partialRecordDescriptor, RecordDescriptor outRecordDescriptor,
+            ISpillableTableFactory spillableTableFactory) throws HyracksDataException {
+        if (comparatorFactories.length != gbyFields.length) {
+            throw HyracksDataException.create(ErrorCode.ILLEGAL_STATE, "mismatch in group by fields and comparators");
+        }
+        this.ctx = ctx;
+        this.framesLimit = framesLimit;
+        this.aggregatorFactory = partialAggregatorFactory;
+        this.gbyFields = gbyFields;
+        this.fdFields = fdFields;
+        this.comparators = new IBinaryComparator[comparatorFactories.length];
+        for (int i = 0; i < comparatorFactories.length; ++i) {
+            comparators[i] = comparatorFactories[i].createBinaryComparator();
+        }
+        this.firstNormalizerComputer =
+                firstNormalizerFactory == null ? null : firstNormalizerFactory.createNormalizedKeyComputer();
+        this.spillableTableFactory = spillableTableFactory;
+        this.inRecordDescriptor = inRecordDescriptor;
+        this.outRecordDescriptor = outRecordDescriptor;
+        this.tableSize = tableSize;
+        this.fileSize = fileSize;
+        this.merger = new ExternalGroupWriteOperatorNodePushable(ctx, null, spillableTableFactory,
+                partialRecordDescriptor, outRecordDescriptor, framesLimit, gbyFields, fdFields, firstNormalizerFactory,
+                comparatorFactories, intermediateAggregateFactory);
+    }
+
+    @Override
+    public void open() throws HyracksDataException {
+        writer.open();
+        table = spillableTableFactory.buildSpillableTable(ctx, tableSize, fileSize, gbyFields, fdFields, comparators,
+                firstNormalizerComputer, aggregatorFactory, inRecordDescriptor, outRecordDescriptor, framesLimit,
+                INIT_SEED);
+        runFileWriters = new RunFileWriter[table.getNumPartitions()];
+        externalGroupBy = new ExternalHashGroupBy(this, table, runFileWriters, inRecordDescriptor, writer);
+    }
+
+    @Override
+    public void nextFrame(ByteBuffer buffer) throws HyracksDataException {
+        externalGroupBy.insert(buffer);
+    }
+
+    @Override
+    public void fail() throws HyracksDataException {
+        isFailed = true;
+        writer.fail();
+    }
+
+    @Override
+    public void close() throws HyracksDataException {
+        try {
+            if (!isFailed && externalGroupBy != null) {
+                externalGroupBy.flushSpilledPartitions();
+                merger.writeGroups(table, runFileWriters, externalGroupBy.getSpilledNumTuples(), writer);
+            }
+        } catch (Exception e) {
+            isFailed = true;
+            writer.fail();
+            throw e;
+        } finally {
+            try {
+                if (isFailed && runFileWriters != null) {
+                    for (RunFileWriter run : runFileWriters) {
+                        if (run != null) {
+                            run.erase();
+                        }
+                    }
+                    merger.eraseGeneratedRuns();
+                }
+            } finally {
+                table = null;
+                runFileWriters = null;
+                externalGroupBy = null;
+                writer.close();
+            }
+        }
+    }
+
+    @Override
+    public RunFileWriter getRunFileWriter() throws HyracksDataException {
+        FileReference file = ctx.getJobletContext()
+                .createManagedWorkspaceFile(ExternalGroupOperatorDescriptor.class.getSimpleName());
+        return RunFileWriter.createSpillWriter(file, ctx.getJobletContext());
+    }
+}
@@ -100,17 +100,12 @@ public class ExternalGroupWriteOperatorNodePushable extends AbstractUnaryOutputS
     @Override
     public void initialize() throws HyracksDataException {
         ExternalGroupState aggState = (ExternalGroupState) ctx.getStateObject(stateId);
-        ISpillableTable table = aggState.getSpillableTable();
-        RunFileWriter[] partitionRuns = aggState.getRuns();
-        int[] numberOfTuples = aggState.getSpilledNumTuples();
         try {
             writer.open();
-            doPass(table, partitionRuns, numberOfTuples, writer, 1); // level 0 use used at build stage.
+            writeGroups(aggState.getSpillableTable(), aggState.getRuns(), aggState.getSpilledNumTuples(), writer);
         } catch (Exception e) {
             try {
-                for (RunFileWriter run : generatedRuns) {
-                    run.erase();
-                }
+                eraseGeneratedRuns();
             } finally {
                 writer.fail();
             }
@@ -120,6 +115,20 @@ public class ExternalGroupWriteOperatorNodePushable extends AbstractUnaryOutputS
         }
     }
 
+    /**
+     * Writes the final results of the groups held in the table and in the spilled runs of the build.
+     */
+    void writeGroups(ISpillableTable table, RunFileWriter[] partitionRuns, int[] numberOfTuples, IFrameWriter writer)
+            throws HyracksDataException {
+        doPass(table, partitionRuns, numberOfTuples, writer, 1); // level 0 use used at build stage.
+    }
+
+    void eraseGeneratedRuns() throws HyracksDataException {
+        for (RunFileWriter run : generatedRuns) {
+            run.erase();
+        }
+    }
+
     private void doPass(ISpillableTable table, RunFileWriter[] runs, int[] numOfTuples, IFrameWriter writer, int level)
             throws HyracksDataException {
         assert table.getNumPartitions() == runs.length;
@@ -139,7 +148,7 @@ public class ExternalGroupWriteOperatorNodePushable extends AbstractUnaryOutputS
                         .calculateGroupByTableCardinality(memoryBudgetInBytes, allFields, ctx.getInitialFrameSize());
                 hashTableCardinality = Math.min(hashTableCardinality, numOfTuples[i]);
                 ISpillableTable partitionTable = spillableTableFactory.buildSpillableTable(ctx, hashTableCardinality,
-                        runs[i].getFileSize(), gbyFields, fdFields, groupByComparators, nmkComputer,
+                        runs[i].getDataSize(), gbyFields, fdFields, groupByComparators, nmkComputer,
                         mergeAggregatorFactory, partialAggRecordDesc, outRecordDesc, frameLimit, level);
                 RunFileWriter[] runFileWriters = new RunFileWriter[partitionTable.getNumPartitions()];
                 int[] sizeInTuplesNextLevel;
@@ -188,6 +197,6 @@ public class ExternalGroupWriteOperatorNodePushable extends AbstractUnaryOutputS
     @Override
     public RunFileWriter getRunFileWriter() throws HyracksDataException {
         FileReference newRun = ctx.createManagedWorkspaceFile(ExternalGroupOperatorDescriptor.class.getSimpleName());
-        return new RunFileWriter(newRun, ctx.getIoManager());
+        return RunFileWriter.createSpillWriter(newRun, ctx.getJobletContext());
     }
 }
@@ -21,36 +21,66 @@ package org.apache.hyracks.dataflow.std.group.external;
 
 import java.nio.ByteBuffer;
 
+import org.apache.hyracks.api.comm.IFrameWriter;
 import org.apache.hyracks.api.dataflow.value.RecordDescriptor;
 import org.apache.hyracks.api.exceptions.HyracksDataException;
 import org.apache.hyracks.dataflow.common.comm.io.FrameTupleAccessor;
 import org.apache.hyracks.dataflow.common.io.RunFileWriter;
 import org.apache.hyracks.dataflow.std.group.AggregateType;
 import org.apache.hyracks.dataflow.std.group.ISpillableTable;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 public class ExternalHashGroupBy {
+    private static final Logger LOGGER = LogManager.getLogger();
+    // beyond this ratio of groups to input tuples, pre-aggregation does not reduce the data enough to pay off
+    private static final double MAX_GROUP_RATIO = 0.8;
 
     private final IRunFileWriterGenerator runFileWriterGenerator;
+    private final IFrameWriter passThroughWriter;
 
     private FrameTupleAccessor accessor;
     private ISpillableTable table;
     private RunFileWriter[] runWriters;
     private int[] spilledNumTuples;
+    private long numInsertedTuples;
+    private boolean passingThrough;
 
     public ExternalHashGroupBy(IRunFileWriterGenerator runFileWriterGenerator, ISpillableTable table,
             RunFileWriter[] runWriters, RecordDescriptor inRecordDescriptor) {
+        this(runFileWriterGenerator, table, runWriters, inRecordDescriptor, null);
+    }
+
+    /**
+     * @param passThroughWriter
+     *            if not null, the group-by stops aggregating once the table is full and holds nearly as many groups
+     *            as it got tuples. The remaining tuples are then written to this writer as final results of groups
+     *            of their own without hashing or spilling, which is only correct for the local phase of a
+     *            two-phase aggregation.
+     */
+    public ExternalHashGroupBy(IRunFileWriterGenerator runFileWriterGenerator, ISpillableTable table,
+            RunFileWriter[] runWriters, RecordDescriptor inRecordDescriptor, IFrameWriter passThroughWriter) {
         this.runFileWriterGenerator = runFileWriterGenerator;
         this.table = table;
         this.runWriters = runWriters;
         this.accessor = new FrameTupleAccessor(inRecordDescriptor);
         this.spilledNumTuples = new int[runWriters.length];
+        this.passThroughWriter = passThroughWriter;
     }
 
     public void insert(ByteBuffer buffer) throws HyracksDataException {
         accessor.reset(buffer);
         int tupleCount = accessor.getTupleCount();
         for (int i = 0; i < tupleCount; i++) {
-            if (!table.insert(accessor, i)) {
+            if (passingThrough) {
+                outputSingletonGroup(i);
+            } else if (table.insert(accessor, i)) {
+                numInsertedTuples++;
+            } else if (shouldPassThrough()) {
+                passingThrough = true;
+                outputSingletonGroup(i);
+            } else {
+                numInsertedTuples++;
                 do {
                     int partition = table.findVictimPartition(accessor, i);
                     if (partition < 0) {
@@ -63,6 +93,46 @@ public class ExternalHashGroupBy {
         }
     }
 
+    private void outputSingletonGroup(int tIndex) throws HyracksDataException {
+        while (!table.outputSingletonGroup(accessor, tIndex, passThroughWriter)) {
+            // the global aggregation merges the groups anyway, so a partition can give up its memory by outputting
+            // its final results to the same writer
+            int partition = table.findVictimPartition(accessor, tIndex);
+            if (partition < 0) {
+                throw new HyracksDataException("Failed to insert a new buffer into the aggregate operator!");
+            }
+            table.flushFrames(partition, passThroughWriter, AggregateType.FINAL);
+            table.clear(partition);
+        }
+    }
+
+    /**
+     * Decides whether to stop aggregating when the table gets full for the first time.
+     */
+    private boolean shouldPassThrough() {
+        if (passThroughWriter == null || numInsertedTuples == 0 || hasSpilled()) {
+            return false;
+        }
+        int numGroups = table.getNumGroups();
+        if (numGroups < MAX_GROUP_RATIO * numInsertedTuples) {
+            return false;
+        }
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(
+                    "passing through the input since " + numInsertedTuples + " tuples formed " + numGroups + " groups");
+        }
+        return true;
+    }
+
+    private boolean hasSpilled() {
+        for (RunFileWriter runWriter : runWriters) {
+            if (runWriter != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private void flushPartitionToRun(int partition, RunFileWriter writer) throws HyracksDataException {
         try {
             spilledNumTuples[partition] += table.flushFrames(partition, writer, AggregateType.PARTIAL);
@@ -75,6 +145,9 @@ public class ExternalHashGroupBy {
 
     public void flushSpilledPartitions() throws HyracksDataException {
         try {
+            if (passingThrough) {
+                table.flushSingletonGroups(passThroughWriter);
+            }
             for (int i = 0; i < runWriters.length; ++i) {
                 if (runWriters[i] != null) {
                     flushPartitionToRun(i, runWriters[i]);
@@ -56,12 +56,12 @@ public class HybridHashJoinUtil {
                 spilledStatus.nextSetBit(pid + 1)) {
             if (whichSide == SIDE.BUILD) {
                 spilledTupleCount += buildPSizeInTups[pid];
-                spilledPartByteSize += buildRFWriters[pid].getFileSize();
+                spilledPartByteSize += buildRFWriters[pid].getDataSize();
                 buf.append("part:\t" + pid + "\t#tuple:\t" + buildPSizeInTups[pid] + "\tsize(MB):\t"
-                        + ((double) buildRFWriters[pid].getFileSize() / 1048576) + "\n");
+                        + ((double) buildRFWriters[pid].getDataSize() / 1048576) + "\n");
             } else {
                 spilledTupleCount += probePSizeInTups[pid];
-                spilledPartByteSize += probeRFWriters[pid].getFileSize();
+                spilledPartByteSize += probeRFWriters[pid].getDataSize();
             }
         }
         if (spilledStatus.cardinality() > 0) {
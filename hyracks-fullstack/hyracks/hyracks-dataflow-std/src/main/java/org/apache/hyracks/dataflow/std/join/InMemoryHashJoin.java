@@ -62,6 +62,10 @@ public class InMemoryHashJoin {
     // To release frames
     private final ISimpleFrameBufferManager bufferManager;
     private final boolean isTableCapacityNotZero;
+    // the table entries and their tuple counts of the probe tuples of a batch
+    private int[] batchEntries = new int[0];
+    private int[] batchTupleCounts = new int[0];
+    private int[] frameTupleIds = new int[0];
 
     private static final Logger LOGGER = LogManager.getLogger();
 
@@ -163,20 +167,62 @@ public class InMemoryHashJoin {
      * This method assumes that the accessorProbe is already set to the current probe frame.
      */
     void join(int tid, IFrameWriter writer) throws HyracksDataException {
-        boolean matchFound = false;
         if (isTableCapacityNotZero) {
             int entry = tpcProbe.partition(accessorProbe, tid, table.getTableSize());
-            int tupleCount = table.getTupleCount(entry);
-            for (int i = 0; i < tupleCount; i++) {
-                table.getTuplePointer(entry, i, storedTuplePointer);
-                int bIndex = storedTuplePointer.getFrameIndex();
-                int tIndex = storedTuplePointer.getTupleIndex();
+            join(tid, entry, table.getTupleCount(entry), writer);
+        } else {
+            join(tid, -1, 0, writer);
+        }
+    }
+
+    /**
+     * Joins the given tuples of the probe side with tuples from the build side, in the given order. The table entries
+     * of all the tuples are computed first and their tuple counts are looked up next, so the hash computations and the
+     * table lookups run in tight loops of independent steps that the CPU can overlap, before the entries are walked
+     * and the tuples are compared. This method assumes that the accessorProbe is already set to the current probe
+     * frame.
+     *
+     * @param tids the probe tuples to join
+     * @param numTuples the number of probe tuples in tids
+     */
+    void join(int[] tids, int numTuples, IFrameWriter writer) throws HyracksDataException {
+        if (!isTableCapacityNotZero) {
+            for (int i = 0; i < numTuples; i++) {
+                join(tids[i], -1, 0, writer);
+            }
+            return;
+        }
+        if (batchEntries.length < numTuples) {
+            batchEntries = new int[numTuples];
+            batchTupleCounts = new int[numTuples];
+        }
+        int tableSize = table.getTableSize();
+        for (int i = 0; i < numTuples; i++) {
+            batchEntries[i] = tpcProbe.partition(accessorProbe, tids[i], tableSize);
+        }
+        for (int i = 0; i < numTuples; i++) {
+            batchTupleCounts[i] = table.getTupleCount(batchEntries[i]);
+        }
+        for (int i = 0; i < numTuples; i++) {
+            join(tids[i], batchEntries[i], batchTupleCounts[i], writer);
+        }
+    }
+
+    private void join(int tid, int entry, int tupleCount, IFrameWriter writer) throws HyracksDataException {
+        boolean matchFound = false;
+        int currentFrameIndex = -1;
+        for (int i = 0; i < tupleCount; i++) {
+            table.getTuplePointer(entry, i, storedTuplePointer);
+            int bIndex = storedTuplePointer.getFrameIndex();
+            int tIndex = storedTuplePointer.getTupleIndex();
+            if (bIndex != currentFrameIndex) {
                 accessorBuild.reset(buffers.get(bIndex));
-                int c = tpComparator.compare(accessorProbe, tid, accessorBuild, tIndex);
-                if (c == 0) {
-                    matchFound = true;
-                    appendToResult(tid, tIndex, writer);
-                }
+                currentFrameIndex = bIndex;
+            }
+            int c = tpComparator.compare(accessorProbe, tid, accessorBuild, tIndex);
+            if (c == 0) {
+                matchFound = true;
+                appendToResult(tid, tIndex, writer);
             }
         }
         if (!matchFound && isLeftOuter) {
@@ -189,9 +235,13 @@ public class InMemoryHashJoin {
     public void join(ByteBuffer buffer, IFrameWriter writer) throws HyracksDataException {
         accessorProbe.reset(buffer);
         int tupleCount0 = accessorProbe.getTupleCount();
-        for (int i = 0; i < tupleCount0; ++i) {
-            join(i, writer);
+        if (frameTupleIds.length < tupleCount0) {
+            frameTupleIds = new int[tupleCount0];
+            for (int i = 0; i < tupleCount0; ++i) {
+                frameTupleIds[i] = i;
+            }
         }
+        join(frameTupleIds, tupleCount0, writer);
     }
 
     public void resetAccessorProbe(IFrameTupleAccessor newAccessorProbe) {
@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.dataflow.std.join;
+
+import org.apache.hyracks.api.comm.IFrameTupleAccessor;
+import org.apache.hyracks.api.dataflow.value.ITuplePartitionComputer;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+
+/**
+ * A Bloom filter over the join keys of the build side of a hash join, used to drop the probe tuples that cannot
+ * find a match. The bit positions are derived from one hash of the join keys, so the build and probe hash
+ * functions have to agree, just like the ones used for partitioning, and should use a seed that is not used for
+ * partitioning since all tuples of a partition share their partitioning hash modulo the number of partitions.
+ */
+public class JoinKeyBloomFilter {
+    /**
+     * The seed of the hash function families used for the filter, which differs from the partitioning seeds
+     */
+    public static final int HASH_SEED = 1540483477;
+    private static final int NUM_HASHES = 3;
+    // beyond this false positive rate, the filter costs more than it saves
+    private static final double MAX_FALSE_POSITIVE_RATE = 0.3;
+
+    private final ITuplePartitionComputer buildHash;
+    private final ITuplePartitionComputer probeHash;
+    private final long[] bits;
+    private final int numBits;
+    private long numFiltered;
+
+    /**
+     * @param numBits the size of the filter, rounded up to a multiple of 64
+     * @param buildHash the hash function of the build side keys
+     * @param probeHash the hash function of the probe side keys
+     */
+    public JoinKeyBloomFilter(int numBits, ITuplePartitionComputer buildHash, ITuplePartitionComputer probeHash) {
+        this.bits = new long[Math.max(1, (numBits + Long.SIZE - 1) / Long.SIZE)];
+        this.numBits = bits.length * Long.SIZE;
+        this.buildHash = buildHash;
+        this.probeHash = probeHash;
+    }
+
+    public void add(IFrameTupleAccessor accessor, int tIndex) throws HyracksDataException {
+        int h = buildHash.partition(accessor, tIndex, Integer.MAX_VALUE);
+        int delta = Integer.rotateLeft(h, 16) | 1;
+        for (int i = 0; i < NUM_HASHES; i++) {
+            int bit = (h & Integer.MAX_VALUE) % numBits;
+            bits[bit >>> 6] |= 1L << bit;
+            h += delta;
+        }
+    }
+
+    /**
+     * @return false if the probe tuple has no match on the build side, true if it might have one
+     */
+    public boolean mightContain(IFrameTupleAccessor accessor, int tIndex) throws HyracksDataException {
+        int h = probeHash.partition(accessor, tIndex, Integer.MAX_VALUE);
+        int delta = Integer.rotateLeft(h, 16) | 1;
+        for (int i = 0; i < NUM_HASHES; i++) {
+            int bit = (h & Integer.MAX_VALUE) % numBits;
+            if ((bits[bit >>> 6] & (1L << bit)) == 0) {
+                numFiltered++;
+                return false;
+            }
+            h += delta;
+        }
+        return true;
+    }
+
+    /**
+     * @return the false positive rate expected from the bits that are set
+     */
+    public double getFalsePositiveRate() {
+        long setBits = 0;
+        for (long word : bits) {
+            setBits += Long.bitCount(word);
+        }
+        return Math.pow((double) setBits / numBits, NUM_HASHES);
+    }
+
+    /**
+     * @return true if the filter drops enough probe tuples to be worth checking
+     */
+    public boolean isSelective() {
+        return getFalsePositiveRate() <= MAX_FALSE_POSITIVE_RATE;
+    }
+
+    /**
+     * @return the number of probe tuples that were dropped by the filter
+     */
+    public long getNumFiltered() {
+        return numFiltered;
+    }
+
+    public int getNumBits() {
+        return numBits;
+    }
+}
@@ -0,0 +1,265 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.dataflow.std.join;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.apache.hyracks.api.comm.VSizeFrame;
+import org.apache.hyracks.api.context.IHyracksTaskContext;
+import org.apache.hyracks.api.dataflow.ActivityId;
+import org.apache.hyracks.api.dataflow.IActivityGraphBuilder;
+import org.apache.hyracks.api.dataflow.IOperatorNodePushable;
+import org.apache.hyracks.api.dataflow.TaskId;
+import org.apache.hyracks.api.dataflow.value.IBinaryHashFunctionFamily;
+import org.apache.hyracks.api.dataflow.value.IRecordDescriptorProvider;
+import org.apache.hyracks.api.dataflow.value.RecordDescriptor;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.api.job.IOperatorDescriptorRegistry;
+import org.apache.hyracks.api.job.JobId;
+import org.apache.hyracks.dataflow.common.comm.io.FrameTupleAccessor;
+import org.apache.hyracks.dataflow.common.comm.io.FrameTupleAppender;
+import org.apache.hyracks.dataflow.common.comm.util.FrameUtils;
+import org.apache.hyracks.dataflow.common.data.partition.FieldHashPartitionComputerFamily;
+import org.apache.hyracks.dataflow.std.base.AbstractActivityNode;
+import org.apache.hyracks.dataflow.std.base.AbstractOperatorDescriptor;
+import org.apache.hyracks.dataflow.std.base.AbstractStateObject;
+import org.apache.hyracks.dataflow.std.base.AbstractUnaryInputSinkOperatorNodePushable;
+import org.apache.hyracks.dataflow.std.base.AbstractUnaryInputUnaryOutputOperatorNodePushable;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Drops the probe tuples of a hash join whose keys are not in a {@link JoinKeyBloomFilter} of the build keys, so
+ * that they are not shipped to the join. It is placed on the probe side in front of the exchange of the join.
+ * Input 0 is the probe side, which is passed through. Input 1 carries the build keys and has to be broadcast to all
+ * partitions of this operator, since the filter of each partition must hold every build key. The probe side is only
+ * read once all build keys are in the filter.
+ */
+public class JoinKeyFilterOperatorDescriptor extends AbstractOperatorDescriptor {
+    private static final long serialVersionUID = 1L;
+
+    private static final int BUILD_FILTER_ACTIVITY_ID = 0;
+    private static final int FILTER_PROBE_ACTIVITY_ID = 1;
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private final int filterSizeInFrames;
+    private final int[] probeKeys;
+    private final int[] buildKeys;
+    private final IBinaryHashFunctionFamily[] probeHashFunctionFactories;
+    private final IBinaryHashFunctionFamily[] buildHashFunctionFactories;
+
+    /**
+     * @param filterSizeInFrames
+     *            the size of the filter in frames
+     * @param probeKeys
+     *            the key fields of the probe side (input 0)
+     * @param buildKeys
+     *            the key fields of the build keys (input 1)
+     * @param probeHashFunctionFactories
+     *            the hash function families of the probe keys
+     * @param buildHashFunctionFactories
+     *            the hash function families of the build keys, which must agree with the probe ones
+     * @param probeRecordDescriptor
+     *            the record descriptor of the probe side, which is also the output record descriptor
+     */
+    public JoinKeyFilterOperatorDescriptor(IOperatorDescriptorRegistry spec, int filterSizeInFrames, int[] probeKeys,
+            int[] buildKeys, IBinaryHashFunctionFamily[] probeHashFunctionFactories,
+            IBinaryHashFunctionFamily[] buildHashFunctionFactories, RecordDescriptor probeRecordDescriptor) {
+        super(spec, 2, 1);
+        this.filterSizeInFrames = filterSizeInFrames;
+        this.probeKeys = probeKeys;
+        this.buildKeys = buildKeys;
+        this.probeHashFunctionFactories = probeHashFunctionFactories;
+        this.buildHashFunctionFactories = buildHashFunctionFactories;
+        outRecDescs[0] = probeRecordDescriptor;
+    }
+
+    @Override
+    public void contributeActivities(IActivityGraphBuilder builder) {
+        ActivityId buildAid = new ActivityId(odId, BUILD_FILTER_ACTIVITY_ID);
+        ActivityId probeAid = new ActivityId(odId, FILTER_PROBE_ACTIVITY_ID);
+        BuildFilterActivityNode buildFilter = new BuildFilterActivityNode(buildAid);
+        FilterProbeActivityNode filterProbe = new FilterProbeActivityNode(probeAid, buildAid);
+
+        builder.addActivity(this, buildFilter);
+        builder.addSourceEdge(1, buildFilter, 0);
+
+        builder.addActivity(this, filterProbe);
+        builder.addSourceEdge(0, filterProbe, 0);
+
+        builder.addBlockingEdge(buildFilter, filterProbe);
+
+        builder.addTargetEdge(0, filterProbe, 0);
+    }
+
+    public static class BuildFilterTaskState extends AbstractStateObject {
+        private JoinKeyBloomFilter filter;
+
+        public BuildFilterTaskState() {
+        }
+
+        private BuildFilterTaskState(JobId jobId, TaskId taskId) {
+            super(jobId, taskId);
+        }
+
+        @Override
+        public void toBytes(DataOutput out) throws IOException {
+
+        }
+
+        @Override
+        public void fromBytes(DataInput in) throws IOException {
+
+        }
+    }
+
+    private class BuildFilterActivityNode extends AbstractActivityNode {
+        private static final long serialVersionUID = 1L;
+
+        public BuildFilterActivityNode(ActivityId id) {
+            super(id);
+        }
+
+        @Override
+        public IOperatorNodePushable createPushRuntime(final IHyracksTaskContext ctx,
+                IRecordDescriptorProvider recordDescProvider, final int partition, int nPartitions)
+                throws HyracksDataException {
+            final RecordDescriptor buildRd = recordDescProvider.getInputRecordDescriptor(getActivityId(), 0);
+            return new AbstractUnaryInputSinkOperatorNodePushable() {
+                private final BuildFilterTaskState state = new BuildFilterTaskState(ctx.getJobletContext().getJobId(),
+                        new TaskId(getActivityId(), partition));
+                private final FrameTupleAccessor accessor = new FrameTupleAccessor(buildRd);
+
+                @Override
+                public void open() throws HyracksDataException {
+                    state.filter = new JoinKeyBloomFilter(filterSizeInFrames * ctx.getInitialFrameSize() * Byte.SIZE,
+                            new FieldHashPartitionComputerFamily(buildKeys, buildHashFunctionFactories)
+                                    .createPartitioner(JoinKeyBloomFilter.HASH_SEED),
+                            new FieldHashPartitionComputerFamily(probeKeys, probeHashFunctionFactories)
+                                    .createPartitioner(JoinKeyBloomFilter.HASH_SEED));
+                }
+
+                @Override
+                public void nextFrame(ByteBuffer buffer) throws HyracksDataException {
+                    accessor.reset(buffer);
+                    int tupleCount = accessor.getTupleCount();
+                    for (int i = 0; i < tupleCount; i++) {
+                        state.filter.add(accessor, i);
+                    }
+                }
+
+                @Override
+                public void close() throws HyracksDataException {
+                    ctx.setStateObject(state);
+                }
+
+                @Override
+                public void fail() throws HyracksDataException {
+                    // nothing to clean up, the filter is on the heap
+                }
+
+                @Override
+                public String getDisplayName() {
+                    return "Join Key Filter: Build";
+                }
+            };
+        }
+    }
+
+    private class FilterProbeActivityNode extends AbstractActivityNode {
+        private static final long serialVersionUID = 1L;
+
+        private final ActivityId buildAid;
+
+        public FilterProbeActivityNode(ActivityId id, ActivityId buildAid) {
+            super(id);
+            this.buildAid = buildAid;
+        }
+
+        @Override
+        public IOperatorNodePushable createPushRuntime(final IHyracksTaskContext ctx,
+                IRecordDescriptorProvider recordDescProvider, final int partition, int nPartitions)
+                throws HyracksDataException {
+            final RecordDescriptor probeRd = recordDescProvider.getInputRecordDescriptor(getActivityId(), 0);
+            return new AbstractUnaryInputUnaryOutputOperatorNodePushable() {
+                private final FrameTupleAccessor accessor = new FrameTupleAccessor(probeRd);
+                private FrameTupleAppender appender;
+                private JoinKeyBloomFilter filter;
+
+                @Override
+                public void open() throws HyracksDataException {
+                    BuildFilterTaskState state =
+                            (BuildFilterTaskState) ctx.getStateObject(new TaskId(buildAid, partition));
+                    // a filter that lets most tuples through is not worth checking
+                    filter = state.filter.isSelective() ? state.filter : null;
+                    appender = new FrameTupleAppender(new VSizeFrame(ctx));
+                    writer.open();
+                }
+
+                @Override
+                public void nextFrame(ByteBuffer buffer) throws HyracksDataException {
+                    if (filter == null) {
+                        writer.nextFrame(buffer);
+                        return;
+                    }
+                    accessor.reset(buffer);
+                    int tupleCount = accessor.getTupleCount();
+                    for (int i = 0; i < tupleCount; i++) {
+                        if (filter.mightContain(accessor, i)) {
+                            FrameUtils.appendToWriter(writer, appender, accessor, i);
+                        }
+                    }
+                }
+
+                @Override
+                public void fail() throws HyracksDataException {
+                    writer.fail();
+                }
+
+                @Override
+                public void close() throws HyracksDataException {
+                    try {
+                        if (appender != null && appender.getTupleCount() > 0) {
+                            appender.write(writer, true);
+                        }
+                        if (filter != null && LOGGER.isDebugEnabled()) {
+                            LOGGER.debug("the join key filter dropped " + filter.getNumFiltered() + " probe tuples");
+                        }
+                    } finally {
+                        writer.close();
+                    }
+                }
+
+                @Override
+                public void flush() throws HyracksDataException {
+                    appender.flush(writer);
+                }
+
+                @Override
+                public String getDisplayName() {
+                    return "Join Key Filter: Probe";
+                }
+            };
+        }
+    }
+}
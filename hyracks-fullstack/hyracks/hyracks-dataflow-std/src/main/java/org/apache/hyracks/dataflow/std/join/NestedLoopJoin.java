@@ -117,7 +117,7 @@ public class NestedLoopJoin {
 
         FileReference file =
                 jobletContext.createManagedWorkspaceFile(this.getClass().getSimpleName() + this.toString());
-        runFileWriter = new RunFileWriter(file, jobletContext.getIoManager());
+        runFileWriter = RunFileWriter.createSpillWriter(file, jobletContext);
         runFileWriter.open();
     }
 
@@ -95,6 +95,10 @@ public class OptimizedHybridHashJoin {
     // corresponding function signature.
     private final TuplePointer tempPtr = new TuplePointer();
     private int[] probePSizeInTups;
+    // the probe tuples of the current frame that are joined with the resident partitions
+    private int[] residentProbeTuples = new int[0];
+    // drops the probe tuples without a match before they are partitioned, null if not used
+    private JoinKeyBloomFilter buildKeyFilter;
     private IOperatorStats stats = null;
 
     public OptimizedHybridHashJoin(IHyracksJobletContext jobletCtx, int memSizeInFrames, int numOfPartitions,
@@ -130,6 +134,18 @@ public class OptimizedHybridHashJoin {
         }
     }
 
+    /**
+     * Sets a filter that is populated with the build side keys and used to drop the probe tuples that cannot have a
+     * match before they are written to spilled partitions. Must be called before the build phase; not supported for
+     * left outer joins since their probe tuples are output whether they match or not.
+     */
+    public void setBuildKeyFilter(JoinKeyBloomFilter buildKeyFilter) {
+        if (isLeftOuter) {
+            throw new IllegalStateException("build key filters can't be used with left outer joins");
+        }
+        this.buildKeyFilter = buildKeyFilter;
+    }
+
     public void initBuild() throws HyracksDataException {
         IDeallocatableFramePool framePool =
                 new DeallocatableFramePool(jobletCtx, memSizeInFrames * jobletCtx.getInitialFrameSize());
@@ -147,6 +163,9 @@ public class OptimizedHybridHashJoin {
         int tupleCount = accessorBuild.getTupleCount();
         for (int i = 0; i < tupleCount; ++i) {
             if (buildPredEval == null || buildPredEval.evaluate(accessorBuild, i)) {
+                if (buildKeyFilter != null) {
+                    buildKeyFilter.add(accessorBuild, i);
+                }
                 int pid = buildHpc.partition(accessorBuild, i, numOfPartitions);
                 processTupleBuildPhase(i, pid);
                 buildPSizeInTups[pid]++;
@@ -212,7 +231,7 @@ public class OptimizedHybridHashJoin {
         RunFileWriter writer = runFileWriters[pid];
         if (writer == null) {
             FileReference file = jobletCtx.createManagedWorkspaceFile(refName);
-            writer = new RunFileWriter(file, jobletCtx.getIoManager());
+            writer = RunFileWriter.createSpillWriter(file, jobletCtx);
             writer.open();
             runFileWriters[pid] = writer;
         }
@@ -234,6 +253,14 @@ public class OptimizedHybridHashJoin {
                 bufferManagerForHashTable);
 
         buildHashTable();
+        // the filter is still checked for the resident partitions, it is cheaper than a miss in the hash table
+        if (buildKeyFilter != null && !buildKeyFilter.isSelective()) {
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("not filtering the probe side, expected false positive rate: "
+                        + buildKeyFilter.getFalsePositiveRate());
+            }
+            buildKeyFilter = null;
+        }
     }
 
     public void clearBuildTempFiles() throws HyracksDataException {
@@ -417,7 +444,7 @@ public class OptimizedHybridHashJoin {
                 // Expected hash table size increase after reloading this partition
                 long expectedHashTableByteSizeIncrease = SerializableHashTable
                         .calculateByteSizeDeltaForTableSizeChange(inMemTupCount, spilledTupleCount, frameSize);
-                if (totalFreeSpace >= buildRFWriters[i].getFileSize() + expectedHashTableByteSizeIncrease) {
+                if (totalFreeSpace >= buildRFWriters[i].getDataSize() + expectedHashTableByteSizeIncrease) {
                     return i;
                 }
             }
@@ -495,29 +522,37 @@ public class OptimizedHybridHashJoin {
         accessorProbe.reset(buffer);
         int tupleCount = accessorProbe.getTupleCount();
         inMemJoiner.resetAccessorProbe(accessorProbe);
+        if (residentProbeTuples.length < tupleCount) {
+            residentProbeTuples = new int[tupleCount];
+        }
+        // the tuples that go to resident partitions are joined as one batch after the frame is partitioned
+        int numResidentTuples = 0;
         if (isBuildRelAllInMemory()) {
             for (int i = 0; i < tupleCount; ++i) {
                 // NOTE: probePredEval is guaranteed to be 'null' for outer join and in case of role reversal
-                if (probePredEval == null || probePredEval.evaluate(accessorProbe, i)) {
-                    inMemJoiner.join(i, writer);
+                if ((probePredEval == null || probePredEval.evaluate(accessorProbe, i))
+                        && (buildKeyFilter == null || buildKeyFilter.mightContain(accessorProbe, i))) {
+                    residentProbeTuples[numResidentTuples++] = i;
                 }
             }
         } else {
             for (int i = 0; i < tupleCount; ++i) {
                 // NOTE: probePredEval is guaranteed to be 'null' for outer join and in case of role reversal
-                if (probePredEval == null || probePredEval.evaluate(accessorProbe, i)) {
+                if ((probePredEval == null || probePredEval.evaluate(accessorProbe, i))
+                        && (buildKeyFilter == null || buildKeyFilter.mightContain(accessorProbe, i))) {
                     int pid = probeHpc.partition(accessorProbe, i, numOfPartitions);
                     if (buildPSizeInTups[pid] > 0 || isLeftOuter) { //Tuple has potential match from previous phase
                         if (spilledStatus.get(pid)) { //pid is Spilled
                             processTupleProbePhase(i, pid);
                         } else { //pid is Resident
-                            inMemJoiner.join(i, writer);
+                            residentProbeTuples[numResidentTuples++] = i;
                         }
                         probePSizeInTups[pid]++;
                     }
                 }
             }
         }
+        inMemJoiner.join(residentProbeTuples, numResidentTuples, writer);
     }
 
     private void processTupleProbePhase(int tupleId, int pid) throws HyracksDataException {
@@ -580,6 +615,9 @@ public class OptimizedHybridHashJoin {
         //We do NOT join the spilled partitions here, that decision is made at the descriptor level
         //(which join technique to use)
         inMemJoiner.completeJoin(writer);
+        if (buildKeyFilter != null && LOGGER.isDebugEnabled()) {
+            LOGGER.debug("the build key filter dropped " + buildKeyFilter.getNumFiltered() + " probe tuples");
+        }
     }
 
     public void releaseResource() throws HyracksDataException {
@@ -114,6 +114,8 @@ public class OptimizedHybridHashJoinOperatorDescriptor extends AbstractOperatorD
      * See https://issues.apache.org/jira/browse/ASTERIXDB-2783 for more details.
      */
     private static final int INIT_SEED = 982028031;
+    // joins with less memory don't give up a frame for a build key filter
+    private static final int MIN_FRAMES_FOR_BUILD_KEY_FILTER = 16;
 
     private static final int BUILD_AND_PARTITION_ACTIVITY_ID = 0;
     private static final int PARTITION_AND_JOIN_ACTIVITY_ID = 1;
@@ -297,12 +299,22 @@ public class OptimizedHybridHashJoinOperatorDescriptor extends AbstractOperatorD
                     if (memSizeInFrames <= 2) { //Dedicated buffers: One buffer to read and two buffers for output
                         throw new HyracksDataException("Not enough memory is assigend for Hybrid Hash Join.");
                     }
-                    state.memForJoin = memSizeInFrames - 2;
+                    // the probe tuples of a left outer join are all output, so they can't be filtered
+                    boolean filterProbe = !isLeftOuter && memSizeInFrames >= MIN_FRAMES_FOR_BUILD_KEY_FILTER;
+                    // one more frame is used by the build key filter
+                    state.memForJoin = memSizeInFrames - (filterProbe ? 3 : 2);
                     state.numOfPartitions =
                             getNumberOfPartitions(state.memForJoin, inputsize0, fudgeFactor, nPartitions);
                     state.hybridHJ = new OptimizedHybridHashJoin(ctx.getJobletContext(), state.memForJoin,
                             state.numOfPartitions, PROBE_REL, BUILD_REL, probeRd, buildRd, probeHpc, buildHpc,
                             probePredEval, buildPredEval, isLeftOuter, nonMatchWriterFactories);
+                    if (filterProbe) {
+                        state.hybridHJ.setBuildKeyFilter(new JoinKeyBloomFilter(ctx.getInitialFrameSize() * Byte.SIZE,
+                                new FieldHashPartitionComputerFamily(buildKeys, buildHashFunctionFactories)
+                                        .createPartitioner(JoinKeyBloomFilter.HASH_SEED),
+                                new FieldHashPartitionComputerFamily(probeKeys, propHashFunctionFactories)
+                                        .createPartitioner(JoinKeyBloomFilter.HASH_SEED)));
+                    }
                     state.hybridHJ.setOperatorStats(stats);
 
                     state.hybridHJ.initBuild();
@@ -518,8 +530,8 @@ public class OptimizedHybridHashJoinOperatorDescriptor extends AbstractOperatorD
                                     .createPartitioner(level);
 
                     int frameSize = jobletCtx.getInitialFrameSize();
-                    long buildPartSize = (long) Math.ceil((double) buildSideReader.getFileSize() / (double) frameSize);
-                    long probePartSize = (long) Math.ceil((double) probeSideReader.getFileSize() / (double) frameSize);
+                    long buildPartSize = (long) Math.ceil((double) buildSideReader.getDataSize() / (double) frameSize);
+                    long probePartSize = (long) Math.ceil((double) probeSideReader.getDataSize() / (double) frameSize);
                     int beforeMax = Math.max(buildSizeInTuple, probeSizeInTuple);
                     if (stats.getLevel().get() < level) {
                         stats.getLevel().set(level);
@@ -49,7 +49,7 @@ public class ExternalSortRunMerger extends AbstractExternalSortRunMerger {
     @Override
     protected RunFileWriter prepareIntermediateMergeRunFile() throws HyracksDataException {
         FileReference newRun = ctx.createManagedWorkspaceFile(ExternalSortRunMerger.class.getSimpleName());
-        return new RunFileWriter(newRun, ctx.getIoManager());
+        return RunFileWriter.createSpillWriter(newRun, ctx.getJobletContext());
     }
 
     @Override
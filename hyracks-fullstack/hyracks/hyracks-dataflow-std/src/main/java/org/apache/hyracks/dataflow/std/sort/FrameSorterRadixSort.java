@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.dataflow.std.sort;
+
+import java.util.Arrays;
+
+import org.apache.hyracks.api.context.IHyracksTaskContext;
+import org.apache.hyracks.api.dataflow.value.IBinaryComparatorFactory;
+import org.apache.hyracks.api.dataflow.value.INormalizedKeyComputerFactory;
+import org.apache.hyracks.api.dataflow.value.RecordDescriptor;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.dataflow.common.comm.io.FrameTupleAccessor;
+import org.apache.hyracks.dataflow.std.buffermanager.IFrameBufferManager;
+
+/**
+ * Sorts the tuple pointers by their normalized keys with a most significant digit first radix sort, one byte of the
+ * normalized keys at a time. The comparators are only used for the tuples whose normalized keys are all equal, unless
+ * the normalized keys are decisive, and for buckets that are too small to be worth another radix pass. Like the merge
+ * sort, the sort is stable.
+ */
+public class FrameSorterRadixSort extends AbstractFrameSorter {
+
+    private static final int RADIX_BITS = 8;
+    private static final int RADIX = 1 << RADIX_BITS;
+    // buckets up to this size are sorted by insertion
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+
+    private final int normalizedKeyBytes;
+    private final int[][] counts;
+    private int[] tPointersTemp;
+
+    public FrameSorterRadixSort(IHyracksTaskContext ctx, IFrameBufferManager bufferManager, int maxSortFrames,
+            int[] sortFields, INormalizedKeyComputerFactory[] keyNormalizerFactories,
+            IBinaryComparatorFactory[] comparatorFactories, RecordDescriptor recordDescriptor, int outputLimit)
+            throws HyracksDataException {
+        super(ctx, bufferManager, maxSortFrames, sortFields, keyNormalizerFactories, comparatorFactories,
+                recordDescriptor, outputLimit);
+        this.normalizedKeyBytes = normalizedKeyTotalLength * Integer.BYTES;
+        // one histogram per digit, since the buckets of a digit are sorted while its histogram is still in use
+        this.counts = new int[normalizedKeyBytes][];
+    }
+
+    @Override
+    void sortTupleReferences() throws HyracksDataException {
+        if (tPointersTemp == null || tPointersTemp.length < tPointers.length) {
+            tPointersTemp = new int[tPointers.length];
+        }
+        sort(0, tupleCount, 0);
+    }
+
+    @Override
+    protected long getRequiredMemory(FrameTupleAccessor frameAccessor) {
+        return super.getRequiredMemory(frameAccessor) + ptrSize * frameAccessor.getTupleCount() * Integer.BYTES;
+    }
+
+    @Override
+    public void close() {
+        super.close();
+        tPointersTemp = null;
+    }
+
+    private void sort(int offset, int length, int digit) throws HyracksDataException {
+        if (digit == normalizedKeyBytes) {
+            // all normalized keys are equal
+            if (!normalizedKeysDecisive) {
+                mergeSort(offset, length);
+            }
+            return;
+        }
+        if (length <= INSERTION_SORT_THRESHOLD) {
+            insertionSort(offset, length);
+            return;
+        }
+        int[] count = counts[digit];
+        if (count == null) {
+            count = new int[RADIX + 1];
+            counts[digit] = count;
+        } else {
+            Arrays.fill(count, 0);
+        }
+        int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            count[getDigit(i, digit) + 1]++;
+        }
+        if (count[getDigit(offset, digit) + 1] == length) {
+            // all tuples share this digit
+            sort(offset, length, digit + 1);
+            return;
+        }
+        for (int b = 0; b < RADIX; b++) {
+            count[b + 1] += count[b];
+        }
+        // count[b] is the start of bucket b; scatter the pointers while moving it to the end of the bucket
+        for (int i = offset; i < end; i++) {
+            copy(tPointers, i, tPointersTemp, offset + count[getDigit(i, digit)]++);
+        }
+        copy(tPointersTemp, offset, tPointers, offset, length);
+        int bucketStart = 0;
+        for (int b = 0; b < RADIX; b++) {
+            int bucketEnd = count[b];
+            if (bucketEnd - bucketStart > 1) {
+                sort(offset + bucketStart, bucketEnd - bucketStart, digit + 1);
+            }
+            bucketStart = bucketEnd;
+        }
+    }
+
+    private int getDigit(int ptr, int digit) {
+        int key = tPointers[ptr * ptrSize + ID_NORMALIZED_KEY + digit / Integer.BYTES];
+        return (key >>> (Integer.SIZE - RADIX_BITS * (digit % Integer.BYTES + 1))) & (RADIX - 1);
+    }
+
+    private void insertionSort(int offset, int length) throws HyracksDataException {
+        int end = offset + length;
+        for (int i = offset + 1; i < end; i++) {
+            if (compare(i - 1, i) <= 0) {
+                continue;
+            }
+            copy(tPointers, i, tmpPointer, 0);
+            int j = i - 1;
+            do {
+                copy(tPointers, j, tPointers, j + 1);
+                j--;
+            } while (j >= offset && compare(tPointers, j, tmpPointer, 0) > 0);
+            copy(tmpPointer, 0, tPointers, j + 1);
+        }
+    }
+
+    /**
+     * Sorts a range of tuples whose normalized keys are all equal with the comparators
+     */
+    private void mergeSort(int offset, int length) throws HyracksDataException {
+        if (length <= INSERTION_SORT_THRESHOLD) {
+            insertionSort(offset, length);
+            return;
+        }
+        int half = length >> 1;
+        mergeSort(offset, half);
+        mergeSort(offset + half, length - half);
+        int pos1 = offset;
+        int end1 = offset + half;
+        int pos2 = end1;
+        int end2 = offset + length;
+        if (compare(end1 - 1, pos2) <= 0) {
+            return;
+        }
+        int targetPos = offset;
+        while (pos1 < end1 && pos2 < end2) {
+            if (compare(pos1, pos2) <= 0) {
+                copy(tPointers, pos1++, tPointersTemp, targetPos++);
+            } else {
+                copy(tPointers, pos2++, tPointersTemp, targetPos++);
+            }
+        }
+        copy(tPointers, pos1, tPointersTemp, targetPos, end1 - pos1);
+        targetPos += end1 - pos1;
+        copy(tPointers, pos2, tPointersTemp, targetPos, end2 - pos2);
+        copy(tPointersTemp, offset, tPointers, offset, length);
+    }
+
+    private void copy(int src[], int srcPos, int dest[], int destPos) {
+        System.arraycopy(src, srcPos * ptrSize, dest, destPos * ptrSize, ptrSize);
+    }
+
+    private void copy(int src[], int srcPos, int dest[], int destPos, int n) {
+        System.arraycopy(src, srcPos * ptrSize, dest, destPos * ptrSize, n * ptrSize);
+    }
+}
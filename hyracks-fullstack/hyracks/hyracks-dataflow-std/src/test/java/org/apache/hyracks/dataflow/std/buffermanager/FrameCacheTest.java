@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.dataflow.std.buffermanager;
+
+import static org.apache.hyracks.dataflow.std.buffermanager.Common.BUDGET;
+import static org.apache.hyracks.dataflow.std.buffermanager.Common.MIN_FRAME_SIZE;
+import static org.apache.hyracks.dataflow.std.buffermanager.Common.NUM_MIN_FRAME;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.hyracks.api.comm.FrameConstants;
+import org.apache.hyracks.api.comm.FrameHelper;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.control.nc.resources.memory.FrameCache;
+import org.apache.hyracks.control.nc.resources.memory.FrameManager;
+import org.apache.hyracks.dataflow.std.buffermanager.AbstractFramePoolTest.ByteBufferPtr;
+import org.junit.Before;
+import org.junit.Test;
+
+public class FrameCacheTest {
+
+    private FrameCache frameCache;
+    private FrameManager frameManager;
+
+    @Before
+    public void setUp() {
+        frameCache = new FrameCache(BUDGET);
+        frameManager = new FrameManager(MIN_FRAME_SIZE, frameCache);
+    }
+
+    @Test
+    public void testClosedPoolFramesAreReused() throws HyracksDataException {
+        VariableFramePool pool = new VariableFramePool(frameManager, BUDGET);
+        Set<ByteBufferPtr> closedFrames = new HashSet<>();
+        for (int i = 0; i < NUM_MIN_FRAME; i++) {
+            closedFrames.add(new ByteBufferPtr(pool.allocateFrame(MIN_FRAME_SIZE)));
+        }
+        pool.close();
+        assertEquals(BUDGET, frameCache.getCachedSize());
+
+        VariableFramePool nextPool = new VariableFramePool(frameManager, BUDGET);
+        for (int i = 0; i < NUM_MIN_FRAME; i++) {
+            assertTrue(closedFrames.contains(new ByteBufferPtr(nextPool.allocateFrame(MIN_FRAME_SIZE))));
+        }
+        assertEquals(0, frameCache.getCachedSize());
+        nextPool.close();
+    }
+
+    @Test
+    public void testReturnedFramesAreCleared() throws HyracksDataException {
+        DeallocatableFramePool pool = new DeallocatableFramePool(frameManager, BUDGET);
+        ByteBuffer frame = pool.allocateFrame(2 * MIN_FRAME_SIZE);
+        for (int i = 0; i < frame.capacity(); i++) {
+            frame.put(i, (byte) 0x5a);
+        }
+        frame.position(MIN_FRAME_SIZE);
+        pool.deAllocateBuffer(frame);
+        assertEquals(frame.capacity(), frameCache.getCachedSize());
+        // the data of the previous owner must be gone as soon as the frame is in the cache
+        assertNoData(frame, 0);
+
+        ByteBuffer reused = pool.allocateFrame(2 * MIN_FRAME_SIZE);
+        assertSame(frame, reused);
+        assertEquals(0, reused.position());
+        assertEquals(reused.capacity(), reused.limit());
+        // only the frame size written by the frame manager is set
+        assertEquals(2, FrameHelper.deserializeNumOfMinFrame(reused));
+        assertNoData(reused, FrameConstants.SIZE_LEN);
+        pool.close();
+    }
+
+    @Test
+    public void testCacheIsBounded() {
+        Set<ByteBufferPtr> frames = new HashSet<>();
+        for (int i = 0; i < NUM_MIN_FRAME; i++) {
+            ByteBuffer frame = ByteBuffer.allocate(MIN_FRAME_SIZE);
+            frames.add(new ByteBufferPtr(frame));
+            assertTrue(frameCache.put(frame));
+        }
+        assertFalse(frameCache.put(ByteBuffer.allocate(MIN_FRAME_SIZE)));
+        assertEquals(BUDGET, frameCache.getCachedSize());
+        assertNull(frameCache.get(2 * MIN_FRAME_SIZE));
+        for (int i = 0; i < NUM_MIN_FRAME; i++) {
+            assertTrue(frames.contains(new ByteBufferPtr(frameCache.get(MIN_FRAME_SIZE))));
+        }
+        assertNull(frameCache.get(MIN_FRAME_SIZE));
+        assertEquals(0, frameCache.getCachedSize());
+    }
+
+    @Test
+    public void testDisabledCacheKeepsNoFrames() {
+        FrameCache disabled = new FrameCache(0);
+        assertFalse(disabled.put(ByteBuffer.allocate(MIN_FRAME_SIZE)));
+        assertNull(disabled.get(MIN_FRAME_SIZE));
+        assertEquals(0, disabled.getCachedSize());
+    }
+
+    private static void assertNoData(ByteBuffer frame, int from) {
+        for (int i = from; i < frame.capacity(); i++) {
+            assertEquals("byte " + i, 0, frame.get(i));
+        }
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.dataflow.std.join;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.hyracks.api.comm.IFrameTupleAccessor;
+import org.apache.hyracks.api.comm.IFrameWriter;
+import org.apache.hyracks.api.comm.VSizeFrame;
+import org.apache.hyracks.api.context.IHyracksFrameMgrContext;
+import org.apache.hyracks.api.dataflow.value.IBinaryHashFunctionFamily;
+import org.apache.hyracks.api.dataflow.value.ISerializerDeserializer;
+import org.apache.hyracks.api.dataflow.value.ITuplePairComparator;
+import org.apache.hyracks.api.dataflow.value.ITuplePartitionComputer;
+import org.apache.hyracks.api.dataflow.value.RecordDescriptor;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.control.nc.resources.memory.FrameManager;
+import org.apache.hyracks.data.std.accessors.MurmurHash3BinaryHashFunctionFamily;
+import org.apache.hyracks.dataflow.common.comm.io.ArrayTupleBuilder;
+import org.apache.hyracks.dataflow.common.comm.io.FrameTupleAccessor;
+import org.apache.hyracks.dataflow.common.comm.io.FrameTupleAppender;
+import org.apache.hyracks.dataflow.common.comm.util.FrameUtils;
+import org.apache.hyracks.dataflow.common.data.marshalling.IntegerSerializerDeserializer;
+import org.apache.hyracks.dataflow.common.data.partition.FieldHashPartitionComputerFamily;
+import org.apache.hyracks.dataflow.std.buffermanager.DeallocatableFramePool;
+import org.apache.hyracks.dataflow.std.buffermanager.FramePoolBackedFrameBufferManager;
+import org.apache.hyracks.dataflow.std.buffermanager.ISimpleFrameBufferManager;
+import org.apache.hyracks.dataflow.std.structures.SerializableHashTable;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Compares the batched probe of {@link InMemoryHashJoin} with probing one tuple at a time. Both have to produce the
+ * same output in the same order; the time taken by each is logged.
+ */
+public class InMemoryHashJoinProbeTest {
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final int FRAME_SIZE = 32768;
+    private static final int BUILD_FRAMES = 64;
+    private static final int PROBE_FRAMES = 64;
+    private static final int ROUNDS = 5;
+    private static final IBinaryHashFunctionFamily[] HASH_FUNCTION_FAMILIES =
+            { MurmurHash3BinaryHashFunctionFamily.INSTANCE };
+    private static final int[] KEYS = { 0 };
+    private static final RecordDescriptor RD =
+            new RecordDescriptor(new ISerializerDeserializer[] { IntegerSerializerDeserializer.INSTANCE });
+    private static final ITuplePairComparator COMPARATOR = InMemoryHashJoinProbeTest::compareKeys;
+
+    private final IHyracksFrameMgrContext ctx = new FrameManager(FRAME_SIZE);
+    private final Random rnd = new Random(17);
+
+    @Test
+    public void batchedProbeTest() throws HyracksDataException {
+        List<VSizeFrame> buildFrames = generateFrames(BUILD_FRAMES, BUILD_FRAMES * 1024);
+        // half of the probe keys don't have a match
+        List<VSizeFrame> probeFrames = generateFrames(PROBE_FRAMES, BUILD_FRAMES * 2048);
+        InMemoryHashJoin joiner = createJoiner(buildFrames);
+        try {
+            ChecksumWriter tupleAtATime = new ChecksumWriter();
+            ChecksumWriter batched = new ChecksumWriter();
+            long tupleAtATimeNanos = Long.MAX_VALUE;
+            long batchedNanos = Long.MAX_VALUE;
+            for (int round = 0; round < ROUNDS; round++) {
+                tupleAtATime.reset();
+                long start = System.nanoTime();
+                FrameTupleAccessor accessor = new FrameTupleAccessor(RD);
+                for (VSizeFrame frame : probeFrames) {
+                    accessor.reset(frame.getBuffer());
+                    joiner.resetAccessorProbe(accessor);
+                    for (int i = 0; i < accessor.getTupleCount(); i++) {
+                        joiner.join(i, tupleAtATime);
+                    }
+                }
+                joiner.completeJoin(tupleAtATime);
+                tupleAtATimeNanos = Math.min(tupleAtATimeNanos, System.nanoTime() - start);
+
+                batched.reset();
+                start = System.nanoTime();
+                for (VSizeFrame frame : probeFrames) {
+                    joiner.join(frame.getBuffer(), batched);
+                }
+                joiner.completeJoin(batched);
+                batchedNanos = Math.min(batchedNanos, System.nanoTime() - start);
+
+                Assert.assertTrue(batched.tupleCount > 0);
+                Assert.assertEquals(tupleAtATime.tupleCount, batched.tupleCount);
+                Assert.assertEquals(tupleAtATime.checksum, batched.checksum);
+            }
+            LOGGER.info("probed {} frames: tuple at a time {} us, batched {} us", PROBE_FRAMES,
+                    tupleAtATimeNanos / 1000, batchedNanos / 1000);
+        } finally {
+            joiner.releaseMemory();
+            joiner.closeTable();
+        }
+    }
+
+    private InMemoryHashJoin createJoiner(List<VSizeFrame> buildFrames) throws HyracksDataException {
+        ISimpleFrameBufferManager bufferManager =
+                new FramePoolBackedFrameBufferManager(new DeallocatableFramePool(ctx, 8 * BUILD_FRAMES * FRAME_SIZE));
+        ITuplePartitionComputer hpc =
+                new FieldHashPartitionComputerFamily(KEYS, HASH_FUNCTION_FAMILIES).createPartitioner(0);
+        InMemoryHashJoin joiner =
+                new InMemoryHashJoin(ctx, new FrameTupleAccessor(RD), hpc, new FrameTupleAccessor(RD), RD, hpc, false,
+                        null, new SerializableHashTable(BUILD_FRAMES * 1024, ctx, bufferManager), bufferManager);
+        for (VSizeFrame frame : buildFrames) {
+            ByteBuffer copy = bufferManager.acquireFrame(FRAME_SIZE);
+            FrameUtils.copyAndFlip(frame.getBuffer(), copy);
+            joiner.build(copy);
+        }
+        joiner.setComparator(COMPARATOR);
+        return joiner;
+    }
+
+    private List<VSizeFrame> generateFrames(int numFrames, int keyRange) throws HyracksDataException {
+        List<VSizeFrame> frames = new ArrayList<>();
+        ArrayTupleBuilder tb = new ArrayTupleBuilder(1);
+        FrameTupleAppender appender = new FrameTupleAppender();
+        for (int i = 0; i < numFrames; i++) {
+            VSizeFrame frame = new VSizeFrame(ctx, FRAME_SIZE);
+            appender.reset(frame, true);
+            do {
+                tb.reset();
+                tb.addField(IntegerSerializerDeserializer.INSTANCE, rnd.nextInt(keyRange));
+            } while (appender.append(tb.getFieldEndOffsets(), tb.getByteArray(), 0, tb.getSize()));
+            frames.add(frame);
+        }
+        return frames;
+    }
+
+    private static int compareKeys(IFrameTupleAccessor accessor0, int tIndex0, IFrameTupleAccessor accessor1,
+            int tIndex1) {
+        return Integer.compare(getKey(accessor0, tIndex0), getKey(accessor1, tIndex1));
+    }
+
+    private static int getKey(IFrameTupleAccessor accessor, int tIndex) {
+        return accessor.getBuffer().getInt(accessor.getAbsoluteFieldStartOffset(tIndex, 0));
+    }
+
+    /**
+     * Computes an order sensitive checksum of the joined tuples.
+     */
+    private static class ChecksumWriter implements IFrameWriter {
+        private final FrameTupleAccessor accessor =
+                new FrameTupleAccessor(new RecordDescriptor(new ISerializerDeserializer[] {
+                        IntegerSerializerDeserializer.INSTANCE, IntegerSerializerDeserializer.INSTANCE }));
+        private long tupleCount;
+        private long checksum;
+
+        void reset() {
+            tupleCount = 0;
+            checksum = 0;
+        }
+
+        @Override
+        public void open() {
+            // nothing to do
+        }
+
+        @Override
+        public void nextFrame(ByteBuffer buffer) {
+            accessor.reset(buffer);
+            for (int i = 0; i < accessor.getTupleCount(); i++) {
+                checksum = 31 * checksum + getKey(accessor, i);
+                tupleCount++;
+            }
+        }
+
+        @Override
+        public void fail() {
+            // nothing to do
+        }
+
+        @Override
+        public void close() {
+            // nothing to do
+        }
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.tests.integration;
+
+import static org.apache.hyracks.tests.integration.TPCHCustomerOrderHashJoinTest.custDesc;
+import static org.apache.hyracks.tests.integration.TPCHCustomerOrderHashJoinTest.custOrderJoinDesc;
+import static org.apache.hyracks.tests.integration.TPCHCustomerOrderHashJoinTest.custValueParserFactories;
+import static org.apache.hyracks.tests.integration.TPCHCustomerOrderHashJoinTest.orderValueParserFactories;
+import static org.apache.hyracks.tests.integration.TPCHCustomerOrderHashJoinTest.ordersDesc;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.hyracks.api.constraints.PartitionConstraintHelper;
+import org.apache.hyracks.api.dataflow.IOperatorDescriptor;
+import org.apache.hyracks.api.dataflow.value.IBinaryHashFunctionFactory;
+import org.apache.hyracks.api.dataflow.value.IBinaryHashFunctionFamily;
+import org.apache.hyracks.api.io.FileSplit;
+import org.apache.hyracks.api.io.ManagedFileSplit;
+import org.apache.hyracks.api.job.JobId;
+import org.apache.hyracks.api.job.JobSpecification;
+import org.apache.hyracks.api.result.ResultSetId;
+import org.apache.hyracks.data.std.accessors.MurmurHash3BinaryHashFunctionFamily;
+import org.apache.hyracks.data.std.accessors.PointableBinaryHashFunctionFactory;
+import org.apache.hyracks.data.std.accessors.UTF8StringBinaryComparatorFactory;
+import org.apache.hyracks.data.std.primitive.UTF8StringPointable;
+import org.apache.hyracks.dataflow.common.data.partition.FieldHashPartitionComputerFactory;
+import org.apache.hyracks.dataflow.std.connectors.MToNBroadcastConnectorDescriptor;
+import org.apache.hyracks.dataflow.std.connectors.MToNPartitioningConnectorDescriptor;
+import org.apache.hyracks.dataflow.std.connectors.OneToOneConnectorDescriptor;
+import org.apache.hyracks.dataflow.std.file.ConstantFileSplitProvider;
+import org.apache.hyracks.dataflow.std.file.DelimitedDataTupleParserFactory;
+import org.apache.hyracks.dataflow.std.file.FileScanOperatorDescriptor;
+import org.apache.hyracks.dataflow.std.join.JoinComparatorFactory;
+import org.apache.hyracks.dataflow.std.join.JoinKeyFilterOperatorDescriptor;
+import org.apache.hyracks.dataflow.std.join.OptimizedHybridHashJoinOperatorDescriptor;
+import org.apache.hyracks.dataflow.std.misc.ReplicateOperatorDescriptor;
+import org.apache.hyracks.dataflow.std.result.ResultWriterOperatorDescriptor;
+import org.apache.hyracks.tests.util.ResultSerializerFactoryProvider;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Joins the orders with the customers of one of the two customer files, and filters the orders on the keys of those
+ * customers before they are hash partitioned to the join.
+ */
+public class JoinKeyFilterTest extends AbstractIntegrationTest {
+
+    private static final int NUM_ORDERS = 1500;
+
+    private final FileSplit[] custSplits = new FileSplit[] { new ManagedFileSplit(NC1_ID,
+            "data" + File.separator + "tpch0.001" + File.separator + "customer-part1.tbl") };
+    private final FileSplit[] ordersSplits = new FileSplit[] {
+            new ManagedFileSplit(NC1_ID, "data" + File.separator + "tpch0.001" + File.separator + "orders-part1.tbl"),
+            new ManagedFileSplit(NC2_ID, "data" + File.separator + "tpch0.001" + File.separator + "orders-part2.tbl") };
+
+    @Test
+    public void filterDropsOrdersBeforeExchange() throws Exception {
+        JobSpecification spec = new JobSpecification();
+        FileScanOperatorDescriptor custScanner = createCustomerScanner(spec);
+        FileScanOperatorDescriptor ordScanner = createOrdersScanner(spec);
+        JoinKeyFilterOperatorDescriptor filter = createFilter(spec);
+        spec.connect(new OneToOneConnectorDescriptor(spec), ordScanner, 0, filter, 0);
+        spec.connect(new MToNBroadcastConnectorDescriptor(spec), custScanner, 0, filter, 1);
+
+        ResultSetId rsId = new ResultSetId(1);
+        IOperatorDescriptor printer = createPrinter(spec, rsId);
+        spec.connect(new MToNPartitioningConnectorDescriptor(spec, hashOn(1)), filter, 0, printer, 0);
+        spec.addRoot(printer);
+
+        List<String> filtered = run(spec, rsId);
+        List<String> joined = join(true);
+        // a Bloom filter has no false negatives, so every order that joins is kept
+        Assert.assertFalse(joined.isEmpty());
+        Assert.assertTrue(filtered.size() >= joined.size());
+        // the orders of the customers in the other file are dropped, except for a few false positives
+        Assert.assertTrue("kept " + filtered.size() + " orders", filtered.size() < NUM_ORDERS * 3 / 4);
+    }
+
+    @Test
+    public void filterKeepsJoinResults() throws Exception {
+        List<String> expected = join(false);
+        List<String> actual = join(true);
+        Collections.sort(expected);
+        Collections.sort(actual);
+        Assert.assertFalse(expected.isEmpty());
+        Assert.assertEquals(expected, actual);
+    }
+
+    private List<String> join(boolean filterProbe) throws Exception {
+        JobSpecification spec = new JobSpecification();
+        FileScanOperatorDescriptor custScanner = createCustomerScanner(spec);
+        FileScanOperatorDescriptor ordScanner = createOrdersScanner(spec);
+
+        OptimizedHybridHashJoinOperatorDescriptor join = new OptimizedHybridHashJoinOperatorDescriptor(spec, 32, 20,
+                1.2, new int[] { 1 }, new int[] { 0 },
+                new IBinaryHashFunctionFamily[] { MurmurHash3BinaryHashFunctionFamily.INSTANCE },
+                new IBinaryHashFunctionFamily[] { MurmurHash3BinaryHashFunctionFamily.INSTANCE }, custOrderJoinDesc,
+                new JoinComparatorFactory(UTF8StringBinaryComparatorFactory.INSTANCE, 1, 0),
+                new JoinComparatorFactory(UTF8StringBinaryComparatorFactory.INSTANCE, 0, 1), null, null, false, null);
+        PartitionConstraintHelper.addAbsoluteLocationConstraint(spec, join, NC1_ID, NC2_ID);
+
+        if (filterProbe) {
+            ReplicateOperatorDescriptor replicate = new ReplicateOperatorDescriptor(spec, custDesc, 2);
+            PartitionConstraintHelper.addAbsoluteLocationConstraint(spec, replicate, NC1_ID);
+            spec.connect(new OneToOneConnectorDescriptor(spec), custScanner, 0, replicate, 0);
+            spec.connect(new MToNPartitioningConnectorDescriptor(spec, hashOn(0)), replicate, 0, join, 1);
+
+            JoinKeyFilterOperatorDescriptor filter = createFilter(spec);
+            spec.connect(new OneToOneConnectorDescriptor(spec), ordScanner, 0, filter, 0);
+            spec.connect(new MToNBroadcastConnectorDescriptor(spec), replicate, 1, filter, 1);
+            spec.connect(new MToNPartitioningConnectorDescriptor(spec, hashOn(1)), filter, 0, join, 0);
+        } else {
+            spec.connect(new MToNPartitioningConnectorDescriptor(spec, hashOn(0)), custScanner, 0, join, 1);
+            spec.connect(new MToNPartitioningConnectorDescriptor(spec, hashOn(1)), ordScanner, 0, join, 0);
+        }
+
+        ResultSetId rsId = new ResultSetId(1);
+        IOperatorDescriptor printer = createPrinter(spec, rsId);
+        spec.connect(new MToNBroadcastConnectorDescriptor(spec), join, 0, printer, 0);
+        spec.addRoot(printer);
+        return run(spec, rsId);
+    }
+
+    private FileScanOperatorDescriptor createCustomerScanner(JobSpecification spec) {
+        FileScanOperatorDescriptor custScanner =
+                new FileScanOperatorDescriptor(spec, new ConstantFileSplitProvider(custSplits),
+                        new DelimitedDataTupleParserFactory(custValueParserFactories, '|'), custDesc);
+        PartitionConstraintHelper.addAbsoluteLocationConstraint(spec, custScanner, NC1_ID);
+        return custScanner;
+    }
+
+    private FileScanOperatorDescriptor createOrdersScanner(JobSpecification spec) {
+        FileScanOperatorDescriptor ordScanner =
+                new FileScanOperatorDescriptor(spec, new ConstantFileSplitProvider(ordersSplits),
+                        new DelimitedDataTupleParserFactory(orderValueParserFactories, '|'), ordersDesc);
+        PartitionConstraintHelper.addAbsoluteLocationConstraint(spec, ordScanner, NC1_ID, NC2_ID);
+        return ordScanner;
+    }
+
+    private JoinKeyFilterOperatorDescriptor createFilter(JobSpecification spec) {
+        JoinKeyFilterOperatorDescriptor filter = new JoinKeyFilterOperatorDescriptor(spec, 1, new int[] { 1 },
+                new int[] { 0 }, new IBinaryHashFunctionFamily[] { MurmurHash3BinaryHashFunctionFamily.INSTANCE },
+                new IBinaryHashFunctionFamily[] { MurmurHash3BinaryHashFunctionFamily.INSTANCE }, ordersDesc);
+        PartitionConstraintHelper.addAbsoluteLocationConstraint(spec, filter, NC1_ID, NC2_ID);
+        return filter;
+    }
+
+    private IOperatorDescriptor createPrinter(JobSpecification spec, ResultSetId rsId) throws IOException {
+        spec.addResultSetId(rsId);
+        IOperatorDescriptor printer = new ResultWriterOperatorDescriptor(spec, rsId, null, false,
+                ResultSerializerFactoryProvider.INSTANCE.getResultSerializerFactoryProvider(), 1);
+        PartitionConstraintHelper.addAbsoluteLocationConstraint(spec, printer, NC1_ID);
+        return printer;
+    }
+
+    private static FieldHashPartitionComputerFactory hashOn(int field) {
+        return FieldHashPartitionComputerFactory.of(new int[] { field }, new IBinaryHashFunctionFactory[] {
+                PointableBinaryHashFunctionFactory.of(UTF8StringPointable.FACTORY) });
+    }
+
+    private List<String> run(JobSpecification spec, ResultSetId rsId) throws Exception {
+        JobId jobId = executeTest(spec);
+        List<String> results = readResults(spec, jobId, rsId);
+        hcc.waitForCompletion(jobId);
+        return results;
+    }
+}
@@ -20,8 +20,11 @@ package org.apache.hyracks.tests.integration;
 
 import java.nio.ByteBuffer;
 import java.util.BitSet;
+import java.util.HashSet;
 import java.util.Random;
+import java.util.Set;
 
+import org.apache.hyracks.api.comm.IFrameTupleAccessor;
 import org.apache.hyracks.api.comm.IFrameWriter;
 import org.apache.hyracks.api.comm.VSizeFrame;
 import org.apache.hyracks.api.context.IHyracksJobletContext;
@@ -34,14 +37,17 @@ import org.apache.hyracks.api.exceptions.HyracksDataException;
 import org.apache.hyracks.data.std.accessors.MurmurHash3BinaryHashFunctionFamily;
 import org.apache.hyracks.dataflow.common.comm.io.ArrayTupleBuilder;
 import org.apache.hyracks.dataflow.common.comm.io.ArrayTupleReference;
+import org.apache.hyracks.dataflow.common.comm.io.FrameTupleAccessor;
 import org.apache.hyracks.dataflow.common.comm.io.FrameTupleAppender;
 import org.apache.hyracks.dataflow.common.data.marshalling.IntegerSerializerDeserializer;
 import org.apache.hyracks.dataflow.common.data.marshalling.UTF8StringSerializerDeserializer;
 import org.apache.hyracks.dataflow.common.data.partition.FieldHashPartitionComputerFamily;
 import org.apache.hyracks.dataflow.common.utils.TupleUtils;
+import org.apache.hyracks.dataflow.std.join.JoinKeyBloomFilter;
 import org.apache.hyracks.dataflow.std.join.OptimizedHybridHashJoin;
 import org.apache.hyracks.dataflow.std.structures.SerializableHashTable;
 import org.apache.hyracks.test.support.TestUtils;
+import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.mockito.Mockito;
@@ -146,6 +152,163 @@ public class OptimizedHybridHashJoinTest {
         testJoin(memSizeInFrames, numOfPartitions, frame);
     }
 
+    @Test
+    public void SmallRecords_BuildKeyFilterDropsProbeTuples() throws HyracksDataException {
+        probeRd = new RecordDescriptor(new ISerializerDeserializer[] { IntegerSerializerDeserializer.INSTANCE });
+        buildRd = new RecordDescriptor(new ISerializerDeserializer[] { IntegerSerializerDeserializer.INSTANCE });
+        memSizeInFrames = 5;
+        numOfPartitions = 5;
+        VSizeFrame buildFrame = new VSizeFrame(ctx, ctx.getInitialFrameSize());
+        generateIntFrame(buildFrame, 0, 1000);
+        VSizeFrame probeFrame = new VSizeFrame(ctx, ctx.getInitialFrameSize());
+        generateIntFrame(probeFrame, 1000, 1000000);
+        JoinKeyBloomFilter filter = new JoinKeyBloomFilter(frameSize * Byte.SIZE,
+                new FieldHashPartitionComputerFamily(buildKeys, buildHashFunctionFactories).createPartitioner(1),
+                new FieldHashPartitionComputerFamily(probeKeys, propHashFunctionFactories).createPartitioner(1));
+
+        hhj = new OptimizedHybridHashJoin(ctx, memSizeInFrames, numOfPartitions, probeRelName, buildRelName, probeRd,
+                buildRd, probeHpc, buildHpc, null, null, isLeftOuter, null);
+        hhj.setBuildKeyFilter(filter);
+        hhj.initBuild();
+        for (int i = 0; i < totalNumberOfFrames; i++) {
+            hhj.build(buildFrame.getBuffer());
+        }
+        hhj.closeBuild();
+        Assert.assertFalse("the build side should spill", hhj.getPartitionStatus().isEmpty());
+        hhj.initProbe(comparator);
+        for (int i = 0; i < totalNumberOfFrames; i++) {
+            hhj.probe(probeFrame.getBuffer(), Mockito.mock(IFrameWriter.class));
+        }
+        FrameTupleAccessor probeAccessor = new FrameTupleAccessor(probeRd);
+        probeAccessor.reset(probeFrame.getBuffer());
+        int probeTuples = totalNumberOfFrames * probeAccessor.getTupleCount();
+        long partitionedProbeTuples = 0;
+        for (int pid = 0; pid < numOfPartitions; pid++) {
+            partitionedProbeTuples += hhj.getProbePartitionSizeInTup(pid);
+        }
+        // none of the probe keys has a match, only false positives get through
+        Assert.assertEquals(probeTuples, filter.getNumFiltered() + partitionedProbeTuples);
+        Assert.assertTrue(partitionedProbeTuples < probeTuples / 100);
+    }
+
+    @Test
+    public void SmallRecords_BuildKeyFilterInMemory() throws HyracksDataException {
+        probeRd = new RecordDescriptor(new ISerializerDeserializer[] { IntegerSerializerDeserializer.INSTANCE });
+        buildRd = new RecordDescriptor(new ISerializerDeserializer[] { IntegerSerializerDeserializer.INSTANCE });
+        memSizeInFrames = 50;
+        numOfPartitions = 5;
+        VSizeFrame buildFrame = new VSizeFrame(ctx, ctx.getInitialFrameSize());
+        generateIntFrame(buildFrame, 0, 1000);
+        VSizeFrame probeFrame = new VSizeFrame(ctx, ctx.getInitialFrameSize());
+        generateIntFrame(probeFrame, 1000, 1000000);
+        JoinKeyBloomFilter filter = new JoinKeyBloomFilter(frameSize * Byte.SIZE,
+                new FieldHashPartitionComputerFamily(buildKeys, buildHashFunctionFactories).createPartitioner(1),
+                new FieldHashPartitionComputerFamily(probeKeys, propHashFunctionFactories).createPartitioner(1));
+
+        hhj = new OptimizedHybridHashJoin(ctx, memSizeInFrames, numOfPartitions, probeRelName, buildRelName, probeRd,
+                buildRd, probeHpc, buildHpc, null, null, isLeftOuter, null);
+        hhj.setBuildKeyFilter(filter);
+        hhj.initBuild();
+        hhj.build(buildFrame.getBuffer());
+        hhj.closeBuild();
+        Assert.assertTrue("the build side should fit in memory", hhj.getPartitionStatus().isEmpty());
+        // the probe of the resident partitions must only see the false positives of the filter
+        long[] probed = new long[1];
+        ITuplePairComparator probeComparator = (probeAccessor, probeIndex, buildAccessor, buildIndex) -> {
+            probed[0]++;
+            return Integer.compare(getIntKey(probeAccessor, probeIndex), getIntKey(buildAccessor, buildIndex));
+        };
+        hhj.initProbe(probeComparator);
+        for (int i = 0; i < totalNumberOfFrames; i++) {
+            hhj.probe(probeFrame.getBuffer(), Mockito.mock(IFrameWriter.class));
+        }
+        FrameTupleAccessor probeAccessor = new FrameTupleAccessor(probeRd);
+        probeAccessor.reset(probeFrame.getBuffer());
+        int probeTuples = totalNumberOfFrames * probeAccessor.getTupleCount();
+        // none of the probe keys has a match, only false positives get through
+        Assert.assertTrue(filter.getNumFiltered() > probeTuples * 0.99);
+        Assert.assertTrue(probed[0] <= probeTuples - filter.getNumFiltered());
+    }
+
+    @Test
+    public void SmallRecords_BuildKeyFilterDropsRowsBeforeProbe() throws HyracksDataException {
+        probeRd = new RecordDescriptor(new ISerializerDeserializer[] { IntegerSerializerDeserializer.INSTANCE });
+        buildRd = new RecordDescriptor(new ISerializerDeserializer[] { IntegerSerializerDeserializer.INSTANCE });
+        memSizeInFrames = 20;
+        numOfPartitions = 5;
+        VSizeFrame buildFrame = new VSizeFrame(ctx, ctx.getInitialFrameSize());
+        generateIntFrame(buildFrame, 0, 1000);
+        Set<Integer> buildKeySet = new HashSet<>();
+        FrameTupleAccessor buildFrameAccessor = new FrameTupleAccessor(buildRd);
+        buildFrameAccessor.reset(buildFrame.getBuffer());
+        for (int i = 0; i < buildFrameAccessor.getTupleCount(); i++) {
+            buildKeySet.add(getIntKey(buildFrameAccessor, i));
+        }
+        // every other probe key is drawn from the range of the build keys
+        VSizeFrame probeFrame = new VSizeFrame(ctx, ctx.getInitialFrameSize());
+        ArrayTupleBuilder tb = new ArrayTupleBuilder(1);
+        ArrayTupleReference tuple = new ArrayTupleReference();
+        FrameTupleAppender appender = new FrameTupleAppender();
+        appender.reset(probeFrame, true);
+        int numGenerated = 0;
+        do {
+            int key = numGenerated++ % 2 == 0 ? rnd.nextInt(1000) : 1000000 + rnd.nextInt(1000000);
+            TupleUtils.createIntegerTuple(tb, tuple, key);
+        } while (appender.append(tb.getFieldEndOffsets(), tb.getByteArray(), 0, tb.getSize()));
+
+        Set<Integer> droppedKeys = new HashSet<>();
+        JoinKeyBloomFilter filter = new JoinKeyBloomFilter(frameSize * Byte.SIZE,
+                new FieldHashPartitionComputerFamily(buildKeys, buildHashFunctionFactories).createPartitioner(1),
+                new FieldHashPartitionComputerFamily(probeKeys, propHashFunctionFactories).createPartitioner(1)) {
+            @Override
+            public boolean mightContain(IFrameTupleAccessor accessor, int tIndex) throws HyracksDataException {
+                boolean mightContain = super.mightContain(accessor, tIndex);
+                if (!mightContain) {
+                    droppedKeys.add(getIntKey(accessor, tIndex));
+                }
+                return mightContain;
+            }
+        };
+        // the probe of the resident partitions must never see a dropped row
+        Set<Integer> probedKeys = new HashSet<>();
+        ITuplePairComparator probeComparator = (probeAccessor, probeIndex, buildAccessor, buildIndex) -> {
+            int probeKey = getIntKey(probeAccessor, probeIndex);
+            Assert.assertFalse("probed a dropped row " + probeKey, droppedKeys.contains(probeKey));
+            probedKeys.add(probeKey);
+            return Integer.compare(probeKey, getIntKey(buildAccessor, buildIndex));
+        };
+
+        hhj = new OptimizedHybridHashJoin(ctx, memSizeInFrames, numOfPartitions, probeRelName, buildRelName, probeRd,
+                buildRd, probeHpc, buildHpc, null, null, isLeftOuter, null);
+        hhj.setBuildKeyFilter(filter);
+        hhj.initBuild();
+        for (int i = 0; i < totalNumberOfFrames; i++) {
+            hhj.build(buildFrame.getBuffer());
+        }
+        hhj.closeBuild();
+        BitSet spilledStatus = hhj.getPartitionStatus();
+        Assert.assertTrue("some partitions should be resident and some spilled",
+                spilledStatus.cardinality() > 0 && spilledStatus.cardinality() < numOfPartitions);
+        hhj.initProbe(probeComparator);
+        for (int i = 0; i < totalNumberOfFrames; i++) {
+            hhj.probe(probeFrame.getBuffer(), Mockito.mock(IFrameWriter.class));
+        }
+
+        Assert.assertFalse(probedKeys.isEmpty());
+        Assert.assertFalse(droppedKeys.isEmpty());
+        // a Bloom filter has no false negatives, so none of the rows that have a match was dropped
+        Assert.assertTrue(droppedKeys.stream().noneMatch(buildKeySet::contains));
+        // the dropped rows are neither probed nor written to the probe side of the spilled partitions
+        long partitionedProbeTuples = 0;
+        for (int pid = 0; pid < numOfPartitions; pid++) {
+            partitionedProbeTuples += hhj.getProbePartitionSizeInTup(pid);
+        }
+        FrameTupleAccessor probeFrameAccessor = new FrameTupleAccessor(probeRd);
+        probeFrameAccessor.reset(probeFrame.getBuffer());
+        Assert.assertEquals((long) totalNumberOfFrames * probeFrameAccessor.getTupleCount(),
+                filter.getNumFiltered() + partitionedProbeTuples);
+    }
+
     private void testJoin(int memSizeInFrames, int numOfPartitions, VSizeFrame frame) throws HyracksDataException {
 
         hhj = new OptimizedHybridHashJoin(ctx, memSizeInFrames, numOfPartitions, probeRelName, buildRelName, probeRd,
@@ -220,6 +383,20 @@ public class OptimizedHybridHashJoinTest {
         }
     }
 
+    private void generateIntFrame(VSizeFrame frame, int minKey, int maxKey) throws HyracksDataException {
+        ArrayTupleBuilder tb = new ArrayTupleBuilder(1);
+        ArrayTupleReference tuple = new ArrayTupleReference();
+        FrameTupleAppender appender = new FrameTupleAppender();
+        appender.reset(frame, true);
+        do {
+            TupleUtils.createIntegerTuple(tb, tuple, minKey + rnd.nextInt(maxKey - minKey));
+        } while (appender.append(tb.getFieldEndOffsets(), tb.getByteArray(), 0, tb.getSize()));
+    }
+
+    private static int getIntKey(IFrameTupleAccessor accessor, int tIndex) {
+        return accessor.getBuffer().getInt(accessor.getAbsoluteFieldStartOffset(tIndex, 0));
+    }
+
     private void generateStringFrame(VSizeFrame frame, int length) throws HyracksDataException {
         int fieldCount = 1;
         ArrayTupleBuilder tb = new ArrayTupleBuilder(fieldCount);
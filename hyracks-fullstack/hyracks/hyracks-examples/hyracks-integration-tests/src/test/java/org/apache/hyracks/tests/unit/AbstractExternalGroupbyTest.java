@@ -94,6 +94,8 @@ public abstract class AbstractExternalGroupbyTest {
     int[] keyFields = new int[] { 1 };
     int[] keyFieldsAfterPartial = new int[] { 0 };
 
+    ResultValidateWriter resultWriter;
+
     class ResultValidateWriter implements IFrameWriter {
 
         final Map<Integer, String> keyValueMap;
@@ -110,6 +112,7 @@ public abstract class AbstractExternalGroupbyTest {
         }
 
         private Map<String, Result> answer;
+        int numFrames;
 
         public ResultValidateWriter(Map<Integer, String> keyValueMap) {
             this.keyValueMap = keyValueMap;
@@ -131,6 +134,7 @@ public abstract class AbstractExternalGroupbyTest {
 
         @Override
         public void nextFrame(ByteBuffer buffer) throws HyracksDataException {
+            numFrames++;
             resultAccessor.reset(buffer);
             ByteBufferInputStream bbis = new ByteBufferInputStream();
             DataInputStream di = new DataInputStream(bbis);
@@ -212,6 +216,8 @@ public abstract class AbstractExternalGroupbyTest {
                 keyValueMap);
 
         ResultValidateWriter writer = new ResultValidateWriter(keyValueMap);
+        resultWriter = writer;
+        getMerger().setOutputFrameWriter(0, writer, outputRec);
 
         try {
             getBuilder().open();
@@ -221,7 +227,6 @@ public abstract class AbstractExternalGroupbyTest {
         } finally {
             getBuilder().close();
         }
-        getMerger().setOutputFrameWriter(0, writer, outputRec);
         getMerger().initialize();
     }
 
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hyracks.tests.unit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+
+import org.apache.hyracks.api.comm.IFrameWriter;
+import org.apache.hyracks.api.context.IHyracksTaskContext;
+import org.apache.hyracks.api.dataflow.IOperatorNodePushable;
+import org.apache.hyracks.api.dataflow.value.IBinaryHashFunctionFamily;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.data.std.accessors.UTF8StringBinaryHashFunctionFamily;
+import org.apache.hyracks.dataflow.common.io.RunFileWriter;
+import org.apache.hyracks.dataflow.std.group.HashSpillableTableFactory;
+import org.apache.hyracks.dataflow.std.group.ISpillableTableFactory;
+import org.apache.hyracks.dataflow.std.group.external.ExternalGroupPassThroughOperatorNodePushable;
+import org.junit.Test;
+
+/**
+ * Runs the hash group-by as the local phase of a two-phase aggregation. The generated keys are nearly unique, so the
+ * group-by passes the input through to its output once its table is full instead of spilling it.
+ */
+public class ExternalHashGroupbyPassThroughTest extends AbstractExternalGroupbyTest {
+    ExternalGroupPassThroughOperatorNodePushable operator;
+    IFrameWriter builder;
+    int numOutputFramesBeforeClose;
+
+    @Override
+    @Test
+    public void testBuildAndMergeNormalFrameInMem() throws HyracksDataException {
+        super.testBuildAndMergeNormalFrameInMem();
+        // the table never fills up, so all the groups are output at the end
+        assertEquals(0, numOutputFramesBeforeClose);
+    }
+
+    @Override
+    @Test
+    public void testBuildAndMergeNormalFrameSpill() throws HyracksDataException {
+        super.testBuildAndMergeNormalFrameSpill();
+        assertTrue(numOutputFramesBeforeClose > 0);
+    }
+
+    @Override
+    @Test
+    public void testBuildAndMergeBigObj() throws HyracksDataException {
+        super.testBuildAndMergeBigObj();
+        assertTrue(numOutputFramesBeforeClose > 0);
+    }
+
+    @Override
+    protected void initial(IHyracksTaskContext ctx, int tableSize, int numFrames) throws HyracksDataException {
+        ISpillableTableFactory tableFactory = new HashSpillableTableFactory(
+                new IBinaryHashFunctionFamily[] { UTF8StringBinaryHashFunctionFamily.INSTANCE });
+        operator =
+                new ExternalGroupPassThroughOperatorNodePushable(ctx, tableSize, numFrames * ctx.getInitialFrameSize(),
+                        keyFields, null, numFrames, comparatorFactories, normalizedKeyComputerFactory,
+                        partialAggrInPlace, finalAggrInPlace, inRecordDesc, outputRec, outputRec, tableFactory) {
+                    @Override
+                    public RunFileWriter getRunFileWriter() throws HyracksDataException {
+                        throw new AssertionError("the input is passed through instead of being spilled");
+                    }
+                };
+        builder = new IFrameWriter() {
+            @Override
+            public void open() throws HyracksDataException {
+                operator.open();
+            }
+
+            @Override
+            public void nextFrame(ByteBuffer buffer) throws HyracksDataException {
+                operator.nextFrame(buffer);
+            }
+
+            @Override
+            public void fail() throws HyracksDataException {
+                operator.fail();
+            }
+
+            @Override
+            public void close() throws HyracksDataException {
+                // the tuples that are passed through reach the output while the input is still being consumed
+                numOutputFramesBeforeClose = resultWriter.numFrames;
+                operator.close();
+            }
+        };
+    }
+
+    @Override
+    protected IFrameWriter getBuilder() {
+        return builder;
+    }
+
+    @Override
+    protected IOperatorNodePushable getMerger() {
+        return operator;
+    }
+
+}
@@ -45,7 +45,16 @@ public class ExternalSortRunGeneratorTest extends AbstractRunGeneratorTest {
                 ComparatorFactories, RecordDesc, Algorithm.MERGE_SORT, EnumFreeSlotPolicy.LAST_FIT, frameLimit,
                 Integer.MAX_VALUE);
 
+        ExternalSortRunGenerator radixSortRunGenerator =
+                new ExternalSortRunGenerator(ctx, SortFields, null, ComparatorFactories, RecordDesc,
+                        Algorithm.RADIX_SORT, EnumFreeSlotPolicy.LAST_FIT, frameLimit, Integer.MAX_VALUE);
+        ExternalSortRunGenerator radixSortRunGeneratorWithNormalizeKeys = new ExternalSortRunGenerator(ctx, SortFields,
+                new INormalizedKeyComputerFactory[] { new IntegerNormalizedKeyComputerFactory(),
+                        new UTF8StringNormalizedKeyComputerFactory(4) },
+                ComparatorFactories, RecordDesc, Algorithm.RADIX_SORT, EnumFreeSlotPolicy.LAST_FIT, frameLimit,
+                Integer.MAX_VALUE);
+
         return new AbstractSortRunGenerator[] { runGenerator, runGeneratorWithOneNormalizeKey,
-                runGeneratorWithNormalizeKeys };
+                runGeneratorWithNormalizeKeys, radixSortRunGenerator, radixSortRunGeneratorWithNormalizeKeys };
     }
 }
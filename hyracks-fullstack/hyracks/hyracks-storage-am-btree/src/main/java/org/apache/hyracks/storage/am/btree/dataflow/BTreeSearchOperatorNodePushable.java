@@ -107,6 +107,10 @@ public class BTreeSearchOperatorNodePushable extends IndexSearchOperatorNodePush
     protected void addAdditionalIndexAccessorParams(IIndexAccessParameters iap) throws HyracksDataException {
         //Set tuple projector to get the information about the pushed down value accesses (if supported by the index)
         iap.getParameters().put(HyracksConstants.TUPLE_PROJECTOR, tupleProjector);
+        if (lowKey == null && highKey == null) {
+            // a full scan should not push the working set out of the buffer cache
+            iap.getParameters().put(HyracksConstants.USE_ONCE_PAGE_ACCESS, Boolean.TRUE);
+        }
     }
 
 }
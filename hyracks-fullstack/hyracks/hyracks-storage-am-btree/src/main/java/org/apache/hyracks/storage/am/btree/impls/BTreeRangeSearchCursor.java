@@ -76,6 +76,8 @@ public class BTreeRangeSearchCursor extends EnforcedIndexCursor implements ITree
     protected ITupleReference highKey;
 
     protected final IIndexCursorStats stats;
+    // pin the leaves reached by following sibling pointers as one-time accesses
+    protected boolean useOncePageAccess;
 
     public BTreeRangeSearchCursor(IBTreeLeafFrame frame, boolean exclusiveLatchNodes) {
         this(frame, exclusiveLatchNodes, NoOpIndexCursorStats.INSTANCE);
@@ -293,6 +295,10 @@ public class BTreeRangeSearchCursor extends EnforcedIndexCursor implements ITree
         return exclusiveLatchNodes;
     }
 
+    public void setUseOncePageAccess(boolean useOncePageAccess) {
+        this.useOncePageAccess = useOncePageAccess;
+    }
+
     protected void releasePage() throws HyracksDataException {
         if (exclusiveLatchNodes) {
             page.releaseWriteLatch(isPageDirty);
@@ -303,7 +309,8 @@ public class BTreeRangeSearchCursor extends EnforcedIndexCursor implements ITree
     }
 
     protected ICachedPage acquirePage(int pageId) throws HyracksDataException {
-        ICachedPage nextPage = bufferCache.pin(BufferedFileHandle.getDiskPageId(fileId, pageId), false);
+        long dpid = BufferedFileHandle.getDiskPageId(fileId, pageId);
+        ICachedPage nextPage = useOncePageAccess ? bufferCache.pinUseOnce(dpid) : bufferCache.pin(dpid, false);
         if (exclusiveLatchNodes) {
             nextPage.acquireWriteLatch();
         } else {
@@ -185,8 +185,12 @@ public class DiskBTree extends BTree {
         @Override
         public ITreeIndexCursor createSearchCursor(boolean exclusive) {
             IBTreeLeafFrame leafFrame = (IBTreeLeafFrame) btree.getLeafFrameFactory().createFrame();
-            return new DiskBTreeRangeSearchCursor(leafFrame, exclusive, (IIndexCursorStats) iap.getParameters()
-                    .getOrDefault(HyracksConstants.INDEX_CURSOR_STATS, NoOpIndexCursorStats.INSTANCE));
+            DiskBTreeRangeSearchCursor cursor = new DiskBTreeRangeSearchCursor(leafFrame, exclusive,
+                    (IIndexCursorStats) iap.getParameters().getOrDefault(HyracksConstants.INDEX_CURSOR_STATS,
+                            NoOpIndexCursorStats.INSTANCE));
+            cursor.setUseOncePageAccess(
+                    Boolean.TRUE.equals(iap.getParameter(HyracksConstants.USE_ONCE_PAGE_ACCESS, Boolean.class)));
+            return cursor;
         }
 
         @Override
@@ -230,8 +234,10 @@ public class DiskBTree extends BTree {
 
         @Override
         protected ICachedPage acquireNextPage() throws HyracksDataException {
-            ICachedPage nextPage = bufferCache.pin(BufferedFileHandle.getDiskPageId(fileId, currentPageId), false);
-            return nextPage;
+            // a disk order scan reads every page of the file exactly once
+            ICachedPage page = bufferCache.pinUseOnce(BufferedFileHandle.getDiskPageId(fileId, currentPageId));
+            bufferCache.notifySequentialAccess(page, true);
+            return page;
         }
 
     }
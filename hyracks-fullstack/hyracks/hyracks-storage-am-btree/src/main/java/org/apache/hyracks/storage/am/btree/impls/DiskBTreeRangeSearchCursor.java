@@ -73,7 +73,11 @@ public class DiskBTreeRangeSearchCursor extends BTreeRangeSearchCursor {
     @Override
     protected ICachedPage acquirePage(int pageId) throws HyracksDataException {
         stats.getPageCounter().update(1);
-        return bufferCache.pin(BufferedFileHandle.getDiskPageId(fileId, pageId), false);
+        long dpid = BufferedFileHandle.getDiskPageId(fileId, pageId);
+        ICachedPage nextLeaf = useOncePageAccess ? bufferCache.pinUseOnce(dpid) : bufferCache.pin(dpid, false);
+        // the leaves of a disk component are laid out in key order; unbounded searches read all of them
+        bufferCache.notifySequentialAccess(nextLeaf, useOncePageAccess);
+        return nextLeaf;
     }
 
 }
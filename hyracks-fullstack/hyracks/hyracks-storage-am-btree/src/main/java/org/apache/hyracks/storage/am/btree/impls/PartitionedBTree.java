@@ -0,0 +1,285 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.storage.am.btree.impls;
+
+import org.apache.hyracks.api.dataflow.value.IBinaryComparatorFactory;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.api.io.FileReference;
+import org.apache.hyracks.api.util.CleanupUtils;
+import org.apache.hyracks.data.std.accessors.MurmurHash3BinaryHash;
+import org.apache.hyracks.dataflow.common.data.accessors.ITupleReference;
+import org.apache.hyracks.storage.am.btree.api.ITupleAcceptor;
+import org.apache.hyracks.storage.am.common.api.IPageManager;
+import org.apache.hyracks.storage.am.common.api.ITreeIndexCursor;
+import org.apache.hyracks.storage.am.common.api.ITreeIndexFrameFactory;
+import org.apache.hyracks.storage.common.IIndexAccessParameters;
+import org.apache.hyracks.storage.common.IIndexCursor;
+import org.apache.hyracks.storage.common.ISearchPredicate;
+import org.apache.hyracks.storage.common.MultiComparator;
+import org.apache.hyracks.storage.common.buffercache.IBufferCache;
+
+/**
+ * A b-tree that is partitioned by key hash into several independent b-trees, so that concurrent writers of
+ * different keys do not compete for the latches of the same tree. This tree is the first partition. Writes go to the
+ * partition of their key and searches merge the partitions in key order.
+ * <p>
+ * Keys that compare equal are expected to be serialized identically, which holds for the keys written by the same
+ * index. Searches do not rely on it, as they always cover all the partitions.
+ */
+public class PartitionedBTree extends BTree {
+
+    private static final int HASH_SEED = 0x3b9ac9ff;
+    private final BTree[] partitions;
+
+    /**
+     * @param otherPartitions
+     *            the b-trees of the partitions other than the first one
+     */
+    public PartitionedBTree(IBufferCache bufferCache, IPageManager freePageManager,
+            ITreeIndexFrameFactory interiorFrameFactory, ITreeIndexFrameFactory leafFrameFactory,
+            IBinaryComparatorFactory[] cmpFactories, int fieldCount, FileReference file, BTree[] otherPartitions) {
+        super(bufferCache, freePageManager, interiorFrameFactory, leafFrameFactory, cmpFactories, fieldCount, file);
+        partitions = new BTree[otherPartitions.length + 1];
+        partitions[0] = this;
+        System.arraycopy(otherPartitions, 0, partitions, 1, otherPartitions.length);
+    }
+
+    public int getNumPartitions() {
+        return partitions.length;
+    }
+
+    @Override
+    public synchronized void create() throws HyracksDataException {
+        super.create();
+        for (int i = 1; i < partitions.length; i++) {
+            partitions[i].create();
+        }
+    }
+
+    @Override
+    public synchronized void activate() throws HyracksDataException {
+        super.activate();
+        for (int i = 1; i < partitions.length; i++) {
+            partitions[i].activate();
+        }
+    }
+
+    @Override
+    public synchronized void deactivate() throws HyracksDataException {
+        super.deactivate();
+        for (int i = 1; i < partitions.length; i++) {
+            partitions[i].deactivate();
+        }
+    }
+
+    @Override
+    public synchronized void destroy() throws HyracksDataException {
+        super.destroy();
+        for (int i = 1; i < partitions.length; i++) {
+            partitions[i].destroy();
+        }
+    }
+
+    @Override
+    public synchronized void clear() throws HyracksDataException {
+        super.clear();
+        for (int i = 1; i < partitions.length; i++) {
+            partitions[i].clear();
+        }
+    }
+
+    @Override
+    public void validate() throws HyracksDataException {
+        super.validate();
+        for (int i = 1; i < partitions.length; i++) {
+            partitions[i].validate();
+        }
+    }
+
+    @Override
+    public BTreeAccessor createAccessor(IIndexAccessParameters iap) {
+        return new PartitionedBTreeAccessor(this, iap);
+    }
+
+    private int getPartition(ITupleReference tuple, int numPartitions) {
+        if (numPartitions == 1) {
+            return 0;
+        }
+        int hash = 0;
+        for (int i = 0; i < cmpFactories.length; i++) {
+            hash = 31 * hash + MurmurHash3BinaryHash.hash(tuple.getFieldData(i), tuple.getFieldStart(i),
+                    tuple.getFieldLength(i), HASH_SEED);
+        }
+        return (hash & Integer.MAX_VALUE) % numPartitions;
+    }
+
+    public class PartitionedBTreeAccessor extends BTreeAccessor {
+
+        private final BTreeAccessor[] partitionAccessors;
+        // the accessors used by searches, which only cover the first partition after a reset to a single b-tree
+        private BTreeAccessor[] searchAccessors;
+        private final MultiComparator keyCmp;
+        private boolean destroyed = false;
+
+        public PartitionedBTreeAccessor(PartitionedBTree btree, IIndexAccessParameters iap) {
+            super(btree, iap);
+            keyCmp = MultiComparator.create(btree.getComparatorFactories());
+            partitionAccessors = new BTreeAccessor[btree.partitions.length];
+            partitionAccessors[0] = new BTreeAccessor(btree, iap);
+            for (int i = 1; i < partitionAccessors.length; i++) {
+                partitionAccessors[i] = btree.partitions[i].createAccessor(iap);
+            }
+            searchAccessors = partitionAccessors;
+        }
+
+        @Override
+        public void reset(BTree btree, IIndexAccessParameters iap) {
+            super.reset(btree, iap);
+            if (btree instanceof PartitionedBTree
+                    && ((PartitionedBTree) btree).partitions.length == partitionAccessors.length) {
+                for (int i = 0; i < partitionAccessors.length; i++) {
+                    partitionAccessors[i].reset(((PartitionedBTree) btree).partitions[i], iap);
+                }
+                searchAccessors = partitionAccessors;
+            } else {
+                partitionAccessors[0].reset(btree, iap);
+                searchAccessors = new BTreeAccessor[] { partitionAccessors[0] };
+            }
+        }
+
+        @Override
+        public void insert(ITupleReference tuple) throws HyracksDataException {
+            getPartitionAccessor(tuple).insert(tuple);
+        }
+
+        @Override
+        public void update(ITupleReference tuple) throws HyracksDataException {
+            getPartitionAccessor(tuple).update(tuple);
+        }
+
+        @Override
+        public void delete(ITupleReference tuple) throws HyracksDataException {
+            getPartitionAccessor(tuple).delete(tuple);
+        }
+
+        @Override
+        public void upsert(ITupleReference tuple) throws HyracksDataException {
+            getPartitionAccessor(tuple).upsert(tuple);
+        }
+
+        @Override
+        public void upsertIfConditionElseInsert(ITupleReference tuple, ITupleAcceptor acceptor)
+                throws HyracksDataException {
+            getPartitionAccessor(tuple).upsertIfConditionElseInsert(tuple, acceptor);
+        }
+
+        @Override
+        public ITreeIndexCursor createSearchCursor(boolean exclusive) {
+            ITreeIndexCursor[] cursors = new ITreeIndexCursor[partitionAccessors.length];
+            for (int i = 0; i < cursors.length; i++) {
+                cursors[i] = partitionAccessors[i].createSearchCursor(exclusive);
+            }
+            return new PartitionedBTreeSearchCursor(cursors, MultiComparator.create(cmpFactories), false);
+        }
+
+        @Override
+        public ITreeIndexCursor createCountingSearchCursor() {
+            ITreeIndexCursor[] cursors = new ITreeIndexCursor[partitionAccessors.length];
+            for (int i = 0; i < cursors.length; i++) {
+                cursors[i] = partitionAccessors[i].createCountingSearchCursor();
+            }
+            return new PartitionedBTreeSearchCursor(cursors, null, true);
+        }
+
+        /**
+         * A point search only visits the partition of its key, so it uses the cursor of a single b-tree.
+         */
+        @Override
+        public ITreeIndexCursor createPointCursor(boolean exclusive, boolean stateful) {
+            return partitionAccessors[0].createPointCursor(exclusive, stateful);
+        }
+
+        /**
+         * Searches all partitions when given a cursor of this accessor. A cursor of a single b-tree can only be
+         * used to search for a single key (e.g. the duplicate key check of an insert or an LSM point search), and
+         * searches the partition of that key.
+         */
+        @Override
+        public void search(IIndexCursor cursor, ISearchPredicate searchPred) throws HyracksDataException {
+            if (cursor instanceof PartitionedBTreeSearchCursor) {
+                ((PartitionedBTreeSearchCursor) cursor).openPartitions(searchAccessors, searchPred);
+                return;
+            }
+            RangePredicate pred = (RangePredicate) searchPred;
+            if (!isKeyLookup(pred)) {
+                throw new IllegalArgumentException("Only key lookups can use the cursor of a single partition");
+            }
+            searchAccessors[getPartition(pred.getLowKey(), searchAccessors.length)].search(cursor, searchPred);
+        }
+
+        /**
+         * Partitioned b-trees are only used as LSM memory components. Their pages live in a virtual buffer cache
+         * and are not laid out in disk order, and LSM accessors do not offer disk order scans, so no plan scans
+         * them in disk order.
+         */
+        @Override
+        public void diskOrderScan(ITreeIndexCursor cursor) throws HyracksDataException {
+            throw new UnsupportedOperationException("Disk order scan is not supported by PartitionedBTree. ");
+        }
+
+        @Override
+        public void destroy() throws HyracksDataException {
+            if (destroyed) {
+                return;
+            }
+            destroyed = true;
+            Throwable failure = null;
+            try {
+                super.destroy();
+            } catch (Throwable th) { // NOSONAR Must destroy all
+                failure = th;
+            }
+            failure = CleanupUtils.destroy(failure, partitionAccessors);
+            if (failure != null) {
+                throw HyracksDataException.create(failure);
+            }
+        }
+
+        private boolean isKeyLookup(RangePredicate pred) throws HyracksDataException {
+            if (pred.getLowKey() == null || pred.getHighKey() == null) {
+                return false;
+            }
+            if (pred.getLowKeyComparator() == null || pred.getHighKeyComparator() == null) {
+                // the b-tree compares with the full key, so only the same key tuple is a key lookup
+                return pred.getLowKey() == pred.getHighKey();
+            }
+            // the search operators build the low and the high key from different tuple references
+            return pred.isPointPredicate(keyCmp);
+        }
+
+        private BTreeAccessor getPartitionAccessor(ITupleReference tuple) {
+            BTreeAccessor accessor = partitionAccessors[getPartition(tuple, partitionAccessors.length)];
+            // the LSM b-tree switches between the insert and delete leaf frames on the context of this accessor
+            BTreeOpContext partitionCtx = accessor.getOpContext();
+            partitionCtx.setLeafFrame(ctx.getLeafFrame());
+            partitionCtx.setLeafFrameFactory(ctx.getLeafFrameFactory());
+            return accessor;
+        }
+    }
+}
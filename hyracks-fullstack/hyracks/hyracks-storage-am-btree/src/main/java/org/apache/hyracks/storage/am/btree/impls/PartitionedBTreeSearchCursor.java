@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.storage.am.btree.impls;
+
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.api.util.CleanupUtils;
+import org.apache.hyracks.data.std.primitive.IntegerPointable;
+import org.apache.hyracks.dataflow.common.comm.io.ArrayTupleBuilder;
+import org.apache.hyracks.dataflow.common.comm.io.ArrayTupleReference;
+import org.apache.hyracks.dataflow.common.data.accessors.ITupleReference;
+import org.apache.hyracks.storage.am.common.api.ITreeIndexCursor;
+import org.apache.hyracks.storage.common.EnforcedIndexCursor;
+import org.apache.hyracks.storage.common.ICursorInitialState;
+import org.apache.hyracks.storage.common.IIndexAccessor;
+import org.apache.hyracks.storage.common.ISearchPredicate;
+import org.apache.hyracks.storage.common.MultiComparator;
+import org.apache.hyracks.storage.common.buffercache.IBufferCache;
+import org.apache.hyracks.storage.common.util.IndexCursorUtils;
+
+/**
+ * Merges the cursors of the partitions of a {@link PartitionedBTree} in key order. A key is only stored in one of
+ * the partitions, so no key is returned twice. In counting mode, the counts of the partitions are summed up.
+ */
+public class PartitionedBTreeSearchCursor extends EnforcedIndexCursor implements ITreeIndexCursor {
+
+    private final ITreeIndexCursor[] partitionCursors;
+    private final MultiComparator cmp;
+    private final boolean counting;
+    private final boolean[] hasTuple;
+    private int numOpenPartitions;
+    // the partition of the returned tuple, which is only advanced by the next call to hasNext()
+    private int current = -1;
+    private boolean countReturned;
+    private final ArrayTupleBuilder countTupleBuilder;
+    private final ArrayTupleReference countTuple;
+
+    public PartitionedBTreeSearchCursor(ITreeIndexCursor[] partitionCursors, MultiComparator cmp, boolean counting) {
+        this.partitionCursors = partitionCursors;
+        this.cmp = cmp;
+        this.counting = counting;
+        hasTuple = new boolean[partitionCursors.length];
+        countTupleBuilder = counting ? new ArrayTupleBuilder(1) : null;
+        countTuple = counting ? new ArrayTupleReference() : null;
+    }
+
+    void openPartitions(IIndexAccessor[] partitionAccessors, ISearchPredicate searchPred) throws HyracksDataException {
+        IndexCursorUtils.open(partitionAccessors, partitionCursors, searchPred);
+        numOpenPartitions = partitionAccessors.length;
+        try {
+            open(null, searchPred);
+        } catch (Throwable th) { // NOSONAR Must close all partition cursors
+            throw HyracksDataException.create(IndexCursorUtils.close(partitionCursors, th));
+        }
+    }
+
+    @Override
+    protected void doOpen(ICursorInitialState initialState, ISearchPredicate searchPred) throws HyracksDataException {
+        current = -1;
+        if (counting) {
+            int count = 0;
+            for (int i = 0; i < numOpenPartitions; i++) {
+                while (partitionCursors[i].hasNext()) {
+                    partitionCursors[i].next();
+                    ITupleReference tuple = partitionCursors[i].getTuple();
+                    count += IntegerPointable.getInteger(tuple.getFieldData(0), tuple.getFieldStart(0));
+                }
+            }
+            countTupleBuilder.reset();
+            byte[] countBuf = new byte[Integer.BYTES];
+            IntegerPointable.setInteger(countBuf, 0, count);
+            countTupleBuilder.addField(countBuf, 0, countBuf.length);
+            countTuple.reset(countTupleBuilder.getFieldEndOffsets(), countTupleBuilder.getByteArray());
+            countReturned = false;
+            return;
+        }
+        for (int i = 0; i < numOpenPartitions; i++) {
+            hasTuple[i] = fetch(i);
+        }
+    }
+
+    @Override
+    protected boolean doHasNext() throws HyracksDataException {
+        if (counting) {
+            return !countReturned;
+        }
+        if (current >= 0) {
+            hasTuple[current] = fetch(current);
+            current = -1;
+        }
+        for (int i = 0; i < numOpenPartitions; i++) {
+            if (hasTuple[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected void doNext() throws HyracksDataException {
+        if (counting) {
+            countReturned = true;
+            return;
+        }
+        doHasNext();
+        int min = -1;
+        for (int i = 0; i < numOpenPartitions; i++) {
+            if (hasTuple[i]
+                    && (min < 0 || cmp.compare(partitionCursors[i].getTuple(), partitionCursors[min].getTuple()) < 0)) {
+                min = i;
+            }
+        }
+        current = min;
+    }
+
+    @Override
+    protected ITupleReference doGetTuple() {
+        if (counting) {
+            return countTuple;
+        }
+        return current >= 0 ? partitionCursors[current].getTuple() : null;
+    }
+
+    @Override
+    protected void doClose() throws HyracksDataException {
+        current = -1;
+        Throwable failure = IndexCursorUtils.close(partitionCursors, null);
+        if (failure != null) {
+            throw HyracksDataException.create(failure);
+        }
+    }
+
+    @Override
+    protected void doDestroy() throws HyracksDataException {
+        Throwable failure = CleanupUtils.destroy(null, partitionCursors);
+        if (failure != null) {
+            throw HyracksDataException.create(failure);
+        }
+    }
+
+    @Override
+    public void setBufferCache(IBufferCache bufferCache) {
+        // the partition cursors are set up by the b-trees of the partitions
+    }
+
+    @Override
+    public void setFileId(int fileId) {
+        // the partition cursors are set up by the b-trees of the partitions
+    }
+
+    @Override
+    public boolean isExclusiveLatchNodes() {
+        return partitionCursors[0].isExclusiveLatchNodes();
+    }
+
+    private boolean fetch(int partition) throws HyracksDataException {
+        if (partitionCursors[partition].hasNext()) {
+            partitionCursors[partition].next();
+            return true;
+        }
+        return false;
+    }
+}
@@ -34,4 +34,33 @@ public interface IExtendedModificationOperationCallback extends IModificationOpe
      */
 
     void after(ITupleReference after) throws HyracksDataException;
+
+    /**
+     * Called before a range delete enters the index, e.g., to lock the range. Unlike the other calls, this call
+     * is made while no component of the index is entered, so it may block.
+     *
+     * @param lowKey
+     *            The inclusive low key of the deleted range
+     * @param highKey
+     *            The inclusive high key of the deleted range
+     * @throws HyracksDataException
+     *             if the index does not accept the range delete
+     */
+    default void beforeRangeDelete(ITupleReference lowKey, ITupleReference highKey) throws HyracksDataException {
+        // no op
+    }
+
+    /**
+     * Called once a range delete has been added to the mutable component and before the component's keys in the
+     * range are removed, e.g., to log the range delete.
+     *
+     * @param lowKey
+     *            The inclusive low key of the deleted range
+     * @param highKey
+     *            The inclusive high key of the deleted range
+     * @throws HyracksDataException
+     */
+    default void afterRangeDelete(ITupleReference lowKey, ITupleReference highKey) throws HyracksDataException {
+        // no op
+    }
 }
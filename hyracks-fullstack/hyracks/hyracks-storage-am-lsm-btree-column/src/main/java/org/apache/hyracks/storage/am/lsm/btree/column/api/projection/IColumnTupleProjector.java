@@ -20,6 +20,8 @@ package org.apache.hyracks.storage.am.lsm.btree.column.api.projection;
 
 import org.apache.hyracks.api.exceptions.HyracksDataException;
 import org.apache.hyracks.data.std.api.IValueReference;
+import org.apache.hyracks.storage.am.lsm.btree.column.api.IColumnTupleIterator;
+import org.apache.hyracks.storage.am.lsm.btree.column.impls.btree.ColumnBTreeLeafSearchCursor;
 import org.apache.hyracks.storage.am.lsm.common.api.IComponentMetadata;
 import org.apache.hyracks.storage.common.projection.ITupleProjector;
 
@@ -34,4 +36,18 @@ public interface IColumnTupleProjector extends ITupleProjector {
      * @return projection information
      */
     IColumnProjectionInfo createProjectionInfo(IValueReference columnMetadata) throws HyracksDataException;
+
+    /**
+     * Create projection information for reading whole leaves. When supported, a search returns a single tuple per
+     * leaf, which is the leaf's {@link IColumnTupleIterator} positioned at the first tuple within the search range,
+     * and the projector is responsible for reading the tuples of that range. This is only used when reading the
+     * leaves of a single disk component is equivalent to reading its records one by one.
+     *
+     * @param columnMetadata the disk component's raw column metadata as stored in {@link IComponentMetadata}
+     * @return projection information or null if reading whole leaves is not supported
+     * @see ColumnBTreeLeafSearchCursor
+     */
+    default IColumnProjectionInfo createLeafProjectionInfo(IValueReference columnMetadata) throws HyracksDataException {
+        return null;
+    }
 }
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.storage.am.lsm.btree.column.dataflow;
+
+import org.apache.hyracks.api.context.IHyracksTaskContext;
+import org.apache.hyracks.api.dataflow.value.IRecordDescriptorProvider;
+import org.apache.hyracks.api.dataflow.value.RecordDescriptor;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.api.job.IOperatorDescriptorRegistry;
+import org.apache.hyracks.storage.am.btree.dataflow.BTreeSearchOperatorDescriptor;
+import org.apache.hyracks.storage.am.common.api.ISearchOperationCallbackFactory;
+import org.apache.hyracks.storage.am.common.dataflow.IIndexDataflowHelperFactory;
+import org.apache.hyracks.storage.am.lsm.btree.column.api.projection.IColumnTupleProjector;
+import org.apache.hyracks.storage.common.projection.ITupleProjectorFactory;
+
+/**
+ * Searches a column index for a constant key range and outputs partial aggregates rather than records. The tuple
+ * projector (see {@link IColumnTupleProjector#createLeafProjectionInfo}) computes the partial aggregates of each leaf
+ * when the leaves can be read as a whole, or of each record otherwise. As no partial aggregate might be produced
+ * (e.g., for an empty range), every search is followed by an identity tuple (e.g., a count of 0) to let the global
+ * aggregate produce the result of an empty input.
+ */
+public class ColumnAggregateSearchOperatorDescriptor extends BTreeSearchOperatorDescriptor {
+    private static final long serialVersionUID = 1L;
+    private final byte[][] lowKey;
+    private final byte[][] highKey;
+    private final byte[][] identityFields;
+
+    /**
+     * @param lowKey         serialized fields of the low key or null if the range has no lower bound
+     * @param highKey        serialized fields of the high key or null if the range has no upper bound
+     * @param identityFields serialized fields of the identity tuple
+     */
+    public ColumnAggregateSearchOperatorDescriptor(IOperatorDescriptorRegistry spec, RecordDescriptor outRecDesc,
+            byte[][] lowKey, byte[][] highKey, boolean lowKeyInclusive, boolean highKeyInclusive,
+            IIndexDataflowHelperFactory indexHelperFactory, ISearchOperationCallbackFactory searchCallbackFactory,
+            byte[][] identityFields, ITupleProjectorFactory tupleProjectorFactory, int[][] partitionsMap) {
+        super(spec, outRecDesc, null, null, lowKeyInclusive, highKeyInclusive, indexHelperFactory, true, false, null,
+                searchCallbackFactory, null, null, false, null, null, -1, false, null, null, tupleProjectorFactory,
+                null, partitionsMap);
+        this.lowKey = lowKey;
+        this.highKey = highKey;
+        this.identityFields = identityFields;
+    }
+
+    @Override
+    public ColumnAggregateSearchOperatorNodePushable createPushRuntime(IHyracksTaskContext ctx,
+            IRecordDescriptorProvider recordDescProvider, int partition, int nPartitions) throws HyracksDataException {
+        return new ColumnAggregateSearchOperatorNodePushable(ctx, partition,
+                recordDescProvider.getInputRecordDescriptor(getActivityId(), 0), lowKey, highKey, lowKeyInclusive,
+                highKeyInclusive, indexHelperFactory, searchCallbackFactory, identityFields, tupleProjectorFactory,
+                partitionsMap);
+    }
+
+    @Override
+    public String getDisplayName() {
+        return "Column Aggregate Search";
+    }
+}
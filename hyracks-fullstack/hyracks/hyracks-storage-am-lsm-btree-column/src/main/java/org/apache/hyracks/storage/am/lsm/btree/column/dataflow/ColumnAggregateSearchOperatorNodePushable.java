@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.storage.am.lsm.btree.column.dataflow;
+
+import org.apache.hyracks.api.context.IHyracksTaskContext;
+import org.apache.hyracks.api.dataflow.value.RecordDescriptor;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.dataflow.common.comm.io.ArrayTupleBuilder;
+import org.apache.hyracks.dataflow.common.comm.io.ArrayTupleReference;
+import org.apache.hyracks.dataflow.common.comm.util.FrameUtils;
+import org.apache.hyracks.storage.am.btree.dataflow.BTreeSearchOperatorNodePushable;
+import org.apache.hyracks.storage.am.btree.impls.RangePredicate;
+import org.apache.hyracks.storage.am.btree.util.BTreeUtils;
+import org.apache.hyracks.storage.am.common.api.ISearchOperationCallbackFactory;
+import org.apache.hyracks.storage.am.common.api.ITreeIndex;
+import org.apache.hyracks.storage.am.common.dataflow.IIndexDataflowHelperFactory;
+import org.apache.hyracks.storage.common.IIndex;
+import org.apache.hyracks.storage.common.IIndexCursor;
+import org.apache.hyracks.storage.common.ISearchPredicate;
+import org.apache.hyracks.storage.common.projection.ITupleProjectorFactory;
+
+public class ColumnAggregateSearchOperatorNodePushable extends BTreeSearchOperatorNodePushable {
+    private final ArrayTupleReference constantLowKey;
+    private final ArrayTupleReference constantHighKey;
+    private final ArrayTupleBuilder identityTuple;
+
+    public ColumnAggregateSearchOperatorNodePushable(IHyracksTaskContext ctx, int partition,
+            RecordDescriptor inputRecDesc, byte[][] lowKey, byte[][] highKey, boolean lowKeyInclusive,
+            boolean highKeyInclusive, IIndexDataflowHelperFactory indexHelperFactory,
+            ISearchOperationCallbackFactory searchCallbackFactory, byte[][] identityFields,
+            ITupleProjectorFactory projectorFactory, int[][] partitionsMap) throws HyracksDataException {
+        super(ctx, partition, inputRecDesc, null, null, lowKeyInclusive, highKeyInclusive, null, null,
+                indexHelperFactory, true, false, null, searchCallbackFactory, false, null, null, -1, false, null, null,
+                projectorFactory, null, partitionsMap);
+        constantLowKey = createTuple(lowKey);
+        constantHighKey = createTuple(highKey);
+        identityTuple = createTupleBuilder(identityFields);
+    }
+
+    @Override
+    protected ISearchPredicate createSearchPredicate(IIndex index) {
+        ITreeIndex treeIndex = (ITreeIndex) index;
+        lowKeySearchCmp = BTreeUtils.getSearchMultiComparator(treeIndex.getComparatorFactories(), constantLowKey);
+        highKeySearchCmp = BTreeUtils.getSearchMultiComparator(treeIndex.getComparatorFactories(), constantHighKey);
+        return new RangePredicate(constantLowKey, constantHighKey, lowKeyInclusive, highKeyInclusive, lowKeySearchCmp,
+                highKeySearchCmp);
+    }
+
+    @Override
+    protected void resetSearchPredicate(int tupleIndex) {
+        // The keys are constants
+    }
+
+    @Override
+    protected void writeSearchResults(int tupleIndex, IIndexCursor cursor) throws Exception {
+        super.writeSearchResults(tupleIndex, cursor);
+        FrameUtils.appendConcatToWriter(writer, appender, accessor, tupleIndex, identityTuple.getFieldEndOffsets(),
+                identityTuple.getByteArray(), 0, identityTuple.getSize());
+    }
+
+    private static ArrayTupleReference createTuple(byte[][] fields) throws HyracksDataException {
+        if (fields == null) {
+            return null;
+        }
+        ArrayTupleBuilder builder = createTupleBuilder(fields);
+        ArrayTupleReference tuple = new ArrayTupleReference();
+        tuple.reset(builder.getFieldEndOffsets(), builder.getByteArray());
+        return tuple;
+    }
+
+    private static ArrayTupleBuilder createTupleBuilder(byte[][] fields) throws HyracksDataException {
+        ArrayTupleBuilder builder = new ArrayTupleBuilder(fields.length);
+        for (byte[] field : fields) {
+            builder.addField(field, 0, field.length);
+        }
+        return builder;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hyracks.storage.am.lsm.btree.column.impls.btree;
+
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.storage.am.lsm.btree.column.api.IColumnTupleIterator;
+import org.apache.hyracks.storage.am.lsm.btree.column.api.projection.IColumnTupleProjector;
+import org.apache.hyracks.storage.common.ICursorInitialState;
+import org.apache.hyracks.storage.common.IIndexCursorStats;
+import org.apache.hyracks.storage.common.ISearchPredicate;
+
+/**
+ * A range search cursor that returns one tuple per leaf rather than one tuple per record. The returned tuple is the
+ * leaf's {@link IColumnTupleIterator}, which is positioned at the first tuple within the search range and ends at
+ * the last one. Consuming the tuples of the range is left to the caller.
+ *
+ * @see IColumnTupleProjector#createLeafProjectionInfo
+ */
+public class ColumnBTreeLeafSearchCursor extends ColumnBTreeRangeSearchCursor {
+    private boolean leafPending;
+    private boolean lastLeaf;
+
+    public ColumnBTreeLeafSearchCursor(ColumnBTreeReadLeafFrame frame, IIndexCursorStats stats, int index) {
+        super(frame, stats, index);
+    }
+
+    @Override
+    public void doOpen(ICursorInitialState initialState, ISearchPredicate searchPred) throws HyracksDataException {
+        leafPending = false;
+        // An empty first leaf means an empty tree
+        lastLeaf = true;
+        super.doOpen(initialState, searchPred);
+    }
+
+    @Override
+    public boolean doHasNext() throws HyracksDataException {
+        while (!leafPending && !lastLeaf) {
+            int nextLeafPage = frame.getNextLeaf();
+            if (nextLeafPage < 0) {
+                return false;
+            }
+            frameTuple.lastTupleReached();
+            fetchNextLeafPage(nextLeafPage);
+        }
+        return leafPending;
+    }
+
+    @Override
+    public void doNext() {
+        leafPending = false;
+    }
+
+    @Override
+    protected void setCursorPosition() throws HyracksDataException {
+        int tupleCount = frame.getTupleCount();
+        if (tupleCount == 0) {
+            leafPending = false;
+            lastLeaf = false;
+            frameTuple.consume();
+            return;
+        }
+        int start = getLowKeyIndex();
+        int end = getHighKeyIndex();
+        // No need to visit the following leaves if the high key is within this leaf
+        lastLeaf = end < tupleCount - 1;
+        leafPending = start <= end;
+        if (leafPending) {
+            frameTuple.reset(start, end);
+            // The following leaves' keys are all greater than the low key
+            lowKey = null;
+        } else {
+            frameTuple.consume();
+        }
+    }
+
+    @Override
+    protected int getHighKeyIndex() throws HyracksDataException {
+        if (highKey != null && isLessOrEqual(frame.getRightmostTuple(), highKey, pred.isHighKeyInclusive())) {
+            // The entire leaf is within the high key. Do not search for the high key
+            return frame.getTupleCount() - 1;
+        }
+        return super.getHighKeyIndex();
+    }
+}
@@ -83,7 +83,7 @@ public class ColumnBTreeRangeSearchCursor extends EnforcedIndexCursor
         return frameTuple;
     }
 
-    private void fetchNextLeafPage(int leafPage) throws HyracksDataException {
+    protected void fetchNextLeafPage(int leafPage) throws HyracksDataException {
         int nextLeafPage = leafPage;
         do {
             ICachedPage nextLeaf = bufferCache.pin(BufferedFileHandle.getDiskPageId(fileId, nextLeafPage), false);
@@ -146,7 +146,7 @@ public class ColumnBTreeRangeSearchCursor extends EnforcedIndexCursor
         setCursorPosition();
     }
 
-    private void setCursorPosition() throws HyracksDataException {
+    protected void setCursorPosition() throws HyracksDataException {
         int start = getLowKeyIndex();
         int end = getHighKeyIndex();
         if (end < start) {
@@ -185,7 +185,7 @@ public class ColumnBTreeRangeSearchCursor extends EnforcedIndexCursor
         }
     }
 
-    private boolean isLessOrEqual(ITupleReference left, ITupleReference right, boolean inclusive)
+    protected boolean isLessOrEqual(ITupleReference left, ITupleReference right, boolean inclusive)
             throws HyracksDataException {
         int cmp = originalKeyCmp.compare(left, right);
         return cmp < 0 || inclusive && cmp == 0;
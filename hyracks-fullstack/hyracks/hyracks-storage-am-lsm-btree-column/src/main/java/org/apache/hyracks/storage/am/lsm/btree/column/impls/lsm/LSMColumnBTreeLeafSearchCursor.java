@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.storage.am.lsm.btree.column.impls.lsm;
+
+import java.util.List;
+
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.dataflow.common.data.accessors.ITupleReference;
+import org.apache.hyracks.storage.am.btree.impls.RangePredicate;
+import org.apache.hyracks.storage.am.common.api.ILSMIndexCursor;
+import org.apache.hyracks.storage.am.common.api.ITreeIndexCursor;
+import org.apache.hyracks.storage.am.common.impls.IndexAccessParameters;
+import org.apache.hyracks.storage.am.lsm.btree.column.api.projection.IColumnProjectionInfo;
+import org.apache.hyracks.storage.am.lsm.btree.column.impls.btree.ColumnBTree;
+import org.apache.hyracks.storage.am.lsm.btree.column.impls.btree.ColumnBTree.ColumnBTreeAccessor;
+import org.apache.hyracks.storage.am.lsm.btree.column.impls.btree.ColumnBTreeLeafSearchCursor;
+import org.apache.hyracks.storage.am.lsm.btree.column.utils.ColumnUtil;
+import org.apache.hyracks.storage.am.lsm.btree.impls.LSMBTreeCursorInitialState;
+import org.apache.hyracks.storage.am.lsm.btree.impls.RangeTombstones;
+import org.apache.hyracks.storage.am.lsm.common.api.ILSMComponent;
+import org.apache.hyracks.storage.am.lsm.common.api.ILSMComponent.LSMComponentType;
+import org.apache.hyracks.storage.am.lsm.common.api.ILSMHarness;
+import org.apache.hyracks.storage.am.lsm.common.api.ILSMMemoryComponent;
+import org.apache.hyracks.storage.common.EnforcedIndexCursor;
+import org.apache.hyracks.storage.common.ICursorInitialState;
+import org.apache.hyracks.storage.common.IIndexAccessParameters;
+import org.apache.hyracks.storage.common.ISearchPredicate;
+import org.apache.hyracks.storage.common.NoOpIndexCursorStats;
+
+/**
+ * Searches the only disk component of a column index leaf by leaf (see {@link ColumnBTreeLeafSearchCursor}).
+ * Reading whole leaves is only equivalent to reading the records one by one if no other component can add, override,
+ * or delete the disk component's records. Thus, the cursor is used only if the memory components are unmodified and
+ * the disk component has neither anti-matter tuples nor range tombstones.
+ */
+public class LSMColumnBTreeLeafSearchCursor extends EnforcedIndexCursor implements ILSMIndexCursor {
+    private final LSMColumnBTreeOpContext opCtx;
+    private final IIndexAccessParameters iap;
+    private ILSMHarness lsmHarness;
+    private IColumnProjectionInfo projectionInfo;
+    private int diskComponentIndex;
+    private ColumnBTreeAccessor accessor;
+    private ITreeIndexCursor cursor;
+
+    public LSMColumnBTreeLeafSearchCursor(LSMColumnBTreeOpContext opCtx) {
+        this.opCtx = opCtx;
+        iap = IndexAccessParameters.createNoOpParams(NoOpIndexCursorStats.INSTANCE);
+    }
+
+    /**
+     * Prepare the cursor for the next search
+     *
+     * @return true if the search can read whole leaves, false otherwise
+     */
+    public boolean prepare(LSMBTreeCursorInitialState initialState, RangePredicate predicate)
+            throws HyracksDataException {
+        projectionInfo = null;
+        if (initialState.isDiskComponentScan() || predicate.isPointPredicate(initialState.getOriginalKeyComparator())) {
+            return false;
+        }
+        List<ILSMComponent> operationalComponents = initialState.getOperationalComponents();
+        diskComponentIndex = -1;
+        for (int i = 0; i < operationalComponents.size(); i++) {
+            ILSMComponent component = operationalComponents.get(i);
+            if (component.getType() == LSMComponentType.MEMORY) {
+                if (((ILSMMemoryComponent) component).isModified()) {
+                    return false;
+                }
+            } else if (diskComponentIndex >= 0) {
+                // Records of a newer disk component may override the ones of an older disk component
+                return false;
+            } else {
+                diskComponentIndex = i;
+            }
+        }
+        if (diskComponentIndex < 0) {
+            return false;
+        }
+        ILSMComponent diskComponent = operationalComponents.get(diskComponentIndex);
+        if (ColumnUtil.getAntimatterCount(diskComponent.getMetadata()) != 0
+                || RangeTombstones.of(diskComponent) != null) {
+            return false;
+        }
+        projectionInfo = opCtx.createLeafProjectionInfo(diskComponent);
+        return projectionInfo != null;
+    }
+
+    @Override
+    public void doOpen(ICursorInitialState initialState, ISearchPredicate searchPred) throws HyracksDataException {
+        LSMBTreeCursorInitialState lsmInitialState = (LSMBTreeCursorInitialState) initialState;
+        lsmHarness = lsmInitialState.getLSMHarness();
+        ILSMComponent diskComponent = lsmInitialState.getOperationalComponents().get(diskComponentIndex);
+        ColumnBTree btree = (ColumnBTree) diskComponent.getIndex();
+        accessor = (ColumnBTreeAccessor) btree.createAccessor(iap, diskComponentIndex, projectionInfo);
+        cursor = accessor.createLeafSearchCursor();
+        accessor.search(cursor, searchPred);
+    }
+
+    @Override
+    public boolean doHasNext() throws HyracksDataException {
+        return cursor.hasNext();
+    }
+
+    @Override
+    public void doNext() throws HyracksDataException {
+        cursor.next();
+    }
+
+    @Override
+    public ITupleReference doGetTuple() {
+        return cursor.getTuple();
+    }
+
+    @Override
+    public void doClose() throws HyracksDataException {
+        try {
+            if (cursor != null) {
+                cursor.close();
+                cursor.destroy();
+                accessor.destroy();
+            }
+        } finally {
+            cursor = null;
+            accessor = null;
+            if (lsmHarness != null) {
+                lsmHarness.endSearch(opCtx);
+            }
+        }
+    }
+
+    @Override
+    public void doDestroy() throws HyracksDataException {
+        try {
+            if (cursor != null) {
+                cursor.destroy();
+                accessor.destroy();
+            }
+        } finally {
+            cursor = null;
+            accessor = null;
+            if (lsmHarness != null) {
+                lsmHarness.endSearch(opCtx);
+            }
+        }
+    }
+
+    @Override
+    public ITupleReference getFilterMinTuple() {
+        return null;
+    }
+
+    @Override
+    public ITupleReference getFilterMaxTuple() {
+        return null;
+    }
+
+    @Override
+    public boolean getSearchOperationCallbackProceedResult() {
+        return false;
+    }
+}
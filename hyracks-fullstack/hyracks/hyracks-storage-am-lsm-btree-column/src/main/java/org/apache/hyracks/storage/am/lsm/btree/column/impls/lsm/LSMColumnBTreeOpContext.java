@@ -73,6 +73,15 @@ public class LSMColumnBTreeOpContext extends LSMBTreeOpContext {
         return null;
     }
 
+    /**
+     * @param diskComponent the disk component to read leaf by leaf
+     * @return projection information or null if the projector does not support reading whole leaves
+     */
+    public IColumnProjectionInfo createLeafProjectionInfo(ILSMComponent diskComponent) throws HyracksDataException {
+        IValueReference columnMetadata = ColumnUtil.getColumnMetadataCopy(diskComponent.getMetadata());
+        return projector.createLeafProjectionInfo(columnMetadata);
+    }
+
     @Override
     protected MultiComparator createMultiComparator(IBinaryComparatorFactory[] cmpFactories) {
         IBinaryComparator[] comparators = new IBinaryComparator[cmpFactories.length];
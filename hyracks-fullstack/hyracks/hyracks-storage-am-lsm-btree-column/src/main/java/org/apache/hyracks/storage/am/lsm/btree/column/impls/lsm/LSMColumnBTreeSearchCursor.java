@@ -18,13 +18,41 @@
  */
 package org.apache.hyracks.storage.am.lsm.btree.column.impls.lsm;
 
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.storage.am.btree.impls.RangePredicate;
+import org.apache.hyracks.storage.am.lsm.btree.impls.LSMBTreeCursorInitialState;
 import org.apache.hyracks.storage.am.lsm.btree.impls.LSMBTreeDiskComponentScanCursor;
 import org.apache.hyracks.storage.am.lsm.btree.impls.LSMBTreeSearchCursor;
 import org.apache.hyracks.storage.am.lsm.common.api.ILSMIndexOperationContext;
+import org.apache.hyracks.storage.common.ICursorInitialState;
+import org.apache.hyracks.storage.common.ISearchPredicate;
 
 public class LSMColumnBTreeSearchCursor extends LSMBTreeSearchCursor {
+    private final LSMColumnBTreeLeafSearchCursor leafCursor;
+
     public LSMColumnBTreeSearchCursor(ILSMIndexOperationContext opCtx) {
         super(new LSMColumnPointSearchCursor(opCtx), new LSMColumnBTreeRangeSearchCursor(opCtx),
                 new LSMBTreeDiskComponentScanCursor(opCtx));
+        leafCursor = new LSMColumnBTreeLeafSearchCursor((LSMColumnBTreeOpContext) opCtx);
+    }
+
+    @Override
+    public void doOpen(ICursorInitialState initialState, ISearchPredicate searchPred) throws HyracksDataException {
+        LSMBTreeCursorInitialState lsmInitialState = (LSMBTreeCursorInitialState) initialState;
+        if (leafCursor.prepare(lsmInitialState, (RangePredicate) searchPred)) {
+            currentCursor = leafCursor;
+            currentCursor.open(lsmInitialState, searchPred);
+        } else {
+            super.doOpen(initialState, searchPred);
+        }
+    }
+
+    @Override
+    public void doDestroy() throws HyracksDataException {
+        try {
+            leafCursor.destroy();
+        } finally {
+            super.doDestroy();
+        }
     }
 }
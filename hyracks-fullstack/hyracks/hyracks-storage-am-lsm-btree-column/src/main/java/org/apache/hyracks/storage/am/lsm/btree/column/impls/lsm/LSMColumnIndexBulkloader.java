@@ -19,15 +19,18 @@
 package org.apache.hyracks.storage.am.lsm.btree.column.impls.lsm;
 
 import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.dataflow.common.data.accessors.ITupleReference;
 import org.apache.hyracks.storage.am.lsm.btree.column.api.IColumnMetadata;
 import org.apache.hyracks.storage.am.lsm.btree.column.utils.ColumnUtil;
 import org.apache.hyracks.storage.am.lsm.common.api.IComponentMetadata;
+import org.apache.hyracks.storage.am.lsm.common.api.ILSMTreeTupleReference;
 import org.apache.hyracks.storage.am.lsm.common.impls.LSMIndexBulkLoader;
 import org.apache.hyracks.storage.common.IIndexBulkLoader;
 
 public class LSMColumnIndexBulkloader extends LSMIndexBulkLoader {
     private final IColumnMetadata columnMetadata;
     private final IComponentMetadata componentMetadata;
+    private long antimatterCount;
 
     public LSMColumnIndexBulkloader(IIndexBulkLoader bulkLoader, IColumnMetadata columnMetadata,
             IComponentMetadata componentMetadata) {
@@ -36,9 +39,24 @@ public class LSMColumnIndexBulkloader extends LSMIndexBulkLoader {
         this.componentMetadata = componentMetadata;
     }
 
+    @Override
+    public ITupleReference add(ITupleReference tuple) throws HyracksDataException {
+        if (tuple instanceof ILSMTreeTupleReference && ((ILSMTreeTupleReference) tuple).isAntimatter()) {
+            antimatterCount++;
+        }
+        return super.add(tuple);
+    }
+
+    @Override
+    public ITupleReference delete(ITupleReference tuple) throws HyracksDataException {
+        antimatterCount++;
+        return super.delete(tuple);
+    }
+
     @Override
     public void end() throws HyracksDataException {
         ColumnUtil.putColumnsMetadataValue(columnMetadata.serializeColumnsMetadata(), componentMetadata);
+        ColumnUtil.putAntimatterCount(antimatterCount, componentMetadata);
         super.end();
     }
 
@@ -193,6 +193,13 @@ public abstract class AbstractColumnTupleReference implements IColumnTupleIterat
         return frame.getTupleCount();
     }
 
+    /**
+     * @return the index of the last tuple to read in the current leaf
+     */
+    protected final int getEndIndex() {
+        return endIndex;
+    }
+
     protected final boolean isEmpty() {
         return frame.getTupleCount() == 0;
     }
@@ -21,12 +21,15 @@ package org.apache.hyracks.storage.am.lsm.btree.column.utils;
 import org.apache.hyracks.api.exceptions.HyracksDataException;
 import org.apache.hyracks.api.util.HyracksConstants;
 import org.apache.hyracks.data.std.api.IValueReference;
+import org.apache.hyracks.data.std.primitive.LongPointable;
 import org.apache.hyracks.data.std.util.ArrayBackedValueStorage;
 import org.apache.hyracks.storage.am.common.freepage.MutableArrayValueReference;
 import org.apache.hyracks.storage.am.lsm.btree.column.api.IColumnManager;
 import org.apache.hyracks.storage.am.lsm.btree.column.api.projection.IColumnTupleProjector;
 import org.apache.hyracks.storage.am.lsm.btree.column.impls.lsm.LSMColumnBTree;
+import org.apache.hyracks.storage.am.lsm.btree.column.impls.lsm.LSMColumnIndexBulkloader;
 import org.apache.hyracks.storage.am.lsm.common.api.IComponentMetadata;
+import org.apache.hyracks.storage.am.lsm.common.util.ComponentUtils;
 import org.apache.hyracks.storage.common.IIndexAccessParameters;
 
 public class ColumnUtil {
@@ -38,6 +41,13 @@ public class ColumnUtil {
      */
     private static final MutableArrayValueReference COLUMNS_METADATA_KEY =
             new MutableArrayValueReference("COLUMNS_METADATA".getBytes());
+    /**
+     * Number of anti-matter tuples in a disk component
+     *
+     * @see LSMColumnIndexBulkloader#end()
+     */
+    private static final MutableArrayValueReference ANTIMATTER_COUNT_KEY =
+            new MutableArrayValueReference("ANTIMATTER_COUNT".getBytes());
 
     private ColumnUtil() {
     }
@@ -53,6 +63,20 @@ public class ColumnUtil {
         dest.put(COLUMNS_METADATA_KEY, columnsMetadataValue);
     }
 
+    public static void putAntimatterCount(long antimatterCount, IComponentMetadata dest) throws HyracksDataException {
+        dest.put(ANTIMATTER_COUNT_KEY, LongPointable.FACTORY.createPointable(antimatterCount));
+    }
+
+    /**
+     * @param src disk component's metadata
+     * @return the number of anti-matter tuples in the component or {@link ComponentUtils#NOT_FOUND} if the
+     * component was written before the count was kept
+     */
+    public static long getAntimatterCount(IComponentMetadata src) throws HyracksDataException {
+        return ComponentUtils.getLong(src, ANTIMATTER_COUNT_KEY, ComponentUtils.NOT_FOUND,
+                new ArrayBackedValueStorage());
+    }
+
     public static IColumnTupleProjector getTupleProjector(IIndexAccessParameters iap,
             IColumnTupleProjector defaultProjector) {
         IColumnTupleProjector projector =
@@ -27,10 +27,14 @@ import org.apache.hyracks.api.exceptions.ErrorCode;
 import org.apache.hyracks.api.exceptions.HyracksDataException;
 import org.apache.hyracks.api.io.FileReference;
 import org.apache.hyracks.api.io.IIOManager;
+import org.apache.hyracks.api.util.HyracksConstants;
 import org.apache.hyracks.data.std.primitive.IntegerPointable;
+import org.apache.hyracks.dataflow.common.comm.io.ArrayTupleBuilder;
+import org.apache.hyracks.dataflow.common.comm.io.ArrayTupleReference;
 import org.apache.hyracks.dataflow.common.data.accessors.ITupleReference;
 import org.apache.hyracks.storage.am.btree.impls.BTree;
 import org.apache.hyracks.storage.am.btree.impls.BTree.BTreeAccessor;
+import org.apache.hyracks.storage.am.btree.impls.PartitionedBTree;
 import org.apache.hyracks.storage.am.btree.impls.RangePredicate;
 import org.apache.hyracks.storage.am.common.api.IExtendedModificationOperationCallback;
 import org.apache.hyracks.storage.am.common.api.IIndexOperationContext;
@@ -101,6 +105,30 @@ public class LSMBTree extends AbstractLSMIndex implements ITreeIndex {
             ILSMIOOperationCallbackFactory ioOpCallbackFactory, ILSMPageWriteCallbackFactory pageWriteCallbackFactory,
             boolean needKeyDupCheck, boolean hasBloomFilter, int[] btreeFields, int[] filterFields, boolean durable,
             boolean updateAware, ITracer tracer, boolean atomic) throws HyracksDataException {
+        this(ioManager, virtualBufferCaches, interiorFrameFactory, insertLeafFrameFactory, deleteLeafFrameFactory,
+                diskBufferCache, fileManager, componentFactory, bulkLoadComponentFactory, filterHelper,
+                filterFrameFactory, filterManager, bloomFilterFalsePositiveRate, fieldCount, cmpFactories, mergePolicy,
+                opTracker, ioScheduler, ioOpCallbackFactory, pageWriteCallbackFactory, needKeyDupCheck, hasBloomFilter,
+                btreeFields, filterFields, durable, updateAware, tracer, atomic, 1);
+    }
+
+    /**
+     * @param memoryComponentPartitions
+     *            the number of b-trees that each memory component is partitioned into by key hash, so that
+     *            concurrent writers of the same index do not all compete for the latches of one b-tree
+     */
+    public LSMBTree(IIOManager ioManager, List<IVirtualBufferCache> virtualBufferCaches,
+            ITreeIndexFrameFactory interiorFrameFactory, ITreeIndexFrameFactory insertLeafFrameFactory,
+            ITreeIndexFrameFactory deleteLeafFrameFactory, IBufferCache diskBufferCache,
+            ILSMIndexFileManager fileManager, ILSMDiskComponentFactory componentFactory,
+            ILSMDiskComponentFactory bulkLoadComponentFactory, IComponentFilterHelper filterHelper,
+            ILSMComponentFilterFrameFactory filterFrameFactory, LSMComponentFilterManager filterManager,
+            double bloomFilterFalsePositiveRate, int fieldCount, IBinaryComparatorFactory[] cmpFactories,
+            ILSMMergePolicy mergePolicy, ILSMOperationTracker opTracker, ILSMIOOperationScheduler ioScheduler,
+            ILSMIOOperationCallbackFactory ioOpCallbackFactory, ILSMPageWriteCallbackFactory pageWriteCallbackFactory,
+            boolean needKeyDupCheck, boolean hasBloomFilter, int[] btreeFields, int[] filterFields, boolean durable,
+            boolean updateAware, ITracer tracer, boolean atomic, int memoryComponentPartitions)
+            throws HyracksDataException {
         super(ioManager, virtualBufferCaches, diskBufferCache, fileManager, bloomFilterFalsePositiveRate, mergePolicy,
                 opTracker, ioScheduler, ioOpCallbackFactory, pageWriteCallbackFactory, componentFactory,
                 bulkLoadComponentFactory, filterFrameFactory, filterManager, filterFields, durable, filterHelper,
@@ -112,9 +140,9 @@ public class LSMBTree extends AbstractLSMIndex implements ITreeIndex {
         int i = 0;
         for (IVirtualBufferCache virtualBufferCache : virtualBufferCaches) {
             LSMBTreeMemoryComponent mutableComponent = new LSMBTreeMemoryComponent(this,
-                    new BTree(virtualBufferCache, new VirtualFreePageManager(virtualBufferCache), interiorFrameFactory,
-                            insertLeafFrameFactory, cmpFactories, fieldCount,
-                            ioManager.resolveAbsolutePath(fileManager.getBaseDir() + "_virtual_" + i)),
+                    createMemoryBTree(ioManager, virtualBufferCache, interiorFrameFactory, insertLeafFrameFactory,
+                            cmpFactories, fieldCount, fileManager.getBaseDir() + "_virtual_" + i,
+                            memoryComponentPartitions),
                     virtualBufferCache, filterHelper == null ? null : filterHelper.createFilter());
             memoryComponents.add(mutableComponent);
             ++i;
@@ -123,6 +151,25 @@ public class LSMBTree extends AbstractLSMIndex implements ITreeIndex {
         this.hasBloomFilter = hasBloomFilter;
     }
 
+    private static BTree createMemoryBTree(IIOManager ioManager, IVirtualBufferCache virtualBufferCache,
+            ITreeIndexFrameFactory interiorFrameFactory, ITreeIndexFrameFactory leafFrameFactory,
+            IBinaryComparatorFactory[] cmpFactories, int fieldCount, String path, int numPartitions)
+            throws HyracksDataException {
+        if (numPartitions <= 1) {
+            return new BTree(virtualBufferCache, new VirtualFreePageManager(virtualBufferCache), interiorFrameFactory,
+                    leafFrameFactory, cmpFactories, fieldCount, ioManager.resolveAbsolutePath(path));
+        }
+        BTree[] otherPartitions = new BTree[numPartitions - 1];
+        for (int i = 0; i < otherPartitions.length; i++) {
+            otherPartitions[i] = new BTree(virtualBufferCache, new VirtualFreePageManager(virtualBufferCache),
+                    interiorFrameFactory, leafFrameFactory, cmpFactories, fieldCount,
+                    ioManager.resolveAbsolutePath(path + "_" + (i + 1)));
+        }
+        return new PartitionedBTree(virtualBufferCache, new VirtualFreePageManager(virtualBufferCache),
+                interiorFrameFactory, leafFrameFactory, cmpFactories, fieldCount, ioManager.resolveAbsolutePath(path),
+                otherPartitions);
+    }
+
     @Override
     public boolean isPrimaryIndex() {
         return needKeyDupCheck;
@@ -133,9 +180,35 @@ public class LSMBTree extends AbstractLSMIndex implements ITreeIndex {
         return cmpFactories;
     }
 
+    /**
+     * Deletes all keys in the range [lowKey, highKey] with a single range tombstone in the current memory component
+     * instead of one antimatter tuple per key. Both keys must consist of all key fields of this index.
+     * The modification callback of the accessor is told about the range delete before the index is entered
+     * ({@link IExtendedModificationOperationCallback#beforeRangeDelete}) and once the tombstone is added
+     * ({@link IExtendedModificationOperationCallback#afterRangeDelete}), so that the caller can lock and log it.
+     */
+    public void deleteRange(ILSMIndexAccessor accessor, ITupleReference lowKey, ITupleReference highKey)
+            throws HyracksDataException {
+        if (getFilterManager() != null) {
+            throw new UnsupportedOperationException("Range deletes are not supported on indexes with filters");
+        }
+        LSMBTreeOpContext ctx = (LSMBTreeOpContext) accessor.getOpContext();
+        ctx.getModificationCallback().beforeRangeDelete(lowKey, highKey);
+        ctx.setRangeDeleteHighKey(highKey);
+        try {
+            accessor.delete(lowKey);
+        } finally {
+            ctx.setRangeDeleteHighKey(null);
+        }
+    }
+
     @Override
     public void modify(IIndexOperationContext ictx, ITupleReference tuple) throws HyracksDataException {
         LSMBTreeOpContext ctx = (LSMBTreeOpContext) ictx;
+        if (ctx.getRangeDeleteHighKey() != null) {
+            addRangeTombstone(ctx, tuple, ctx.getRangeDeleteHighKey());
+            return;
+        }
         ITupleReference indexTuple;
         if (ctx.getIndexTuple() != null) {
             ctx.getIndexTuple().reset(tuple);
@@ -158,6 +231,50 @@ public class LSMBTree extends AbstractLSMIndex implements ITreeIndex {
         updateFilter(ctx, tuple);
     }
 
+    private void addRangeTombstone(LSMBTreeOpContext ctx, ITupleReference lowKey, ITupleReference highKey)
+            throws HyracksDataException {
+        LSMBTreeMemoryComponent mutableComponent = (LSMBTreeMemoryComponent) ctx.getComponentHolder().get(0);
+        mutableComponent.getRangeTombstones().add(lowKey, highKey);
+        ctx.getModificationCallback().afterRangeDelete(lowKey, highKey);
+        // the tombstone only hides older components, so purge the covered keys of the memory component itself.
+        // The b-tree cannot be modified under an open cursor: delete the first covered key and search again
+        BTreeAccessor accessor = ctx.getCurrentMutableBTreeAccessor();
+        RangePredicate predicate = (RangePredicate) ctx.getSearchPredicate();
+        ITupleReference searchLowKey = lowKey;
+        ArrayTupleBuilder builder = null;
+        ArrayTupleReference coveredTuple = new ArrayTupleReference();
+        IIndexCursor cursor = accessor.createSearchCursor(false);
+        try {
+            while (true) {
+                // the b-tree's delete reuses the predicate of its last search, so set both keys again
+                predicate.setLowKey(searchLowKey, true);
+                predicate.setHighKey(highKey, true);
+                accessor.search(cursor, predicate);
+                try {
+                    if (!cursor.hasNext()) {
+                        break;
+                    }
+                    cursor.next();
+                    ITupleReference tuple = cursor.getTuple();
+                    if (builder == null) {
+                        builder = new ArrayTupleBuilder(tuple.getFieldCount());
+                    }
+                    builder.reset();
+                    for (int i = 0; i < tuple.getFieldCount(); i++) {
+                        builder.addField(tuple, i);
+                    }
+                    coveredTuple.reset(builder.getFieldEndOffsets(), builder.getByteArray());
+                } finally {
+                    cursor.close();
+                }
+                accessor.delete(coveredTuple);
+                searchLowKey = coveredTuple;
+            }
+        } finally {
+            cursor.destroy();
+        }
+    }
+
     private boolean insert(ITupleReference tuple, LSMBTreeOpContext ctx) throws HyracksDataException {
         LSMBTreePointSearchCursor searchCursor = ctx.getInsertSearchCursor();
         IIndexCursor memCursor = ctx.getMemCursor();
@@ -193,6 +310,14 @@ public class LSMBTree extends AbstractLSMIndex implements ITreeIndex {
             // the key was not in the inmemory component, so check the disk
             // components
 
+            // a range tombstone of the mutable component hides the key in all older components
+            RangeTombstones tombstones = RangeTombstones.of(ctx.getComponentHolder().get(0));
+            if (tombstones != null && tombstones.covers(tuple)) {
+                ctx.getCurrentMutableBTreeAccessor().upsertIfConditionElseInsert(tuple,
+                        AntimatterAwareTupleAcceptor.INSTANCE);
+                return true;
+            }
+
             // This is a hack to avoid searching the current active mutable component twice. It is critical to add it back once the search is over.
             ILSMComponent firstComponent = ctx.getComponentHolder().remove(0);
             search(ctx, searchCursor, predicate);
@@ -303,6 +428,9 @@ public class LSMBTree extends AbstractLSMIndex implements ITreeIndex {
         // Use the copy of the metadata in the opContext
         // TODO This code should be in the callback and not in the index
         flushingComponent.getMetadata().copy(component.getMetadata());
+        if (!flushingComponent.getRangeTombstones().isEmpty()) {
+            flushingComponent.getRangeTombstones().write(component.getMetadata());
+        }
 
         componentBulkLoader.end();
 
@@ -349,6 +477,7 @@ public class LSMBTree extends AbstractLSMIndex implements ITreeIndex {
                 getFilterManager().writeFilter(mergedComponent.getLSMComponentFilter(),
                         mergedComponent.getMetadataHolder());
             }
+            writeMergedRangeTombstones(mergeOp.getMergingComponents(), mergedComponent);
         } catch (Throwable e) { // NOSONAR.. As per the contract, we should either abort or end
             try {
                 if (componentBulkLoader != null) {
@@ -363,6 +492,28 @@ public class LSMBTree extends AbstractLSMIndex implements ITreeIndex {
         return mergedComponent;
     }
 
+    private void writeMergedRangeTombstones(List<ILSMComponent> mergingComponents, ILSMDiskComponent mergedComponent)
+            throws HyracksDataException {
+        // the merge cursor drops the keys that are covered by tombstones of newer merging components. the tombstones
+        // must still hide keys of older components, unless the merge includes the oldest component
+        if (mergingComponents.get(mergingComponents.size() - 1) == diskComponents.get(diskComponents.size() - 1)) {
+            return;
+        }
+        RangeTombstones merged = null;
+        for (ILSMComponent component : mergingComponents) {
+            RangeTombstones tombstones = RangeTombstones.of(component);
+            if (tombstones != null) {
+                if (merged == null) {
+                    merged = new RangeTombstones(MultiComparator.create(cmpFactories));
+                }
+                merged.addAll(tombstones);
+            }
+        }
+        if (merged != null) {
+            merged.write(mergedComponent.getMetadata());
+        }
+    }
+
     private long getNumberOfElements(List<ILSMComponent> mergedComponents) throws HyracksDataException {
         long numElements = 0L;
         if (hasBloomFilter) {
@@ -387,10 +538,13 @@ public class LSMBTree extends AbstractLSMIndex implements ITreeIndex {
     public LSMBTreeOpContext createOpContext(IIndexAccessParameters iap) {
         int numBloomFilterKeyFields = hasBloomFilter
                 ? ((LSMBTreeWithBloomFilterDiskComponentFactory) componentFactory).getBloomFilterKeyFields().length : 0;
-        return new LSMBTreeOpContext(this, memoryComponents, insertLeafFrameFactory, deleteLeafFrameFactory,
-                (IExtendedModificationOperationCallback) iap.getModificationCallback(),
+        LSMBTreeOpContext opCtx = new LSMBTreeOpContext(this, memoryComponents, insertLeafFrameFactory,
+                deleteLeafFrameFactory, (IExtendedModificationOperationCallback) iap.getModificationCallback(),
                 iap.getSearchOperationCallback(), numBloomFilterKeyFields, getTreeFields(), getFilterFields(),
                 getHarness(), getFilterCmpFactories(), tracer);
+        opCtx.setUseOncePageAccess(
+                Boolean.TRUE.equals(iap.getParameter(HyracksConstants.USE_ONCE_PAGE_ACCESS, Boolean.class)));
+        return opCtx;
     }
 
     @Override
@@ -21,17 +21,21 @@ package org.apache.hyracks.storage.am.lsm.btree.impls;
 import java.util.HashSet;
 import java.util.Set;
 
+import org.apache.hyracks.api.exceptions.HyracksDataException;
 import org.apache.hyracks.api.io.FileReference;
 import org.apache.hyracks.storage.am.btree.impls.BTree;
 import org.apache.hyracks.storage.am.btree.impls.DiskBTree;
 import org.apache.hyracks.storage.am.common.api.IMetadataPageManager;
+import org.apache.hyracks.storage.am.lsm.common.api.IComponentMetadata;
 import org.apache.hyracks.storage.am.lsm.common.api.ILSMComponentFilter;
 import org.apache.hyracks.storage.am.lsm.common.impls.AbstractLSMDiskComponent;
 import org.apache.hyracks.storage.am.lsm.common.impls.AbstractLSMIndex;
+import org.apache.hyracks.storage.common.MultiComparator;
 import org.apache.hyracks.storage.common.compression.file.CompressedFileReference;
 
-public class LSMBTreeDiskComponent extends AbstractLSMDiskComponent {
+public class LSMBTreeDiskComponent extends AbstractLSMDiskComponent implements IRangeTombstoneComponent {
     protected final DiskBTree btree;
+    private volatile RangeTombstones rangeTombstones;
 
     public LSMBTreeDiskComponent(AbstractLSMIndex lsmIndex, DiskBTree btree, ILSMComponentFilter filter) {
         super(lsmIndex, getMetadataPageManager(btree), filter);
@@ -63,11 +67,25 @@ public class LSMBTreeDiskComponent extends AbstractLSMDiskComponent {
         return getFiles(btree);
     }
 
+    @Override
+    public RangeTombstones getRangeTombstones() throws HyracksDataException {
+        if (rangeTombstones == null) {
+            rangeTombstones = readRangeTombstones(btree, getMetadata());
+        }
+        return rangeTombstones;
+    }
+
     @Override
     public String toString() {
         return getClass().getSimpleName() + ":" + btree.getFileReference().getRelativePath();
     }
 
+    static RangeTombstones readRangeTombstones(BTree btree, IComponentMetadata metadata) throws HyracksDataException {
+        RangeTombstones tombstones = new RangeTombstones(MultiComparator.create(btree.getComparatorFactories()));
+        tombstones.read(metadata);
+        return tombstones;
+    }
+
     static IMetadataPageManager getMetadataPageManager(BTree btree) {
         return (IMetadataPageManager) btree.getPageManager();
     }
@@ -59,6 +59,10 @@ public class LSMBTreeDiskComponentScanCursor extends LSMIndexSearchCursor {
 
     private IntegerPointable cursorIndexPointable;
 
+    private RangeTombstones[] rangeTombstones;
+    // the component whose range tombstone deleted the last returned matter tuple, or -1
+    private int pendingTombstoneIndex = -1;
+
     public LSMBTreeDiskComponentScanCursor(ILSMIndexOperationContext opCtx) {
         super(opCtx, true, NoOpIndexCursorStats.INSTANCE);
         this.outputTuple = new ArrayTupleReference();
@@ -74,8 +78,11 @@ public class LSMBTreeDiskComponentScanCursor extends LSMIndexSearchCursor {
         int numBTrees = operationalComponents.size();
         rangeCursors = new IIndexCursor[numBTrees];
         btreeAccessors = new BTreeAccessor[numBTrees];
+        rangeTombstones = new RangeTombstones[numBTrees];
+        pendingTombstoneIndex = -1;
         for (int i = 0; i < numBTrees; i++) {
             ILSMComponent component = operationalComponents.get(i);
+            rangeTombstones[i] = RangeTombstones.of(component);
             BTree btree = (BTree) component.getIndex();
             btreeAccessors[i] = btree.createAccessor(NoOpIndexAccessParameters.INSTANCE);
             rangeCursors[i] = btreeAccessors[i].createSearchCursor(false);
@@ -105,24 +112,55 @@ public class LSMBTreeDiskComponentScanCursor extends LSMIndexSearchCursor {
         if (foundNext) {
             return true;
         }
-        while (super.doHasNext()) {
+        while (true) {
+            boolean hasNext = super.doHasNext();
+            if (pendingTombstoneIndex >= 0 && (!hasNext || !isDeletedByPendingTombstone(outputPriorityQueue.peek()))) {
+                // a range tombstone acts as an antimatter tuple of its component for the keys it deleted
+                setAntiMatterTuple(originalTuple, pendingTombstoneIndex);
+                pendingTombstoneIndex = -1;
+                foundNext = true;
+                return true;
+            }
+            if (!hasNext) {
+                return false;
+            }
             super.doNext();
             LSMBTreeTupleReference diskTuple = (LSMBTreeTupleReference) super.doGetTuple();
             if (diskTuple.isAntimatter()) {
                 if (setAntiMatterTuple(diskTuple, outputElement.getCursorIndex())) {
+                    // the key is already deleted before the pending tombstone
+                    pendingTombstoneIndex = -1;
                     foundNext = true;
                     return true;
                 }
             } else {
                 //matter tuple
                 setMatterTuple(diskTuple, outputElement.getCursorIndex());
+                pendingTombstoneIndex = getDeletingTombstoneIndex(diskTuple, outputElement.getCursorIndex());
                 foundNext = true;
                 return true;
             }
+        }
+    }
 
+    /**
+     * @return the newest component older than the given one whose range tombstone covers the tuple, or -1
+     */
+    private int getDeletingTombstoneIndex(ITupleReference tuple, int cursorIndex) throws HyracksDataException {
+        for (int i = cursorIndex - 1; i >= 0; i--) {
+            if (rangeTombstones[i] != null && rangeTombstones[i].covers(tuple)) {
+                return i;
+            }
         }
+        return -1;
+    }
 
-        return false;
+    /**
+     * @return true if the element is another entry of the pending key that is older than the pending tombstone, so
+     *         that it has to be returned before the antimatter tuple of the tombstone
+     */
+    private boolean isDeletedByPendingTombstone(PriorityQueueElement element) throws HyracksDataException {
+        return element.getCursorIndex() > pendingTombstoneIndex && cmp.compare(element.getTuple(), originalTuple) == 0;
     }
 
     @Override
@@ -195,6 +233,7 @@ public class LSMBTreeDiskComponentScanCursor extends LSMIndexSearchCursor {
             }
         }
         foundNext = false;
+        pendingTombstoneIndex = -1;
         if (failure != null) {
             throw HyracksDataException.create(failure);
         }
@@ -19,20 +19,27 @@
 
 package org.apache.hyracks.storage.am.lsm.btree.impls;
 
+import org.apache.hyracks.api.exceptions.HyracksDataException;
 import org.apache.hyracks.storage.am.btree.impls.BTree;
 import org.apache.hyracks.storage.am.lsm.common.api.ILSMComponentFilter;
 import org.apache.hyracks.storage.am.lsm.common.api.IVirtualBufferCache;
 import org.apache.hyracks.storage.am.lsm.common.impls.AbstractLSMMemoryComponent;
 import org.apache.hyracks.storage.am.lsm.common.impls.LSMComponentFileReferences;
+import org.apache.hyracks.storage.common.MultiComparator;
 
-public class LSMBTreeMemoryComponent extends AbstractLSMMemoryComponent {
+public class LSMBTreeMemoryComponent extends AbstractLSMMemoryComponent implements IRangeTombstoneComponent {
 
     private final BTree btree;
+    private final MultiComparator cmp;
+    // replaced rather than cleared on reset, since cursors that entered this component may still hold it
+    private volatile RangeTombstones rangeTombstones;
 
     public LSMBTreeMemoryComponent(LSMBTree lsmIndex, BTree btree, IVirtualBufferCache vbc,
             ILSMComponentFilter filter) {
         super(lsmIndex, vbc, filter);
         this.btree = btree;
+        this.cmp = MultiComparator.create(btree.getComparatorFactories());
+        this.rangeTombstones = new RangeTombstones(cmp);
     }
 
     @Override
@@ -44,4 +51,21 @@ public class LSMBTreeMemoryComponent extends AbstractLSMMemoryComponent {
     public LSMComponentFileReferences getComponentFileRefs() {
         return new LSMComponentFileReferences(btree.getFileReference(), null, null);
     }
+
+    @Override
+    public RangeTombstones getRangeTombstones() {
+        return rangeTombstones;
+    }
+
+    @Override
+    public void cleanup() throws HyracksDataException {
+        super.cleanup();
+        rangeTombstones = new RangeTombstones(cmp);
+    }
+
+    @Override
+    protected void doDeallocate() throws HyracksDataException {
+        super.doDeallocate();
+        rangeTombstones = new RangeTombstones(cmp);
+    }
 }
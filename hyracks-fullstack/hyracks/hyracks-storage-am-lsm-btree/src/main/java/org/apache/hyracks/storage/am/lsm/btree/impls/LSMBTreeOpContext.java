@@ -24,6 +24,7 @@ import java.util.List;
 import org.apache.hyracks.api.dataflow.value.IBinaryComparatorFactory;
 import org.apache.hyracks.api.exceptions.HyracksDataException;
 import org.apache.hyracks.api.util.CleanupUtils;
+import org.apache.hyracks.dataflow.common.data.accessors.ITupleReference;
 import org.apache.hyracks.storage.am.btree.api.IBTreeLeafFrame;
 import org.apache.hyracks.storage.am.btree.impls.BTree;
 import org.apache.hyracks.storage.am.btree.impls.BTreeOpContext;
@@ -66,6 +67,7 @@ public class LSMBTreeOpContext extends AbstractLSMIndexOperationContext {
     private BTree.BTreeAccessor currentMutableBTreeAccessor;
     private BTreeOpContext currentMutableBTreeOpCtx;
     private boolean destroyed = false;
+    private ITupleReference rangeDeleteHighKey;
 
     public LSMBTreeOpContext(ILSMIndex index, List<ILSMMemoryComponent> mutableComponents,
             ITreeIndexFrameFactory insertLeafFrameFactory, ITreeIndexFrameFactory deleteLeafFrameFactory,
@@ -179,6 +181,17 @@ public class LSMBTreeOpContext extends AbstractLSMIndexOperationContext {
         return cmp;
     }
 
+    /**
+     * @return the high key of the range delete in progress, or null if the current operation is not a range delete
+     */
+    public ITupleReference getRangeDeleteHighKey() {
+        return rangeDeleteHighKey;
+    }
+
+    public void setRangeDeleteHighKey(ITupleReference rangeDeleteHighKey) {
+        this.rangeDeleteHighKey = rangeDeleteHighKey;
+    }
+
     @Override
     public void destroy() throws HyracksDataException {
         if (destroyed) {
@@ -52,6 +52,7 @@ public class LSMBTreePointSearchCursor extends EnforcedIndexCursor implements IL
     protected int numBTrees;
     private BTreeAccessor[] btreeAccessors;
     protected BloomFilter[] bloomFilters;
+    protected RangeTombstones[] rangeTombstones;
     protected ILSMHarness lsmHarness;
     private boolean nextHasBeenCalled;
     protected boolean foundTuple;
@@ -77,6 +78,10 @@ public class LSMBTreePointSearchCursor extends EnforcedIndexCursor implements IL
         hashComputed = false;
         boolean reconciled = false;
         for (int i = 0; i < numBTrees; ++i) {
+            if (i > 0 && rangeTombstones[i - 1] != null && rangeTombstones[i - 1].covers(predicate.getLowKey())) {
+                // the key was deleted by a range tombstone, which hides it in all older components
+                return false;
+            }
             if (!isSearchCandidate(i)) {
                 continue;
             }
@@ -193,6 +198,7 @@ public class LSMBTreePointSearchCursor extends EnforcedIndexCursor implements IL
             btreeCursors = new ITreeIndexCursor[numBTrees];
             btreeAccessors = new BTreeAccessor[numBTrees];
             bloomFilters = new BloomFilter[numBTrees];
+            rangeTombstones = new RangeTombstones[numBTrees];
         }
         includeMutableComponent = false;
 
@@ -220,6 +226,7 @@ public class LSMBTreePointSearchCursor extends EnforcedIndexCursor implements IL
                 btreeAccessors[i].reset(btree, NoOpIndexAccessParameters.INSTANCE);
                 btreeCursors[i].close();
             }
+            rangeTombstones[i] = RangeTombstones.of(component);
         }
         nextHasBeenCalled = false;
         foundTuple = false;
@@ -26,9 +26,11 @@ import org.apache.hyracks.api.exceptions.HyracksDataException;
 import org.apache.hyracks.api.util.CleanupUtils;
 import org.apache.hyracks.dataflow.common.comm.io.ArrayTupleBuilder;
 import org.apache.hyracks.dataflow.common.comm.io.ArrayTupleReference;
+import org.apache.hyracks.dataflow.common.data.accessors.ITupleReference;
 import org.apache.hyracks.dataflow.common.utils.TupleUtils;
 import org.apache.hyracks.storage.am.btree.impls.BTree;
 import org.apache.hyracks.storage.am.btree.impls.BTree.BTreeAccessor;
+import org.apache.hyracks.storage.am.btree.impls.BTreeRangeSearchCursor;
 import org.apache.hyracks.storage.am.btree.impls.RangePredicate;
 import org.apache.hyracks.storage.am.lsm.common.api.ILSMComponent;
 import org.apache.hyracks.storage.am.lsm.common.api.ILSMComponent.ComponentState;
@@ -54,6 +56,9 @@ public class LSMBTreeRangeSearchCursor extends LSMIndexSearchCursor {
     private boolean canCallProceed = true;
     private boolean resultOfSearchCallbackProceed = false;
     private int tupleFromMemoryComponentCount = 0;
+    private RangeTombstones[] rangeTombstones;
+    // the newest component with range tombstones; tuples of this and newer components are never covered
+    private int newestRangeTombstones;
 
     public LSMBTreeRangeSearchCursor(ILSMIndexOperationContext opCtx) {
         this(opCtx, false, NoOpIndexCursorStats.INSTANCE);
@@ -210,6 +215,35 @@ public class LSMBTreeRangeSearchCursor extends LSMIndexSearchCursor {
         //NoOp
     }
 
+    @Override
+    protected void pushIntoQueueFromCursorAndReplaceThisElement(PriorityQueueElement e) throws HyracksDataException {
+        int cursorIndex = e.getCursorIndex();
+        if (cursorIndex <= newestRangeTombstones) {
+            super.pushIntoQueueFromCursorAndReplaceThisElement(e);
+            return;
+        }
+        // skip the tuples that were deleted by range tombstones of newer components
+        IIndexCursor cursor = rangeCursors[cursorIndex];
+        while (cursor.hasNext()) {
+            cursor.next();
+            if (!isCoveredByRangeTombstone(cursorIndex, cursor.getTuple())) {
+                e.reset(cursor.getTuple());
+                outputPriorityQueue.offer(e);
+                return;
+            }
+        }
+        cursor.close();
+    }
+
+    private boolean isCoveredByRangeTombstone(int cursorIndex, ITupleReference tuple) throws HyracksDataException {
+        for (int i = newestRangeTombstones; i < cursorIndex; i++) {
+            if (rangeTombstones[i] != null && rangeTombstones[i].covers(tuple)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private void pushOutputElementIntoQueueIfNeeded() throws HyracksDataException {
         if (needPushElementIntoQueue) {
             pushIntoQueueFromCursorAndReplaceThisElement(outputElement);
@@ -381,6 +415,7 @@ public class LSMBTreeRangeSearchCursor extends LSMIndexSearchCursor {
             rangeCursors = new IIndexCursor[numBTrees];
             btreeAccessors = new BTreeAccessor[numBTrees];
             isMemoryComponent = new boolean[numBTrees];
+            rangeTombstones = new RangeTombstones[numBTrees];
         } else if (rangeCursors.length != numBTrees) {
             // should destroy first
             Throwable failure = CleanupUtils.destroy(null, btreeAccessors);
@@ -393,7 +428,9 @@ public class LSMBTreeRangeSearchCursor extends LSMIndexSearchCursor {
             rangeCursors = new IIndexCursor[numBTrees];
             btreeAccessors = new BTreeAccessor[numBTrees];
             isMemoryComponent = new boolean[numBTrees];
+            rangeTombstones = new RangeTombstones[numBTrees];
         }
+        newestRangeTombstones = numBTrees;
         for (int i = 0; i < numBTrees; i++) {
             ILSMComponent component = operationalComponents.get(i);
             LSMComponentType type = component.getType();
@@ -411,6 +448,10 @@ public class LSMBTreeRangeSearchCursor extends LSMIndexSearchCursor {
                 rangeCursors[i].close();
             }
             isMemoryComponent[i] = type == LSMComponentType.MEMORY;
+            rangeTombstones[i] = RangeTombstones.of(component);
+            if (rangeTombstones[i] != null && newestRangeTombstones == numBTrees) {
+                newestRangeTombstones = i;
+            }
         }
         IndexCursorUtils.open(btreeAccessors, rangeCursors, searchPred);
         try {
@@ -449,7 +490,11 @@ public class LSMBTreeRangeSearchCursor extends LSMIndexSearchCursor {
     }
 
     protected IIndexCursor createCursor(LSMComponentType type, BTreeAccessor accessor) {
-        return accessor.createSearchCursor(false);
+        IIndexCursor cursor = accessor.createSearchCursor(false);
+        if (type == LSMComponentType.DISK && opCtx.isUseOncePageAccess() && cursor instanceof BTreeRangeSearchCursor) {
+            ((BTreeRangeSearchCursor) cursor).setUseOncePageAccess(true);
+        }
+        return cursor;
     }
 
 }
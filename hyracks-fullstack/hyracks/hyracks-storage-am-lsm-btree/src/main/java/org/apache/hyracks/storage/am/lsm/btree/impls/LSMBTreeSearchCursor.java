@@ -38,7 +38,7 @@ public class LSMBTreeSearchCursor extends EnforcedIndexCursor implements ILSMInd
     private final LSMBTreePointSearchCursor pointCursor;
     private final LSMBTreeRangeSearchCursor rangeCursor;
     private final LSMBTreeDiskComponentScanCursor scanCursor;
-    private ILSMIndexCursor currentCursor;
+    protected ILSMIndexCursor currentCursor;
 
     public LSMBTreeSearchCursor(ILSMIndexOperationContext opCtx) {
         pointCursor = new LSMBTreePointSearchCursor(opCtx);
@@ -20,6 +20,7 @@ package org.apache.hyracks.storage.am.lsm.btree.impls;
 
 import java.util.Set;
 
+import org.apache.hyracks.api.exceptions.HyracksDataException;
 import org.apache.hyracks.storage.am.bloomfilter.impls.BloomFilter;
 import org.apache.hyracks.storage.am.btree.impls.BTree;
 import org.apache.hyracks.storage.am.lsm.common.api.AbstractLSMWithBloomFilterDiskComponent;
@@ -27,10 +28,12 @@ import org.apache.hyracks.storage.am.lsm.common.api.ILSMComponentFilter;
 import org.apache.hyracks.storage.am.lsm.common.impls.AbstractLSMIndex;
 import org.apache.hyracks.storage.common.buffercache.IBufferCache;
 
-public class LSMBTreeWithBloomFilterDiskComponent extends AbstractLSMWithBloomFilterDiskComponent {
+public class LSMBTreeWithBloomFilterDiskComponent extends AbstractLSMWithBloomFilterDiskComponent
+        implements IRangeTombstoneComponent {
 
     private final BTree btree;
     private final BloomFilter bloomFilter;
+    private volatile RangeTombstones rangeTombstones;
 
     public LSMBTreeWithBloomFilterDiskComponent(AbstractLSMIndex lsmIndex, BTree btree, BloomFilter bloomFilter,
             ILSMComponentFilter filter) {
@@ -80,6 +83,14 @@ public class LSMBTreeWithBloomFilterDiskComponent extends AbstractLSMWithBloomFi
         return btree;
     }
 
+    @Override
+    public RangeTombstones getRangeTombstones() throws HyracksDataException {
+        if (rangeTombstones == null) {
+            rangeTombstones = LSMBTreeDiskComponent.readRangeTombstones(btree, getMetadata());
+        }
+        return rangeTombstones;
+    }
+
     static long getComponentSize(BloomFilter bloomFilter) {
         return bloomFilter.getFileReference().getFile().length();
     }
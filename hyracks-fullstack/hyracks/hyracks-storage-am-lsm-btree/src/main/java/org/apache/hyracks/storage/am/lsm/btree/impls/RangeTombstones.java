@@ -0,0 +1,216 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.storage.am.lsm.btree.impls;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.data.std.util.ArrayBackedValueStorage;
+import org.apache.hyracks.dataflow.common.comm.io.ArrayTupleBuilder;
+import org.apache.hyracks.dataflow.common.comm.io.ArrayTupleReference;
+import org.apache.hyracks.dataflow.common.data.accessors.ITupleReference;
+import org.apache.hyracks.storage.am.common.freepage.MutableArrayValueReference;
+import org.apache.hyracks.storage.am.lsm.common.api.ILSMComponent;
+import org.apache.hyracks.storage.am.lsm.common.api.IComponentMetadata;
+import org.apache.hyracks.storage.common.MultiComparator;
+
+/**
+ * The key ranges deleted from an LSM b-tree component, each with a single entry instead of one antimatter tuple
+ * per key. A range tombstone of a component hides the keys it covers in all older components. Keys of the same
+ * memory component are purged when the tombstone is added, so keys inserted afterwards remain visible.
+ * Ranges are inclusive on both ends and consist of all key fields. They are kept sorted and coalesced, so checking
+ * whether a key is covered is a binary search. Readers work on a snapshot and never block writers.
+ */
+public class RangeTombstones {
+
+    public static final MutableArrayValueReference METADATA_KEY =
+            new MutableArrayValueReference("RangeTombstones".getBytes());
+
+    private static final Range[] NO_RANGES = new Range[0];
+
+    private final MultiComparator cmp;
+    private volatile Range[] ranges = NO_RANGES;
+
+    public RangeTombstones(MultiComparator cmp) {
+        this.cmp = cmp;
+    }
+
+    /**
+     * @return the range tombstones of the component, or null if it has none
+     */
+    public static RangeTombstones of(ILSMComponent component) throws HyracksDataException {
+        if (component instanceof IRangeTombstoneComponent) {
+            RangeTombstones tombstones = ((IRangeTombstoneComponent) component).getRangeTombstones();
+            return tombstones.isEmpty() ? null : tombstones;
+        }
+        return null;
+    }
+
+    public boolean isEmpty() {
+        return ranges.length == 0;
+    }
+
+    public int size() {
+        return ranges.length;
+    }
+
+    /**
+     * Adds the range [lowKey, highKey], merging it with the ranges it overlaps.
+     */
+    public synchronized void add(ITupleReference lowKey, ITupleReference highKey) throws HyracksDataException {
+        if (cmp.compare(lowKey, highKey) > 0) {
+            return;
+        }
+        add(new Range(copyKey(lowKey), copyKey(highKey)));
+    }
+
+    public synchronized void addAll(RangeTombstones other) throws HyracksDataException {
+        for (Range range : other.ranges) {
+            add(range);
+        }
+    }
+
+    private void add(Range added) throws HyracksDataException {
+        List<Range> result = new ArrayList<>(ranges.length + 1);
+        ITupleReference low = added.low;
+        ITupleReference high = added.high;
+        int i = 0;
+        while (i < ranges.length && cmp.compare(ranges[i].high, low) < 0) {
+            result.add(ranges[i++]);
+        }
+        while (i < ranges.length && cmp.compare(ranges[i].low, high) <= 0) {
+            if (cmp.compare(ranges[i].low, low) < 0) {
+                low = ranges[i].low;
+            }
+            if (cmp.compare(ranges[i].high, high) > 0) {
+                high = ranges[i].high;
+            }
+            i++;
+        }
+        result.add(new Range(low, high));
+        while (i < ranges.length) {
+            result.add(ranges[i++]);
+        }
+        ranges = result.toArray(NO_RANGES);
+    }
+
+    /**
+     * @return true if the key fields of the tuple fall in one of the ranges
+     */
+    public boolean covers(ITupleReference tuple) throws HyracksDataException {
+        Range[] snapshot = ranges;
+        int lo = 0;
+        int hi = snapshot.length - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (cmp.compare(tuple, snapshot[mid].low) < 0) {
+                hi = mid - 1;
+            } else if (cmp.compare(tuple, snapshot[mid].high) > 0) {
+                lo = mid + 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void write(IComponentMetadata metadata) throws HyracksDataException {
+        ArrayBackedValueStorage value = new ArrayBackedValueStorage();
+        DataOutput out = value.getDataOutput();
+        Range[] snapshot = ranges;
+        try {
+            out.writeInt(snapshot.length);
+            for (Range range : snapshot) {
+                writeKey(out, range.low);
+                writeKey(out, range.high);
+            }
+        } catch (IOException e) {
+            throw HyracksDataException.create(e);
+        }
+        metadata.put(METADATA_KEY, value);
+    }
+
+    public synchronized void read(IComponentMetadata metadata) throws HyracksDataException {
+        ArrayBackedValueStorage value = new ArrayBackedValueStorage();
+        metadata.get(METADATA_KEY, value);
+        if (value.getLength() == 0) {
+            ranges = NO_RANGES;
+            return;
+        }
+        DataInput in = new DataInputStream(
+                new ByteArrayInputStream(value.getByteArray(), value.getStartOffset(), value.getLength()));
+        try {
+            Range[] read = new Range[in.readInt()];
+            for (int i = 0; i < read.length; i++) {
+                read[i] = new Range(readKey(in), readKey(in));
+            }
+            ranges = read;
+        } catch (IOException e) {
+            throw HyracksDataException.create(e);
+        }
+    }
+
+    private ITupleReference copyKey(ITupleReference tuple) throws HyracksDataException {
+        int keyFieldCount = cmp.getKeyFieldCount();
+        ArrayTupleBuilder builder = new ArrayTupleBuilder(keyFieldCount);
+        for (int i = 0; i < keyFieldCount; i++) {
+            builder.addField(tuple, i);
+        }
+        ArrayTupleReference key = new ArrayTupleReference();
+        key.reset(builder.getFieldEndOffsets(), builder.getByteArray());
+        return key;
+    }
+
+    private static void writeKey(DataOutput out, ITupleReference key) throws IOException {
+        out.writeInt(key.getFieldCount());
+        for (int i = 0; i < key.getFieldCount(); i++) {
+            out.writeInt(key.getFieldLength(i));
+            out.write(key.getFieldData(i), key.getFieldStart(i), key.getFieldLength(i));
+        }
+    }
+
+    private static ITupleReference readKey(DataInput in) throws IOException {
+        int fieldCount = in.readInt();
+        ArrayTupleBuilder builder = new ArrayTupleBuilder(fieldCount);
+        for (int i = 0; i < fieldCount; i++) {
+            byte[] field = new byte[in.readInt()];
+            in.readFully(field);
+            builder.addField(field, 0, field.length);
+        }
+        ArrayTupleReference key = new ArrayTupleReference();
+        key.reset(builder.getFieldEndOffsets(), builder.getByteArray());
+        return key;
+    }
+
+    private static class Range {
+        private final ITupleReference low;
+        private final ITupleReference high;
+
+        private Range(ITupleReference low, ITupleReference high) {
+            this.low = low;
+            this.high = high;
+        }
+    }
+}
@@ -27,6 +27,7 @@ import org.apache.hyracks.api.replication.IReplicationJob.ReplicationOperation;
 import org.apache.hyracks.dataflow.common.data.accessors.ITupleReference;
 import org.apache.hyracks.storage.am.common.api.IIndexOperationContext;
 import org.apache.hyracks.storage.am.lsm.common.impls.LSMHarness;
+import org.apache.hyracks.storage.am.lsm.common.impls.LSMWriteStatistics;
 import org.apache.hyracks.storage.common.IIndex;
 import org.apache.hyracks.storage.common.IIndexAccessParameters;
 import org.apache.hyracks.storage.common.IIndexBulkLoader;
@@ -73,6 +74,11 @@ public interface ILSMIndex extends IIndex {
 
     ILSMIOOperationCallback getIOOperationCallback();
 
+    /**
+     * @return the bytes written by the flushes and merges of the index since it was activated
+     */
+    LSMWriteStatistics getWriteStatistics();
+
     /**
      * components with lower indexes are newer than components with higher index
      */
@@ -115,4 +115,17 @@ public interface ILSMIndexOperationContext extends IIndexOperationContext {
      * @return the key value map of the context
      */
     Map<String, Object> getParameters();
+
+    /**
+     * @return true if disk pages read through this context are not expected to be re-read soon (e.g. scans and
+     *         merges), false otherwise
+     */
+    boolean isUseOncePageAccess();
+
+    /**
+     * Set whether disk pages read through this context are not expected to be re-read soon
+     *
+     * @param useOncePageAccess
+     */
+    void setUseOncePageAccess(boolean useOncePageAccess);
 }
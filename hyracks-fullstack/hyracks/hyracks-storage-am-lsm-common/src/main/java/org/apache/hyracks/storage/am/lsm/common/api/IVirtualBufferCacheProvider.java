@@ -30,4 +30,12 @@ import org.apache.hyracks.api.io.IJsonSerializable;
 public interface IVirtualBufferCacheProvider extends Serializable, IJsonSerializable {
     List<IVirtualBufferCache> getVirtualBufferCaches(INCServiceContext ctx, FileReference fileRef)
             throws HyracksDataException;
+
+    /**
+     * @param ctx the nc service context
+     * @return the number of b-trees that each memory component of an LSM b-tree is partitioned into
+     */
+    default int getMemoryComponentPartitions(INCServiceContext ctx) {
+        return 1;
+    }
 }
@@ -42,8 +42,8 @@ public abstract class AbstractIoOperation implements ILSMIOOperation {
     protected final ILSMIOOperationCallback callback;
     protected final String indexIdentifier;
     private volatile Throwable failure;
-    private LSMIOOperationStatus status = LSMIOOperationStatus.SUCCESS;
-    private ILSMDiskComponent newComponent;
+    private volatile LSMIOOperationStatus status = LSMIOOperationStatus.SUCCESS;
+    private volatile ILSMDiskComponent newComponent;
     private volatile boolean completed = false;
     private List<IoOperationCompleteListener> completeListeners;
 
@@ -116,6 +116,7 @@ public abstract class AbstractLSMIndex implements ILSMIndex {
     private final boolean atomic;
     private final List<ILSMDiskComponent> temporaryDiskComponents;
     private final ILSMMergePolicy mergePolicy;
+    private final LSMWriteStatistics writeStatistics = new LSMWriteStatistics();
 
     public AbstractLSMIndex(IIOManager ioManager, List<IVirtualBufferCache> virtualBufferCaches,
             IBufferCache diskBufferCache, ILSMIndexFileManager fileManager, double bloomFilterFalsePositiveRate,
@@ -428,6 +429,8 @@ public abstract class AbstractLSMIndex implements ILSMIndex {
         AbstractLSMIndexOperationContext mergeCtx = createOpContext(NoOpIndexAccessParameters.INSTANCE);
         mergeCtx.setOperation(ctx.getOperation());
         mergeCtx.getComponentHolder().addAll(mergingComponents);
+        // a merge reads each page of the merging components once
+        mergeCtx.setUseOncePageAccess(true);
         propagateMap(ctx, mergeCtx);
         mergingComponents.stream().forEach(mergeCtx.getComponentsToBeMerged()::add);
         ILSMDiskComponent lastComponent = mergingComponents.get(0);
@@ -958,4 +961,9 @@ public abstract class AbstractLSMIndex implements ILSMIndex {
         return mergePolicy;
     }
 
+    @Override
+    public LSMWriteStatistics getWriteStatistics() {
+        return writeStatistics;
+    }
+
 }
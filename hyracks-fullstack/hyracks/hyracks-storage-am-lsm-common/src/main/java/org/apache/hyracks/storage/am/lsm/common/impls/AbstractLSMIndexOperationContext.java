@@ -60,6 +60,7 @@ public abstract class AbstractLSMIndexOperationContext implements ILSMIndexOpera
     protected boolean recovery = false;
     private ILSMIOOperation ioOperation;
     private Map<String, Object> parametersMap;
+    private boolean useOncePageAccess;
 
     public AbstractLSMIndexOperationContext(ILSMIndex index, int[] treeFields, int[] filterFields,
             IBinaryComparatorFactory[] filterCmpFactories, ISearchOperationCallback searchCallback,
@@ -230,4 +231,14 @@ public abstract class AbstractLSMIndexOperationContext implements ILSMIndexOpera
         return parametersMap;
     }
 
+    @Override
+    public boolean isUseOncePageAccess() {
+        return useOncePageAccess;
+    }
+
+    @Override
+    public void setUseOncePageAccess(boolean useOncePageAccess) {
+        this.useOncePageAccess = useOncePageAccess;
+    }
+
 }
@@ -0,0 +1,278 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.storage.am.lsm.common.impls;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.api.io.IODeviceHandle;
+import org.apache.hyracks.storage.am.lsm.common.api.IIoOperationFailedCallback;
+import org.apache.hyracks.storage.am.lsm.common.api.ILSMDiskComponent;
+import org.apache.hyracks.storage.am.lsm.common.api.ILSMIOOperation;
+import org.apache.hyracks.storage.am.lsm.common.api.ILSMIOOperation.LSMIOOperationStatus;
+import org.apache.hyracks.storage.am.lsm.common.api.ILSMIOOperation.LSMIOOperationType;
+
+/**
+ * The bandwidth-aware scheduler enforces a disk bandwidth budget on the flushes and merges of each I/O device.
+ * Flushes are scheduled as they arrive and are never throttled. The running merges of a device are paused while a
+ * flush on the same device is still writing its component or while the device has used up its budget, and are
+ * resumed once the budget is refilled. A flush that has written its component no longer holds back the merges, since
+ * it may be waiting in the LSM harness for a lagging merge of its index to make progress. Flushed bytes are charged to the budget when a flush completes, while merges are charged for the
+ * pages they have processed.
+ *
+ * When a read latency target is set, the scheduler also watches the average latency of the page reads of queries
+ * in the buffer cache and reduces the share of the budget (or, without a budget, of the time) given to merges while
+ * the latency is above the target.
+ */
+public class BandwidthAwareScheduler extends AbstractAsynchronousScheduler {
+
+    public static final String NAME = "bandwidth";
+
+    private static final long PACING_INTERVAL_MILLIS = 100;
+    // the maximum budget a device accumulates while it is idle
+    private static final double MAX_BURST_SECONDS = 1.0;
+    private static final double MIN_MERGE_SHARE = 0.1;
+    private static final double MERGE_SHARE_STEP = 0.1;
+
+    private final int maxNumRunningMerges;
+    private final int pageSize;
+    private final long deviceBandwidth;
+    private final long readLatencyTargetNanos;
+    private final Map<IODeviceHandle, DeviceState> devices = new HashMap<>();
+    private final Thread pacer;
+    private volatile boolean closed;
+    private int numRunningMerges = 0;
+    private long lastPaceTime = System.nanoTime();
+    private double mergeShare = 1.0;
+    private double mergeTimeCredit;
+    private boolean mergeTimeSlice = true;
+    private LongSupplier readCount;
+    private LongSupplier readNanos;
+    private long lastReadCount;
+    private long lastReadNanos;
+
+    /**
+     * @param pageSize
+     *            the size of the pages processed by merges
+     * @param deviceBandwidth
+     *            the budget (bytes/s) of the flushes and merges of each device, unlimited if <= 0
+     * @param readLatencyTargetMicros
+     *            the average query page read latency above which merges are slowed down, disabled if <= 0
+     */
+    public BandwidthAwareScheduler(ThreadFactory threadFactory, IIoOperationFailedCallback callback,
+            int maxNumRunningFlushes, int maxNumRunningMerges, int pageSize, long deviceBandwidth,
+            long readLatencyTargetMicros) {
+        super(threadFactory, callback, maxNumRunningFlushes);
+        this.maxNumRunningMerges = maxNumRunningMerges;
+        this.pageSize = pageSize;
+        this.deviceBandwidth = deviceBandwidth;
+        this.readLatencyTargetNanos = TimeUnit.MICROSECONDS.toNanos(readLatencyTargetMicros);
+        pacer = threadFactory.newThread(this::runPacer);
+        pacer.setName("LSM IO Bandwidth Pacer");
+        pacer.setDaemon(true);
+        pacer.start();
+    }
+
+    /**
+     * Sets the source of the page read statistics of queries that drive the read latency target
+     *
+     * @param readCount
+     *            supplies the number of page reads so far
+     * @param readNanos
+     *            supplies the total time (in nanoseconds) of these page reads
+     */
+    public void setReadLatencySource(LongSupplier readCount, LongSupplier readNanos) {
+        synchronized (executor) {
+            this.readCount = readCount;
+            this.readNanos = readNanos;
+            lastReadCount = readCount.getAsLong();
+            lastReadNanos = readNanos.getAsLong();
+        }
+    }
+
+    @Override
+    protected void scheduleFlush(ILSMIOOperation operation) {
+        synchronized (executor) {
+            super.scheduleFlush(operation);
+            if (!operation.isCompleted()) {
+                DeviceState device = getDeviceState(operation);
+                device.flushes.add(operation);
+                device.dispatch();
+            }
+        }
+    }
+
+    @Override
+    public void completeOperation(ILSMIOOperation operation) throws HyracksDataException {
+        if (operation.getIOOpertionType() == LSMIOOperationType.FLUSH) {
+            synchronized (executor) {
+                DeviceState device = devices.get(operation.getDevice());
+                if (device != null) {
+                    device.flushes.remove(operation);
+                    ILSMDiskComponent newComponent = operation.getNewComponent();
+                    if (operation.getStatus() == LSMIOOperationStatus.SUCCESS && newComponent != null
+                            && newComponent != EmptyComponent.INSTANCE) {
+                        device.credit -= newComponent.getComponentSize();
+                    }
+                    device.dispatch();
+                }
+            }
+        }
+        super.completeOperation(operation);
+    }
+
+    @Override
+    protected void scheduleMerge(ILSMIOOperation operation) {
+        operation.pause();
+        synchronized (executor) {
+            if (numRunningMerges >= maxNumRunningMerges) {
+                waitingMergeOperations.add(operation);
+            } else {
+                doScheduleMerge(operation);
+            }
+        }
+    }
+
+    @Override
+    protected void completeMerge(ILSMIOOperation operation) {
+        synchronized (executor) {
+            --numRunningMerges;
+            DeviceState device = devices.get(operation.getDevice());
+            if (device != null) {
+                device.merges.remove(operation);
+            }
+            if (!waitingMergeOperations.isEmpty() && numRunningMerges < maxNumRunningMerges) {
+                doScheduleMerge(waitingMergeOperations.poll());
+            }
+        }
+    }
+
+    private void doScheduleMerge(ILSMIOOperation operation) {
+        ++numRunningMerges;
+        DeviceState device = getDeviceState(operation);
+        device.merges.put(operation, operation.getRemainingPages());
+        executor.submit(operation);
+        device.dispatch();
+    }
+
+    private DeviceState getDeviceState(ILSMIOOperation operation) {
+        return devices.computeIfAbsent(operation.getDevice(), d -> new DeviceState());
+    }
+
+    private void runPacer() {
+        while (!closed) {
+            try {
+                Thread.sleep(PACING_INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            synchronized (executor) {
+                pace();
+            }
+        }
+    }
+
+    private void pace() {
+        long now = System.nanoTime();
+        double elapsedSeconds = (now - lastPaceTime) / (double) TimeUnit.SECONDS.toNanos(1);
+        lastPaceTime = now;
+        updateMergeShare();
+        if (deviceBandwidth <= 0) {
+            // without a budget, merges only run in a share of the pacing intervals
+            mergeTimeCredit += mergeShare;
+            mergeTimeSlice = mergeTimeCredit >= 1;
+            if (mergeTimeSlice) {
+                mergeTimeCredit -= 1;
+            }
+        }
+        for (DeviceState device : devices.values()) {
+            device.chargeMerges();
+            device.credit = Math.min(device.credit + deviceBandwidth * mergeShare * elapsedSeconds,
+                    deviceBandwidth * MAX_BURST_SECONDS);
+            device.dispatch();
+        }
+    }
+
+    private void updateMergeShare() {
+        if (readLatencyTargetNanos <= 0 || readCount == null) {
+            return;
+        }
+        long currentReadCount = readCount.getAsLong();
+        long currentReadNanos = readNanos.getAsLong();
+        long reads = currentReadCount - lastReadCount;
+        boolean aboveTarget = reads > 0 && (currentReadNanos - lastReadNanos) / reads > readLatencyTargetNanos;
+        lastReadCount = currentReadCount;
+        lastReadNanos = currentReadNanos;
+        mergeShare =
+                aboveTarget ? Math.max(MIN_MERGE_SHARE, mergeShare / 2) : Math.min(1.0, mergeShare + MERGE_SHARE_STEP);
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        pacer.interrupt();
+        synchronized (executor) {
+            // paused merges must be able to finish
+            for (DeviceState device : devices.values()) {
+                device.merges.keySet().forEach(ILSMIOOperation::resume);
+            }
+        }
+        super.close();
+    }
+
+    private class DeviceState {
+        private final Set<ILSMIOOperation> flushes = new HashSet<>();
+        // the running merges and their remaining pages when they were last charged
+        private final Map<ILSMIOOperation, Long> merges = new HashMap<>();
+        private double credit = deviceBandwidth * MAX_BURST_SECONDS;
+
+        private void chargeMerges() {
+            for (Map.Entry<ILSMIOOperation, Long> merge : merges.entrySet()) {
+                long remainingPages = merge.getKey().getRemainingPages();
+                long processedPages = merge.getValue() - remainingPages;
+                if (processedPages > 0) {
+                    credit -= (double) processedPages * pageSize;
+                    merge.setValue(remainingPages);
+                }
+            }
+        }
+
+        private void dispatch() {
+            // a flush whose component is written can be blocked on a lagging merge and must not hold merges back
+            flushes.removeIf(flush -> flush.isCompleted() || flush.getNewComponent() != null
+                    || flush.getStatus() == LSMIOOperationStatus.FAILURE);
+            boolean mergesAllowed = flushes.isEmpty() && (deviceBandwidth > 0 ? credit > 0 : mergeTimeSlice);
+            for (ILSMIOOperation merge : merges.keySet()) {
+                if (mergesAllowed && !merge.isActive()) {
+                    merge.resume();
+                } else if (!mergesAllowed && merge.isActive()) {
+                    merge.pause();
+                }
+            }
+        }
+    }
+}
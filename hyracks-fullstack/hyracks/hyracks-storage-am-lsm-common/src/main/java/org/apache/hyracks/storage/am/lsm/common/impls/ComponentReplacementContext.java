@@ -259,4 +259,14 @@ public class ComponentReplacementContext implements ILSMIndexOperationContext {
     public Map<String, Object> getParameters() {
         throw new UnsupportedOperationException();
     }
+
+    @Override
+    public boolean isUseOncePageAccess() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setUseOncePageAccess(boolean useOncePageAccess) {
+        throw new UnsupportedOperationException();
+    }
 }
@@ -294,6 +294,9 @@ public class LSMHarness implements ILSMHarness {
                 // newComponent is null if the flush op. was not performed.
                 if (!failedOperation && newComponent != null) {
                     lsmIndex.addDiskComponent(newComponent);
+                    if (newComponent != EmptyComponent.INSTANCE) {
+                        lsmIndex.getWriteStatistics().flushed(newComponent.getComponentSize());
+                    }
                     // TODO: The following should also replicate component Id
                     // even if empty component
                     if (replicationEnabled && newComponent != EmptyComponent.INSTANCE) {
@@ -310,6 +313,9 @@ public class LSMHarness implements ILSMHarness {
                 // newComponent is null if the merge op. was not performed.
                 if (!failedOperation && newComponent != null) {
                     lsmIndex.subsumeMergedComponents(newComponent, ctx.getComponentHolder());
+                    if (newComponent != EmptyComponent.INSTANCE) {
+                        lsmIndex.getWriteStatistics().merged(newComponent.getComponentSize());
+                    }
                     if (replicationEnabled && newComponent != EmptyComponent.INSTANCE) {
                         componentsToBeReplicated.clear();
                         componentsToBeReplicated.add(newComponent);
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.storage.am.lsm.common.impls;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps track of the bytes an LSM index writes to disk components by flushes and by merges. The write
+ * amplification of the index is the ratio of all written bytes to the flushed bytes, i.e. how many times each
+ * flushed byte was written, on average, by the flush and the merges that rewrote it.
+ */
+public class LSMWriteStatistics {
+
+    private final AtomicLong flushCount = new AtomicLong();
+    private final AtomicLong flushedBytes = new AtomicLong();
+    private final AtomicLong mergeCount = new AtomicLong();
+    private final AtomicLong mergedBytes = new AtomicLong();
+
+    public void flushed(long componentSize) {
+        flushCount.incrementAndGet();
+        flushedBytes.addAndGet(componentSize);
+    }
+
+    public void merged(long componentSize) {
+        mergeCount.incrementAndGet();
+        mergedBytes.addAndGet(componentSize);
+    }
+
+    public long getFlushCount() {
+        return flushCount.get();
+    }
+
+    public long getFlushedBytes() {
+        return flushedBytes.get();
+    }
+
+    public long getMergeCount() {
+        return mergeCount.get();
+    }
+
+    public long getMergedBytes() {
+        return mergedBytes.get();
+    }
+
+    /**
+     * @return the write amplification of the index, or 0 if nothing was flushed yet
+     */
+    public double getWriteAmplification() {
+        long flushed = flushedBytes.get();
+        return flushed == 0 ? 0 : (double) (flushed + mergedBytes.get()) / flushed;
+    }
+
+    @Override
+    public String toString() {
+        return "{ flushCount : " + getFlushCount() + ", flushedBytes : " + getFlushedBytes() + ", mergeCount : "
+                + getMergeCount() + ", mergedBytes : " + getMergedBytes() + ", writeAmplification : "
+                + String.format("%.2f", getWriteAmplification()) + " }";
+    }
+}
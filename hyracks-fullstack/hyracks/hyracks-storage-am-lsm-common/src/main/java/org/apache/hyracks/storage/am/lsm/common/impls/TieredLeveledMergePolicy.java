@@ -0,0 +1,190 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.storage.am.lsm.common.impls;
+
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.storage.am.common.impls.NoOpIndexAccessParameters;
+import org.apache.hyracks.storage.am.lsm.common.api.ILSMComponent.ComponentState;
+import org.apache.hyracks.storage.am.lsm.common.api.ILSMDiskComponent;
+import org.apache.hyracks.storage.am.lsm.common.api.ILSMIndex;
+import org.apache.hyracks.storage.am.lsm.common.api.ILSMMergePolicy;
+
+/**
+ * A merge policy that organizes the disk components of an index into levels whose sizes grow by a factor of
+ * size-ratio. All levels but the last one are tiered: a level holds up to components-per-level components of
+ * similar sizes, which are merged together once the level is full. The last level is leveled: it holds a single
+ * component, the oldest one, into which all younger components are merged once their total size reaches
+ * 1 / size-ratio of its size.
+ * <p>
+ * Tiering keeps the write amplification of the younger levels low, while leveling the last level, which holds most
+ * of the data, bounds both the space amplification and the number of components a search has to visit.
+ * Larger size-ratio and components-per-level values trade read amplification for lower write amplification.
+ */
+public class TieredLeveledMergePolicy implements ILSMMergePolicy {
+
+    /**
+     * The size ratio between adjacent levels
+     */
+    private double sizeRatio;
+
+    /**
+     * The number of components of a tiered level that triggers merging the level
+     */
+    private int componentsPerLevel;
+
+    /**
+     * The maximum number of disk component allowed before stopping flushes
+     */
+    private int maxComponentCount;
+
+    @Override
+    public void diskComponentAdded(final ILSMIndex index, boolean fullMergeIsRequested) throws HyracksDataException {
+        if (fullMergeIsRequested) {
+            List<ILSMDiskComponent> diskComponents = index.getDiskComponents();
+            if (!diskComponents.stream().allMatch(d -> d.getState() != ComponentState.READABLE_UNWRITABLE)) {
+                return;
+            }
+            index.createAccessor(NoOpIndexAccessParameters.INSTANCE).scheduleFullMerge();
+            return;
+        }
+        scheduleMerge(index);
+    }
+
+    @Override
+    public void configure(Map<String, String> properties) {
+        sizeRatio = Double.parseDouble(properties.get(TieredLeveledMergePolicyFactory.SIZE_RATIO));
+        componentsPerLevel =
+                Integer.parseInt(properties.get(TieredLeveledMergePolicyFactory.COMPONENTS_PER_LEVEL));
+        maxComponentCount = Integer.parseInt(properties.get(TieredLeveledMergePolicyFactory.MAX_COMPONENT_COUNT));
+        if (sizeRatio <= 1) {
+            throw new IllegalArgumentException(
+                    TieredLeveledMergePolicyFactory.SIZE_RATIO + " must be greater than 1: " + sizeRatio);
+        }
+        if (componentsPerLevel < 2) {
+            throw new IllegalArgumentException(TieredLeveledMergePolicyFactory.COMPONENTS_PER_LEVEL
+                    + " must be at least 2: " + componentsPerLevel);
+        }
+    }
+
+    @Override
+    public boolean isMergeLagging(ILSMIndex index) throws HyracksDataException {
+        List<ILSMDiskComponent> diskComponents = index.getDiskComponents();
+        if (diskComponents.size() < maxComponentCount) {
+            // not reach the component threshold, simply return false
+            return false;
+        }
+        if (diskComponents.stream().anyMatch(d -> d.getState() == ComponentState.READABLE_MERGING)) {
+            // reach the component threshold and some components are being merged, return true (stop flushing)
+            return true;
+        }
+        if (!diskComponents.stream().allMatch(d -> d.getState() == ComponentState.READABLE_UNWRITABLE)) {
+            throw new IllegalStateException("Illegal disk component states in isMergeLagging");
+        }
+        // reach the component threshold but no components are being merged (e.g. the system just recovered or
+        // maxComponentCount is too small). Schedule a full merge if the levels do not call for a merge so that
+        // writes are never blocked forever
+        if (!scheduleMerge(index)) {
+            index.createAccessor(NoOpIndexAccessParameters.INSTANCE).scheduleFullMerge();
+        }
+        return true;
+    }
+
+    /**
+     * schedule a merge operation according to this merge policy
+     *
+     * @param index
+     * @return true if merge is scheduled, false otherwise.
+     * @throws HyracksDataException
+     */
+    protected boolean scheduleMerge(final ILSMIndex index) throws HyracksDataException {
+        List<ILSMDiskComponent> diskComponents = index.getDiskComponents();
+        Pair<Integer, Integer> mergeableIndexes = getMergableComponentsIndex(diskComponents);
+        if (mergeableIndexes == null) {
+            return false;
+        }
+        List<ILSMDiskComponent> mergableComponents =
+                diskComponents.subList(mergeableIndexes.getLeft(), mergeableIndexes.getRight() + 1);
+        index.createAccessor(NoOpIndexAccessParameters.INSTANCE).scheduleMerge(mergableComponents);
+        return true;
+    }
+
+    /**
+     * Given a list of disk components (ordered from newest to oldest), identifies a sequence of components to be
+     * merged:
+     * 1. Find the longest prefix of the component sequence (i.e., youngest) that are not being merged
+     * 2. If the prefix contains the oldest component (the last level) and the younger components add up to at least
+     * 1 / sizeRatio of its size, merge all of them into the last level
+     * 3. Otherwise, split the prefix into tiered levels, where a level is a run of components whose sizes are within
+     * sizeRatio of the smallest component of the run, and merge the oldest level that has componentsPerLevel or more
+     * components
+     *
+     * @param diskComponents
+     * @return a pair of indexes indicating the start (inclusive) and end (inclusive) position of the sequence
+     *         otherwise, return null if no sequence is found
+     */
+    protected Pair<Integer, Integer> getMergableComponentsIndex(List<ILSMDiskComponent> diskComponents)
+            throws HyracksDataException {
+        int numComponents = diskComponents.size();
+        int count = 0;
+        for (; count < numComponents; count++) {
+            if (diskComponents.get(count).getState() != ComponentState.READABLE_UNWRITABLE) {
+                break;
+            }
+        }
+        if (count < 2) {
+            return null;
+        }
+        long[] sizes = new long[count];
+        for (int i = 0; i < count; i++) {
+            sizes[i] = diskComponents.get(i).getComponentSize();
+        }
+        int tieredCount = count;
+        if (count == numComponents) {
+            // the last level is available for merging
+            tieredCount = count - 1;
+            long youngerSize = 0;
+            for (int i = 0; i < tieredCount; i++) {
+                youngerSize += sizes[i];
+            }
+            if (youngerSize * sizeRatio >= sizes[tieredCount]) {
+                return Pair.of(0, tieredCount);
+            }
+        }
+        Pair<Integer, Integer> mergableLevel = null;
+        int levelStart = 0;
+        long levelMinSize = 0;
+        for (int i = 0; i <= tieredCount; i++) {
+            if (i == tieredCount || (i > levelStart && sizes[i] >= levelMinSize * sizeRatio)) {
+                if (i - levelStart >= componentsPerLevel) {
+                    mergableLevel = Pair.of(levelStart, i - 1);
+                }
+                levelStart = i;
+                if (i == tieredCount) {
+                    break;
+                }
+            }
+            levelMinSize = i == levelStart ? sizes[i] : Math.min(levelMinSize, sizes[i]);
+        }
+        return mergableLevel;
+    }
+}
@@ -44,6 +44,7 @@ public abstract class AbstractBufferedFileIOManager {
     protected final IPageReplacementStrategy pageReplacementStrategy;
     protected final IOManager ioManager;
     private final BlockingQueue<BufferCacheHeaderHelper> headerPageCache;
+    final FilePrefetchState prefetchState = new FilePrefetchState();
 
     private IFileHandle fileHandle;
     private volatile boolean hasOpen;
@@ -73,6 +73,10 @@ public class BufferCache implements IBufferCacheInternal, ILifeCycleComponent, I
     private final IPageCleanerPolicy pageCleanerPolicy;
     private final IFileMapManager fileMapManager;
     private final CleanerThread cleanerThread;
+    private final ThreadFactory threadFactory;
+    private final Executor executor;
+    private volatile PagePrefetcher prefetcher;
+    // lookups are lock-free; structural changes are still serialized on the map together with the fileMapManager
     private final Map<Integer, BufferedFileHandle> fileInfoMap;
     private final BlockingQueue<BufferCacheHeaderHelper> headerPageCache;
 
@@ -80,6 +84,9 @@ public class BufferCache implements IBufferCacheInternal, ILifeCycleComponent, I
     private final List<ICachedPageInternal> cachedPages = new ArrayList<>();
     private final AtomicLong masterPinCount = new AtomicLong();
     private final Map<Thread, IThreadStats> statsSubscribers = new ConcurrentHashMap<>();
+    // the page reads of subscribed (i.e. query) threads and their total latency
+    private final AtomicLong queryReadCount = new AtomicLong();
+    private final AtomicLong queryReadNanos = new AtomicLong();
 
     private boolean closed;
 
@@ -106,8 +113,9 @@ public class BufferCache implements IBufferCacheInternal, ILifeCycleComponent, I
         this.pageCleanerPolicy = pageCleanerPolicy;
         this.fileMapManager = fileMapManager;
 
-        Executor executor = Executors.newCachedThreadPool(threadFactory);
-        fileInfoMap = new HashMap<>();
+        this.threadFactory = threadFactory;
+        executor = Executors.newCachedThreadPool(threadFactory);
+        fileInfoMap = new ConcurrentHashMap<>();
         cleanerThread = new CleanerThread();
         executor.execute(cleanerThread);
         closed = false;
@@ -130,6 +138,25 @@ public class BufferCache implements IBufferCacheInternal, ILifeCycleComponent, I
         this.ioReplicationManager = ioReplicationManager;
     }
 
+    /**
+     * Enables read-ahead for readers that report sequential accesses.
+     *
+     * @param prefetchPages
+     *            the number of pages to read ahead of a sequential reader
+     * @param maxPrefetchedPages
+     *            the maximum number of pages that were read ahead and not accessed yet
+     */
+    public synchronized void enablePrefetching(int prefetchPages, int maxPrefetchedPages) {
+        if (prefetcher != null) {
+            prefetcher.close();
+        }
+        prefetcher = new PagePrefetcher(this, threadFactory, prefetchPages, maxPrefetchedPages);
+    }
+
+    public PagePrefetcher getPrefetcher() {
+        return prefetcher;
+    }
+
     @Override
     public int getPageSize() {
         return pageSize;
@@ -152,10 +179,7 @@ public class BufferCache implements IBufferCacheInternal, ILifeCycleComponent, I
 
         // check whether file has been created and opened
         int fileId = BufferedFileHandle.getFileId(dpid);
-        BufferedFileHandle fInfo;
-        synchronized (fileInfoMap) {
-            fInfo = fileInfoMap.get(fileId);
-        }
+        BufferedFileHandle fInfo = fileInfoMap.get(fileId);
         if (fInfo == null || fInfo.hasBeenDeleted() || !fInfo.hasBeenOpened()) {
             throw new HyracksDataException("pin called on a fileId " + fileId + " that has not been created.");
         } else if (fInfo.getReferenceCount() <= 0) {
@@ -165,8 +189,17 @@ public class BufferCache implements IBufferCacheInternal, ILifeCycleComponent, I
 
     @Override
     public ICachedPage pin(long dpid, boolean newPage) throws HyracksDataException {
+        return pin(dpid, newPage, false);
+    }
+
+    @Override
+    public ICachedPage pinUseOnce(long dpid) throws HyracksDataException {
+        return pin(dpid, false, true);
+    }
+
+    private ICachedPage pin(long dpid, boolean newPage, boolean useOnce) throws HyracksDataException {
         // Calling the pinSanityCheck should be used only for debugging, since
-        // the synchronized block over the fileInfoMap is a hot spot.
+        // it adds a file handle lookup to every pin.
         if (DEBUG) {
             pinSanityCheck(dpid);
         }
@@ -189,19 +222,21 @@ public class BufferCache implements IBufferCacheInternal, ILifeCycleComponent, I
                 }
             }
             // Resolve race of multiple threads trying to read the page from
-            // disk.
-            synchronized (cPage) {
-                if (!cPage.valid) {
-                    try {
-                        tryRead(cPage);
-                        cPage.valid = true;
-                    } catch (Exception e) {
-                        LOGGER.log(ExceptionUtils.causedByInterrupt(e) ? Level.DEBUG : Level.WARN,
-                                "Failure while trying to read a page from disk", e);
-                        throw e;
-                    } finally {
-                        if (!cPage.valid) {
-                            unpin(cPage);
+            // disk. Resident pages are already valid and skip the monitor.
+            if (!cPage.valid) {
+                synchronized (cPage) {
+                    if (!cPage.valid) {
+                        try {
+                            tryRead(cPage);
+                            cPage.valid = true;
+                        } catch (Exception e) {
+                            LOGGER.log(ExceptionUtils.causedByInterrupt(e) ? Level.DEBUG : Level.WARN,
+                                    "Failure while trying to read a page from disk", e);
+                            throw e;
+                        } finally {
+                            if (!cPage.valid) {
+                                unpin(cPage);
+                            }
                         }
                     }
                 }
@@ -209,13 +244,91 @@ public class BufferCache implements IBufferCacheInternal, ILifeCycleComponent, I
         } else {
             cPage.valid = true;
         }
-        pageReplacementStrategy.notifyCachePageAccess(cPage);
+        final PagePrefetcher pagePrefetcher = cPage.takePrefetcher();
+        if (pagePrefetcher != null) {
+            pagePrefetcher.prefetchedPageAccessed();
+        }
+        if (useOnce) {
+            pageReplacementStrategy.notifyCachePageUseOnceAccess(cPage);
+        } else {
+            pageReplacementStrategy.notifyCachePageAccess(cPage);
+        }
         if (DEBUG) {
             pinnedPageOwner.put(cPage, Thread.currentThread().getStackTrace());
         }
         return cPage;
     }
 
+    @Override
+    public void notifySequentialAccess(ICachedPage page, boolean scan) {
+        final PagePrefetcher pagePrefetcher = prefetcher;
+        if (pagePrefetcher == null || closed) {
+            return;
+        }
+        final CachedPage cPage = (CachedPage) page;
+        final BufferedFileHandle fInfo = fileInfoMap.get(BufferedFileHandle.getFileId(cPage.getDiskPageId()));
+        if (fInfo != null) {
+            pagePrefetcher.notifyAccess(fInfo, cPage, scan);
+        }
+    }
+
+    /**
+     * Reads a page on behalf of the prefetcher unless it is cached already.
+     *
+     * @return the id of the page that follows it in the file, or -1 if the read-ahead has to stop
+     */
+    int readAhead(BufferedFileHandle fInfo, int pageId, PagePrefetcher pagePrefetcher) throws HyracksDataException {
+        if (!pagePrefetcher.reserve()) {
+            return -1;
+        }
+        boolean read = false;
+        try {
+            if (closed || !beginPrefetch(fInfo)) {
+                return -1;
+            }
+            try {
+                CachedPage cPage = findPage(BufferedFileHandle.getDiskPageId(fInfo.getFileId(), pageId));
+                try {
+                    if (!cPage.valid) {
+                        synchronized (cPage) {
+                            if (!cPage.valid) {
+                                tryRead(cPage);
+                                cPage.setPrefetcher(pagePrefetcher);
+                                cPage.valid = true;
+                                read = true;
+                            }
+                        }
+                    }
+                    if (read) {
+                        pagePrefetcher.prefetchedPageRead();
+                        pageReplacementStrategy.notifyCachePageUseOnceAccess(cPage);
+                    }
+                    return PagePrefetcher.getNextPageId(pageId, cPage);
+                } finally {
+                    unpin(cPage);
+                }
+            } finally {
+                FilePrefetchState.of(fInfo).endRead();
+            }
+        } finally {
+            if (!read) {
+                pagePrefetcher.release();
+            }
+        }
+    }
+
+    private boolean beginPrefetch(BufferedFileHandle fInfo) {
+        // the file must stay open until the read completes, see sweepAndFlush
+        synchronized (fileInfoMap) {
+            if (fileInfoMap.get(fInfo.getFileId()) != fInfo || fInfo.getReferenceCount() <= 0
+                    || fInfo.hasBeenDeleted()) {
+                return false;
+            }
+            FilePrefetchState.of(fInfo).beginRead();
+            return true;
+        }
+    }
+
     private CachedPage findPage(long dpid) throws HyracksDataException {
         return (CachedPage) getPageLoop(dpid, -1, false);
     }
@@ -228,6 +341,13 @@ public class BufferCache implements IBufferCacheInternal, ILifeCycleComponent, I
          */
         int hash = hash(dpid);
         CacheBucket bucket = pageMap[hash];
+        cPage = bucket.findResidentPage(dpid);
+        if (cPage != null) {
+            if (DEBUG) {
+                assert !cPage.confiscated.get();
+            }
+            return cPage;
+        }
         bucket.bucketLock.lock();
         try {
             cPage = bucket.cachedPage;
@@ -288,7 +408,7 @@ public class BufferCache implements IBufferCacheInternal, ILifeCycleComponent, I
             /*
              * Case 1.
              */
-            bucket.bucketLock.lock();
+            bucket.lockForUpdate();
             try {
                 if (!victim.pinCount.compareAndSet(0, 1)) {
                     return null;
@@ -317,7 +437,7 @@ public class BufferCache implements IBufferCacheInternal, ILifeCycleComponent, I
                 victim.next = bucket.cachedPage;
                 bucket.cachedPage = victim;
             } finally {
-                bucket.bucketLock.unlock();
+                bucket.unlockForUpdate();
             }
 
             if (DEBUG) {
@@ -330,7 +450,7 @@ public class BufferCache implements IBufferCacheInternal, ILifeCycleComponent, I
             /*
              * Case 2a.
              */
-            bucket.bucketLock.lock();
+            bucket.lockForUpdate();
             try {
                 if (!victim.pinCount.compareAndSet(0, 1)) {
                     return null;
@@ -357,7 +477,7 @@ public class BufferCache implements IBufferCacheInternal, ILifeCycleComponent, I
                 }
                 victim.reset(dpid);
             } finally {
-                bucket.bucketLock.unlock();
+                bucket.unlockForUpdate();
             }
             if (DEBUG) {
                 assert !victim.confiscated.get();
@@ -369,11 +489,11 @@ public class BufferCache implements IBufferCacheInternal, ILifeCycleComponent, I
              */
             CacheBucket victimBucket = pageMap[victimHash];
             if (victimHash < hash) {
-                victimBucket.bucketLock.lock();
-                bucket.bucketLock.lock();
+                victimBucket.lockForUpdate();
+                bucket.lockForUpdate();
             } else {
-                bucket.bucketLock.lock();
-                victimBucket.bucketLock.lock();
+                bucket.lockForUpdate();
+                victimBucket.lockForUpdate();
             }
             try {
                 if (!victim.pinCount.compareAndSet(0, 1)) {
@@ -408,8 +528,8 @@ public class BufferCache implements IBufferCacheInternal, ILifeCycleComponent, I
                 victim.next = bucket.cachedPage;
                 bucket.cachedPage = victim;
             } finally {
-                victimBucket.bucketLock.unlock();
-                bucket.bucketLock.unlock();
+                victimBucket.unlockForUpdate();
+                bucket.unlockForUpdate();
             }
             if (DEBUG) {
                 assert !victim.confiscated.get();
@@ -550,10 +670,13 @@ public class BufferCache implements IBufferCacheInternal, ILifeCycleComponent, I
     private void read(CachedPage cPage) throws HyracksDataException {
         BufferedFileHandle fInfo = getFileHandle(cPage);
         cPage.buffer.clear();
-        fInfo.read(cPage);
         final IThreadStats threadStats = statsSubscribers.get(Thread.currentThread());
+        final long startTime = threadStats != null ? System.nanoTime() : 0;
+        fInfo.read(cPage);
         if (threadStats != null) {
             threadStats.coldRead();
+            queryReadNanos.addAndGet(System.nanoTime() - startTime);
+            queryReadCount.incrementAndGet();
         }
     }
 
@@ -596,18 +719,74 @@ public class BufferCache implements IBufferCacheInternal, ILifeCycleComponent, I
         statsSubscribers.remove(Thread.currentThread());
     }
 
+    /**
+     * @return the number of pages read from disk by threads that are subscribed to the cache statistics
+     */
+    public long getQueryReadCount() {
+        return queryReadCount.get();
+    }
+
+    /**
+     * @return the total time (in nanoseconds) of the page reads counted by {@link #getQueryReadCount()}
+     */
+    public long getQueryReadNanos() {
+        return queryReadNanos.get();
+    }
+
     private int hash(long dpid) {
         int hashValue = (int) dpid ^ (Integer.reverse((int) (dpid >>> 32)) >>> 1);
         return hashValue % pageMap.length;
     }
 
+    /**
+     * A hash bucket of the page table. Lookups of resident pages are optimistic and do not take the bucket lock:
+     * every writer that unlinks or re-targets a page of the bucket does so under the lock and bumps the version to
+     * an odd value for the duration of the change. A lock-free lookup is only trusted if it started on an even
+     * version and the version is unchanged after the pin was taken; otherwise the caller falls back to the locked
+     * path.
+     */
     private static class CacheBucket {
         private final Lock bucketLock;
-        private CachedPage cachedPage;
+        private volatile CachedPage cachedPage;
+        private volatile int version;
 
         public CacheBucket() {
             bucketLock = new ReentrantLock();
         }
+
+        private void lockForUpdate() {
+            bucketLock.lock();
+            version++;
+        }
+
+        private void unlockForUpdate() {
+            version++;
+            bucketLock.unlock();
+        }
+
+        private CachedPage findResidentPage(long dpid) {
+            final int startVersion = version;
+            if ((startVersion & 1) != 0) {
+                return null;
+            }
+            CachedPage cPage = cachedPage;
+            while (cPage != null) {
+                if (cPage.dpid == dpid) {
+                    cPage.pinCount.incrementAndGet();
+                    if (version == startVersion && cPage.dpid == dpid) {
+                        return cPage;
+                    }
+                    // lost a race with a writer (e.g. the page got picked as a victim), undo the pin
+                    cPage.pinCount.decrementAndGet();
+                    return null;
+                }
+                if (version != startVersion) {
+                    return null;
+                }
+                cPage = cPage.next;
+            }
+            return null;
+        }
     }
 
     @Override
@@ -717,6 +896,10 @@ public class BufferCache implements IBufferCacheInternal, ILifeCycleComponent, I
     @Override
     public void close() {
         closed = true;
+        final PagePrefetcher pagePrefetcher = prefetcher;
+        if (pagePrefetcher != null) {
+            pagePrefetcher.close();
+        }
         try {
             synchronized (cleanerThread.threadLock) {
                 cleanerThread.shutdownStart = true;
@@ -854,9 +1037,10 @@ public class BufferCache implements IBufferCacheInternal, ILifeCycleComponent, I
             //Skip flushing as the file has not been open
             return;
         }
+        FilePrefetchState.of(fInfo).awaitReads();
         final int fileId = fInfo.getFileId();
         for (final CacheBucket bucket : pageMap) {
-            bucket.bucketLock.lock();
+            bucket.lockForUpdate();
             try {
                 CachedPage prev = bucket.cachedPage;
                 while (prev != null) {
@@ -878,7 +1062,7 @@ public class BufferCache implements IBufferCacheInternal, ILifeCycleComponent, I
                     cPage.next = null;
                 }
             } finally {
-                bucket.bucketLock.unlock();
+                bucket.unlockForUpdate();
             }
         }
     }
@@ -939,10 +1123,7 @@ public class BufferCache implements IBufferCacheInternal, ILifeCycleComponent, I
 
     @Override
     public void force(int fileId, boolean metadata) throws HyracksDataException {
-        BufferedFileHandle fInfo;
-        synchronized (fileInfoMap) {
-            fInfo = fileInfoMap.get(fileId);
-        }
+        BufferedFileHandle fInfo = fileInfoMap.get(fileId);
         fInfo.force(metadata);
     }
 
@@ -997,14 +1178,12 @@ public class BufferCache implements IBufferCacheInternal, ILifeCycleComponent, I
     }
 
     @Override
-    public synchronized int getFileReferenceCount(int fileId) {
-        synchronized (fileInfoMap) {
-            BufferedFileHandle fInfo = fileInfoMap.get(fileId);
-            if (fInfo != null) {
-                return fInfo.getReferenceCount();
-            } else {
-                return 0;
-            }
+    public int getFileReferenceCount(int fileId) {
+        BufferedFileHandle fInfo = fileInfoMap.get(fileId);
+        if (fInfo != null) {
+            return fInfo.getReferenceCount();
+        } else {
+            return 0;
         }
     }
 
@@ -1055,7 +1234,7 @@ public class BufferCache implements IBufferCacheInternal, ILifeCycleComponent, I
             // Case 2a/b
             int pageHash = hash(victim.dpid);
             CacheBucket bucket = pageMap[pageHash];
-            bucket.bucketLock.lock();
+            bucket.lockForUpdate();
             try {
                 if (!victim.pinCount.compareAndSet(0, 1)) {
                     return false;
@@ -1100,7 +1279,7 @@ public class BufferCache implements IBufferCacheInternal, ILifeCycleComponent, I
                 }
                 assert found;
             } finally {
-                bucket.bucketLock.unlock();
+                bucket.unlockForUpdate();
             }
         }
         synchronized (cachedPages) {
@@ -1109,6 +1288,7 @@ public class BufferCache implements IBufferCacheInternal, ILifeCycleComponent, I
                 assert old == victim;
             }
         }
+        victim.releasePrefetched();
         return true;
     }
 
@@ -1119,13 +1299,11 @@ public class BufferCache implements IBufferCacheInternal, ILifeCycleComponent, I
 
     @Override
     public int getNumPagesOfFile(int fileId) throws HyracksDataException {
-        synchronized (fileInfoMap) {
-            BufferedFileHandle fInfo = fileInfoMap.get(fileId);
-            if (fInfo == null) {
-                throw new HyracksDataException("No such file mapped for fileId:" + fileId);
-            }
-            return fInfo.getNumberOfPages();
+        BufferedFileHandle fInfo = fileInfoMap.get(fileId);
+        if (fInfo == null) {
+            throw new HyracksDataException("No such file mapped for fileId:" + fileId);
         }
+        return fInfo.getNumberOfPages();
     }
 
     @Override
@@ -1174,7 +1352,7 @@ public class BufferCache implements IBufferCacheInternal, ILifeCycleComponent, I
             // Case 2a/b
             int pageHash = hash(victim.getDiskPageId());
             CacheBucket bucket = pageMap[pageHash];
-            bucket.bucketLock.lock();
+            bucket.lockForUpdate();
             try {
                 // readjust the next pointers to remove this page from
                 // the pagemap
@@ -1215,11 +1393,12 @@ public class BufferCache implements IBufferCacheInternal, ILifeCycleComponent, I
                     ((CachedPage) returnPage).dpid = dpid;
                 } //otherwise, someone took the same victim before we acquired the lock. try again!
             } finally {
-                bucket.bucketLock.unlock();
+                bucket.unlockForUpdate();
             }
         }
         // if we found a page after all that, go ahead and finish
         if (returnPage != null) {
+            ((CachedPage) returnPage).releasePrefetched();
             ((CachedPage) returnPage).confiscated.set(true);
             if (DEBUG) {
                 confiscateLock.lock();
@@ -1254,10 +1433,7 @@ public class BufferCache implements IBufferCacheInternal, ILifeCycleComponent, I
     }
 
     private BufferedFileHandle getFileHandle(int fileId) throws HyracksDataException {
-        BufferedFileHandle fInfo;
-        synchronized (fileInfoMap) {
-            fInfo = fileInfoMap.get(fileId);
-        }
+        BufferedFileHandle fInfo = fileInfoMap.get(fileId);
         if (fInfo == null) {
             throw HyracksDataException.create(ErrorCode.FILE_DOES_NOT_EXIST, fileId);
         }
@@ -1336,7 +1512,7 @@ public class BufferCache implements IBufferCacheInternal, ILifeCycleComponent, I
         if (reinsert) {
             int hash = hash(cPage.dpid);
             bucket = pageMap[hash];
-            bucket.bucketLock.lock();
+            bucket.lockForUpdate();
             if (DEBUG) {
                 confiscateLock.lock();
             }
@@ -1354,7 +1530,7 @@ public class BufferCache implements IBufferCacheInternal, ILifeCycleComponent, I
                     confiscatedPagesOwner.remove(cPage);
                 }
             } finally {
-                bucket.bucketLock.unlock();
+                bucket.unlockForUpdate();
                 if (DEBUG) {
                     confiscateLock.unlock();
                 }
@@ -1400,6 +1576,7 @@ public class BufferCache implements IBufferCacheInternal, ILifeCycleComponent, I
     public void purgeHandle(int fileId) throws HyracksDataException {
         BufferedFileHandle fh = removeFileHandle(fileId);
         if (fh != null) {
+            FilePrefetchState.of(fh).awaitReads();
             synchronized (fileInfoMap) {
                 fileMapManager.unregisterFile(fileId);
                 fh.purge();
@@ -1428,11 +1605,7 @@ public class BufferCache implements IBufferCacheInternal, ILifeCycleComponent, I
 
     @Override
     public ICompressedPageWriter getCompressedPageWriter(int fileId) {
-        final BufferedFileHandle fInfo;
-        synchronized (fileInfoMap) {
-            fInfo = fileInfoMap.get(fileId);
-        }
-
+        final BufferedFileHandle fInfo = fileInfoMap.get(fileId);
         return fInfo.getCompressedPageWriter();
     }
 
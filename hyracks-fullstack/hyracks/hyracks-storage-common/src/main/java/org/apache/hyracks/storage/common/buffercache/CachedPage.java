@@ -21,12 +21,15 @@ package org.apache.hyracks.storage.common.buffercache;
 import java.nio.ByteBuffer;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * @author yingyib
  */
 public class CachedPage implements ICachedPageInternal {
+    private static final AtomicReferenceFieldUpdater<CachedPage, PagePrefetcher> PREFETCHER_UPDATER =
+            AtomicReferenceFieldUpdater.newUpdater(CachedPage.class, PagePrefetcher.class, "prefetcher");
     final int cpid;
     ByteBuffer buffer;
     public final AtomicInteger pinCount;
@@ -35,13 +38,15 @@ public class CachedPage implements ICachedPageInternal {
     private final Object replacementStrategyObject;
     private final IPageReplacementStrategy pageReplacementStrategy;
     volatile long dpid; // disk page id (composed of file id and page id)
-    CachedPage next;
+    volatile CachedPage next;
     volatile boolean valid;
     final AtomicBoolean confiscated;
     private int multiplier;
     private int extraBlockPageId;
     private long compressedOffset;
     private int compressedSize;
+    // set while the page was read ahead and not accessed yet
+    private volatile PagePrefetcher prefetcher;
     // DEBUG
     private static final boolean DEBUG = false;
     private final StackTraceElement[] ctorStack;
@@ -78,6 +83,7 @@ public class CachedPage implements ICachedPageInternal {
     }
 
     public void reset(long dpid) {
+        releasePrefetched();
         this.dpid = dpid;
         dirty.set(false);
         valid = false;
@@ -172,6 +178,27 @@ public class CachedPage implements ICachedPageInternal {
         return extraBlockPageId;
     }
 
+    void setPrefetcher(PagePrefetcher prefetcher) {
+        this.prefetcher = prefetcher;
+    }
+
+    /**
+     * @return the prefetcher that read this page ahead, if the page was not accessed since, or null
+     */
+    PagePrefetcher takePrefetcher() {
+        return prefetcher == null ? null : PREFETCHER_UPDATER.getAndSet(this, null);
+    }
+
+    /**
+     * Returns the read-ahead budget of this page to its prefetcher if the page was read ahead and not accessed since.
+     */
+    void releasePrefetched() {
+        final PagePrefetcher pagePrefetcher = takePrefetcher();
+        if (pagePrefetcher != null) {
+            pagePrefetcher.prefetchedPageEvicted();
+        }
+    }
+
     CachedPage getNext() {
         return next;
     }
@@ -112,17 +112,12 @@ public class ClockPageReplacementStrategy implements IPageReplacementStrategy {
             if (cPage != null) {
                 /*
                  * We do two things here:
-                 * 1. If the page has been accessed, then we skip it -- The CAS would return
-                 * false if the current value is false which makes the page a possible candidate
-                 * for replacement.
+                 * 1. We let the clock age the page and skip it if it is still considered in use.
                  * 2. We check with the buffer manager if it feels it's a good idea to use this
                  * page as a victim.
                  */
-                AtomicBoolean accessedFlag = getPerPageObject(cPage);
-                if (!accessedFlag.compareAndSet(true, false)) {
-                    if (cPage.isGoodVictim()) {
-                        return cPage;
-                    }
+                if (sweep(cPage, cycleCount) && cPage.isGoodVictim()) {
+                    return cPage;
                 }
             }
             if (clockPtr < lastClockPtr) {
@@ -144,6 +139,21 @@ public class ClockPageReplacementStrategy implements IPageReplacementStrategy {
         }
     }
 
+    /**
+     * Called when the clock hand passes over a page while looking for a victim.
+     *
+     * @param cPage
+     *            the page under the clock hand
+     * @param cycleCount
+     *            the number of full clock cycles completed so far without finding a victim
+     * @return true if the page may be evicted, false if it should be skipped in this pass
+     */
+    protected boolean sweep(ICachedPageInternal cPage, int cycleCount) {
+        // If the page has been accessed, then we skip it -- The CAS would return false if the current value is
+        // false which makes the page a possible candidate for replacement.
+        return !getPerPageObject(cPage).compareAndSet(true, false);
+    }
+
     @Override
     public int getNumPages() {
         return numPages.get();
@@ -83,6 +83,18 @@ public class DebugBufferCache implements IBufferCache {
         return page;
     }
 
+    @Override
+    public ICachedPage pinUseOnce(long dpid) throws HyracksDataException {
+        ICachedPage page = bufferCache.pinUseOnce(dpid);
+        pinCount.addAndGet(1);
+        return page;
+    }
+
+    @Override
+    public void notifySequentialAccess(ICachedPage page, boolean scan) {
+        bufferCache.notifySequentialAccess(page, scan);
+    }
+
     @Override
     public void unpin(ICachedPage page) throws HyracksDataException {
         bufferCache.unpin(page);
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.storage.common.buffercache;
+
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+
+/**
+ * The read-ahead state of a single file. The access pattern and stream fields are guarded by the monitor of this
+ * object, which is also used to wait for in-flight reads before the pages of the file are swept out of the cache.
+ */
+final class FilePrefetchState {
+    // the largest forward jump between two accesses that is still considered sequential (leaves of a disk B-tree
+    // may be separated by interior pages and by the extra blocks of large pages)
+    private static final int MAX_SEQUENTIAL_GAP = 4;
+    private static final int SEQUENTIAL_ACCESSES_THRESHOLD = 2;
+
+    private int lastPageId = -1;
+    private int sequentialAccesses;
+    // the next page the read-ahead stream will read and the page it stops at
+    int nextPageId;
+    int limitPageId;
+    boolean running;
+    private int pendingReads;
+
+    static FilePrefetchState of(AbstractBufferedFileIOManager fileIOManager) {
+        return fileIOManager.prefetchState;
+    }
+
+    /**
+     * Records an access to {@code pageId}.
+     *
+     * @return true if read-ahead should follow the reader
+     */
+    boolean access(int pageId, boolean scan) {
+        final boolean sequential = pageId > lastPageId && pageId - lastPageId <= MAX_SEQUENTIAL_GAP;
+        sequentialAccesses = sequential ? sequentialAccesses + 1 : 0;
+        lastPageId = pageId;
+        return scan || sequentialAccesses >= SEQUENTIAL_ACCESSES_THRESHOLD;
+    }
+
+    synchronized void beginRead() {
+        pendingReads++;
+    }
+
+    synchronized void endRead() {
+        if (--pendingReads == 0) {
+            notifyAll();
+        }
+    }
+
+    synchronized void awaitReads() throws HyracksDataException {
+        while (pendingReads > 0) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw HyracksDataException.create(e);
+            }
+        }
+    }
+}
@@ -104,6 +104,34 @@ public interface IBufferCache {
      */
     ICachedPage pin(long dpid, boolean newPage) throws HyracksDataException;
 
+    /**
+     * Pin an existing page for a read that is not expected to be repeated soon, such as a scan or a merge that
+     * reads every page of a component once. Scan-resistant page replacement strategies will not let such reads
+     * push frequently accessed pages out of the cache.
+     *
+     * @param dpid
+     *            page id is a unique id that is a combination of file id and page id
+     * @return the pinned page
+     * @throws HyracksDataException
+     */
+    default ICachedPage pinUseOnce(long dpid) throws HyracksDataException {
+        return pin(dpid, false);
+    }
+
+    /**
+     * Hint that a page of an immutable file was pinned by a reader that visits the pages of the file in ascending
+     * order, such as a range scan over the leaves of a disk component. Buffer caches that support read-ahead start
+     * reading the following pages in the background once the accesses look sequential.
+     *
+     * @param page
+     *            the page that was just pinned
+     * @param scan
+     *            true if the reader is going to read the file to its end, in which case read-ahead starts right away
+     */
+    default void notifySequentialAccess(ICachedPage page, boolean scan) {
+        // no read-ahead by default
+    }
+
     /**
      * Unpin a pinned page so its buffer can be recycled
      *
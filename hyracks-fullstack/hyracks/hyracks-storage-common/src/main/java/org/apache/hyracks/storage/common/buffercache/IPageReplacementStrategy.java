@@ -31,6 +31,14 @@ public interface IPageReplacementStrategy {
 
     public void notifyCachePageAccess(ICachedPageInternal cPage);
 
+    /**
+     * Notifies the strategy of an access that is not expected to be repeated (e.g. a scan or a merge reading every
+     * page once). Strategies that are not scan resistant treat it as a regular access.
+     */
+    default void notifyCachePageUseOnceAccess(ICachedPageInternal cPage) {
+        notifyCachePageAccess(cPage);
+    }
+
     public void adviseWontNeed(ICachedPageInternal cPage);
 
     public ICachedPageInternal findVictim();
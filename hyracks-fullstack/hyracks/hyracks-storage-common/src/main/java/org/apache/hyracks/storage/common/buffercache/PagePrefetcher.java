@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.storage.common.buffercache;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.hyracks.storage.common.file.BufferedFileHandle;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Reads the pages of immutable files ahead of readers that visit them in page order (see
+ * {@link IBufferCache#notifySequentialAccess(ICachedPage, boolean)}). Every file with a sequential reader gets a
+ * read-ahead stream that stays up to {@code prefetchPages} pages ahead of the reader. A stream follows the page
+ * headers rather than guessing page ids, since the extra blocks of a large page are not pages of their own, so the
+ * reads of one stream are issued one at a time while the streams of different files run in parallel on a bounded
+ * pool of threads. A stream that finds the pool and its queue busy is started again by the next access of its
+ * reader.
+ * <p>
+ * Pages that were read ahead but not accessed yet count against {@code maxPrefetchedPages}; a stream pauses when the
+ * budget is used up and resumes with the next access of its reader. Prefetched pages enter the cache as one-time
+ * accesses, so read-ahead never pushes frequently accessed pages out of the cache.
+ */
+public class PagePrefetcher {
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final int MAX_RUNNING_STREAMS = Runtime.getRuntime().availableProcessors();
+    private static final int MAX_QUEUED_STREAMS = MAX_RUNNING_STREAMS * 4;
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    private final BufferCache bufferCache;
+    private final ThreadPoolExecutor executor;
+    private final int prefetchPages;
+    private final int maxPrefetchedPages;
+    // pages that are being read ahead or were read ahead and not accessed yet
+    private final AtomicInteger prefetchedPages = new AtomicInteger();
+    private final AtomicLong readPages = new AtomicLong();
+    private final AtomicLong accessedPages = new AtomicLong();
+    private final AtomicLong evictedPages = new AtomicLong();
+
+    PagePrefetcher(BufferCache bufferCache, ThreadFactory threadFactory, int prefetchPages, int maxPrefetchedPages) {
+        if (prefetchPages <= 0 || maxPrefetchedPages <= 0) {
+            throw new IllegalArgumentException("prefetchPages and maxPrefetchedPages must be positive");
+        }
+        this.bufferCache = bufferCache;
+        executor = new ThreadPoolExecutor(MAX_RUNNING_STREAMS, MAX_RUNNING_STREAMS, KEEP_ALIVE_SECONDS,
+                TimeUnit.SECONDS, new ArrayBlockingQueue<>(MAX_QUEUED_STREAMS), threadFactory);
+        executor.allowCoreThreadTimeOut(true);
+        this.prefetchPages = prefetchPages;
+        this.maxPrefetchedPages = maxPrefetchedPages;
+    }
+
+    void notifyAccess(BufferedFileHandle fInfo, CachedPage cPage, boolean scan) {
+        final int pageId = BufferedFileHandle.getPageId(cPage.getDiskPageId());
+        final int nextPageId = getNextPageId(pageId, cPage);
+        final FilePrefetchState state = FilePrefetchState.of(fInfo);
+        synchronized (state) {
+            if (!state.access(pageId, scan)) {
+                return;
+            }
+            state.limitPageId = nextPageId + prefetchPages;
+            if (state.nextPageId < nextPageId || state.nextPageId > state.limitPageId) {
+                // the reader is not where the stream left off
+                state.nextPageId = nextPageId;
+            }
+            // wake up the stream once there is a batch of pages to read
+            if (state.running || state.limitPageId - state.nextPageId < Math.max(1, prefetchPages / 2)) {
+                return;
+            }
+            state.running = true;
+        }
+        try {
+            executor.execute(() -> runStream(fInfo));
+        } catch (RejectedExecutionException e) {
+            synchronized (state) {
+                state.running = false;
+            }
+        }
+    }
+
+    private void runStream(BufferedFileHandle fInfo) {
+        final FilePrefetchState state = FilePrefetchState.of(fInfo);
+        try {
+            final int numPages = fInfo.getNumberOfPages();
+            while (true) {
+                final int pageId;
+                synchronized (state) {
+                    if (state.nextPageId >= state.limitPageId || state.nextPageId >= numPages) {
+                        return;
+                    }
+                    pageId = state.nextPageId;
+                }
+                final int nextPageId = bufferCache.readAhead(fInfo, pageId, this);
+                if (nextPageId < 0) {
+                    return;
+                }
+                synchronized (state) {
+                    if (state.nextPageId == pageId) {
+                        state.nextPageId = nextPageId;
+                    }
+                }
+            }
+        } catch (Exception e) {
+            LOGGER.debug("read-ahead of {} stopped", fInfo.getFileReference(), e);
+        } finally {
+            synchronized (state) {
+                state.running = false;
+            }
+        }
+    }
+
+    /**
+     * Stops starting read-ahead streams. Running streams finish their current window.
+     */
+    void close() {
+        executor.shutdown();
+    }
+
+    static int getNextPageId(int pageId, CachedPage cPage) {
+        final int multiplier = cPage.getFrameSizeMultiplier();
+        // the extra blocks of a large page may directly follow it
+        return multiplier > 1 && cPage.getExtraBlockPageId() == pageId + 1 ? pageId + multiplier : pageId + 1;
+    }
+
+    boolean reserve() {
+        if (prefetchedPages.incrementAndGet() > maxPrefetchedPages) {
+            prefetchedPages.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    void release() {
+        prefetchedPages.decrementAndGet();
+    }
+
+    void prefetchedPageRead() {
+        readPages.incrementAndGet();
+    }
+
+    void prefetchedPageAccessed() {
+        release();
+        accessedPages.incrementAndGet();
+    }
+
+    void prefetchedPageEvicted() {
+        release();
+        evictedPages.incrementAndGet();
+    }
+
+    public int getPrefetchPages() {
+        return prefetchPages;
+    }
+
+    public int getMaxPrefetchedPages() {
+        return maxPrefetchedPages;
+    }
+
+    /**
+     * @return the number of pages that are being read ahead or were read ahead and not accessed yet
+     */
+    public int getPrefetchedPages() {
+        return prefetchedPages.get();
+    }
+
+    public long getReadPages() {
+        return readPages.get();
+    }
+
+    public long getAccessedPages() {
+        return accessedPages.get();
+    }
+
+    /**
+     * @return the number of pages that were read ahead and evicted before they were accessed
+     */
+    public long getEvictedPages() {
+        return evictedPages.get();
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.storage.common.buffercache;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A scan-resistant variant of the {@link ClockPageReplacementStrategy} that follows the idea of 2Q on a single clock.
+ * A page enters the cache cold and is only promoted to the hot set if it is accessed again before the clock hand
+ * reaches it. Cold pages are evicted first, and hot pages are only demoted back to cold when the hot set exceeds its
+ * share of the cache. Pages read once by a scan or a merge therefore cycle through the cold set without pushing out
+ * the working set of repeatedly accessed pages (e.g. B-tree interior pages).
+ * <p>
+ * Accesses made through {@link IBufferCache#pinUseOnce(long)} never promote a page.
+ */
+public class TwoQueueClockPageReplacementStrategy extends ClockPageReplacementStrategy {
+    public static final double DEFAULT_HOT_PAGES_RATIO = 0.75;
+
+    // the page was (re)assigned and its first access is still pending
+    private static final int NEW = 0;
+    private static final int COLD = 1;
+    private static final int COLD_REFERENCED = 2;
+    private static final int HOT = 3;
+    private static final int HOT_REFERENCED = 4;
+
+    private final int maxHotPages;
+    private final AtomicInteger hotPages;
+
+    public TwoQueueClockPageReplacementStrategy(ICacheMemoryAllocator allocator, int pageSize,
+            int maxAllowedNumPages) {
+        this(allocator, pageSize, maxAllowedNumPages, DEFAULT_HOT_PAGES_RATIO);
+    }
+
+    public TwoQueueClockPageReplacementStrategy(ICacheMemoryAllocator allocator, int pageSize, int maxAllowedNumPages,
+            double hotPagesRatio) {
+        super(allocator, pageSize, maxAllowedNumPages);
+        if (hotPagesRatio <= 0 || hotPagesRatio >= 1) {
+            throw new IllegalArgumentException("Invalid hot pages ratio " + hotPagesRatio);
+        }
+        this.maxHotPages = (int) (maxAllowedNumPages * hotPagesRatio);
+        this.hotPages = new AtomicInteger();
+    }
+
+    @Override
+    public Object createPerPageStrategyObject(int cpid) {
+        return new AtomicInteger(NEW);
+    }
+
+    @Override
+    public void notifyCachePageReset(ICachedPageInternal cPage) {
+        setState(cPage, NEW);
+    }
+
+    @Override
+    public void notifyCachePageAccess(ICachedPageInternal cPage) {
+        AtomicInteger state = getState(cPage);
+        while (true) {
+            int current = state.get();
+            int next;
+            switch (current) {
+                case NEW:
+                    // the first access is the one that brought the page in
+                    next = COLD;
+                    break;
+                case COLD:
+                    next = COLD_REFERENCED;
+                    break;
+                case HOT:
+                    next = HOT_REFERENCED;
+                    break;
+                default:
+                    return;
+            }
+            if (state.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void notifyCachePageUseOnceAccess(ICachedPageInternal cPage) {
+        // a one-time access neither references a cold page nor refreshes a hot one
+        getState(cPage).compareAndSet(NEW, COLD);
+    }
+
+    @Override
+    public void adviseWontNeed(ICachedPageInternal cPage) {
+        setState(cPage, COLD);
+    }
+
+    @Override
+    protected boolean sweep(ICachedPageInternal cPage, int cycleCount) {
+        AtomicInteger state = getState(cPage);
+        int current = state.get();
+        switch (current) {
+            case NEW:
+            case COLD:
+                return true;
+            case COLD_REFERENCED:
+                if (hotPages.get() < maxHotPages) {
+                    if (state.compareAndSet(COLD_REFERENCED, HOT)) {
+                        hotPages.incrementAndGet();
+                    }
+                } else {
+                    state.compareAndSet(COLD_REFERENCED, COLD);
+                }
+                return false;
+            case HOT_REFERENCED:
+                state.compareAndSet(HOT_REFERENCED, HOT);
+                return false;
+            case HOT:
+                // demote when the hot set is over its share, or when a full cycle found nothing else to evict
+                if ((hotPages.get() > maxHotPages || cycleCount > 0) && state.compareAndSet(HOT, COLD)) {
+                    hotPages.decrementAndGet();
+                }
+                return false;
+            default:
+                throw new IllegalStateException("Unknown page state " + current);
+        }
+    }
+
+    public int getHotPages() {
+        return hotPages.get();
+    }
+
+    private void setState(ICachedPageInternal cPage, int newState) {
+        int previous = getState(cPage).getAndSet(newState);
+        if (previous == HOT || previous == HOT_REFERENCED) {
+            hotPages.decrementAndGet();
+        }
+    }
+
+    private static AtomicInteger getState(ICachedPageInternal cPage) {
+        return (AtomicInteger) cPage.getReplacementStrategyObject();
+    }
+}
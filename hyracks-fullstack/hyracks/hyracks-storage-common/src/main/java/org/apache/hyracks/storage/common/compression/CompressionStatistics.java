@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.storage.common.compression;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Node-wide counters of a compression scheme. Compressed pages are written once and read many times, so the
+ * compression ratio and the time spent decompressing pages are the numbers that tell compression schemes apart.
+ */
+public final class CompressionStatistics {
+    private static final Map<String, CompressionStatistics> STATISTICS = new ConcurrentSkipListMap<>();
+
+    private final String scheme;
+    private final AtomicLong compressedPages = new AtomicLong();
+    private final AtomicLong uncompressedBytes = new AtomicLong();
+    private final AtomicLong compressedBytes = new AtomicLong();
+    private final AtomicLong decompressedPages = new AtomicLong();
+    private final AtomicLong decompressionTimeNanos = new AtomicLong();
+
+    private CompressionStatistics(String scheme) {
+        this.scheme = scheme;
+    }
+
+    public static CompressionStatistics of(String scheme) {
+        return STATISTICS.computeIfAbsent(scheme, CompressionStatistics::new);
+    }
+
+    public static Collection<CompressionStatistics> getAll() {
+        return Collections.unmodifiableCollection(STATISTICS.values());
+    }
+
+    public void compressed(int uncompressedLength, int compressedLength) {
+        compressedPages.incrementAndGet();
+        uncompressedBytes.addAndGet(uncompressedLength);
+        compressedBytes.addAndGet(compressedLength);
+    }
+
+    public void decompressed(long startTimeNanos) {
+        decompressedPages.incrementAndGet();
+        decompressionTimeNanos.addAndGet(System.nanoTime() - startTimeNanos);
+    }
+
+    public String getScheme() {
+        return scheme;
+    }
+
+    public long getCompressedPages() {
+        return compressedPages.get();
+    }
+
+    public long getDecompressedPages() {
+        return decompressedPages.get();
+    }
+
+    /**
+     * @return uncompressed size / compressed size of all compressed pages, or 1 if no page has been compressed
+     */
+    public double getCompressionRatio() {
+        final long cBytes = compressedBytes.get();
+        return cBytes == 0 ? 1.0 : (double) uncompressedBytes.get() / cBytes;
+    }
+
+    public long getDecompressionTimeNanos() {
+        return decompressionTimeNanos.get();
+    }
+
+    public void toJson(ObjectNode json) {
+        json.put("scheme", scheme);
+        json.put("compressedPages", compressedPages.get());
+        json.put("uncompressedBytes", uncompressedBytes.get());
+        json.put("compressedBytes", compressedBytes.get());
+        json.put("compressionRatio", getCompressionRatio());
+        json.put("decompressedPages", decompressedPages.get());
+        json.put("decompressionTimeNanos", decompressionTimeNanos.get());
+    }
+
+    @Override
+    public String toString() {
+        return "{ \"scheme\": \"" + scheme + "\", \"compressionRatio\": " + getCompressionRatio()
+                + ", \"decompressedPages\": " + decompressedPages.get() + ", \"decompressionTimeNanos\": "
+                + decompressionTimeNanos.get() + " }";
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.storage.common.compression;
+
+import java.nio.ByteBuffer;
+
+import org.apache.hyracks.api.compression.ICompressorDecompressor;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+
+import io.airlift.compress.MalformedInputException;
+import io.airlift.compress.lz4.Lz4Compressor;
+import io.airlift.compress.lz4.Lz4Decompressor;
+
+/**
+ * Built-in LZ4 compressor/decompressor wrapper
+ */
+public class Lz4CompressorDecompressor implements ICompressorDecompressor {
+    protected static final Lz4CompressorDecompressor INSTANCE = new Lz4CompressorDecompressor();
+    // Lz4Compressor keeps its hash table as a field, one compressor per thread keeps this class thread safe
+    private static final ThreadLocal<Lz4Compressor> COMPRESSOR = ThreadLocal.withInitial(Lz4Compressor::new);
+    private static final Lz4Decompressor DECOMPRESSOR = new Lz4Decompressor();
+
+    private final CompressionStatistics statistics;
+
+    private Lz4CompressorDecompressor() {
+        statistics = CompressionStatistics.of(Lz4CompressorDecompressorFactory.NAME);
+    }
+
+    @Override
+    public int computeCompressedBufferSize(int uncompressedBufferSize) {
+        return COMPRESSOR.get().maxCompressedLength(uncompressedBufferSize);
+    }
+
+    @Override
+    public ByteBuffer compress(ByteBuffer uBuffer, ByteBuffer cBuffer) throws HyracksDataException {
+        final int uLength = uBuffer.remaining();
+        final int cLength = COMPRESSOR.get().compress(uBuffer.array(), uBuffer.position(), uLength, cBuffer.array(),
+                cBuffer.position(), cBuffer.remaining());
+        cBuffer.limit(cBuffer.position() + cLength);
+        statistics.compressed(uLength, cLength);
+        return cBuffer;
+    }
+
+    @Override
+    public ByteBuffer uncompress(ByteBuffer cBuffer, ByteBuffer uBuffer) throws HyracksDataException {
+        final long startTime = System.nanoTime();
+        try {
+            final int uLength = DECOMPRESSOR.decompress(cBuffer.array(), cBuffer.position(), cBuffer.remaining(),
+                    uBuffer.array(), uBuffer.position(), uBuffer.remaining());
+            uBuffer.limit(uBuffer.position() + uLength);
+        } catch (MalformedInputException e) {
+            throw HyracksDataException.create(e);
+        }
+        statistics.decompressed(startTime);
+        return uBuffer;
+    }
+}
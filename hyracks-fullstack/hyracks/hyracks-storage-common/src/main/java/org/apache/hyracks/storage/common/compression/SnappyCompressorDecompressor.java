@@ -30,9 +30,10 @@ import org.xerial.snappy.Snappy;
  */
 public class SnappyCompressorDecompressor implements ICompressorDecompressor {
     protected static final SnappyCompressorDecompressor INSTANCE = new SnappyCompressorDecompressor();
+    private final CompressionStatistics statistics;
 
     private SnappyCompressorDecompressor() {
-
+        statistics = CompressionStatistics.of(SnappyCompressorDecompressorFactory.NAME);
     }
 
     @Override
@@ -43,9 +44,11 @@ public class SnappyCompressorDecompressor implements ICompressorDecompressor {
     @Override
     public ByteBuffer compress(ByteBuffer uBuffer, ByteBuffer cBuffer) throws HyracksDataException {
         try {
-            final int cLength = Snappy.compress(uBuffer.array(), uBuffer.position(), uBuffer.remaining(),
-                    cBuffer.array(), cBuffer.position());
+            final int uLength = uBuffer.remaining();
+            final int cLength =
+                    Snappy.compress(uBuffer.array(), uBuffer.position(), uLength, cBuffer.array(), cBuffer.position());
             cBuffer.limit(cBuffer.position() + cLength);
+            statistics.compressed(uLength, cLength);
             return cBuffer;
         } catch (IOException e) {
             throw HyracksDataException.create(e);
@@ -54,10 +57,12 @@ public class SnappyCompressorDecompressor implements ICompressorDecompressor {
 
     @Override
     public ByteBuffer uncompress(ByteBuffer cBuffer, ByteBuffer uBuffer) throws HyracksDataException {
+        final long startTime = System.nanoTime();
         try {
             final int uLength = Snappy.uncompress(cBuffer.array(), cBuffer.position(), cBuffer.remaining(),
                     uBuffer.array(), uBuffer.position());
             uBuffer.limit(uBuffer.position() + uLength);
+            statistics.decompressed(startTime);
             return uBuffer;
         } catch (IOException e) {
             throw HyracksDataException.create(e);
@@ -28,6 +28,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 
 public class SnappyCompressorDecompressorFactory implements ICompressorDecompressorFactory {
     private static final long serialVersionUID = 1L;
+    public static final String NAME = "snappy";
     private static final ICompressorDecompressorFactory INSTANCE = new SnappyCompressorDecompressorFactory();
 
     @Override
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.storage.common.compression;
+
+import java.nio.ByteBuffer;
+
+import org.apache.hyracks.api.compression.ICompressorDecompressor;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdException;
+
+/**
+ * Built-in Zstandard compressor/decompressor wrapper
+ */
+public class ZstdCompressorDecompressor implements ICompressorDecompressor {
+    private final int level;
+    private final CompressionStatistics statistics;
+
+    protected ZstdCompressorDecompressor(int level) {
+        this.level = level;
+        statistics = CompressionStatistics.of(ZstdCompressorDecompressorFactory.NAME);
+    }
+
+    @Override
+    public int computeCompressedBufferSize(int uncompressedBufferSize) {
+        return (int) Zstd.compressBound(uncompressedBufferSize);
+    }
+
+    @Override
+    public ByteBuffer compress(ByteBuffer uBuffer, ByteBuffer cBuffer) throws HyracksDataException {
+        final int uLength = uBuffer.remaining();
+        final long cLength = Zstd.compressByteArray(cBuffer.array(), cBuffer.position(), cBuffer.remaining(),
+                uBuffer.array(), uBuffer.position(), uLength, level);
+        checkError(cLength);
+        cBuffer.limit(cBuffer.position() + (int) cLength);
+        statistics.compressed(uLength, (int) cLength);
+        return cBuffer;
+    }
+
+    @Override
+    public ByteBuffer uncompress(ByteBuffer cBuffer, ByteBuffer uBuffer) throws HyracksDataException {
+        final long startTime = System.nanoTime();
+        final long uLength = Zstd.decompressByteArray(uBuffer.array(), uBuffer.position(), uBuffer.remaining(),
+                cBuffer.array(), cBuffer.position(), cBuffer.remaining());
+        checkError(uLength);
+        uBuffer.limit(uBuffer.position() + (int) uLength);
+        statistics.decompressed(startTime);
+        return uBuffer;
+    }
+
+    private static void checkError(long result) throws HyracksDataException {
+        if (Zstd.isError(result)) {
+            throw HyracksDataException.create(new ZstdException(result));
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.storage.common.compression;
+
+import org.apache.hyracks.api.compression.ICompressorDecompressor;
+import org.apache.hyracks.api.compression.ICompressorDecompressorFactory;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.api.io.IJsonSerializable;
+import org.apache.hyracks.api.io.IPersistedResourceRegistry;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+public class ZstdCompressorDecompressorFactory implements ICompressorDecompressorFactory {
+    private static final long serialVersionUID = 1L;
+    public static final String NAME = "zstd";
+    public static final int MIN_LEVEL = 1;
+    public static final int MAX_LEVEL = 22;
+    public static final int DEFAULT_LEVEL = 3;
+    private static final String LEVEL_FIELD = "level";
+
+    private final int level;
+
+    public ZstdCompressorDecompressorFactory() {
+        this(DEFAULT_LEVEL);
+    }
+
+    public ZstdCompressorDecompressorFactory(int level) {
+        if (!isValidLevel(level)) {
+            throw new IllegalArgumentException(
+                    "Invalid zstd compression level " + level + ". Valid levels are [" + MIN_LEVEL + "," + MAX_LEVEL
+                            + "]");
+        }
+        this.level = level;
+    }
+
+    public static boolean isValidLevel(int level) {
+        return level >= MIN_LEVEL && level <= MAX_LEVEL;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    @Override
+    public ICompressorDecompressor createInstance() {
+        return new ZstdCompressorDecompressor(level);
+    }
+
+    @Override
+    public JsonNode toJson(IPersistedResourceRegistry registry) throws HyracksDataException {
+        final ObjectNode json = registry.getClassIdentifier(getClass(), serialVersionUID);
+        json.put(LEVEL_FIELD, level);
+        return json;
+    }
+
+    @SuppressWarnings("squid:S1172") // unused parameter
+    public static IJsonSerializable fromJson(IPersistedResourceRegistry registry, JsonNode json) {
+        return new ZstdCompressorDecompressorFactory(json.get(LEVEL_FIELD).asInt());
+    }
+}
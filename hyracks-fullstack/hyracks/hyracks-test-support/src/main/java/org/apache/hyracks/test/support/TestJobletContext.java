@@ -22,6 +22,7 @@ import java.nio.ByteBuffer;
 import java.time.ZoneId;
 
 import org.apache.hyracks.api.application.INCServiceContext;
+import org.apache.hyracks.api.compression.ICompressorDecompressor;
 import org.apache.hyracks.api.context.IHyracksJobletContext;
 import org.apache.hyracks.api.exceptions.HyracksDataException;
 import org.apache.hyracks.api.exceptions.HyracksException;
@@ -42,6 +43,7 @@ public class TestJobletContext implements IHyracksJobletContext {
     private final WorkspaceFileFactory fileFactory;
     private final long jobStartTime;
     private final String jobStartTimeZoneId;
+    private ICompressorDecompressor spillCompressorDecompressor;
 
     TestJobletContext(int frameSize, INCServiceContext serviceContext, JobId jobId) throws HyracksException {
         this.serviceContext = serviceContext;
@@ -77,6 +79,15 @@ public class TestJobletContext implements IHyracksJobletContext {
         frameManger.deallocateFrames(bytes);
     }
 
+    @Override
+    public ICompressorDecompressor getSpillCompressorDecompressor() {
+        return spillCompressorDecompressor;
+    }
+
+    public void setSpillCompressorDecompressor(ICompressorDecompressor spillCompressorDecompressor) {
+        this.spillCompressorDecompressor = spillCompressorDecompressor;
+    }
+
     @Override
     public final int getInitialFrameSize() {
         return frameManger.getInitialFrameSize();
@@ -31,6 +31,7 @@ import org.apache.hyracks.api.io.IIOManager;
 import org.apache.hyracks.dataflow.common.comm.io.ArrayTupleBuilder;
 import org.apache.hyracks.dataflow.common.comm.io.FrameTupleAppender;
 import org.apache.hyracks.dataflow.common.data.marshalling.IntegerSerializerDeserializer;
+import org.apache.hyracks.storage.common.compression.Lz4CompressorDecompressorFactory;
 import org.apache.hyracks.test.support.TestUtils;
 import org.junit.Assert;
 import org.junit.Before;
@@ -196,6 +197,35 @@ public class RunFileTest {
         writer.close();
     }
 
+    @Test
+    public void testCompressedMultipleDifferentSizedFrames() throws HyracksDataException {
+
+        //Declare fields
+        FileReference file = ctx.getJobletContext().createManagedWorkspaceFile("RunFileTest");
+        writer = new RunFileWriter(file, ctx.getIoManager(), new Lz4CompressorDecompressorFactory().createInstance(),
+                null);
+        IFrame[] frames = getFramesAlternate(MULTIPLE_FRAMES);
+        IFrame[] readFrames = getFrames(MULTIPLE_FRAMES);
+        long[] frameOffsets = new long[frames.length];
+
+        // Writer test
+        writer.open();
+        writeFramesWithDifferentSizes(frames, frameOffsets);
+        Assert.assertEquals("Data size", (MULTIPLE_FRAMES - 1) * TEST_FRAME_SIZE + TEST_FRAME_SIZE_ALTERNATE,
+                writer.getDataSize());
+        Assert.assertTrue("Compressed file size", writer.getFileSize() < writer.getDataSize());
+
+        // Reading what was written
+        RunFileReader reader;
+        reader = writer.createDeleteOnCloseReader();
+        writer.close();
+        reader.open();
+        readFrames(frames, readFrames, reader);
+        readFramesBackwards(frames, readFrames, frameOffsets, reader);
+        Assert.assertEquals("Data size", writer.getDataSize(), reader.getDataSize());
+        reader.close();
+    }
+
     private IFrame[] getFrames(int count) throws HyracksDataException {
         IFrame[] frames = new IFrame[count];
         for (int f = 0; f < frames.length; f++) {
@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.storage.am.lsm.btree;
+
+import org.apache.hyracks.api.dataflow.value.IBinaryComparatorFactory;
+import org.apache.hyracks.api.dataflow.value.ITypeTraits;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.data.std.accessors.IntegerBinaryComparatorFactory;
+import org.apache.hyracks.data.std.primitive.IntegerPointable;
+import org.apache.hyracks.dataflow.common.comm.io.ArrayTupleBuilder;
+import org.apache.hyracks.dataflow.common.comm.io.ArrayTupleReference;
+import org.apache.hyracks.dataflow.common.data.accessors.ITupleReference;
+import org.apache.hyracks.dataflow.common.utils.TupleUtils;
+import org.apache.hyracks.storage.am.btree.OrderedIndexExamplesTest;
+import org.apache.hyracks.storage.am.btree.impls.RangePredicate;
+import org.apache.hyracks.storage.am.common.TestOperationCallback;
+import org.apache.hyracks.storage.am.common.api.ITreeIndex;
+import org.apache.hyracks.storage.am.common.impls.IndexAccessParameters;
+import org.apache.hyracks.storage.am.lsm.btree.util.LSMBTreeTestHarness;
+import org.apache.hyracks.storage.am.lsm.btree.utils.LSMBTreeUtil;
+import org.apache.hyracks.storage.common.IIndexAccessor;
+import org.apache.hyracks.storage.common.IIndexCursor;
+import org.apache.hyracks.storage.common.MultiComparator;
+import org.apache.hyracks.storage.common.compression.NoOpCompressorDecompressorFactory;
+import org.apache.hyracks.util.trace.ITracer;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Runs the ordered index examples against an LSM b-tree whose memory components are partitioned into several
+ * b-trees.
+ */
+public class LSMBTreePartitionedMemoryComponentExamplesTest extends OrderedIndexExamplesTest {
+    private static final int MEMORY_COMPONENT_PARTITIONS = 4;
+    private final LSMBTreeTestHarness harness = new LSMBTreeTestHarness();
+
+    @Override
+    protected ITreeIndex createTreeIndex(ITypeTraits[] typeTraits, IBinaryComparatorFactory[] cmpFactories,
+            int[] bloomFilterKeyFields, ITypeTraits[] filterTypeTraits, IBinaryComparatorFactory[] filterCmpFactories,
+            int[] btreeFields, int[] filterFields) throws HyracksDataException {
+        return LSMBTreeUtil.createLSMTree(harness.getIOManager(), harness.getVirtualBufferCaches(),
+                harness.getFileReference(), harness.getDiskBufferCache(), typeTraits, cmpFactories,
+                bloomFilterKeyFields, harness.getBoomFilterFalsePositiveRate(), harness.getMergePolicy(),
+                harness.getOperationTracker(), harness.getIOScheduler(), harness.getIOOperationCallbackFactory(),
+                harness.getPageWriteCallbackFactory(), true, filterTypeTraits, filterCmpFactories, btreeFields,
+                filterFields, true, harness.getMetadataPageManagerFactory(), false, ITracer.NONE,
+                NoOpCompressorDecompressorFactory.INSTANCE, bloomFilterKeyFields != null, null, null, false,
+                MEMORY_COMPONENT_PARTITIONS);
+    }
+
+    /**
+     * Looks up every key with a low and a high key that are different tuples of the same value, as the search
+     * operators do, so that the lookups go through the point search cursor of the memory component.
+     */
+    @Test
+    public void pointLookupWithSeparateKeyTuples() throws Exception {
+        ITypeTraits[] typeTraits = { IntegerPointable.TYPE_TRAITS, IntegerPointable.TYPE_TRAITS };
+        IBinaryComparatorFactory[] cmpFactories = { IntegerBinaryComparatorFactory.INSTANCE };
+        ITreeIndex treeIndex = createTreeIndex(typeTraits, cmpFactories, new int[] { 0 }, null, null, null, null);
+        treeIndex.create();
+        treeIndex.activate();
+        IIndexAccessor indexAccessor = treeIndex.createAccessor(
+                new IndexAccessParameters(TestOperationCallback.INSTANCE, TestOperationCallback.INSTANCE));
+        int numKeys = 1000;
+        ArrayTupleBuilder tb = new ArrayTupleBuilder(2);
+        ArrayTupleReference tuple = new ArrayTupleReference();
+        for (int i = 0; i < numKeys; i++) {
+            TupleUtils.createIntegerTuple(tb, tuple, i, i * 10);
+            indexAccessor.insert(tuple);
+        }
+
+        ArrayTupleBuilder lowKeyTb = new ArrayTupleBuilder(1);
+        ArrayTupleReference lowKey = new ArrayTupleReference();
+        ArrayTupleBuilder highKeyTb = new ArrayTupleBuilder(1);
+        ArrayTupleReference highKey = new ArrayTupleReference();
+        MultiComparator keyCmp = MultiComparator.create(cmpFactories);
+        RangePredicate pred = new RangePredicate(lowKey, highKey, true, true, keyCmp, keyCmp);
+        IIndexCursor cursor = indexAccessor.createSearchCursor(false);
+        try {
+            for (int i = -1; i <= numKeys; i++) {
+                TupleUtils.createIntegerTuple(lowKeyTb, lowKey, i);
+                TupleUtils.createIntegerTuple(highKeyTb, highKey, i);
+                indexAccessor.search(cursor, pred);
+                try {
+                    if (i < 0 || i == numKeys) {
+                        Assert.assertFalse(cursor.hasNext());
+                        continue;
+                    }
+                    Assert.assertTrue(cursor.hasNext());
+                    cursor.next();
+                    ITupleReference found = cursor.getTuple();
+                    Assert.assertEquals(i, IntegerPointable.getInteger(found.getFieldData(0), found.getFieldStart(0)));
+                    Assert.assertEquals(i * 10,
+                            IntegerPointable.getInteger(found.getFieldData(1), found.getFieldStart(1)));
+                    Assert.assertFalse(cursor.hasNext());
+                } finally {
+                    cursor.close();
+                }
+            }
+        } finally {
+            cursor.destroy();
+        }
+
+        indexAccessor.destroy();
+        treeIndex.deactivate();
+        treeIndex.destroy();
+    }
+
+    @Before
+    public void setUp() throws HyracksDataException {
+        harness.setUp();
+    }
+
+    @After
+    public void tearDown() throws HyracksDataException {
+        harness.tearDown();
+    }
+}
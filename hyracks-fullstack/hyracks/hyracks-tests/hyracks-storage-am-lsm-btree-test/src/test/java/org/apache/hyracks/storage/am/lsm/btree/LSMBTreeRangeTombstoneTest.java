@@ -0,0 +1,278 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hyracks.storage.am.lsm.btree;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.hyracks.api.dataflow.value.ISerializerDeserializer;
+import org.apache.hyracks.api.exceptions.ErrorCode;
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.data.std.primitive.BooleanPointable;
+import org.apache.hyracks.data.std.primitive.IntegerPointable;
+import org.apache.hyracks.dataflow.common.data.accessors.ITupleReference;
+import org.apache.hyracks.dataflow.common.data.marshalling.IntegerSerializerDeserializer;
+import org.apache.hyracks.dataflow.common.utils.TupleUtils;
+import org.apache.hyracks.storage.am.btree.impls.RangePredicate;
+import org.apache.hyracks.storage.am.common.api.IExtendedModificationOperationCallback;
+import org.apache.hyracks.storage.am.common.impls.IndexAccessParameters;
+import org.apache.hyracks.storage.am.common.impls.NoOpIndexAccessParameters;
+import org.apache.hyracks.storage.am.common.impls.NoOpOperationCallback;
+import org.apache.hyracks.storage.am.lsm.btree.impls.LSMBTree;
+import org.apache.hyracks.storage.am.lsm.btree.util.LSMBTreeTestContext;
+import org.apache.hyracks.storage.am.lsm.btree.util.LSMBTreeTestHarness;
+import org.apache.hyracks.storage.am.lsm.common.api.ILSMIndexAccessor;
+import org.apache.hyracks.storage.common.IIndexCursor;
+import org.apache.hyracks.storage.common.MultiComparator;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+@SuppressWarnings("rawtypes")
+public class LSMBTreeRangeTombstoneTest {
+
+    private static final List<Integer> EXPECTED = Arrays.asList(1, 2, 5, 7, 8, 9, 10);
+
+    private final LSMBTreeTestHarness harness = new LSMBTreeTestHarness();
+
+    @Before
+    public void setUp() throws HyracksDataException {
+        harness.setUp();
+    }
+
+    @After
+    public void tearDown() throws HyracksDataException {
+        harness.tearDown();
+    }
+
+    @Test
+    public void testRangeDeleteAcrossFlushAndMerge() throws Exception {
+        LSMBTree btree = createIndex();
+        ILSMIndexAccessor accessor = btree.createAccessor(NoOpIndexAccessParameters.INSTANCE);
+        for (int i = 1; i <= 10; i++) {
+            accessor.insert(TupleUtils.createIntegerTuple(i, i));
+        }
+        accessor.scheduleFlush();
+
+        // the tombstone hides 3..6 in the older disk component, the re-inserted 5 is newer and stays visible
+        btree.deleteRange(accessor, TupleUtils.createIntegerTuple(3), TupleUtils.createIntegerTuple(6));
+        accessor.insert(TupleUtils.createIntegerTuple(5, 50));
+        checkIndex(btree, accessor);
+
+        accessor.scheduleFlush();
+        Assert.assertEquals(2, btree.getDiskComponents().size());
+        checkIndex(btree, accessor);
+
+        accessor.scheduleMerge(btree.getDiskComponents());
+        Assert.assertEquals(1, btree.getDiskComponents().size());
+        checkIndex(btree, accessor);
+        btree.deactivate();
+        btree.destroy();
+    }
+
+    @Test
+    public void testPartialMergeKeepsRangeTombstones() throws Exception {
+        LSMBTree btree = createIndex();
+        ILSMIndexAccessor accessor = btree.createAccessor(NoOpIndexAccessParameters.INSTANCE);
+        for (int i = 1; i <= 10; i++) {
+            accessor.insert(TupleUtils.createIntegerTuple(i, i));
+        }
+        accessor.scheduleFlush();
+        btree.deleteRange(accessor, TupleUtils.createIntegerTuple(3), TupleUtils.createIntegerTuple(6));
+        accessor.scheduleFlush();
+        accessor.insert(TupleUtils.createIntegerTuple(5, 50));
+        accessor.scheduleFlush();
+        Assert.assertEquals(3, btree.getDiskComponents().size());
+
+        // merging the two newest components must carry the tombstone over the oldest one
+        accessor.scheduleMerge(btree.getDiskComponents().subList(0, 2));
+        Assert.assertEquals(2, btree.getDiskComponents().size());
+        checkIndex(btree, accessor);
+        btree.deactivate();
+        btree.destroy();
+    }
+
+    @Test
+    public void testDiskComponentScanReturnsRangeTombstonesAsAntimatter() throws Exception {
+        LSMBTree btree = createIndex();
+        ILSMIndexAccessor accessor = btree.createAccessor(NoOpIndexAccessParameters.INSTANCE);
+        for (int i = 1; i <= 7; i++) {
+            accessor.insert(TupleUtils.createIntegerTuple(i, i));
+        }
+        accessor.scheduleFlush();
+        btree.deleteRange(accessor, TupleUtils.createIntegerTuple(3), TupleUtils.createIntegerTuple(6));
+        accessor.insert(TupleUtils.createIntegerTuple(5, 50));
+        accessor.scheduleFlush();
+
+        // entries are returned as <component, antimatter, key>, the older component first for each key
+        List<String> expected = Arrays.asList("1:false:1", "1:false:2", "1:false:3", "0:true:3", "1:false:4",
+                "0:true:4", "1:false:5", "0:true:5", "0:false:5", "1:false:6", "0:true:6", "1:false:7");
+        List<String> scanned = new ArrayList<>();
+        IIndexCursor cursor = accessor.createSearchCursor(false);
+        try {
+            accessor.scanDiskComponents(cursor);
+            try {
+                while (cursor.hasNext()) {
+                    cursor.next();
+                    ITupleReference tuple = cursor.getTuple();
+                    scanned.add(IntegerPointable.getInteger(tuple.getFieldData(0), tuple.getFieldStart(0)) + ":"
+                            + BooleanPointable.getBoolean(tuple.getFieldData(1), tuple.getFieldStart(1)) + ":"
+                            + IntegerPointable.getInteger(tuple.getFieldData(2), tuple.getFieldStart(2)));
+                }
+            } finally {
+                cursor.close();
+            }
+        } finally {
+            cursor.destroy();
+        }
+        Assert.assertEquals(expected, scanned);
+        btree.deactivate();
+        btree.destroy();
+    }
+
+    @Test
+    public void testInsertAfterRangeDeleteOfFlushedKey() throws Exception {
+        LSMBTree btree = createIndex();
+        ILSMIndexAccessor accessor = btree.createAccessor(NoOpIndexAccessParameters.INSTANCE);
+        accessor.insert(TupleUtils.createIntegerTuple(5, 5));
+        accessor.scheduleFlush();
+        btree.deleteRange(accessor, TupleUtils.createIntegerTuple(3), TupleUtils.createIntegerTuple(6));
+        // the key only exists in the disk component, where the tombstone of the memory component hides it
+        accessor.insert(TupleUtils.createIntegerTuple(5, 50));
+        try {
+            accessor.insert(TupleUtils.createIntegerTuple(5, 51));
+            Assert.fail("The re-inserted key must be checked for duplicates");
+        } catch (HyracksDataException e) {
+            Assert.assertTrue(e.matches(ErrorCode.DUPLICATE_KEY));
+        }
+        btree.deactivate();
+        btree.destroy();
+    }
+
+    @Test
+    public void testRangeDeleteCallbacksAndMemoryPurge() throws Exception {
+        LSMBTree btree = createIndex();
+        ILSMIndexAccessor accessor = btree.createAccessor(NoOpIndexAccessParameters.INSTANCE);
+        for (int i = 1; i <= 200; i++) {
+            accessor.insert(TupleUtils.createIntegerTuple(i, i));
+        }
+        List<String> calls = new ArrayList<>();
+        IExtendedModificationOperationCallback callback = new IExtendedModificationOperationCallback() {
+            @Override
+            public void before(ITupleReference tuple) {
+                // the purged keys are locked by the caller of the range delete
+            }
+
+            @Override
+            public void found(ITupleReference before, ITupleReference after) {
+                calls.add("found:" + getKey(after));
+            }
+
+            @Override
+            public void after(ITupleReference after) {
+                calls.add("after:" + getKey(after));
+            }
+
+            @Override
+            public void beforeRangeDelete(ITupleReference lowKey, ITupleReference highKey) {
+                calls.add("beforeRangeDelete:" + getKey(lowKey) + "-" + getKey(highKey));
+            }
+
+            @Override
+            public void afterRangeDelete(ITupleReference lowKey, ITupleReference highKey) {
+                calls.add("afterRangeDelete:" + getKey(lowKey) + "-" + getKey(highKey));
+            }
+        };
+        ILSMIndexAccessor rangeDeleteAccessor =
+                btree.createAccessor(new IndexAccessParameters(callback, NoOpOperationCallback.INSTANCE));
+        btree.deleteRange(rangeDeleteAccessor, TupleUtils.createIntegerTuple(50), TupleUtils.createIntegerTuple(150));
+        rangeDeleteAccessor.destroy();
+
+        // the range delete is announced before and logged after the tombstone is added, then the memory
+        // component's covered keys are purged one by one
+        List<String> expectedCalls = new ArrayList<>();
+        expectedCalls.add("beforeRangeDelete:50-150");
+        expectedCalls.add("afterRangeDelete:50-150");
+        List<Integer> expectedKeys = new ArrayList<>();
+        for (int i = 1; i <= 200; i++) {
+            if (i < 50 || i > 150) {
+                expectedKeys.add(i);
+            } else {
+                expectedCalls.add("found:" + i);
+            }
+        }
+        Assert.assertEquals(expectedCalls, calls);
+        Assert.assertEquals(expectedKeys, search(accessor, new RangePredicate(null, null, true, true, null, null)));
+        btree.deactivate();
+        btree.destroy();
+    }
+
+    private LSMBTree createIndex() throws Exception {
+        ISerializerDeserializer[] fieldSerdes =
+                { IntegerSerializerDeserializer.INSTANCE, IntegerSerializerDeserializer.INSTANCE };
+        LSMBTreeTestContext ctx = LSMBTreeTestContext.create(harness.getIOManager(), harness.getVirtualBufferCaches(),
+                harness.getFileReference(), harness.getDiskBufferCache(), fieldSerdes, 1,
+                harness.getBoomFilterFalsePositiveRate(), harness.getMergePolicy(), harness.getOperationTracker(),
+                harness.getIOScheduler(), harness.getIOOperationCallbackFactory(),
+                harness.getPageWriteCallbackFactory(), harness.getMetadataPageManagerFactory(), false, true, false,
+                harness.getCompressorDecompressorFactory());
+        LSMBTree btree = (LSMBTree) ctx.getIndex();
+        btree.create();
+        btree.activate();
+        return btree;
+    }
+
+    private void checkIndex(LSMBTree btree, ILSMIndexAccessor accessor) throws HyracksDataException {
+        Assert.assertEquals(EXPECTED, search(accessor, new RangePredicate(null, null, true, true, null, null)));
+        MultiComparator cmp = MultiComparator.create(btree.getComparatorFactories());
+        for (int i = 1; i <= 10; i++) {
+            ITupleReference key = TupleUtils.createIntegerTuple(i);
+            List<Integer> found = search(accessor, new RangePredicate(key, key, true, true, cmp, cmp));
+            Assert.assertEquals("Check point search for key " + i, EXPECTED.contains(i), !found.isEmpty());
+        }
+    }
+
+    private static int getKey(ITupleReference tuple) {
+        return IntegerPointable.getInteger(tuple.getFieldData(0), tuple.getFieldStart(0));
+    }
+
+    private static List<Integer> search(ILSMIndexAccessor accessor, RangePredicate predicate)
+            throws HyracksDataException {
+        List<Integer> keys = new ArrayList<>();
+        IIndexCursor cursor = accessor.createSearchCursor(false);
+        try {
+            accessor.search(cursor, predicate);
+            try {
+                while (cursor.hasNext()) {
+                    cursor.next();
+                    ITupleReference tuple = cursor.getTuple();
+                    keys.add(IntegerPointable.getInteger(tuple.getFieldData(0), tuple.getFieldStart(0)));
+                }
+            } finally {
+                cursor.close();
+            }
+        } finally {
+            cursor.destroy();
+        }
+        return keys;
+    }
+}
@@ -20,12 +20,15 @@ package org.apache.hyracks.storage.am.lsm.common.test;
 
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.storage.am.lsm.common.api.ILSMDiskComponent;
 import org.apache.hyracks.storage.am.lsm.common.api.ILSMIOOperation;
 import org.apache.hyracks.storage.am.lsm.common.api.ILSMIOOperation.LSMIOOperationStatus;
 import org.apache.hyracks.storage.am.lsm.common.api.ILSMIOOperation.LSMIOOperationType;
 import org.apache.hyracks.storage.am.lsm.common.impls.AsynchronousScheduler;
+import org.apache.hyracks.storage.am.lsm.common.impls.BandwidthAwareScheduler;
 import org.apache.hyracks.storage.am.lsm.common.impls.GreedyScheduler;
 import org.apache.hyracks.storage.am.lsm.common.impls.NoOpIoOperationFailedCallback;
 import org.apache.hyracks.storage.am.lsm.common.test.IoSchedulerTest.MockedOperation;
@@ -208,6 +211,91 @@ public class IoSchedulerTest {
         scheduler.close();
     }
 
+    @Test
+    public void testBandwidthFlushPriority() throws Exception {
+        BandwidthAwareScheduler scheduler = new BandwidthAwareScheduler(r -> new Thread(r),
+                NoOpIoOperationFailedCallback.INSTANCE, 2, 2, 1024, 0, 0);
+
+        MockedOperation merge = mockMergeOperation(INDEX_1, 10);
+        scheduler.scheduleOperation(merge.operation);
+        merge.waitForScheduled();
+        merge.waitForRunning();
+
+        // the merge is paused while a flush is pending on the same device
+        MockedOperation flush = mockFlushOperation(INDEX_2);
+        scheduler.scheduleOperation(flush.operation);
+        flush.waitForScheduled();
+        Assert.assertFalse(merge.running.get());
+
+        // complete the flush and wait for the merge to resume
+        flush.completedSemaphore.release();
+        merge.waitForRunning();
+
+        merge.completedSemaphore.release();
+        scheduler.close();
+    }
+
+    @Test(timeout = 10000)
+    public void testBandwidthLaggingMerge() throws Exception {
+        BandwidthAwareScheduler scheduler = new BandwidthAwareScheduler(r -> new Thread(r),
+                NoOpIoOperationFailedCallback.INSTANCE, 2, 2, 1024, 0, 0);
+
+        MockedOperation merge = mockMergeOperation(INDEX_1, 10);
+        scheduler.scheduleOperation(merge.operation);
+        merge.waitForScheduled();
+        merge.waitForRunning();
+
+        // like LSMHarness.exitComponents, the flush writes its component and then waits for the lagging merge of
+        // its index on the same device to make progress before it completes
+        MockedOperation flush = mockFlushOperation(INDEX_1);
+        AtomicBoolean flushed = new AtomicBoolean();
+        Mockito.when(flush.operation.getNewComponent())
+                .thenAnswer(invocation -> flushed.get() ? Mockito.mock(ILSMDiskComponent.class) : null);
+        Mockito.doAnswer(invocation -> {
+            flush.scheduled.set(true);
+            synchronized (flush.scheduled) {
+                flush.scheduled.notifyAll();
+            }
+            flush.completedSemaphore.acquire();
+            flushed.set(true);
+            merge.waitForRunning();
+            return LSMIOOperationStatus.SUCCESS;
+        }).when(flush.operation).call();
+        scheduler.scheduleOperation(flush.operation);
+        flush.waitForScheduled();
+        Assert.assertFalse(merge.running.get());
+
+        // once its component is written, the flush no longer holds back the merge it is waiting on
+        flush.completedSemaphore.release();
+        merge.waitForRunning();
+
+        merge.completedSemaphore.release();
+        scheduler.close();
+    }
+
+    @Test(timeout = 10000)
+    public void testBandwidthBudget() throws Exception {
+        int pageSize = 1024;
+        BandwidthAwareScheduler scheduler = new BandwidthAwareScheduler(r -> new Thread(r),
+                NoOpIoOperationFailedCallback.INSTANCE, 2, 2, pageSize, pageSize, 0);
+
+        MockedOperation merge = mockMergeOperation(INDEX_1, 100);
+        AtomicLong remainingPages = new AtomicLong(100);
+        Mockito.when(merge.operation.getRemainingPages()).thenAnswer(invocation -> remainingPages.get());
+        scheduler.scheduleOperation(merge.operation);
+        merge.waitForScheduled();
+        merge.waitForRunning();
+
+        // the merge processes far more pages than the budget of the device allows and gets paused
+        remainingPages.set(50);
+        while (merge.running.get()) {
+            Thread.sleep(10);
+        }
+
+        merge.completedSemaphore.release();
+        scheduler.close();
+    }
+
     protected MockedOperation mockMergeOperation(String index, long remainingPages) throws HyracksDataException {
         return mockOperation(index, LSMIOOperationType.MERGE, remainingPages);
     }
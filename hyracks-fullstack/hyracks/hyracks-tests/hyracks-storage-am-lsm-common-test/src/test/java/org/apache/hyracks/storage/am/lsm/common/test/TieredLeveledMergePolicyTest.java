@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.storage.am.lsm.common.test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.storage.am.lsm.common.api.ILSMComponent.ComponentState;
+import org.apache.hyracks.storage.am.lsm.common.api.ILSMDiskComponent;
+import org.apache.hyracks.storage.am.lsm.common.api.ILSMIndex;
+import org.apache.hyracks.storage.am.lsm.common.api.ILSMIndexAccessor;
+import org.apache.hyracks.storage.am.lsm.common.api.ILSMMergePolicy;
+import org.apache.hyracks.storage.am.lsm.common.impls.TieredLeveledMergePolicy;
+import org.apache.hyracks.storage.am.lsm.common.impls.TieredLeveledMergePolicyFactory;
+import org.apache.hyracks.storage.common.IIndexAccessParameters;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class TieredLeveledMergePolicyTest {
+
+    private static final double SIZE_RATIO = 10.0;
+    private static final int COMPONENTS_PER_LEVEL = 3;
+    private static final int MAX_COMPONENT_COUNT = 10;
+
+    @Test
+    public void testMergeIntoLastLevel() throws HyracksDataException {
+        List<Long> sizes = new ArrayList<>(Arrays.asList(1L, 2L, 3L, 50L));
+        List<Long> resultSizes = new ArrayList<>();
+        ILSMIndex index = mockIndex(sizes, resultSizes);
+        createMergePolicy(COMPONENTS_PER_LEVEL).diskComponentAdded(index, false);
+
+        Assert.assertEquals(sizes, resultSizes);
+    }
+
+    @Test
+    public void testMergeTieredLevel() throws HyracksDataException {
+        List<Long> sizes = new ArrayList<>(Arrays.asList(1L, 1L, 1L, 1000L));
+        List<Long> resultSizes = new ArrayList<>();
+        ILSMIndex index = mockIndex(sizes, resultSizes);
+        createMergePolicy(COMPONENTS_PER_LEVEL).diskComponentAdded(index, false);
+
+        Assert.assertEquals(sizes.subList(0, 3), resultSizes);
+    }
+
+    @Test
+    public void testNoFullLevel() throws HyracksDataException {
+        List<Long> sizes = new ArrayList<>(Arrays.asList(1L, 1L, 10L, 12L, 5000L));
+        List<Long> resultSizes = new ArrayList<>();
+        ILSMIndex index = mockIndex(sizes, resultSizes);
+        createMergePolicy(COMPONENTS_PER_LEVEL).diskComponentAdded(index, false);
+
+        Assert.assertTrue(resultSizes.isEmpty());
+    }
+
+    @Test
+    public void testOldestFullLevelFirst() throws HyracksDataException {
+        List<Long> sizes = new ArrayList<>(Arrays.asList(1L, 1L, 1L, 10L, 12L, 11L, 5000L));
+        List<Long> resultSizes = new ArrayList<>();
+        ILSMIndex index = mockIndex(sizes, resultSizes);
+        createMergePolicy(COMPONENTS_PER_LEVEL).diskComponentAdded(index, false);
+
+        Assert.assertEquals(sizes.subList(3, 6), resultSizes);
+    }
+
+    @Test
+    public void testConcurrentMerge() throws HyracksDataException {
+        List<Long> sizes = new ArrayList<>(Arrays.asList(1L, 1L, 1L, 10L, 12L, 11L, 5000L));
+        List<Long> resultSizes = new ArrayList<>();
+        ILSMIndex index = mockIndex(sizes, resultSizes);
+        // component 12L is merging
+        Mockito.when(index.getDiskComponents().get(4).getState()).thenReturn(ComponentState.READABLE_MERGING);
+        createMergePolicy(COMPONENTS_PER_LEVEL).diskComponentAdded(index, false);
+
+        Assert.assertEquals(sizes.subList(0, 3), resultSizes);
+    }
+
+    @Test
+    public void testNoMergeLagging() throws HyracksDataException {
+        List<Long> sizes = new ArrayList<>(Arrays.asList(1L, 1L, 10L, 12L, 5000L));
+        List<Long> resultSizes = new ArrayList<>();
+        ILSMIndex index = mockIndex(sizes, resultSizes);
+        Assert.assertFalse(createMergePolicy(COMPONENTS_PER_LEVEL).isMergeLagging(index));
+    }
+
+    @Test
+    public void testMergeLaggingFullMerge() throws HyracksDataException {
+        List<Long> sizes = new ArrayList<>();
+        for (long size = 1; sizes.size() < MAX_COMPONENT_COUNT; size *= 100) {
+            sizes.add(size);
+        }
+        List<Long> resultSizes = new ArrayList<>();
+        ILSMIndex index = mockIndex(sizes, resultSizes);
+        Assert.assertTrue(createMergePolicy(COMPONENTS_PER_LEVEL).isMergeLagging(index));
+        // no level is full, so a full merge should be scheduled
+        Assert.assertEquals(sizes, resultSizes);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidComponentsPerLevel() {
+        createMergePolicy(1);
+    }
+
+    private ILSMMergePolicy createMergePolicy(int componentsPerLevel) {
+        Map<String, String> properties = new HashMap<>();
+        properties.put(TieredLeveledMergePolicyFactory.SIZE_RATIO, String.valueOf(SIZE_RATIO));
+        properties.put(TieredLeveledMergePolicyFactory.COMPONENTS_PER_LEVEL, String.valueOf(componentsPerLevel));
+        properties.put(TieredLeveledMergePolicyFactory.MAX_COMPONENT_COUNT, String.valueOf(MAX_COMPONENT_COUNT));
+
+        ILSMMergePolicy policy = new TieredLeveledMergePolicy();
+        policy.configure(properties);
+        return policy;
+    }
+
+    private ILSMIndex mockIndex(List<Long> componentSizes, List<Long> mergedSizes) throws HyracksDataException {
+        List<ILSMDiskComponent> components = new ArrayList<>();
+        for (Long size : componentSizes) {
+            ILSMDiskComponent component = Mockito.mock(ILSMDiskComponent.class);
+            Mockito.when(component.getComponentSize()).thenReturn(size);
+            Mockito.when(component.getState()).thenReturn(ComponentState.READABLE_UNWRITABLE);
+            components.add(component);
+        }
+
+        ILSMIndex index = Mockito.mock(ILSMIndex.class);
+        Mockito.when(index.getDiskComponents()).thenReturn(components);
+
+        ILSMIndexAccessor accessor = Mockito.mock(ILSMIndexAccessor.class);
+        Mockito.doAnswer(invocation -> {
+            List<ILSMDiskComponent> mergedComponents = invocation.getArgument(0);
+            mergedComponents.forEach(component -> mergedSizes.add(component.getComponentSize()));
+            return null;
+        }).when(accessor).scheduleMerge(Mockito.anyListOf(ILSMDiskComponent.class));
+        Mockito.doAnswer(invocation -> mergedSizes.addAll(componentSizes)).when(accessor).scheduleFullMerge();
+        Mockito.when(index.createAccessor(Mockito.any(IIndexAccessParameters.class))).thenReturn(accessor);
+        return index;
+    }
+}
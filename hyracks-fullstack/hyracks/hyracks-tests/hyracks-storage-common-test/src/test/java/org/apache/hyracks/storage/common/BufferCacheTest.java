@@ -443,6 +443,69 @@ public class BufferCacheTest {
         bufferCache.closeFile(fileId);
     }
 
+    @Test
+    public void concurrentResidentPinTest() throws Exception {
+        /*
+         * All pages of the file fit in the buffer cache, so after the first pass every pin is a hit on a resident
+         * page. Run the same pin/unpin loop with a growing number of threads, check that every reader sees the
+         * content written to the page it pinned, and report the throughput of each run.
+         */
+        final int numPages = 64;
+        final int pinsPerThread = 200000;
+        TestStorageManagerComponentHolder.init(PAGE_SIZE, numPages * 2, MAX_OPEN_FILES);
+        IBufferCache bufferCache =
+                TestStorageManagerComponentHolder.getBufferCache(ctx.getJobletContext().getServiceContext());
+        IIOManager ioManager = TestStorageManagerComponentHolder.getIOManager();
+        FileReference file = ioManager.resolve(getFileName());
+        int fileId = bufferCache.createFile(file);
+        bufferCache.openFile(fileId);
+        for (int i = 0; i < numPages; i++) {
+            ICachedPage page = bufferCache.pin(BufferedFileHandle.getDiskPageId(fileId, i), true);
+            page.acquireWriteLatch();
+            try {
+                page.getBuffer().putInt(0, i);
+            } finally {
+                page.releaseWriteLatch(true);
+                bufferCache.unpin(page);
+            }
+        }
+        final int maxThreads = Math.max(2, Math.min(8, Runtime.getRuntime().availableProcessors()));
+        ExecutorService executor = Executors.newFixedThreadPool(maxThreads);
+        try {
+            for (int numThreads = 1; numThreads <= maxThreads; numThreads *= 2) {
+                List<Future<Void>> futures = new ArrayList<>();
+                final long start = System.nanoTime();
+                for (int t = 0; t < numThreads; t++) {
+                    final int seed = t;
+                    futures.add(executor.submit(() -> {
+                        Random random = new Random(seed);
+                        for (int i = 0; i < pinsPerThread; i++) {
+                            int pageId = random.nextInt(numPages);
+                            ICachedPage page = bufferCache.pin(BufferedFileHandle.getDiskPageId(fileId, pageId), false);
+                            try {
+                                Assert.assertEquals(pageId, page.getBuffer().getInt(0));
+                            } finally {
+                                bufferCache.unpin(page);
+                            }
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<Void> future : futures) {
+                    future.get();
+                }
+                final long elapsed = Math.max(1, System.nanoTime() - start);
+                LOGGER.info("Threads = " + numThreads + " pins/sec = "
+                        + (long) numThreads * pinsPerThread * TimeUnit.SECONDS.toNanos(1) / elapsed);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        bufferCache.closeFile(fileId);
+        // closing the cache sweeps the file and fails if any pin was leaked by the readers
+        bufferCache.close();
+    }
+
     @Test
     public void testClearingConfiscatedPages() throws HyracksDataException {
         TestStorageManagerComponentHolder.init(PAGE_SIZE, 1, MAX_OPEN_FILES);
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.storage.common;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.apache.hyracks.api.compression.ICompressorDecompressor;
+import org.apache.hyracks.api.compression.ICompressorDecompressorFactory;
+import org.apache.hyracks.storage.common.compression.CompressionStatistics;
+import org.apache.hyracks.storage.common.compression.Lz4CompressorDecompressorFactory;
+import org.apache.hyracks.storage.common.compression.SnappyCompressorDecompressorFactory;
+import org.apache.hyracks.storage.common.compression.ZstdCompressorDecompressorFactory;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CompressorDecompressorTest {
+    private static final int PAGE_SIZE = 32768;
+
+    @Test
+    public void snappyTest() throws Exception {
+        roundTrip(new SnappyCompressorDecompressorFactory(), SnappyCompressorDecompressorFactory.NAME);
+    }
+
+    @Test
+    public void lz4Test() throws Exception {
+        roundTrip(new Lz4CompressorDecompressorFactory(), Lz4CompressorDecompressorFactory.NAME);
+    }
+
+    @Test
+    public void zstdTest() throws Exception {
+        roundTrip(new ZstdCompressorDecompressorFactory(), ZstdCompressorDecompressorFactory.NAME);
+        roundTrip(new ZstdCompressorDecompressorFactory(ZstdCompressorDecompressorFactory.MAX_LEVEL),
+                ZstdCompressorDecompressorFactory.NAME);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void zstdInvalidLevelTest() {
+        new ZstdCompressorDecompressorFactory(ZstdCompressorDecompressorFactory.MAX_LEVEL + 1);
+    }
+
+    private static void roundTrip(ICompressorDecompressorFactory factory, String scheme) throws Exception {
+        final ICompressorDecompressor compDecomp = factory.createInstance();
+        final CompressionStatistics stats = CompressionStatistics.of(scheme);
+        final long compressedPages = stats.getCompressedPages();
+        final long decompressedPages = stats.getDecompressedPages();
+
+        final ByteBuffer uBuffer = ByteBuffer.wrap(createPage());
+        final ByteBuffer cBuffer = ByteBuffer.allocate(compDecomp.computeCompressedBufferSize(PAGE_SIZE));
+        final ByteBuffer compressed = compDecomp.compress(uBuffer, cBuffer);
+        Assert.assertTrue(compressed.remaining() < PAGE_SIZE);
+
+        final ByteBuffer result = ByteBuffer.allocate(PAGE_SIZE);
+        final ByteBuffer uncompressed = compDecomp.uncompress(compressed, result);
+        Assert.assertEquals(PAGE_SIZE, uncompressed.remaining());
+        Assert.assertArrayEquals(uBuffer.array(), uncompressed.array());
+
+        Assert.assertEquals(compressedPages + 1, stats.getCompressedPages());
+        Assert.assertEquals(decompressedPages + 1, stats.getDecompressedPages());
+        Assert.assertTrue(stats.getCompressionRatio() > 1.0);
+    }
+
+    private static byte[] createPage() {
+        // JSON-like records with repeated field names and random values
+        final Random random = new Random(0);
+        final byte[] page = new byte[PAGE_SIZE];
+        int offset = 0;
+        while (offset < PAGE_SIZE) {
+            final byte[] record = ("{\"id\": " + random.nextInt() + ", \"name\": \"user" + random.nextInt(1000)
+                    + "\", \"score\": " + random.nextDouble() + "}").getBytes(StandardCharsets.UTF_8);
+            final int length = Math.min(record.length, PAGE_SIZE - offset);
+            System.arraycopy(record, 0, page, offset, length);
+            offset += length;
+        }
+        return page;
+    }
+}
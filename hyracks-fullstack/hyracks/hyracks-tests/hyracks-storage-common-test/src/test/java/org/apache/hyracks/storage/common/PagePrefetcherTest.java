@@ -0,0 +1,200 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.storage.common;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.api.io.FileReference;
+import org.apache.hyracks.api.io.IIOManager;
+import org.apache.hyracks.storage.common.buffercache.BufferCache;
+import org.apache.hyracks.storage.common.buffercache.ClockPageReplacementStrategy;
+import org.apache.hyracks.storage.common.buffercache.DelayPageCleanerPolicy;
+import org.apache.hyracks.storage.common.buffercache.HaltOnFailureCallback;
+import org.apache.hyracks.storage.common.buffercache.HeapBufferAllocator;
+import org.apache.hyracks.storage.common.buffercache.ICachedPage;
+import org.apache.hyracks.storage.common.buffercache.NoOpPageWriteCallback;
+import org.apache.hyracks.storage.common.buffercache.PagePrefetcher;
+import org.apache.hyracks.storage.common.file.BufferedFileHandle;
+import org.apache.hyracks.storage.common.file.FileMapManager;
+import org.apache.hyracks.test.support.TestStorageManagerComponentHolder;
+import org.apache.hyracks.util.ThreadStats;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PagePrefetcherTest {
+    private static final int PAGE_SIZE = 256;
+    private static final int NUM_PAGES = 64;
+    private static final int MAX_OPEN_FILES = 10;
+    private static final int FILE_PAGES = 32;
+    private static final int PREFETCH_PAGES = 8;
+    private static final long TIMEOUT_MILLIS = 10000;
+
+    private BufferCache bufferCache;
+    private int fileId;
+
+    @Before
+    public void setUp() throws HyracksDataException {
+        IIOManager ioManager = TestStorageManagerComponentHolder.getIOManager();
+        bufferCache = new BufferCache(ioManager,
+                new ClockPageReplacementStrategy(new HeapBufferAllocator(), PAGE_SIZE, NUM_PAGES),
+                new DelayPageCleanerPolicy(1000), new FileMapManager(), MAX_OPEN_FILES, 10, Thread::new);
+        FileReference file = ioManager
+                .resolve(new SimpleDateFormat("ddMMyy-hhmmssSS").format(new Date()) + "-" + getClass().getSimpleName());
+        fileId = bufferCache.createFile(file);
+        bufferCache.openFile(fileId);
+        for (int i = 0; i < FILE_PAGES; i++) {
+            ICachedPage page = bufferCache.confiscatePage(BufferedFileHandle.getDiskPageId(fileId, i));
+            page.getBuffer().putInt(0, i);
+            bufferCache.createFIFOWriter(NoOpPageWriteCallback.INSTANCE, HaltOnFailureCallback.INSTANCE).write(page);
+        }
+        bufferCache.closeFile(fileId);
+        evictAll();
+        bufferCache.openFile(fileId);
+    }
+
+    @After
+    public void tearDown() throws HyracksDataException {
+        bufferCache.closeFile(fileId);
+        bufferCache.deleteFile(fileId);
+        bufferCache.close();
+    }
+
+    @Test
+    public void scanReadsAheadTest() throws Exception {
+        bufferCache.enablePrefetching(PREFETCH_PAGES, NUM_PAGES / 2);
+        PagePrefetcher prefetcher = bufferCache.getPrefetcher();
+        ICachedPage first = pin(0);
+        bufferCache.notifySequentialAccess(first, true);
+        bufferCache.unpin(first);
+        awaitReadPages(prefetcher, PREFETCH_PAGES);
+        ThreadStats stats = new ThreadStats();
+        bufferCache.subscribe(stats);
+        try {
+            for (int i = 1; i <= PREFETCH_PAGES; i++) {
+                bufferCache.unpin(pin(i));
+            }
+        } finally {
+            bufferCache.unsubscribe();
+        }
+        Assert.assertEquals(0, stats.getColdReadCount());
+        Assert.assertEquals(PREFETCH_PAGES, prefetcher.getAccessedPages());
+        Assert.assertEquals(0, prefetcher.getPrefetchedPages());
+    }
+
+    @Test
+    public void randomAccessDoesNotReadAheadTest() throws Exception {
+        bufferCache.enablePrefetching(PREFETCH_PAGES, NUM_PAGES / 2);
+        for (int i : new int[] { 20, 3, 11, 7, 28 }) {
+            ICachedPage page = pin(i);
+            bufferCache.notifySequentialAccess(page, false);
+            bufferCache.unpin(page);
+        }
+        Thread.sleep(100);
+        Assert.assertEquals(0, bufferCache.getPrefetcher().getReadPages());
+    }
+
+    @Test
+    public void readAheadRespectsBudgetTest() throws Exception {
+        final int maxPrefetchedPages = PREFETCH_PAGES / 2;
+        bufferCache.enablePrefetching(PREFETCH_PAGES, maxPrefetchedPages);
+        PagePrefetcher prefetcher = bufferCache.getPrefetcher();
+        ICachedPage first = pin(0);
+        bufferCache.notifySequentialAccess(first, true);
+        bufferCache.unpin(first);
+        awaitReadPages(prefetcher, maxPrefetchedPages);
+        Thread.sleep(100);
+        Assert.assertEquals(maxPrefetchedPages, prefetcher.getReadPages());
+        Assert.assertEquals(maxPrefetchedPages, prefetcher.getPrefetchedPages());
+    }
+
+    @Test
+    public void removedPrefetchedPagesReleaseBudgetTest() throws Exception {
+        PagePrefetcher prefetcher = readAhead();
+        // a page as large as the whole cache removes all other pages from the cache
+        ICachedPage largePage =
+                bufferCache.confiscateLargePage(BufferedFileHandle.getDiskPageId(fileId, FILE_PAGES), NUM_PAGES, -1);
+        try {
+            Assert.assertEquals(0, prefetcher.getPrefetchedPages());
+            Assert.assertEquals(PREFETCH_PAGES, prefetcher.getEvictedPages());
+        } finally {
+            bufferCache.returnPage(largePage, false);
+        }
+    }
+
+    @Test
+    public void confiscatedPrefetchedPagesReleaseBudgetTest() throws Exception {
+        PagePrefetcher prefetcher = readAhead();
+        List<ICachedPage> confiscatedPages = new ArrayList<>();
+        try {
+            // confiscating every page of the cache takes the prefetched pages as victims
+            for (int i = 0; i < NUM_PAGES; i++) {
+                confiscatedPages.add(bufferCache.confiscatePage(BufferedFileHandle.getDiskPageId(fileId, i)));
+            }
+            Assert.assertEquals(0, prefetcher.getPrefetchedPages());
+            Assert.assertEquals(PREFETCH_PAGES, prefetcher.getEvictedPages());
+        } finally {
+            confiscatedPages.forEach(page -> bufferCache.returnPage(page, false));
+        }
+    }
+
+    /**
+     * Reads {@link #PREFETCH_PAGES} pages ahead of a scan without accessing them
+     */
+    private PagePrefetcher readAhead() throws Exception {
+        bufferCache.enablePrefetching(PREFETCH_PAGES, NUM_PAGES / 2);
+        PagePrefetcher prefetcher = bufferCache.getPrefetcher();
+        ICachedPage first = pin(0);
+        bufferCache.notifySequentialAccess(first, true);
+        bufferCache.unpin(first);
+        awaitReadPages(prefetcher, PREFETCH_PAGES);
+        Assert.assertEquals(PREFETCH_PAGES, prefetcher.getPrefetchedPages());
+        return prefetcher;
+    }
+
+    /**
+     * Drops all pages from the cache, so that the pages of the file are read from disk again
+     */
+    private void evictAll() throws HyracksDataException {
+        List<ICachedPage> pages = new ArrayList<>();
+        for (int i = 0; i < NUM_PAGES; i++) {
+            pages.add(bufferCache.confiscatePage(BufferedFileHandle.getDiskPageId(fileId, FILE_PAGES + i)));
+        }
+        pages.forEach(page -> bufferCache.returnPage(page, false));
+    }
+
+    private ICachedPage pin(int pageId) throws HyracksDataException {
+        ICachedPage page = bufferCache.pinUseOnce(BufferedFileHandle.getDiskPageId(fileId, pageId));
+        Assert.assertEquals(pageId, page.getBuffer().getInt(0));
+        return page;
+    }
+
+    private static void awaitReadPages(PagePrefetcher prefetcher, int pages) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (prefetcher.getReadPages() < pages) {
+            Assert.assertTrue("read-ahead did not complete", System.currentTimeMillis() < deadline);
+            Thread.sleep(10);
+        }
+    }
+}
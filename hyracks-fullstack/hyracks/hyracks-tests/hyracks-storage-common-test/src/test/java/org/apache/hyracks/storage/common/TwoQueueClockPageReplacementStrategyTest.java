@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hyracks.storage.common;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+import org.apache.hyracks.api.exceptions.HyracksDataException;
+import org.apache.hyracks.api.io.FileReference;
+import org.apache.hyracks.api.io.IIOManager;
+import org.apache.hyracks.storage.common.buffercache.BufferCache;
+import org.apache.hyracks.storage.common.buffercache.ClockPageReplacementStrategy;
+import org.apache.hyracks.storage.common.buffercache.DelayPageCleanerPolicy;
+import org.apache.hyracks.storage.common.buffercache.HaltOnFailureCallback;
+import org.apache.hyracks.storage.common.buffercache.HeapBufferAllocator;
+import org.apache.hyracks.storage.common.buffercache.IBufferCache;
+import org.apache.hyracks.storage.common.buffercache.ICachedPage;
+import org.apache.hyracks.storage.common.buffercache.IPageReplacementStrategy;
+import org.apache.hyracks.storage.common.buffercache.NoOpPageWriteCallback;
+import org.apache.hyracks.storage.common.buffercache.TwoQueueClockPageReplacementStrategy;
+import org.apache.hyracks.storage.common.file.BufferedFileHandle;
+import org.apache.hyracks.storage.common.file.FileMapManager;
+import org.apache.hyracks.test.support.TestStorageManagerComponentHolder;
+import org.apache.hyracks.util.ThreadStats;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TwoQueueClockPageReplacementStrategyTest {
+    private static final int PAGE_SIZE = 256;
+    private static final int NUM_PAGES = 16;
+    private static final int MAX_OPEN_FILES = 10;
+    private static final int FILE_PAGES = 4 * NUM_PAGES;
+    private static final int HOT_PAGES = 4;
+
+    @Test
+    public void hotPagesSurviveScanTest() throws Exception {
+        TwoQueueClockPageReplacementStrategy prs =
+                new TwoQueueClockPageReplacementStrategy(new HeapBufferAllocator(), PAGE_SIZE, NUM_PAGES, 0.5);
+        // closing the file resets its pages, so the hot set is checked while they are still cached
+        Assert.assertEquals(0, coldReadsAfterScan(prs, () -> Assert.assertEquals(HOT_PAGES, prs.getHotPages())));
+    }
+
+    @Test
+    public void clockEvictsHotPagesOnScanTest() throws Exception {
+        // the baseline: a plain clock evicts the hot pages once the scan wraps around the cache
+        ClockPageReplacementStrategy prs =
+                new ClockPageReplacementStrategy(new HeapBufferAllocator(), PAGE_SIZE, NUM_PAGES);
+        Assert.assertEquals(HOT_PAGES, coldReadsAfterScan(prs, () -> {
+        }));
+    }
+
+    /**
+     * Accesses the first {@link #HOT_PAGES} pages of a file twice, scans the rest of the file using one-time pins,
+     * and returns the number of disk reads needed to access the hot pages again. {@code check} runs before the file
+     * is closed.
+     */
+    private static long coldReadsAfterScan(IPageReplacementStrategy prs, Runnable check) throws HyracksDataException {
+        IIOManager ioManager = TestStorageManagerComponentHolder.getIOManager();
+        BufferCache bufferCache = new BufferCache(ioManager, prs, new DelayPageCleanerPolicy(1000),
+                new FileMapManager(), MAX_OPEN_FILES, 10, Thread::new);
+        try {
+            FileReference file = ioManager.resolve(
+                    new SimpleDateFormat("ddMMyy-hhmmssSS").format(new Date()) + "-" + prs.getClass().getSimpleName());
+            int fileId = bufferCache.createFile(file);
+            bufferCache.openFile(fileId);
+            for (int i = 0; i < FILE_PAGES; i++) {
+                ICachedPage page = bufferCache.confiscatePage(BufferedFileHandle.getDiskPageId(fileId, i));
+                page.getBuffer().putInt(0, i);
+                bufferCache.createFIFOWriter(NoOpPageWriteCallback.INSTANCE, HaltOnFailureCallback.INSTANCE)
+                        .write(page);
+            }
+            bufferCache.closeFile(fileId);
+            bufferCache.openFile(fileId);
+            for (int round = 0; round < 2; round++) {
+                for (int i = 0; i < HOT_PAGES; i++) {
+                    pinAndCheck(bufferCache, fileId, i, false);
+                }
+            }
+            for (int i = HOT_PAGES; i < FILE_PAGES; i++) {
+                pinAndCheck(bufferCache, fileId, i, true);
+            }
+            ThreadStats stats = new ThreadStats();
+            bufferCache.subscribe(stats);
+            try {
+                for (int i = 0; i < HOT_PAGES; i++) {
+                    pinAndCheck(bufferCache, fileId, i, false);
+                }
+            } finally {
+                bufferCache.unsubscribe();
+            }
+            check.run();
+            bufferCache.closeFile(fileId);
+            bufferCache.deleteFile(fileId);
+            return stats.getColdReadCount();
+        } finally {
+            bufferCache.close();
+        }
+    }
+
+    private static void pinAndCheck(IBufferCache bufferCache, int fileId, int pageId, boolean useOnce)
+            throws HyracksDataException {
+        long dpid = BufferedFileHandle.getDiskPageId(fileId, pageId);
+        ICachedPage page = useOnce ? bufferCache.pinUseOnce(dpid) : bufferCache.pin(dpid, false);
+        try {
+            Assert.assertEquals(pageId, page.getBuffer().getInt(0));
+        } finally {
+            bufferCache.unpin(page);
+        }
+    }
+}
@@ -262,6 +262,27 @@ public class UTF8StringUtil {
         return (int) (nk >> 1); // make it always positive.
     }
 
+    /**
+     * Compute a normalized key of the UTF8 string that spans {@code keyLength} integers, each of which holds two
+     * chars. Unlike {@link #normalize(byte[], int)}, the integers have to be compared as unsigned integers.
+     */
+    public static void normalize(byte[] bytes, int start, int[] normalizedKeys, int keyStart, int keyLength) {
+        int len = getUTFLength(bytes, start);
+        int offset = start + getNumBytesToStoreLength(len);
+        int end = offset + len;
+        for (int i = 0; i < keyLength; ++i) {
+            int nk = 0;
+            for (int j = 0; j < 2; ++j) {
+                nk <<= 16;
+                if (offset < end) {
+                    nk |= charAt(bytes, offset) & 0xffff;
+                    offset += charSize(bytes, offset);
+                }
+            }
+            normalizedKeys[keyStart + i] = nk;
+        }
+    }
+
     public static int compareTo(byte[] thisBytes, int thisStart, byte[] thatBytes, int thatStart) {
         return compareTo(thisBytes, thisStart, thatBytes, thatStart, false, false);
     }
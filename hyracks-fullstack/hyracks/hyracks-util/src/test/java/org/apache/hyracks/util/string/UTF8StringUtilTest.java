@@ -111,6 +111,16 @@ public class UTF8StringUtilTest {
                 int n1 = normalize(buffer1, 0);
                 int n2 = normalize(buffer2, 0);
                 assertTrue(isSameSign(str1.compareTo(str2), n1 - n2));
+                int[] nks1 = new int[4];
+                int[] nks2 = new int[4];
+                normalize(buffer1, 0, nks1, 0, nks1.length);
+                normalize(buffer2, 0, nks2, 0, nks2.length);
+                int nkCmp = 0;
+                for (int i = 0; i < nks1.length && nkCmp == 0; i++) {
+                    nkCmp = Integer.compareUnsigned(nks1[i], nks2[i]);
+                }
+                // longer normalized keys may still be equal for different strings, but never contradict them
+                assertTrue(nkCmp == 0 || isSameSign(str1.compareTo(str2), nkCmp));
                 break;
             case RAW_BYTE:
                 assertEquals(str1.compareTo(str2), rawByteCompareTo(buffer1, 0, buffer2, 0));